@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Encryption Configuration
  * 
@@ -14,6 +17,9 @@ import org.springframework.context.annotation.Configuration;
  * - encryption.master-key: Base64-encoded 256-bit master key
  * - encryption.key-rotation-enabled: Enable automatic key rotation
  * - encryption.key-rotation-days: Days between key rotations
+ * - encryption.key-id: Identifier written in front of every ciphertext
+ * - encryption.retired-keys: Previous master keys by key ID (decrypt only)
+ * - encryption.blind-index-key: Key for deterministic lookup hashes
  */
 @Data
 @Configuration
@@ -26,6 +32,26 @@ public class EncryptionConfig {
      */
     private String masterKey;
     
+    /**
+     * Identifier of the active master key (1-255).
+     * Stored as the first byte after the format version in every ciphertext,
+     * so values encrypted under an older key can still be located after rotation.
+     */
+    private int keyId = 1;
+    
+    /**
+     * Retired master keys (Base64) indexed by key ID.
+     * Only used for decryption, and only when key rotation is enabled.
+     */
+    private Map<Integer, String> retiredKeys = new HashMap<>();
+    
+    /**
+     * Key (Base64) for blind indexes used in equality lookups on encrypted columns.
+     * Derived from the master key when empty; set it explicitly before rotating
+     * the master key, otherwise existing blind indexes stop matching.
+     */
+    private String blindIndexKey;
+    
     /**
      * Enable automatic key rotation
      */
@@ -57,24 +83,29 @@ public class EncryptionConfig {
     private int ivLength = 12;
     
     /**
-     * Enable encryption for payment amounts
+     * Enable encryption for payment amounts.
+     * Not applied by the JPA converters: payments.amount is summed in SQL
+     * (PaymentRepository.sumAmountByBookingIdAndStatus), so it stays numeric.
      */
-    private boolean encryptPaymentAmounts = true;
+    private boolean encryptPaymentAmounts = false;
     
     /**
-     * Enable encryption for transaction IDs
+     * Enable encryption for transaction IDs (payments.transaction_id).
+     * Lookups go through the payments.transaction_id_hash blind index.
      */
     private boolean encryptTransactionIds = true;
     
     /**
-     * Enable encryption for bank account numbers
+     * Enable encryption for bank account numbers (transport_payouts.bank_account_number)
      */
     private boolean encryptBankAccounts = true;
     
     /**
-     * Enable encryption for settlement amounts
+     * Enable encryption for settlement amounts.
+     * Not applied by the JPA converters: booking_settlements amounts feed the
+     * generated net_to_transport_vnd column and payout totals, so they stay numeric.
      */
-    private boolean encryptSettlementAmounts = true;
+    private boolean encryptSettlementAmounts = false;
     
     /**
      * Validate configuration on startup
@@ -87,9 +118,31 @@ public class EncryptionConfig {
             );
         }
         
+        validateKeyId(keyId);
+        validateKey(masterKey);
+        
+        if (keyRotationEnabled) {
+            for (Map.Entry<Integer, String> entry : retiredKeys.entrySet()) {
+                validateKeyId(entry.getKey());
+                if (entry.getKey() == keyId) {
+                    throw new IllegalStateException(
+                        "Retired key ID " + entry.getKey() + " collides with the active key ID");
+                }
+                validateKey(entry.getValue());
+            }
+        }
+    }
+    
+    private void validateKeyId(int id) {
+        if (id < 1 || id > 255) {
+            throw new IllegalStateException("Encryption key ID must be between 1 and 255, got " + id);
+        }
+    }
+    
+    private void validateKey(String base64Key) {
         // Validate key is Base64 and correct length
         try {
-            byte[] keyBytes = java.util.Base64.getDecoder().decode(masterKey);
+            byte[] keyBytes = java.util.Base64.getDecoder().decode(base64Key);
             if (keyBytes.length != keySize / 8) {
                 throw new IllegalStateException(
                     String.format("Master key must be %d bits (%d bytes), got %d bytes", 
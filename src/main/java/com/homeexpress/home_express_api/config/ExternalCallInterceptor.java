@@ -0,0 +1,65 @@
+package com.homeexpress.home_express_api.config;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times calls made through one of the external RestTemplates as
+ * {@code external.call.time} (tagged by client and outcome) and adds them to
+ * the current request's {@link RequestInstrumentation} sample.
+ *
+ * Only the client name is used as a tag: URIs carry API keys and user input.
+ */
+class ExternalCallInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String client;
+    private final MeterRegistry meterRegistry;
+
+    ExternalCallInterceptor(String client, MeterRegistry meterRegistry) {
+        this.client = client;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long started = System.nanoTime();
+        String outcome = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            outcome = outcome(response.getStatusCode());
+            return response;
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            Timer.builder("external.call.time")
+                    .description("Calls to external HTTP APIs (OpenAI, intake AI, Goong)")
+                    .tag("client", client)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            RequestInstrumentation.Sample sample = RequestInstrumentation.current();
+            if (sample != null) {
+                sample.recordExternalCall(elapsed);
+            }
+        }
+    }
+
+    private static String outcome(HttpStatusCode status) {
+        if (status.is2xxSuccessful()) {
+            return "SUCCESS";
+        }
+        if (status.is4xxClientError()) {
+            return "CLIENT_ERROR";
+        }
+        return status.is5xxServerError() ? "SERVER_ERROR" : "OTHER";
+    }
+}
@@ -6,11 +6,14 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * HTTP Client Configuration
  * 
  * Centralizes RestTemplate bean configurations for different external API clients.
- * Each RestTemplate is configured with appropriate timeouts based on the service it calls.
+ * Each RestTemplate is configured with appropriate timeouts based on the service it calls,
+ * and times its calls through {@link ExternalCallInterceptor}.
  */
 @Configuration
 public class HttpClientConfig {
@@ -38,8 +41,8 @@ public class HttpClientConfig {
      * Configured with longer timeouts for image processing
      */
     @Bean(name = "openaiRestTemplate")
-    public RestTemplate openaiRestTemplate() {
-        return createRestTemplate(openaiConnectTimeout, openaiReadTimeout);
+    public RestTemplate openaiRestTemplate(MeterRegistry meterRegistry) {
+        return createRestTemplate("openai", openaiConnectTimeout, openaiReadTimeout, meterRegistry);
     }
 
     /**
@@ -47,8 +50,8 @@ public class HttpClientConfig {
      * Configured with moderate timeouts for text processing
      */
     @Bean(name = "intakeAiRestTemplate")
-    public RestTemplate intakeAiRestTemplate() {
-        return createRestTemplate(intakeAiConnectTimeout, intakeAiReadTimeout);
+    public RestTemplate intakeAiRestTemplate(MeterRegistry meterRegistry) {
+        return createRestTemplate("intake-ai", intakeAiConnectTimeout, intakeAiReadTimeout, meterRegistry);
     }
 
     /**
@@ -56,18 +59,21 @@ public class HttpClientConfig {
      * Configured with shorter timeouts for quick map queries
      */
     @Bean(name = "goongRestTemplate")
-    public RestTemplate goongRestTemplate() {
-        return createRestTemplate(goongConnectTimeout, goongReadTimeout);
+    public RestTemplate goongRestTemplate(MeterRegistry meterRegistry) {
+        return createRestTemplate("goong", goongConnectTimeout, goongReadTimeout, meterRegistry);
     }
 
     /**
      * Helper method to create RestTemplate with specified timeouts
      */
-    private RestTemplate createRestTemplate(int connectTimeout, int readTimeout) {
+    private RestTemplate createRestTemplate(String client, int connectTimeout, int readTimeout,
+                                            MeterRegistry meterRegistry) {
         SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
         factory.setConnectTimeout(connectTimeout);
         factory.setReadTimeout(readTimeout);
-        return new RestTemplate(factory);
+        RestTemplate restTemplate = new RestTemplate(factory);
+        restTemplate.getInterceptors().add(new ExternalCallInterceptor(client, meterRegistry));
+        return restTemplate;
     }
 }
 
@@ -0,0 +1,79 @@
+package com.homeexpress.home_express_api.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * DataSource wrapper that times every statement execution into the current
+ * {@link RequestInstrumentation} sample.
+ *
+ * Connections are only wrapped when borrowed inside a request, so schedulers
+ * and startup pay nothing. unwrap/isWrapperFor reach the pool unchanged, which
+ * keeps Hikari metrics and health checks working.
+ */
+final class InstrumentedDataSource {
+
+    private static final Map<Class<?>, Class<?>[]> INTERFACES = new ConcurrentHashMap<>();
+
+    private InstrumentedDataSource() {
+    }
+
+    static DataSource wrap(DataSource target) {
+        return proxy(target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Connection connection && RequestInstrumentation.current() != null) {
+                return wrapConnection(connection);
+            }
+            return result;
+        });
+    }
+
+    private static Connection wrapConnection(Connection target) {
+        return proxy(target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            // prepareStatement / prepareCall / createStatement
+            return result instanceof Statement statement ? wrapStatement(statement) : result;
+        });
+    }
+
+    private static Statement wrapStatement(Statement target) {
+        return proxy(target, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(target, method, args);
+            }
+            long started = System.nanoTime();
+            try {
+                return invoke(target, method, args);
+            } finally {
+                RequestInstrumentation.Sample sample = RequestInstrumentation.current();
+                if (sample != null) {
+                    sample.recordQuery(System.nanoTime() - started);
+                }
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, InvocationHandler handler) {
+        Class<?>[] interfaces = INTERFACES.computeIfAbsent(target.getClass(), ClassUtils::getAllInterfacesForClass);
+        return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), interfaces, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
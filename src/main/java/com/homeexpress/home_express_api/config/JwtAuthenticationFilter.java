@@ -8,16 +8,20 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.homeexpress.home_express_api.service.session.AccessTokenRevocationRegistry;
+
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -25,10 +29,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     // NOTE: filter nay chay moi request de extract JWT token tu header
     // neu valid thi set SecurityContext de Spring Security biet user da login
 
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String ACCESS_TOKEN_COOKIE = "access_token";
+
     private final JwtTokenProvider jwtTokenProvider;
+    private final JwtPrincipalCache principalCache;
+    private final AccessTokenRevocationRegistry revocationRegistry;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    // chi co vai role, tai su dung authority list thay vi tao moi moi request
+    private final Map<String, List<GrantedAuthority>> authoritiesByRole = new ConcurrentHashMap<>();
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
+                                   JwtPrincipalCache principalCache,
+                                   AccessTokenRevocationRegistry revocationRegistry) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.principalCache = principalCache;
+        this.revocationRegistry = revocationRegistry;
     }
     
     @Override
@@ -37,41 +54,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         
         try {
-            // 1. lay JWT tu Authorization header
+            // 1. lay JWT tu Authorization header (hoac cookie)
             String jwt = getJwtFromRequest(request);
-            logger.info("JWT extracted: " + (jwt != null ? "FOUND" : "NULL"));
             
             // 2. neu co token va valid
-            if (StringUtils.hasText(jwt)) {
+            if (jwt != null) {
                 if (SecurityContextHolder.getContext().getAuthentication() != null) {
                     logger.debug("SecurityContext already contains authentication, skipping JWT processing");
                 } else {
-                    Claims claims = jwtTokenProvider.getClaims(jwt);
-                    Long userId = Long.parseLong(claims.getSubject());
-                    String role = claims.get("role", String.class);
-                    String email = claims.get("email", String.class);
-                    logger.info("User ID: " + userId + ", Role: " + role);
-
-                    JwtAuthenticatedUser principal = new JwtAuthenticatedUser(userId, email, role);
-
-                    // 5. tao Authentication object
-                    // chu y: authorities phai co prefix "ROLE_" de Spring Security nhan dang
-                    SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
-                    UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(principal, null, Collections.singletonList(authority));
-                    
-                    // 6. set request details (IP, user agent)
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
-                    // 7. set vao SecurityContext - tu day Spring Security biet user da login
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    logger.info("Authentication set in SecurityContext");
+                    VerifiedAccessToken verified = verify(jwt);
+                    JwtAuthenticatedUser principal = verified.principal();
+
+                    // 3. token thuoc session/user da bi revoke -> khong authenticate (check local, O(1))
+                    if (revocationRegistry.isRevoked(principal.userId(), verified.sessionId(),
+                            verified.issuedAtMillis())) {
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("Rejected revoked access token for user " + principal.userId());
+                        }
+                    } else {
+                        authenticate(request, principal);
+                    }
                 }
-            } else {
-                logger.info("No JWT found in request");
             }
         } catch (JwtException | IllegalArgumentException ex) {
-            logger.error("JWT is INVALID", ex);
+            // token het han / sai chu ky la chuyen binh thuong, khong can stack trace
+            if (logger.isDebugEnabled()) {
+                logger.debug("JWT is invalid: " + ex.getMessage());
+            }
         } catch (Exception ex) {
             // log loi nhung ko throw - de request tiep tuc
             // neu token invalid thi cu de 401 Unauthorized tu security config
@@ -81,23 +90,74 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 7. tiep tuc filter chain
         filterChain.doFilter(request, response);
     }
+
+    private void authenticate(HttpServletRequest request, JwtAuthenticatedUser principal) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Authenticated user " + principal.userId() + " with role " + principal.role());
+        }
+
+        // 5. tao Authentication object
+        // chu y: authorities phai co prefix "ROLE_" de Spring Security nhan dang
+        UsernamePasswordAuthenticationToken authentication =
+            new UsernamePasswordAuthenticationToken(principal, null, authoritiesFor(principal.role()));
+
+        // 6. set request details (IP, user agent)
+        authentication.setDetails(detailsSource.buildDetails(request));
+
+        // 7. set vao SecurityContext - tu day Spring Security biet user da login
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    // verify token 1 lan, cac request sau voi cung token lay tu cache den khi token het han
+    private VerifiedAccessToken verify(String jwt) {
+        VerifiedAccessToken cached = principalCache.get(jwt);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = jwtTokenProvider.getClaims(jwt);
+        Long userId = Long.parseLong(claims.getSubject());
+        String role = claims.get("role", String.class);
+        String email = claims.get("email", String.class);
+        String sessionId = claims.get(JwtTokenProvider.SESSION_ID_CLAIM, String.class);
+        JwtAuthenticatedUser principal = new JwtAuthenticatedUser(userId, email, role);
+
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        VerifiedAccessToken verified = new VerifiedAccessToken(principal, sessionId,
+                issuedAt != null ? issuedAt.getTime() : 0L,
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+        if (expiration != null) {
+            principalCache.put(jwt, verified);
+        }
+        return verified;
+    }
+
+    private List<GrantedAuthority> authoritiesFor(String role) {
+        return authoritiesByRole.computeIfAbsent(String.valueOf(role),
+                r -> List.of(new SimpleGrantedAuthority("ROLE_" + r)));
+    }
     
     // helper: extract JWT tu "Authorization: Bearer <token>" header
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         
         // format: "Bearer eyJhbGciOiJIUzI1NiIs..."
-        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7); // cat bo "Bearer "
+        if (bearerToken != null
+                && bearerToken.length() > BEARER_PREFIX.length()
+                && bearerToken.startsWith(BEARER_PREFIX)) {
+            return bearerToken.substring(BEARER_PREFIX.length()); // cat bo "Bearer "
         }
 
-        // Fall back to HTTP-only cookie
-        if (request.getCookies() != null) {
-            return Arrays.stream(request.getCookies())
-                    .filter(cookie -> "access_token".equals(cookie.getName()))
-                    .map(Cookie::getValue)
-                    .findFirst()
-                    .orElse(null);
+        // Fall back to HTTP-only cookie (vong lap thuong, khong tao stream)
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (ACCESS_TOKEN_COOKIE.equals(cookie.getName())) {
+                    String value = cookie.getValue();
+                    return value == null || value.isBlank() ? null : value;
+                }
+            }
         }
         
         return null;
@@ -0,0 +1,121 @@
+package com.homeexpress.home_express_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of verified access tokens.
+ *
+ * Maps a 128-bit SHA-256 digest of the token to the principal parsed from it,
+ * so repeated requests with the same token (polling, SSE reconnects) skip the
+ * HMAC verification and claim parsing. Entries are kept until the token's own
+ * expiry and are never served after it.
+ *
+ * An entry only replaces signature verification: the filter still checks
+ * {@code AccessTokenRevocationRegistry} on every request, cache hit or not,
+ * so logout, password change and deactivation take effect immediately.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<TokenDigest, VerifiedAccessToken> entries;
+    private final ThreadLocal<MessageDigest> sha256 = ThreadLocal.withInitial(JwtPrincipalCache::newSha256);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public JwtPrincipalCache(@Value("${jwt.verification-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new ConcurrentHashMap<>(Math.max(16, Math.min(maxEntries, 1 << 16)));
+    }
+
+    /**
+     * Get the cached verification result for a token, or null if absent or expired
+     */
+    public VerifiedAccessToken get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        TokenDigest key = digest(token);
+        VerifiedAccessToken entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    /**
+     * Cache a verification result until the token expires
+     */
+    public void put(String token, VerifiedAccessToken verified) {
+        if (maxEntries <= 0 || verified.expiresAtMillis() <= System.currentTimeMillis()) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                // Still full of live tokens: start over rather than track recency per hit
+                entries.clear();
+            }
+        }
+        entries.put(digest(token), verified);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+    }
+
+    private TokenDigest digest(String token) {
+        byte[] hash = sha256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return new TokenDigest(toLong(hash, 0), toLong(hash, 8));
+    }
+
+    private static long toLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record TokenDigest(long high, long low) {
+    }
+}
@@ -14,21 +14,36 @@ public class JwtTokenProvider {
     // Secret key de ky JWT (nen luu trong environment variable)
     private final SecretKey secretKey = Jwts.SIG.HS512.key().build();
 
+    // Parser is immutable and thread-safe, build it once
+    private final JwtParser jwtParser = Jwts.parser().verifyWith(secretKey).build();
+
     // Thoi gian het han token: 24 gio
     private static final long JWT_EXPIRATION_MS = 86400000L; // 24 hours
     private static final long REFRESH_TOKEN_EXPIRATION_MS = 604800000L; // 7 days
 
+    // Claim chua session ID de co the revoke access token theo session
+    public static final String SESSION_ID_CLAIM = "sid";
+
     // Tao JWT token
     public String generateToken(Long userId, String email, String role) {
+        return generateToken(userId, email, role, null);
+    }
+
+    // Tao JWT token gan voi 1 session (refresh token) cu the
+    public String generateToken(Long userId, String email, String role, String sessionId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + JWT_EXPIRATION_MS);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .subject(userId.toString()) // User ID
                 .claim("email", email)
                 .claim("role", role)
                 .issuedAt(now)
-                .expiration(expiryDate)
+                .expiration(expiryDate);
+        if (sessionId != null) {
+            builder.claim(SESSION_ID_CLAIM, sessionId);
+        }
+        return builder
                 .signWith(secretKey, Jwts.SIG.HS512)
                 .compact();
     }
@@ -55,6 +70,16 @@ public class JwtTokenProvider {
         return generateToken(userId, email, role);
     }
 
+    // Generate access token for a session
+    public String generateAccessToken(Long userId, String email, String role, String sessionId) {
+        return generateToken(userId, email, role, sessionId);
+    }
+
+    // Get access token lifetime
+    public long getAccessTokenExpiration() {
+        return JWT_EXPIRATION_MS;
+    }
+
     // Generate refresh token
     public String generateRefreshToken(Long userId) {
         Date now = new Date();
@@ -87,11 +112,7 @@ public class JwtTokenProvider {
 
     // Extract all claims from token
     public Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     // Get token type
@@ -3,16 +3,23 @@ package com.homeexpress.home_express_api.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.homeexpress.home_express_api.service.booking.BookingTimelineAssembler;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
+import com.homeexpress.home_express_api.service.session.SessionRevocationService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
- * Redis Configuration for AI detection caching and budget tracking
+ * Redis Configuration for AI detection caching, budget tracking and
+ * cross-node pub/sub (access token revocations, user principal and booking
+ * timeline invalidation)
  */
 @Configuration
 public class RedisConfig {
@@ -50,6 +57,23 @@ public class RedisConfig {
         return template;
     }
     
+    /**
+     * Pub/sub listener container for messages every node must apply locally
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            SessionRevocationService sessionRevocationService,
+            UserPrincipalResolver userPrincipalResolver,
+            BookingTimelineAssembler bookingTimelineAssembler) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(sessionRevocationService, new ChannelTopic(SessionRevocationService.CHANNEL));
+        container.addMessageListener(userPrincipalResolver, new ChannelTopic(UserPrincipalResolver.CHANNEL));
+        container.addMessageListener(bookingTimelineAssembler, new ChannelTopic(BookingTimelineAssembler.CHANNEL));
+        return container;
+    }
+    
     /**
      * ObjectMapper for JSON serialization with Java 8 time support
      */
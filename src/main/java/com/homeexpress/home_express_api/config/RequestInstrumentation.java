@@ -0,0 +1,67 @@
+package com.homeexpress.home_express_api.config;
+
+/**
+ * Per-request cost accumulator bound to the request thread.
+ *
+ * {@link RequestInstrumentationFilter} opens a sample for every HTTP request;
+ * the instrumented DataSource and {@link ExternalCallInterceptor} add to it.
+ * Work done on other threads (@Async, schedulers) is not attributed.
+ */
+public final class RequestInstrumentation {
+
+    private static final ThreadLocal<Sample> CURRENT = new ThreadLocal<>();
+
+    private RequestInstrumentation() {
+    }
+
+    static Sample begin() {
+        Sample sample = new Sample();
+        CURRENT.set(sample);
+        return sample;
+    }
+
+    /**
+     * Sample of the request running on this thread, or null outside a request
+     */
+    public static Sample current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static final class Sample {
+
+        private int queries;
+        private long dbNanos;
+        private int externalCalls;
+        private long externalNanos;
+
+        void recordQuery(long nanos) {
+            queries++;
+            dbNanos += nanos;
+        }
+
+        void recordExternalCall(long nanos) {
+            externalCalls++;
+            externalNanos += nanos;
+        }
+
+        public int getQueries() {
+            return queries;
+        }
+
+        public long getDbNanos() {
+            return dbNanos;
+        }
+
+        public int getExternalCalls() {
+            return externalCalls;
+        }
+
+        public long getExternalNanos() {
+            return externalNanos;
+        }
+    }
+}
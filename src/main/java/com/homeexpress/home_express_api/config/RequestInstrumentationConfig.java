@@ -0,0 +1,27 @@
+package com.homeexpress.home_express_api.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps the application DataSource so statement executions are counted and
+ * timed per request (see {@link RequestInstrumentationFilter}).
+ */
+@Configuration
+@ConditionalOnProperty(value = "instrumentation.request.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestInstrumentationConfig {
+
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? InstrumentedDataSource.wrap(dataSource) : bean;
+            }
+        };
+    }
+}
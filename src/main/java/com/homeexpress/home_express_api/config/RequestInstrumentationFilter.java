@@ -0,0 +1,191 @@
+package com.homeexpress.home_express_api.config;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records how many SQL statements and external HTTP calls each request makes.
+ *
+ * Per endpoint (method + URI pattern) it publishes {@code http.request.db.queries},
+ * {@code http.request.db.time}, {@code http.request.external.calls} and
+ * {@code http.request.external.time}, and logs a warning when a request goes over
+ * the configured budget. With {@code instrumentation.request.response-header}
+ * turned on (off by default) the counts are also returned in
+ * {@code X-Db-Queries}, {@code X-Db-Time-Ms} and {@code X-External-Time-Ms}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(value = "instrumentation.request.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestInstrumentationFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestInstrumentationFilter.class);
+
+    static final String HEADER_DB_QUERIES = "X-Db-Queries";
+    static final String HEADER_DB_TIME = "X-Db-Time-Ms";
+    static final String HEADER_EXTERNAL_TIME = "X-External-Time-Ms";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeader;
+    private final int queryBudget;
+    private final long dbTimeBudgetMillis;
+    private final long externalTimeBudgetMillis;
+
+    public RequestInstrumentationFilter(MeterRegistry meterRegistry,
+                                        @Value("${instrumentation.request.response-header:false}") boolean responseHeader,
+                                        @Value("${instrumentation.request.query-budget:30}") int queryBudget,
+                                        @Value("${instrumentation.request.db-time-budget-ms:500}") long dbTimeBudgetMillis,
+                                        @Value("${instrumentation.request.external-time-budget-ms:5000}") long externalTimeBudgetMillis) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeader = responseHeader;
+        this.queryBudget = queryBudget;
+        this.dbTimeBudgetMillis = dbTimeBudgetMillis;
+        this.externalTimeBudgetMillis = externalTimeBudgetMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestInstrumentation.Sample sample = RequestInstrumentation.begin();
+        HttpServletResponse target = responseHeader ? new CostHeaderResponse(response, sample) : response;
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            RequestInstrumentation.end();
+            if (target instanceof CostHeaderResponse costHeaderResponse) {
+                costHeaderResponse.writeHeaders();
+            }
+            record(request, sample, System.nanoTime() - started);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestInstrumentation.Sample sample, long elapsedNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("http.request.db.queries")
+                .description("SQL statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(sample.getQueries());
+        Timer.builder("http.request.db.time")
+                .description("Time spent executing SQL per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(sample.getDbNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("http.request.external.calls")
+                .description("External HTTP calls per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(sample.getExternalCalls());
+        Timer.builder("http.request.external.time")
+                .description("Time spent in external HTTP calls per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(sample.getExternalNanos(), TimeUnit.NANOSECONDS);
+
+        long dbMillis = TimeUnit.NANOSECONDS.toMillis(sample.getDbNanos());
+        long externalMillis = TimeUnit.NANOSECONDS.toMillis(sample.getExternalNanos());
+        if (sample.getQueries() > queryBudget || dbMillis > dbTimeBudgetMillis || externalMillis > externalTimeBudgetMillis) {
+            Counter.builder("http.request.budget.exceeded")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Request budget exceeded: {} {} queries={} (budget {}), dbTime={}ms (budget {}), "
+                            + "externalCalls={} externalTime={}ms (budget {}), total={}ms",
+                    request.getMethod(), uri, sample.getQueries(), queryBudget, dbMillis, dbTimeBudgetMillis,
+                    sample.getExternalCalls(), externalMillis, externalTimeBudgetMillis,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+
+    /**
+     * Adds the cost headers just before the response starts being written, since
+     * headers set after the body is flushed are lost. Work done after that point
+     * (rare: serialization runs with open-in-view off) is only in the metrics.
+     */
+    private static final class CostHeaderResponse extends HttpServletResponseWrapper {
+
+        private final RequestInstrumentation.Sample sample;
+        private boolean written;
+
+        CostHeaderResponse(HttpServletResponse response, RequestInstrumentation.Sample sample) {
+            super(response);
+            this.sample = sample;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(HEADER_DB_QUERIES, Integer.toString(sample.getQueries()));
+            setHeader(HEADER_DB_TIME, Long.toString(TimeUnit.NANOSECONDS.toMillis(sample.getDbNanos())));
+            setHeader(HEADER_EXTERNAL_TIME, Long.toString(TimeUnit.NANOSECONDS.toMillis(sample.getExternalNanos())));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -60,6 +60,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/v1/map/**").permitAll() // Cho phep truy cap map api (autocomplete)
                 .requestMatchers("/api/payments/webhook/**").permitAll() // Webhook PayOS
                 .requestMatchers("/uploads/**").permitAll() // Cho phep truy cap file upload
+                .requestMatchers("/error").permitAll() // Trang loi: giu nguyen status 401/404 ma controller da sendError
                 .requestMatchers("/api/v1/estimation/**").permitAll() // Cho phep goi estimation khong can login
                 .requestMatchers("/swagger-ui/**").permitAll()
                 .requestMatchers("/v3/api-docs/**").permitAll()
@@ -0,0 +1,14 @@
+package com.homeexpress.home_express_api.config;
+
+/**
+ * Result of verifying an access token: the principal plus the claims needed
+ * for revocation checks on later requests.
+ *
+ * @param principal authenticated user built from the token
+ * @param sessionId "sid" claim, null for tokens not bound to a session
+ * @param issuedAtMillis "iat" claim in epoch millis
+ * @param expiresAtMillis "exp" claim in epoch millis
+ */
+public record VerifiedAccessToken(JwtAuthenticatedUser principal, String sessionId,
+                                  long issuedAtMillis, long expiresAtMillis) {
+}
@@ -6,8 +6,8 @@ import com.homeexpress.home_express_api.dto.response.UserSummaryResponse;
 import com.homeexpress.home_express_api.service.AuthService;
 import com.homeexpress.home_express_api.service.OtpService;
 import com.homeexpress.home_express_api.service.UserService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
-import com.homeexpress.home_express_api.repository.UserRepository;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import jakarta.validation.Valid;
 import org.springframework.security.core.Authentication;
 import org.springframework.http.HttpHeaders;
@@ -29,7 +29,7 @@ public class AuthController {
     private final AuthService authService;
     private final OtpService otpService;
     private final UserService userService;
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     // Endpoint: Dang ky user moi
     @PostMapping("/register")
@@ -48,7 +48,7 @@ public class AuthController {
     // Endpoint: Get current user info (for session restoration)
     @GetMapping("/me")
     public ResponseEntity<UserSummaryResponse> me(Authentication authentication) {
-        com.homeexpress.home_express_api.entity.User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         UserSummaryResponse response = userService.getUserSummary(user.getUserId());
         return ResponseEntity.ok(response);
     }
@@ -1,6 +1,7 @@
 package com.homeexpress.home_express_api.controller;
 
 import com.homeexpress.home_express_api.dto.booking.AssignTransportRequest;
+import com.homeexpress.home_express_api.dto.booking.BookingPageResponse;
 import com.homeexpress.home_express_api.dto.booking.BookingRequest;
 import com.homeexpress.home_express_api.dto.booking.BookingResponse;
 import com.homeexpress.home_express_api.dto.booking.BookingStatusHistoryResponse;
@@ -9,18 +10,24 @@ import com.homeexpress.home_express_api.dto.request.ConfirmCompletionRequest;
 import com.homeexpress.home_express_api.dto.request.UploadBookingEvidenceRequest;
 import com.homeexpress.home_express_api.dto.response.BookingEvidenceResponse;
 import com.homeexpress.home_express_api.dto.response.QuotationResponse;
+import com.homeexpress.home_express_api.entity.BookingStatus;
 import com.homeexpress.home_express_api.entity.EvidenceType;
-import com.homeexpress.home_express_api.entity.User;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.BookingService;
 import com.homeexpress.home_express_api.service.EvidenceService;
 import com.homeexpress.home_express_api.service.booking.BookingEstimateService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.booking.BookingQueryService;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -33,6 +40,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RequiredArgsConstructor
 @RestController
@@ -42,19 +50,23 @@ public class BookingController {
     // Service chinh xu ly tao/cap nhat booking; nhan userId/role de kiem tra quyen
     private final BookingService bookingService;
 
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     private final EvidenceService evidenceService;
 
     private final BookingEstimateService bookingEstimateService;
 
+    private final BookingQueryService bookingQueryService;
+
+    private static final String NDJSON = "application/x-ndjson";
+
     @PreAuthorize("hasRole('CUSTOMER')")
     @PostMapping
     public ResponseEntity<?> createBooking(
             @Valid @RequestBody BookingRequest request,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         // Truyen userId/role de service gan chu so huu va validate quyen
         BookingResponse response = bookingService.createBooking(request, user.getUserId(), user.getRole());
@@ -69,18 +81,49 @@ public class BookingController {
     @GetMapping
     public ResponseEntity<?> getBookings(
             @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String provinceCode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         // Customer chi thay booking cua minh; Manager co the truyen customerId de loc
-        List<BookingResponse> bookings =
-                bookingService.getBookingsForUser(customerId, user.getUserId(), user.getRole());
+        BookingQueryService.Filter filter = toFilter(customerId, status, from, to, provinceCode).withPage(cursor, size);
+        BookingPageResponse page = bookingQueryService.search(filter, user.getUserId(), user.getRole());
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("bookings", page.getBookings());
+        response.put("count", page.getBookings().size());
+        response.put("nextCursor", page.getNextCursor());
+        response.put("hasMore", page.isHasMore());
+        return ResponseEntity.ok(response);
+    }
 
-        return ResponseEntity.ok(Map.of(
-                "bookings", bookings,
-                "count", bookings.size()
-        ));
+    @PreAuthorize("hasAnyRole('MANAGER','CUSTOMER')")
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String provinceCode,
+            Authentication authentication) {
+
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
+
+        // Kiem tra quyen truoc khi mo stream; sau do moi dong booking duoc ghi ngay khi doc tu DB
+        BookingQueryService.Filter filter = bookingQueryService.prepareExport(
+                toFilter(customerId, status, from, to, provinceCode), user.getUserId(), user.getRole());
+        StreamingResponseBody body = out -> bookingQueryService.exportNdjson(filter, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.ndjson\"")
+                .body(body);
     }
 
     @PreAuthorize("hasAnyRole('CUSTOMER','MANAGER','TRANSPORT')")
@@ -89,7 +132,7 @@ public class BookingController {
             @PathVariable Long id,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         // Service tu kiem tra quyen truy cap theo vai tro va owner
         BookingResponse booking = bookingService.getBookingById(id, user.getUserId(), user.getRole());
@@ -104,7 +147,7 @@ public class BookingController {
             @Valid @RequestBody BookingUpdateRequest request,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         // Cho phep khach/manager cap nhat thong tin truoc khi booking chot
         BookingResponse response = bookingService.updateBooking(id, request, user.getUserId(), user.getRole());
@@ -122,7 +165,7 @@ public class BookingController {
             @RequestBody(required = false) Map<String, String> body,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         String reason = body != null ? body.get("reason") : null;
 
@@ -141,7 +184,7 @@ public class BookingController {
             @PathVariable Long id,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         // Lich su trang thai day du de audit tung buoc cua booking
         List<BookingStatusHistoryResponse> history =
@@ -160,7 +203,7 @@ public class BookingController {
             @PathVariable Long id,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         // Kiem tra quyen truoc khi tra danh sach bao gia
         bookingService.getBookingById(id, user.getUserId(), user.getRole());
@@ -184,7 +227,7 @@ public class BookingController {
             @Valid @RequestBody AssignTransportRequest request,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         BookingResponse response = bookingService.assignTransport(
                 id,
@@ -215,7 +258,7 @@ public class BookingController {
             @RequestParam(required = false) String vehicleType,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         // Chuan hoa query de tranh page/size am hoac qua lon
         BookingEstimateService.Query query = new BookingEstimateService.Query();
@@ -249,7 +292,7 @@ public class BookingController {
             @Valid @RequestBody(required = false) ConfirmCompletionRequest request,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         BookingResponse response = bookingService.confirmBookingCompletion(id, request, user.getUserId());
 
@@ -273,7 +316,7 @@ public class BookingController {
             @RequestParam(required = false) EvidenceType type,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         List<BookingEvidenceResponse> evidence = evidenceService.getBookingEvidence(
                 bookingId,
@@ -299,7 +342,7 @@ public class BookingController {
             @Valid @RequestBody UploadBookingEvidenceRequest request,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         BookingEvidenceResponse response = evidenceService.uploadBookingEvidence(
                 bookingId,
@@ -323,7 +366,7 @@ public class BookingController {
             @PathVariable Long evidenceId,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         evidenceService.deleteEvidence(evidenceId, user.getUserId(), user.getRole());
 
@@ -332,4 +375,9 @@ public class BookingController {
         ));
     }
 
+
+    private BookingQueryService.Filter toFilter(Long customerId, BookingStatus status,
+                                                LocalDate from, LocalDate to, String provinceCode) {
+        return new BookingQueryService.Filter(customerId, status, from, to, provinceCode, null, null);
+    }
 }
@@ -3,13 +3,12 @@ package com.homeexpress.home_express_api.controller;
 import com.homeexpress.home_express_api.dto.booking.BookingItemSummaryResponse;
 import com.homeexpress.home_express_api.dto.response.ApiResponse;
 import com.homeexpress.home_express_api.entity.Booking;
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
 import com.homeexpress.home_express_api.exception.ResourceNotFoundException;
 import com.homeexpress.home_express_api.repository.BookingRepository;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.BookingItemService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,7 +36,7 @@ public class BookingItemController {
 
     private final BookingItemService bookingItemService;
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('CUSTOMER','TRANSPORT','MANAGER')")
@@ -46,7 +45,7 @@ public class BookingItemController {
         Authentication authentication
     ) {
         try {
-            User user = AuthenticationUtils.getUser(authentication, userRepository);
+            UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
             Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
@@ -32,6 +32,8 @@ public class FileController {
                     .fileName(storedFile.fileName())
                     .fileSizeBytes(storedFile.fileSizeBytes())
                     .mimeType(storedFile.mimeType())
+                    .contentHash(storedFile.contentHash())
+                    .variantUrls(storedFile.variantUrls())
                     .build();
 
             return ResponseEntity.status(HttpStatus.CREATED)
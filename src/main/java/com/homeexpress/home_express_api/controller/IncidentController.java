@@ -2,16 +2,19 @@ package com.homeexpress.home_express_api.controller;
 
 import com.homeexpress.home_express_api.dto.incident.*;
 import com.homeexpress.home_express_api.entity.*;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.EvidenceService;
 import com.homeexpress.home_express_api.service.IncidentService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
@@ -25,14 +28,14 @@ public class IncidentController {
 
     private final EvidenceService evidenceService;
 
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     @PostMapping
     public ResponseEntity<?> createIncident(
             @Valid @RequestBody IncidentRequest request,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         if (user.getRole() != UserRole.CUSTOMER && user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
@@ -52,17 +55,24 @@ public class IncidentController {
             @RequestParam(required = false) Long bookingId,
             @RequestParam(required = false) IncidentStatus status,
             @RequestParam(required = false) Severity severity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
-        List<IncidentResponse> incidents = incidentService.getIncidents(
-            bookingId, status, severity, user.getUserId(), user.getRole()
+        Page<IncidentResponse> incidents = incidentService.getIncidents(
+            bookingId, status, severity, from, to, page, size, user.getUserId(), user.getRole()
         );
 
         return ResponseEntity.ok(Map.of(
-            "incidents", incidents,
-            "count", incidents.size()
+            "incidents", incidents.getContent(),
+            "count", incidents.getTotalElements(),
+            "currentPage", incidents.getNumber(),
+            "totalItems", incidents.getTotalElements(),
+            "totalPages", incidents.getTotalPages()
         ));
     }
 
@@ -71,7 +81,7 @@ public class IncidentController {
             @PathVariable Long id,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         IncidentResponse incident = incidentService.getIncidentById(id, user.getUserId(), user.getRole());
         
@@ -89,7 +99,7 @@ public class IncidentController {
             @Valid @RequestBody IncidentUpdateRequest request,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         if (user.getRole() != UserRole.MANAGER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
@@ -110,7 +120,7 @@ public class IncidentController {
             @Valid @RequestBody EvidenceRequest request,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         request.setIncidentId(id);
         
@@ -127,7 +137,7 @@ public class IncidentController {
             @PathVariable Long id,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         List<EvidenceResponse> evidence = evidenceService.getEvidenceByIncident(id, user.getUserId(), user.getRole());
         
@@ -142,7 +152,7 @@ public class IncidentController {
             @PathVariable Long evidenceId,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         evidenceService.deleteEvidence(evidenceId, user.getUserId(), user.getRole());
         
@@ -151,4 +161,4 @@ public class IncidentController {
         ));
     }
 }
-
+
@@ -7,13 +7,13 @@ import com.homeexpress.home_express_api.entity.Payment;
 import com.homeexpress.home_express_api.entity.PaymentMethod;
 import com.homeexpress.home_express_api.entity.PaymentStatus;
 import com.homeexpress.home_express_api.entity.PaymentType;
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.repository.BookingRepository;
 import com.homeexpress.home_express_api.repository.PaymentRepository;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.PaymentService;
 import com.homeexpress.home_express_api.service.payment.PayOSService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.payment.PayOsWebhookWorker;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import java.math.BigDecimal;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -40,24 +40,27 @@ public class PaymentController {
     private static final Logger log = LoggerFactory.getLogger(PaymentController.class);
 
     private final PayOSService payOSService;
+    private final PayOsWebhookWorker payOsWebhookWorker;
     private final PaymentService paymentService;
     private final BookingRepository bookingRepository;
     private final PaymentRepository paymentRepository;
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
     private final ObjectMapper objectMapper;
 
     public PaymentController(
             PayOSService payOSService,
+            PayOsWebhookWorker payOsWebhookWorker,
             PaymentService paymentService,
             BookingRepository bookingRepository,
             PaymentRepository paymentRepository,
-            UserRepository userRepository,
+            UserPrincipalResolver userPrincipalResolver,
             ObjectMapper objectMapper) {
         this.payOSService = payOSService;
+        this.payOsWebhookWorker = payOsWebhookWorker;
         this.paymentService = paymentService;
         this.bookingRepository = bookingRepository;
         this.paymentRepository = paymentRepository;
-        this.userRepository = userRepository;
+        this.userPrincipalResolver = userPrincipalResolver;
         this.objectMapper = objectMapper;
     }
 
@@ -66,7 +69,7 @@ public class PaymentController {
     public ResponseEntity<?> createDepositLink(@PathVariable Long bookingId, Authentication authentication) {
         Payment payment = null;
         try {
-            User user = AuthenticationUtils.getUser(authentication, userRepository);
+            UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
@@ -106,7 +109,7 @@ public class PaymentController {
             }
 
             BigDecimal depositAmount = paymentService.calculateDepositAmount(booking);
-            long orderCode = payOSService.generateOrderCode(bookingId);
+            long orderCode = payOSService.generateOrderCode();
 
             payment = new Payment();
             payment.setBookingId(bookingId);
@@ -139,24 +142,33 @@ public class PaymentController {
         }
     }
 
+    /**
+     * Verifies the webhook and stores it in the inbox; payments are confirmed
+     * asynchronously by {@link PayOsWebhookWorker}. Answers 503 only if the
+     * webhook could not be stored, so PayOS retries it.
+     */
     @PostMapping("/webhook/payos")
     public ResponseEntity<String> handleWebhook(@RequestBody Webhook body) {
+        WebhookData data;
         try {
-            WebhookData data = payOSService.verifyWebhook(body);
-
-            if ("00".equals(data.getCode())) {
-                paymentService.confirmPayOsPayment(
-                        data.getOrderCode(),
-                        data.getAmount(),
-                        data.getPaymentLinkId(),
-                        data.getReference());
-            }
-
-            return ResponseEntity.ok("Webhook received");
+            data = payOSService.verifyWebhook(body);
         } catch (Exception e) {
-            log.error("PayOS webhook processing failed: {}", e.getMessage(), e);
+            log.error("PayOS webhook verification failed: {}", e.getMessage(), e);
             return ResponseEntity.ok("Webhook received with error: " + e.getMessage());
         }
+
+        if ("00".equals(data.getCode())) {
+            try {
+                if (!payOsWebhookWorker.enqueue(data)) {
+                    log.debug("Duplicate PayOS webhook for order {}", data.getOrderCode());
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not store PayOS webhook for order {}: {}", data.getOrderCode(), e.getMessage(), e);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Webhook not stored, retry later");
+            }
+        }
+
+        return ResponseEntity.ok("Webhook received");
     }
 
     private String buildGatewayMetadata(BigDecimal amount, long orderCode, String paymentLinkId, String checkoutUrl) {
@@ -0,0 +1,228 @@
+package com.homeexpress.home_express_api.controller;
+
+import com.homeexpress.home_express_api.service.FileStorageService;
+import com.homeexpress.home_express_api.service.upload.ByteRange;
+import com.homeexpress.home_express_api.service.upload.ImageVariantService;
+import com.homeexpress.home_express_api.service.upload.UploadAccessService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Serves files under {@code /uploads/**} straight from disk.
+ *
+ * The body is never copied through the heap: when the container supports
+ * it (Tomcat NIO/NIO2/APR) larger responses are handed to sendfile, other
+ * responses go through {@link FileChannel#transferTo}. Single byte ranges
+ * are supported so evidence videos can be seeked, and conditional GETs are
+ * answered from the file name or size and mtime. Upload names are never
+ * reused (content hash or UUID), so those files are cached as immutable.
+ * Files in private categories are only served to users allowed by
+ * {@link UploadAccessService}.
+ */
+@RestController
+public class UploadController {
+
+    private static final String URL_PREFIX = "/uploads/";
+
+    private static final Pattern UUID_NAME = Pattern.compile(
+            "^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.[a-z0-9]+$");
+
+    // Dưới ngưỡng này ghi thẳng qua transferTo, sendfile không đáng chi phí chuyển socket
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024L;
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic().immutable().getHeaderValue();
+    private static final String PRIVATE_IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePrivate().immutable().getHeaderValue();
+    private static final String SHORT_LIVED = CacheControl.maxAge(Duration.ofHours(1))
+            .cachePublic().getHeaderValue();
+
+    private final Path uploadRoot;
+
+    private final UploadAccessService uploadAccessService;
+
+    private final ImageVariantService imageVariantService;
+
+    public UploadController(@Value("${file.upload.dir:uploads}") String uploadDir,
+                            UploadAccessService uploadAccessService,
+                            ImageVariantService imageVariantService) {
+        this.uploadRoot = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.uploadAccessService = uploadAccessService;
+        this.imageVariantService = imageVariantService;
+    }
+
+    @RequestMapping(value = "/uploads/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(HttpServletRequest request, HttpServletResponse response,
+                      Authentication authentication) throws IOException {
+        String relativePath = relativePath(request);
+        if (relativePath == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path file = uploadRoot.resolve(relativePath).normalize();
+        if (!file.startsWith(uploadRoot) || file.equals(uploadRoot)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String category = relativePath.contains("/") ? relativePath.substring(0, relativePath.indexOf('/')) : null;
+        String fileName = file.getFileName().toString();
+        switch (uploadAccessService.check(category, fileName, authentication)) {
+            case UNAUTHENTICATED -> {
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+            case FORBIDDEN -> {
+                response.sendError(HttpServletResponse.SC_FORBIDDEN);
+                return;
+            }
+            default -> {
+            }
+        }
+
+        // Variant chưa được sinh nền (hàng đợi đầy) thì sinh ngay ở request đầu tiên
+        if (!Files.isRegularFile(file) && !imageVariantService.ensureVariant(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        boolean contentAddressed = FileStorageService.isContentAddressed(fileName);
+        String etag = contentAddressed ? "\"" + fileName + "\"" : "W/\"" + size + "-" + lastModified + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl(category, fileName, contentAddressed));
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        response.setContentType(MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        ByteRange range = rangeFor(request, etag, lastModified, size);
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        long start = 0;
+        long length = size;
+        if (range != null) {
+            start = range.start();
+            length = range.length();
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + range.start() + "-" + range.end() + "/" + size);
+        }
+        response.setContentLengthLong(length);
+
+        if (RequestMethod.HEAD.name().equals(request.getMethod()) || length == 0) {
+            return;
+        }
+        if (length >= SENDFILE_MIN_BYTES && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat gửi file bằng sendfile sau khi handler trả về
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        transfer(file, start, length, response);
+    }
+
+    private static void transfer(Path file, long start, long length, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    // File bị cắt ngắn trong lúc gửi
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    /**
+     * Requested range, or null for the whole file. A stale {@code If-Range}
+     * validator also means the whole file.
+     */
+    private static ByteRange rangeFor(HttpServletRequest request, String etag, long lastModified, long size) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            long date;
+            try {
+                date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            if (date < 0 || lastModified / 1000 > date / 1000) {
+                return null;
+            }
+        }
+        return ByteRange.parse(header, size);
+    }
+
+    private String cacheControl(String category, String fileName, boolean contentAddressed) {
+        if (!contentAddressed && !UUID_NAME.matcher(fileName).matches()) {
+            return SHORT_LIVED;
+        }
+        // File riêng tư không được lưu ở cache dùng chung (CDN, proxy)
+        return uploadAccessService.isPrivate(category) ? PRIVATE_IMMUTABLE : IMMUTABLE;
+    }
+
+    /**
+     * Path below the upload root, or null if it is empty or has a dot
+     * segment (in-progress uploads under {@code .incoming}, traversal).
+     */
+    private static String relativePath(HttpServletRequest request) {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        if (!path.startsWith(URL_PREFIX)) {
+            return null;
+        }
+        String relative = path.substring(URL_PREFIX.length());
+        if (relative.isEmpty() || relative.indexOf('\\') >= 0 || relative.indexOf('\0') >= 0) {
+            return null;
+        }
+        for (String segment : relative.split("/")) {
+            if (segment.isEmpty() || segment.startsWith(".")) {
+                return null;
+            }
+        }
+        return relative;
+    }
+}
@@ -24,8 +24,8 @@ import com.homeexpress.home_express_api.entity.UserRole;
 import com.homeexpress.home_express_api.dto.response.ProfileResponse;
 import com.homeexpress.home_express_api.service.UserService;
 import com.homeexpress.home_express_api.service.FileStorageService;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 
 import java.util.Map;
 import java.util.HashMap;
@@ -40,7 +40,7 @@ public class UserController {
 
     private final UserService userService;
 
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     private final FileStorageService fileStorageService;
 
@@ -135,7 +135,7 @@ public class UserController {
         if (id != null) {
             return id;
         }
-        return AuthenticationUtils.getUser(authentication, userRepository).getUserId();
+        return userPrincipalResolver.resolve(authentication).getUserId();
     }
 }
 
@@ -6,10 +6,9 @@ import com.homeexpress.home_express_api.dto.request.VehicleStatusUpdateRequest;
 import com.homeexpress.home_express_api.dto.response.ApiResponse;
 import com.homeexpress.home_express_api.dto.response.VehicleListResponse;
 import com.homeexpress.home_express_api.dto.response.VehicleResponse;
-import com.homeexpress.home_express_api.entity.User;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.VehicleService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -27,14 +26,14 @@ public class VehicleController {
 
     private final VehicleService vehicleService;
 
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     @PostMapping
     public ResponseEntity<ApiResponse<?>> createVehicle(
             @Valid @RequestBody VehicleRequest request,
             Authentication authentication) {
         try {
-            User user = resolveUser(authentication);
+            UserPrincipal user = resolveUser(authentication);
             VehicleResponse response = vehicleService.createVehicle(request, user.getUserId());
             Map<String, Object> data = Map.of(
                     "vehicleId", response.getVehicleId(),
@@ -58,7 +57,7 @@ public class VehicleController {
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
-            User user = resolveUser(authentication);
+            UserPrincipal user = resolveUser(authentication);
             List<VehicleResponse> vehicles = vehicleService.getVehiclesByTransport(user.getUserId());
             
             // Filter by status if provided
@@ -101,7 +100,7 @@ public class VehicleController {
             @PathVariable Long id,
             Authentication authentication) {
         try {
-            User user = resolveUser(authentication);
+            UserPrincipal user = resolveUser(authentication);
             VehicleResponse response = vehicleService.getVehicleById(id, user.getUserId());
             return ResponseEntity.ok(ApiResponse.success(response));
         } catch (RuntimeException e) {
@@ -116,7 +115,7 @@ public class VehicleController {
             @Valid @RequestBody VehicleRequest request,
             Authentication authentication) {
         try {
-            User user = resolveUser(authentication);
+            UserPrincipal user = resolveUser(authentication);
             VehicleResponse response = vehicleService.updateVehicle(id, request, user.getUserId());
             return ResponseEntity.ok(ApiResponse.success(response, "Vehicle updated successfully"));
         } catch (IllegalArgumentException e) {
@@ -133,7 +132,7 @@ public class VehicleController {
             @PathVariable Long id,
             Authentication authentication) {
         try {
-            User user = resolveUser(authentication);
+            UserPrincipal user = resolveUser(authentication);
             vehicleService.deleteVehicle(id, user.getUserId());
             return ResponseEntity.ok(ApiResponse.success(null, "Vehicle deleted successfully"));
         } catch (RuntimeException e) {
@@ -148,7 +147,7 @@ public class VehicleController {
             @Valid @RequestBody VehicleStatusUpdateRequest request,
             Authentication authentication) {
         try {
-            User user = resolveUser(authentication);
+            UserPrincipal user = resolveUser(authentication);
             VehicleResponse response = vehicleService.updateVehicleStatus(id, request, user.getUserId());
             return ResponseEntity.ok(ApiResponse.success(response, "Vehicle status updated successfully"));
         } catch (RuntimeException e) {
@@ -174,8 +173,8 @@ public class VehicleController {
         }
     }
 
-    private User resolveUser(Authentication authentication) {
-        return AuthenticationUtils.getUser(authentication, userRepository);
+    private UserPrincipal resolveUser(Authentication authentication) {
+        return userPrincipalResolver.resolve(authentication);
     }
 }
 
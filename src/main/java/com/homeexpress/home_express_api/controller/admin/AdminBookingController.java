@@ -1,11 +1,10 @@
 package com.homeexpress.home_express_api.controller.admin;
 
 import com.homeexpress.home_express_api.dto.response.BookingTimelineResponse;
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.BookingService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -26,7 +25,7 @@ import java.util.Map;
 public class AdminBookingController {
 
     private final BookingService bookingService;
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     /**
      * Get comprehensive timeline for a booking
@@ -37,7 +36,7 @@ public class AdminBookingController {
             @PathVariable Long id,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.MANAGER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only managers can access booking timeline"));
@@ -5,11 +5,10 @@ import com.homeexpress.home_express_api.dto.intake.PublishSessionRequest;
 import com.homeexpress.home_express_api.dto.response.AdminIntakeSessionDetailResponse;
 import com.homeexpress.home_express_api.dto.response.AdminIntakeSessionListResponse;
 import com.homeexpress.home_express_api.dto.response.AdminIntakeSessionStatsResponse;
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.intake.AdminIntakeSessionService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,26 +36,28 @@ import java.util.Map;
 public class AdminIntakeSessionController {
 
     private final AdminIntakeSessionService adminIntakeSessionService;
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     /**
-     * List all intake sessions with pagination and filtering
+     * Intake review queue with pagination and filtering
      */
     @GetMapping
     public ResponseEntity<AdminIntakeSessionListResponse> listSessions(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Integer minAgeMinutes,
+            @RequestParam(required = false) Integer maxAgeMinutes,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.MANAGER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
         AdminIntakeSessionListResponse response = adminIntakeSessionService.listSessions(
-                status, customerId, page, size);
+                status, customerId, minAgeMinutes, maxAgeMinutes, page, size);
         return ResponseEntity.ok(response);
     }
 
@@ -68,7 +69,7 @@ public class AdminIntakeSessionController {
             @RequestParam(required = false, defaultValue = "NEEDS_REVIEW") String status,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.MANAGER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -85,7 +86,7 @@ public class AdminIntakeSessionController {
             @PathVariable String id,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.MANAGER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -111,7 +112,7 @@ public class AdminIntakeSessionController {
             @PathVariable String id,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.MANAGER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -139,7 +140,7 @@ public class AdminIntakeSessionController {
             @Valid @RequestBody Map<String, List<ItemCandidateDto>> request,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.MANAGER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -176,7 +177,7 @@ public class AdminIntakeSessionController {
             @RequestBody(required = false) Map<String, Object> request,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.MANAGER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -206,7 +207,7 @@ public class AdminIntakeSessionController {
             @Valid @RequestBody Map<String, Object> request,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.MANAGER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -246,7 +247,7 @@ public class AdminIntakeSessionController {
             @RequestBody(required = false) PublishSessionRequest request,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.MANAGER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -276,7 +277,7 @@ public class AdminIntakeSessionController {
             @PathVariable String id,
             Authentication authentication) {
         
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.MANAGER) {
             SseEmitter emitter = new SseEmitter(0L);
             try {
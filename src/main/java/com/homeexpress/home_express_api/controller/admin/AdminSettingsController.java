@@ -2,11 +2,10 @@ package com.homeexpress.home_express_api.controller.admin;
 
 import com.homeexpress.home_express_api.dto.request.UpdateAdminSettingsRequest;
 import com.homeexpress.home_express_api.dto.response.AdminSettingsResponse;
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.AdminSettingsService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,14 +21,14 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/api/v1/admin/settings")
 public class AdminSettingsController {
 
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     private final AdminSettingsService adminSettingsService;
 
     @GetMapping
     @PreAuthorize("hasRole('MANAGER')")
     public ResponseEntity<?> getSettings(Authentication authentication) {
-        User user = resolveUser(authentication);
+        UserPrincipal user = resolveUser(authentication);
         if (user.getRole() != UserRole.MANAGER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only managers can access admin settings"));
@@ -46,7 +45,7 @@ public class AdminSettingsController {
     @PreAuthorize("hasRole('MANAGER')")
     public ResponseEntity<?> updateSettings(@Valid @RequestBody UpdateAdminSettingsRequest request,
                                             Authentication authentication) {
-        User user = resolveUser(authentication);
+        UserPrincipal user = resolveUser(authentication);
         if (user.getRole() != UserRole.MANAGER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only managers can update admin settings"));
@@ -60,8 +59,8 @@ public class AdminSettingsController {
         ));
     }
 
-    private User resolveUser(Authentication authentication) {
-        return AuthenticationUtils.getUser(authentication, userRepository);
+    private UserPrincipal resolveUser(Authentication authentication) {
+        return userPrincipalResolver.resolve(authentication);
     }
 }
 
@@ -1,5 +1,6 @@
 package com.homeexpress.home_express_api.controller.admin;
 
+import com.homeexpress.home_express_api.dto.response.UserDirectoryEntry;
 import com.homeexpress.home_express_api.dto.response.UserListResponse;
 import com.homeexpress.home_express_api.entity.UserRole;
 import com.homeexpress.home_express_api.entity.UserSession;
@@ -46,8 +47,8 @@ public class AdminUsersController {
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('MANAGER')")
-    public ResponseEntity<Map<String, Object>> getUserById(@PathVariable Long id) {
-        Map<String, Object> response = adminUserService.getUserWithProfile(id);
+    public ResponseEntity<UserDirectoryEntry> getUserById(@PathVariable Long id) {
+        UserDirectoryEntry response = adminUserService.getUserWithProfile(id);
         return ResponseEntity.ok(response);
     }
 
@@ -178,4 +179,4 @@ public class AdminUsersController {
         return ResponseEntity.ok(response);
     }
 }
-
+
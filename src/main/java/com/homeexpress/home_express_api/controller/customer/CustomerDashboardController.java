@@ -1,5 +1,6 @@
 package com.homeexpress.home_express_api.controller.customer;
 
+import com.homeexpress.home_express_api.dto.booking.BookingPageResponse;
 import com.homeexpress.home_express_api.dto.booking.BookingResponse;
 import com.homeexpress.home_express_api.dto.response.CustomerDashboardStatsResponse;
 import com.homeexpress.home_express_api.entity.User;
@@ -13,11 +14,13 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -46,18 +49,28 @@ public class CustomerDashboardController {
 
     @GetMapping("/bookings")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<?> getCustomerBookings(Authentication authentication) {
+    public ResponseEntity<?> getCustomerBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
         User customer = resolveAuthenticatedCustomer(authentication);
-        List<BookingResponse> bookings = bookingService.getBookingsByCustomer(
+        BookingPageResponse page = bookingService.getBookingsByCustomer(
                 customer.getUserId(),
                 customer.getUserId(),
-                customer.getRole()
+                customer.getRole(),
+                cursor,
+                size
         );
 
-        List<Map<String, Object>> payload = bookings.stream()
+        List<Map<String, Object>> bookings = page.getBookings().stream()
                 .map(this::toSummary)
                 .collect(Collectors.toList());
 
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookings", bookings);
+        payload.put("count", bookings.size());
+        payload.put("nextCursor", page.getNextCursor());
+        payload.put("hasMore", page.isHasMore());
         return ResponseEntity.ok(payload);
     }
 
@@ -93,4 +106,4 @@ public class CustomerDashboardController {
         return user;
     }
 }
-
+
@@ -7,11 +7,10 @@ import com.homeexpress.home_express_api.dto.response.BankInfoResponse;
 import com.homeexpress.home_express_api.dto.response.InitiateDepositResponse;
 import com.homeexpress.home_express_api.dto.response.InitiateRemainingPaymentResponse;
 import com.homeexpress.home_express_api.dto.response.PaymentStatusResponse;
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.PaymentService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -29,14 +28,14 @@ public class CustomerPaymentController {
 
     private final PaymentService paymentService;
 
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     @GetMapping("/bookings/{bookingId}/payments/summary")
     public ResponseEntity<?> getPaymentSummary(
             @PathVariable Long bookingId,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         PaymentSummaryDTO summary = paymentService.getPaymentSummary(bookingId, user.getUserId(), user.getRole());
 
@@ -48,7 +47,7 @@ public class CustomerPaymentController {
             @Valid @RequestBody PaymentInitRequestDTO request,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         if (user.getRole() != UserRole.CUSTOMER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
@@ -68,7 +67,7 @@ public class CustomerPaymentController {
             @Valid @RequestBody PaymentConfirmRequestDTO request,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         PaymentResponseDTO response = paymentService.confirmPayment(request, user.getUserId(), user.getRole());
 
@@ -83,7 +82,7 @@ public class CustomerPaymentController {
             @PathVariable Long bookingId,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         List<PaymentResponseDTO> payments = paymentService.getPaymentHistory(bookingId, user.getUserId(), user.getRole());
 
@@ -108,7 +107,7 @@ public class CustomerPaymentController {
             Authentication authentication) {
         
         try {
-            User user = AuthenticationUtils.getUser(authentication, userRepository);
+            UserPrincipal user = userPrincipalResolver.resolve(authentication);
             
             if (user.getRole() != UserRole.CUSTOMER) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
@@ -141,7 +140,7 @@ public class CustomerPaymentController {
             Authentication authentication) {
 
         try {
-            User user = AuthenticationUtils.getUser(authentication, userRepository);
+            UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
             if (user.getRole() != UserRole.CUSTOMER) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
@@ -175,7 +174,7 @@ public class CustomerPaymentController {
             Authentication authentication) {
         
         try {
-            User user = AuthenticationUtils.getUser(authentication, userRepository);
+            UserPrincipal user = userPrincipalResolver.resolve(authentication);
             
             PaymentStatusResponse response = paymentService.getPaymentStatus(bookingId, paymentId, user.getUserId());
             
@@ -3,10 +3,9 @@ package com.homeexpress.home_express_api.controller.customer;
 import com.homeexpress.home_express_api.dto.request.CreateCounterOfferRequest;
 import com.homeexpress.home_express_api.dto.request.RespondToCounterOfferRequest;
 import com.homeexpress.home_express_api.dto.response.CounterOfferResponse;
-import com.homeexpress.home_express_api.entity.User;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.CounterOfferService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,7 +27,7 @@ import java.util.Map;
 public class CustomerQuotationController {
 
     private final CounterOfferService counterOfferService;
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     /**
      * Create a counter-offer for a quotation
@@ -40,7 +39,7 @@ public class CustomerQuotationController {
             @Valid @RequestBody CreateCounterOfferRequest request,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         // Set quotation ID from path
         request.setQuotationId(quotationId);
@@ -66,7 +65,7 @@ public class CustomerQuotationController {
             @PathVariable Long quotationId,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         List<CounterOfferResponse> counterOffers = counterOfferService.getCounterOffersByQuotation(
                 quotationId,
@@ -90,7 +89,7 @@ public class CustomerQuotationController {
             @PathVariable Long counterOfferId,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         CounterOfferResponse response = counterOfferService.getCounterOfferById(
                 counterOfferId,
@@ -113,7 +112,7 @@ public class CustomerQuotationController {
             @Valid @RequestBody RespondToCounterOfferRequest request,
             Authentication authentication) {
 
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
 
         CounterOfferResponse response = counterOfferService.respondToCounterOffer(
                 counterOfferId,
@@ -1,12 +1,11 @@
 package com.homeexpress.home_express_api.controller.customer;
 
 import com.homeexpress.home_express_api.entity.Booking;
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
 import com.homeexpress.home_express_api.repository.BookingRepository;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.CustomerEventService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -31,7 +30,7 @@ public class CustomerSSEController {
 
     private final CustomerEventService customerEventService;
 
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     private final BookingRepository bookingRepository;
 
@@ -50,7 +49,7 @@ public class CustomerSSEController {
 
         try {
             // Authenticate user
-            User user = AuthenticationUtils.getUser(authentication, userRepository);
+            UserPrincipal user = userPrincipalResolver.resolve(authentication);
             
             if (user == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -99,7 +98,7 @@ public class CustomerSSEController {
     @GetMapping("/events/stats")
     public ResponseEntity<Map<String, Object>> getConnectionStats(Authentication authentication) {
         try {
-            User user = AuthenticationUtils.getUser(authentication, userRepository);
+            UserPrincipal user = userPrincipalResolver.resolve(authentication);
             
             if (user == null || user.getRole() != UserRole.CUSTOMER) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -2,11 +2,10 @@ package com.homeexpress.home_express_api.controller.customer;
 
 import com.homeexpress.home_express_api.dto.request.UpdateCustomerSettingsRequest;
 import com.homeexpress.home_express_api.dto.response.CustomerSettingsResponse;
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.CustomerSettingsService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,14 +21,14 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/api/v1/customer/settings")
 public class CustomerSettingsController {
 
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     private final CustomerSettingsService customerSettingsService;
 
     @GetMapping
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<?> getSettings(Authentication authentication) {
-        User user = resolveUser(authentication);
+        UserPrincipal user = resolveUser(authentication);
         if (user.getRole() != UserRole.CUSTOMER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only customers can access these settings"));
@@ -46,7 +45,7 @@ public class CustomerSettingsController {
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<?> updateSettings(@Valid @RequestBody UpdateCustomerSettingsRequest request,
                                             Authentication authentication) {
-        User user = resolveUser(authentication);
+        UserPrincipal user = resolveUser(authentication);
         if (user.getRole() != UserRole.CUSTOMER) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only customers can update these settings"));
@@ -60,8 +59,8 @@ public class CustomerSettingsController {
         ));
     }
 
-    private User resolveUser(Authentication authentication) {
-        return AuthenticationUtils.getUser(authentication, userRepository);
+    private UserPrincipal resolveUser(Authentication authentication) {
+        return userPrincipalResolver.resolve(authentication);
     }
 }
 
@@ -4,12 +4,11 @@ import com.homeexpress.home_express_api.dto.request.SubmitQuotationRequest;
 import com.homeexpress.home_express_api.dto.response.QuotationResponse;
 import com.homeexpress.home_express_api.dto.response.TransportDashboardStatsResponse;
 import com.homeexpress.home_express_api.dto.response.TransportQuotationSummaryResponse;
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.QuotationService;
 import com.homeexpress.home_express_api.service.TransportDashboardService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -41,12 +40,12 @@ public class TransportDashboardController {
 
     private final QuotationService quotationService;
 
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     @GetMapping("/dashboard/stats")
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<?> getDashboardStats(Authentication authentication) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (!isTransport(user)) {
             return forbidden();
         }
@@ -60,7 +59,7 @@ public class TransportDashboardController {
     public ResponseEntity<?> submitQuotation(
             @Valid @RequestBody SubmitQuotationRequest request,
             Authentication authentication) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (!isTransport(user)) {
             return forbidden();
         }
@@ -79,7 +78,7 @@ public class TransportDashboardController {
     public ResponseEntity<?> getRecentQuotations(Authentication authentication,
                                                   @RequestParam(defaultValue = "10")
                                                   @Min(1) @Max(MAX_QUOTATION_LIMIT) int limit) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (!isTransport(user)) {
             return forbidden();
         }
@@ -89,7 +88,7 @@ public class TransportDashboardController {
         return ResponseEntity.ok(quotations);
     }
 
-    private boolean isTransport(User user) {
+    private boolean isTransport(UserPrincipal user) {
         return user != null && user.getRole() == UserRole.TRANSPORT;
     }
 
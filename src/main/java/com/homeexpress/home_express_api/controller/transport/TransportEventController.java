@@ -1,9 +1,9 @@
 package com.homeexpress.home_express_api.controller.transport;
 
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
-import com.homeexpress.home_express_api.repository.UserRepository;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.TransportEventService;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,21 +18,24 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 @RequestMapping("/api/v1/transport")
 public class TransportEventController {
 
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
+    private final TransportEventService transportEventService;
 
-    public TransportEventController(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public TransportEventController(UserPrincipalResolver userPrincipalResolver,
+                                    TransportEventService transportEventService) {
+        this.userPrincipalResolver = userPrincipalResolver;
+        this.transportEventService = transportEventService;
     }
 
     @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<SseEmitter> subscribeToTransportEvents(Authentication authentication) {
-        if (!isTransport(authentication)) {
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
+        if (user == null || user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(403).build();
         }
-        SseEmitter emitter = new SseEmitter(0L);
-        emitter.complete();
-        return ResponseEntity.ok(emitter);
+        // transport_id dùng chung khóa chính với user_id
+        return ResponseEntity.ok(transportEventService.createEventStream(user.getUserId()));
     }
 
     @GetMapping(path = "/jobs/{bookingId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
@@ -47,7 +50,7 @@ public class TransportEventController {
     }
 
     private boolean isTransport(Authentication authentication) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         return user != null && user.getRole() == UserRole.TRANSPORT;
     }
 }
@@ -4,11 +4,10 @@ import com.homeexpress.home_express_api.dto.response.ApiResponse;
 import com.homeexpress.home_express_api.dto.transport.TransportEarningsStatsResponse;
 import com.homeexpress.home_express_api.dto.transport.TransportTransactionDto;
 import com.homeexpress.home_express_api.dto.transport.TransportWalletReportResponse;
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.TransportFinanceService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,11 +24,11 @@ import java.util.List;
 public class TransportFinanceController {
 
     private final TransportFinanceService financeService;
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
-    public TransportFinanceController(TransportFinanceService financeService, UserRepository userRepository) {
+    public TransportFinanceController(TransportFinanceService financeService, UserPrincipalResolver userPrincipalResolver) {
         this.financeService = financeService;
-        this.userRepository = userRepository;
+        this.userPrincipalResolver = userPrincipalResolver;
     }
 
     @GetMapping("/earnings/stats")
@@ -39,7 +38,7 @@ public class TransportFinanceController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Authentication required"));
         }
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(403).body(ApiResponse.error("Only transport accounts can access this resource"));
         }
@@ -55,7 +54,7 @@ public class TransportFinanceController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Authentication required"));
         }
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(403).body(ApiResponse.error("Only transport accounts can access this resource"));
         }
@@ -74,7 +73,7 @@ public class TransportFinanceController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Authentication required"));
         }
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(403).body(ApiResponse.error("Only transport accounts can access this resource"));
         }
@@ -8,14 +8,13 @@ import com.homeexpress.home_express_api.dto.transport.TransportActiveJobSummaryD
 import com.homeexpress.home_express_api.dto.transport.TransportAvailableBookingDto;
 import com.homeexpress.home_express_api.dto.transport.TransportPaginatedResponse;
 import com.homeexpress.home_express_api.entity.Transport;
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
 import com.homeexpress.home_express_api.repository.TransportRepository;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.PricingService;
 import com.homeexpress.home_express_api.service.RateCardService;
 import com.homeexpress.home_express_api.service.TransportJobService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.springframework.http.ResponseEntity;
@@ -42,18 +41,18 @@ import java.util.Optional;
 public class TransportJobController {
 
     private final TransportJobService transportJobService;
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
     private final TransportRepository transportRepository;
     private final RateCardService rateCardService;
     private final PricingService pricingService;
 
     public TransportJobController(TransportJobService transportJobService,
-                                  UserRepository userRepository,
+                                  UserPrincipalResolver userPrincipalResolver,
                                   TransportRepository transportRepository,
                                   RateCardService rateCardService,
                                   PricingService pricingService) {
         this.transportJobService = transportJobService;
-        this.userRepository = userRepository;
+        this.userPrincipalResolver = userPrincipalResolver;
         this.transportRepository = transportRepository;
         this.rateCardService = rateCardService;
         this.pricingService = pricingService;
@@ -68,7 +67,7 @@ public class TransportJobController {
             @RequestParam(required = false) Integer maxDistance,
             @RequestParam(required = false) String preferredDate
     ) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(403).body(ApiResponse.error("Only transport accounts can access this resource"));
         }
@@ -103,7 +102,7 @@ public class TransportJobController {
             Authentication authentication,
             @PathVariable Long bookingId
     ) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(403).body(ApiResponse.error("Only transport accounts can access this resource"));
         }
@@ -127,7 +126,7 @@ public class TransportJobController {
     @GetMapping("/active-jobs")
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<?> getActiveJobs(Authentication authentication) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(403).body(ApiResponse.error("Only transport accounts can access this resource"));
         }
@@ -139,7 +138,7 @@ public class TransportJobController {
     @GetMapping("/bookings/available/{bookingId}")
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<?> getAvailableBookingDetail(Authentication authentication, @PathVariable Long bookingId) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(403).body(ApiResponse.error("Only transport accounts can access this resource"));
         }
@@ -163,7 +162,7 @@ public class TransportJobController {
     @GetMapping("/active-jobs/{bookingId}")
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<?> getActiveJobDetail(Authentication authentication, @PathVariable Long bookingId) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(403).body(ApiResponse.error("Only transport accounts can access this resource"));
         }
@@ -176,7 +175,7 @@ public class TransportJobController {
     @PutMapping("/bookings/{bookingId}/start")
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<?> startJob(Authentication authentication, @PathVariable Long bookingId) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(403).body(ApiResponse.error("Only transport accounts can access this resource"));
         }
@@ -212,7 +211,7 @@ public class TransportJobController {
             @PathVariable Long bookingId,
             @RequestBody(required = false) Map<String, Object> requestBody
     ) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(403).body(ApiResponse.error("Only transport accounts can access this resource"));
         }
@@ -5,9 +5,9 @@ import com.homeexpress.home_express_api.dto.transport.TransportPayoutListDTO;
 import com.homeexpress.home_express_api.entity.*;
 import com.homeexpress.home_express_api.repository.BookingSettlementRepository;
 import com.homeexpress.home_express_api.repository.TransportPayoutRepository;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.PayoutService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -32,13 +32,13 @@ public class TransportPayoutController {
 
     private final BookingSettlementRepository settlementRepository;
 
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     private final PayoutService payoutService;
 
     @PostMapping("/request")
     public ResponseEntity<?> requestPayout(Authentication authentication) {
-        User user = getUserFromAuth(authentication);
+        UserPrincipal user = getUserFromAuth(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only transport companies can access this endpoint"));
@@ -61,7 +61,7 @@ public class TransportPayoutController {
             @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
 
-        User user = getUserFromAuth(authentication);
+        UserPrincipal user = getUserFromAuth(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only transport companies can access this endpoint"));
@@ -99,7 +99,7 @@ public class TransportPayoutController {
             @PathVariable Long id,
             Authentication authentication) {
 
-        User user = getUserFromAuth(authentication);
+        UserPrincipal user = getUserFromAuth(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only transport companies can access this endpoint"));
@@ -120,7 +120,7 @@ public class TransportPayoutController {
     @GetMapping("/pending")
     public ResponseEntity<?> getPendingSettlements(Authentication authentication) {
 
-        User user = getUserFromAuth(authentication);
+        UserPrincipal user = getUserFromAuth(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only transport companies can access this endpoint"));
@@ -150,8 +150,8 @@ public class TransportPayoutController {
         ));
     }
 
-    private User getUserFromAuth(Authentication authentication) {
-        return AuthenticationUtils.getUser(authentication, userRepository);
+    private UserPrincipal getUserFromAuth(Authentication authentication) {
+        return userPrincipalResolver.resolve(authentication);
     }
 
     private TransportPayoutListDTO mapToListDTO(TransportPayout payout) {
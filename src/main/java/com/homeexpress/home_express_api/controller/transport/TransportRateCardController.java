@@ -22,13 +22,12 @@ import com.homeexpress.home_express_api.dto.response.CategoryPricingResponse;
 import com.homeexpress.home_express_api.dto.response.RateCardResponse;
 import com.homeexpress.home_express_api.dto.response.ReadyToQuoteStatusResponse;
 import com.homeexpress.home_express_api.entity.Transport;
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
 import com.homeexpress.home_express_api.repository.TransportRepository;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.CategoryPricingService;
 import com.homeexpress.home_express_api.service.RateCardService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 
 import jakarta.validation.Valid;
 
@@ -36,16 +35,16 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/v1/transport")
 public class TransportRateCardController {
 
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
     private final TransportRepository transportRepository;
     private final RateCardService rateCardService;
     private final CategoryPricingService categoryPricingService;
 
-    public TransportRateCardController(UserRepository userRepository,
+    public TransportRateCardController(UserPrincipalResolver userPrincipalResolver,
             TransportRepository transportRepository,
             RateCardService rateCardService,
             CategoryPricingService categoryPricingService) {
-        this.userRepository = userRepository;
+        this.userPrincipalResolver = userPrincipalResolver;
         this.transportRepository = transportRepository;
         this.rateCardService = rateCardService;
         this.categoryPricingService = categoryPricingService;
@@ -54,7 +53,7 @@ public class TransportRateCardController {
     @GetMapping("/rate-cards")
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<?> getRateCards(Authentication authentication) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only transport accounts can access this resource"));
@@ -71,7 +70,7 @@ public class TransportRateCardController {
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<?> createOrUpdateRateCard(@Valid @RequestBody RateCardRequest request,
             Authentication authentication) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only transport accounts can access this resource"));
@@ -88,7 +87,7 @@ public class TransportRateCardController {
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<?> deleteRateCard(@PathVariable Long rateCardId,
             Authentication authentication) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only transport accounts can access this resource"));
@@ -104,7 +103,7 @@ public class TransportRateCardController {
     @GetMapping("/ready-status")
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<?> getReadyStatus(Authentication authentication) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only transport accounts can access this resource"));
@@ -126,7 +125,7 @@ public class TransportRateCardController {
     @GetMapping("/category-pricing")
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<?> getCategoryPricing(Authentication authentication) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only transport accounts can access this resource"));
@@ -146,7 +145,7 @@ public class TransportRateCardController {
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<?> createCategoryPricing(@Valid @RequestBody CategoryPricingRequest request,
             Authentication authentication) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResponse.error("Only transport accounts can access this resource"));
@@ -177,7 +176,7 @@ public class TransportRateCardController {
     public ResponseEntity<?> updateCategoryPricing(@PathVariable Long id,
             @Valid @RequestBody CategoryPricingRequest request,
             Authentication authentication) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResponse.error("Only transport accounts can access this resource"));
@@ -205,7 +204,7 @@ public class TransportRateCardController {
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<?> deleteCategoryPricing(@PathVariable Long id,
             Authentication authentication) {
-        User user = AuthenticationUtils.getUser(authentication, userRepository);
+        UserPrincipal user = userPrincipalResolver.resolve(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResponse.error("Only transport accounts can access this resource"));
@@ -2,11 +2,10 @@ package com.homeexpress.home_express_api.controller.transport;
 
 import com.homeexpress.home_express_api.dto.request.UpdateTransportSettingsRequest;
 import com.homeexpress.home_express_api.dto.response.TransportSettingsResponse;
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.TransportSettingsService;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,14 +21,14 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/api/v1/transport/settings")
 public class TransportSettingsController {
 
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     private final TransportSettingsService transportSettingsService;
 
     @GetMapping
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<?> getSettings(Authentication authentication) {
-        User user = resolveUser(authentication);
+        UserPrincipal user = resolveUser(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only transport accounts can access this resource"));
@@ -46,7 +45,7 @@ public class TransportSettingsController {
     @PreAuthorize("hasRole('TRANSPORT')")
     public ResponseEntity<?> updateSettings(@Valid @RequestBody UpdateTransportSettingsRequest request,
                                             Authentication authentication) {
-        User user = resolveUser(authentication);
+        UserPrincipal user = resolveUser(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only transport accounts can update these settings"));
@@ -60,8 +59,8 @@ public class TransportSettingsController {
         ));
     }
 
-    private User resolveUser(Authentication authentication) {
-        return AuthenticationUtils.getUser(authentication, userRepository);
+    private UserPrincipal resolveUser(Authentication authentication) {
+        return userPrincipalResolver.resolve(authentication);
     }
 }
 
@@ -5,11 +5,10 @@ import com.homeexpress.home_express_api.dto.transport.TransportSettlementListDTO
 import com.homeexpress.home_express_api.dto.transport.TransportSettlementSummaryDTO;
 import com.homeexpress.home_express_api.entity.BookingSettlement;
 import com.homeexpress.home_express_api.entity.SettlementStatus;
-import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
 import com.homeexpress.home_express_api.repository.BookingSettlementRepository;
-import com.homeexpress.home_express_api.repository.UserRepository;
-import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -33,7 +32,7 @@ public class TransportSettlementController {
 
     private final BookingSettlementRepository settlementRepository;
 
-    private final UserRepository userRepository;
+    private final UserPrincipalResolver userPrincipalResolver;
 
     @GetMapping
     public ResponseEntity<?> getMySettlements(
@@ -42,7 +41,7 @@ public class TransportSettlementController {
             @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
 
-        User user = getUserFromAuth(authentication);
+        UserPrincipal user = getUserFromAuth(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only transport companies can access this endpoint"));
@@ -85,7 +84,7 @@ public class TransportSettlementController {
             @PathVariable Long id,
             Authentication authentication) {
 
-        User user = getUserFromAuth(authentication);
+        UserPrincipal user = getUserFromAuth(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only transport companies can access this endpoint"));
@@ -106,7 +105,7 @@ public class TransportSettlementController {
     @GetMapping("/summary")
     public ResponseEntity<?> getSettlementSummary(Authentication authentication) {
 
-        User user = getUserFromAuth(authentication);
+        UserPrincipal user = getUserFromAuth(authentication);
         if (user.getRole() != UserRole.TRANSPORT) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only transport companies can access this endpoint"));
@@ -161,8 +160,8 @@ public class TransportSettlementController {
         return ResponseEntity.ok(summary);
     }
 
-    private User getUserFromAuth(Authentication authentication) {
-        return AuthenticationUtils.getUser(authentication, userRepository);
+    private UserPrincipal getUserFromAuth(Authentication authentication) {
+        return userPrincipalResolver.resolve(authentication);
     }
 
     private TransportSettlementListDTO mapToListDTO(BookingSettlement settlement) {
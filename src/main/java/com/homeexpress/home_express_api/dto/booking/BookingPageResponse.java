@@ -0,0 +1,47 @@
+package com.homeexpress.home_express_api.dto.booking;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated booking listing. {@code nextCursor} is opaque
+ * and is passed back as {@code cursor} to fetch the following page.
+ */
+public class BookingPageResponse {
+
+    private List<BookingResponse> bookings;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public BookingPageResponse() {
+    }
+
+    public BookingPageResponse(List<BookingResponse> bookings, String nextCursor, boolean hasMore) {
+        this.bookings = bookings;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<BookingResponse> getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(List<BookingResponse> bookings) {
+        this.bookings = bookings;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
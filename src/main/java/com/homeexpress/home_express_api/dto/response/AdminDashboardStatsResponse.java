@@ -1,5 +1,6 @@
 package com.homeexpress.home_express_api.dto.response;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public class AdminDashboardStatsResponse {
@@ -17,6 +18,7 @@ public class AdminDashboardStatsResponse {
     private String userGrowthRate;
     private long pendingTransportVerifications;
     private List<TopTransportSummary> topTransports;
+    private LocalDateTime generatedAt;
 
     public long getTotalUsers() {
         return totalUsers;
@@ -130,6 +132,14 @@ public class AdminDashboardStatsResponse {
         this.topTransports = topTransports;
     }
 
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
     public static class TopTransportSummary {
         private Long transportId;
         private String companyName;
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -13,4 +15,6 @@ public class AdminIntakeSessionStatsResponse {
     private Long total;
     private Double avgConfidence;
     private Long oldestWaitTimeSeconds;
+    // Number of sessions in every status
+    private Map<String, Long> countByStatus;
 }
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,4 +17,6 @@ public class FileUploadResponse {
     private String fileName;
     private Long fileSizeBytes;
     private String mimeType;
+    private String contentHash;
+    private Map<String, String> variantUrls;
 }
@@ -0,0 +1,51 @@
+package com.homeexpress.home_express_api.dto.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.homeexpress.home_express_api.entity.UserRole;
+import com.homeexpress.home_express_api.entity.VerificationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One row of the admin user directory: the account and the profile of its
+ * role. Serialized as {@code {"user": {...}, "profile": {...}}} with
+ * snake_case fields; a user without a profile row gets an empty profile.
+ */
+public record UserDirectoryEntry(Account user, Profile profile) {
+
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public record Account(Long userId, String email, UserRole role, Boolean isActive, Boolean isVerified,
+                          String avatarUrl, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    public sealed interface Profile permits CustomerProfile, TransportProfile, ManagerProfile, NoProfile {
+    }
+
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public record CustomerProfile(Long customerId, String fullName, String phone, String address,
+                                  LocalDate dateOfBirth, String avatarUrl, String preferredLanguage,
+                                  LocalDateTime createdAt, LocalDateTime updatedAt) implements Profile {
+    }
+
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public record TransportProfile(Long transportId, String companyName, String businessLicenseNumber,
+                                   String taxCode, String phone, String address, String city, String district,
+                                   String ward, VerificationStatus verificationStatus, LocalDateTime verifiedAt,
+                                   Integer totalBookings, Integer completedBookings, Integer cancelledBookings,
+                                   BigDecimal averageRating, LocalDateTime createdAt,
+                                   LocalDateTime updatedAt) implements Profile {
+    }
+
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public record ManagerProfile(Long managerId, String fullName, String phone, String employeeId,
+                                 String department, List<String> permissions, LocalDateTime createdAt,
+                                 LocalDateTime updatedAt) implements Profile {
+    }
+
+    public record NoProfile() implements Profile {
+    }
+}
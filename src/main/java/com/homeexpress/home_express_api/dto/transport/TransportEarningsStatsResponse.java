@@ -105,6 +105,7 @@ public class TransportEarningsStatsResponse {
         private String month;
         private Long revenue;
         private Integer bookings;
+        private Long netToTransport;
 
         public String getMonth() {
             return month;
@@ -129,5 +130,13 @@ public class TransportEarningsStatsResponse {
         public void setBookings(Integer bookings) {
             this.bookings = bookings;
         }
+
+        public Long getNetToTransport() {
+            return netToTransport;
+        }
+
+        public void setNetToTransport(Long netToTransport) {
+            this.netToTransport = netToTransport;
+        }
     }
 }
@@ -0,0 +1,10 @@
+package com.homeexpress.home_express_api.dto.vehicle;
+
+import java.math.BigDecimal;
+
+/**
+ * The columns of a vehicle that eligibility depends on
+ */
+public record VehicleCapability(Long vehicleId, BigDecimal capacityKg, BigDecimal capacityM3,
+                                Boolean hasTailLift, Boolean hasTools) {
+}
@@ -1,5 +1,8 @@
 package com.homeexpress.home_express_api.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.homeexpress.home_express_api.service.analytics.TransportMonthlyStatsListener;
+import com.homeexpress.home_express_api.service.analytics.TransportStatsListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -9,6 +12,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bookings")
+@EntityListeners({TransportMonthlyStatsListener.class, TransportStatsListener.class})
 public class Booking {
 
     @Id
@@ -140,6 +144,50 @@ public class Booking {
         updatedAt = LocalDateTime.now();
     }
 
+    // Trạng thái đã lưu gần nhất, để TransportStatsListener tính delta cho transport_stats
+    // và TransportMonthlyStatsListener refresh cả tháng cũ lẫn tháng mới
+    @Transient
+    private Long persistedTransportId;
+
+    @Transient
+    private BookingStatus persistedStatus;
+
+    @Transient
+    private BigDecimal persistedFinalPrice;
+
+    @Transient
+    private LocalDateTime persistedActualEndTime;
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    protected void rememberPersistedState() {
+        persistedTransportId = transportId;
+        persistedStatus = status;
+        persistedFinalPrice = finalPrice;
+        persistedActualEndTime = actualEndTime;
+    }
+
+    @JsonIgnore
+    public Long getPersistedTransportId() {
+        return persistedTransportId;
+    }
+
+    @JsonIgnore
+    public BookingStatus getPersistedStatus() {
+        return persistedStatus;
+    }
+
+    @JsonIgnore
+    public BigDecimal getPersistedFinalPrice() {
+        return persistedFinalPrice;
+    }
+
+    @JsonIgnore
+    public LocalDateTime getPersistedActualEndTime() {
+        return persistedActualEndTime;
+    }
+
     public Booking() {
     }
 
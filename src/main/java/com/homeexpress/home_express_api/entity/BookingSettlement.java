@@ -1,11 +1,13 @@
 package com.homeexpress.home_express_api.entity;
 
+import com.homeexpress.home_express_api.service.analytics.TransportMonthlyStatsListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "booking_settlements")
+@EntityListeners(TransportMonthlyStatsListener.class)
 public class BookingSettlement {
 
     @Id
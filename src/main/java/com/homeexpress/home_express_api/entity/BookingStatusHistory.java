@@ -1,11 +1,13 @@
 package com.homeexpress.home_express_api.entity;
 
+import com.homeexpress.home_express_api.service.booking.BookingTimelineInvalidationListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "booking_status_history")
+@EntityListeners(BookingTimelineInvalidationListener.class)
 public class BookingStatusHistory {
 
     @Id
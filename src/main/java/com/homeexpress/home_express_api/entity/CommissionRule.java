@@ -1,5 +1,6 @@
 package com.homeexpress.home_express_api.entity;
 
+import com.homeexpress.home_express_api.service.commission.CommissionRuleChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
@@ -10,10 +11,12 @@ import java.time.LocalDateTime;
 /**
  * Commission rules for platform fees calculation.
  * Supports both transport-specific and default (platform-wide) rules.
- * Can be PERCENT-based (e.g., 15%) or FLAT fee (e.g., 50,000 VND).
+ * Can be PERCENT-based (e.g., 15%) or FLAT fee (e.g., 50,000 VND),
+ * optionally clamped to [minFeeVnd, maxFeeVnd].
  */
 @Entity
 @Table(name = "commission_rules")
+@EntityListeners(CommissionRuleChangeListener.class)
 public class CommissionRule {
 
     @Id
@@ -39,6 +42,14 @@ public class CommissionRule {
     @Column(name = "flat_fee_vnd")
     private Long flatFeeVnd;
 
+    @DecimalMin(value = "0", message = "Minimum fee must be non-negative")
+    @Column(name = "min_fee")
+    private Long minFeeVnd;
+
+    @DecimalMin(value = "0", message = "Maximum fee must be non-negative")
+    @Column(name = "max_fee")
+    private Long maxFeeVnd;
+
     @NotNull
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
@@ -105,6 +116,22 @@ public class CommissionRule {
         this.flatFeeVnd = flatFeeVnd;
     }
 
+    public Long getMinFeeVnd() {
+        return minFeeVnd;
+    }
+
+    public void setMinFeeVnd(Long minFeeVnd) {
+        this.minFeeVnd = minFeeVnd;
+    }
+
+    public Long getMaxFeeVnd() {
+        return maxFeeVnd;
+    }
+
+    public void setMaxFeeVnd(Long maxFeeVnd) {
+        this.maxFeeVnd = maxFeeVnd;
+    }
+
     public Boolean getIsActive() {
         return isActive;
     }
@@ -1,5 +1,9 @@
 package com.homeexpress.home_express_api.entity;
 
+import com.homeexpress.home_express_api.entity.encryption.EncryptedString;
+import com.homeexpress.home_express_api.entity.encryption.PaymentBlindIndexListener;
+import com.homeexpress.home_express_api.entity.encryption.TransactionIdConverter;
+import com.homeexpress.home_express_api.service.booking.BookingTimelineInvalidationListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -8,6 +12,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "payments")
+@EntityListeners({PaymentBlindIndexListener.class, BookingTimelineInvalidationListener.class})
 public class Payment {
 
     @Id
@@ -54,8 +59,15 @@ public class Payment {
     @Column(name = "failure_message", columnDefinition = "TEXT")
     private String failureMessage;
 
+    @Convert(converter = TransactionIdConverter.class)
     @Column(name = "transaction_id")
-    private String transactionId;
+    private EncryptedString transactionId;
+
+    /**
+     * Blind index of transactionId, used for lookups since the column may be encrypted
+     */
+    @Column(name = "transaction_id_hash", length = 64)
+    private String transactionIdHash;
 
     @Column(name = "idempotency_key", length = 64)
     private String idempotencyKey;
@@ -184,11 +196,24 @@ public class Payment {
     }
 
     public String getTransactionId() {
-        return transactionId;
+        return EncryptedString.valueOf(transactionId);
     }
 
     public void setTransactionId(String transactionId) {
-        this.transactionId = transactionId;
+        this.transactionId = EncryptedString.of(transactionId);
+        this.transactionIdHash = null;
+    }
+
+    public boolean hasTransactionId() {
+        return transactionId != null;
+    }
+
+    public String getTransactionIdHash() {
+        return transactionIdHash;
+    }
+
+    public void setTransactionIdHash(String transactionIdHash) {
+        this.transactionIdHash = transactionIdHash;
     }
 
     public String getIdempotencyKey() {
@@ -3,8 +3,14 @@ package com.homeexpress.home_express_api.entity;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.homeexpress.home_express_api.service.analytics.TransportStatsListener;
+import com.homeexpress.home_express_api.service.booking.BookingTimelineInvalidationListener;
+import com.homeexpress.home_express_api.service.quotation.QuotationExpiryListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -12,13 +18,18 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.NamedStoredProcedureQuery;
 import jakarta.persistence.ParameterMode;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
 import jakarta.persistence.StoredProcedureParameter;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
 @Entity
 @Table(name = "quotations")
+@EntityListeners({BookingTimelineInvalidationListener.class, TransportStatsListener.class, QuotationExpiryListener.class})
 @NamedStoredProcedureQuery(
         name = "sp_accept_quotation",
         procedureName = "sp_accept_quotation",
@@ -98,10 +109,25 @@ public class Quotation {
     @Column(name = "created_at", updatable = false, insertable = false)
     private LocalDateTime createdAt;
 
+    // Trạng thái đã lưu gần nhất, để TransportStatsListener tính delta cho transport_stats
+    @Transient
+    private Long persistedTransportId;
+
+    @Transient
+    private QuotationStatus persistedStatus;
+
     // Constructors
     public Quotation() {
     }
 
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    protected void rememberPersistedState() {
+        persistedTransportId = transportId;
+        persistedStatus = status;
+    }
+
     // Getters and Setters
     public Long getQuotationId() {
         return quotationId;
@@ -263,4 +289,14 @@ public class Quotation {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    @JsonIgnore
+    public Long getPersistedTransportId() {
+        return persistedTransportId;
+    }
+
+    @JsonIgnore
+    public QuotationStatus getPersistedStatus() {
+        return persistedStatus;
+    }
 }
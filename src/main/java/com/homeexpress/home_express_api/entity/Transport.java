@@ -1,5 +1,6 @@
 package com.homeexpress.home_express_api.entity;
 
+import com.homeexpress.home_express_api.service.analytics.TransportStatsListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "transports")
+@EntityListeners(TransportStatsListener.class)
 public class Transport extends SharedPrimaryKeyEntity<Long> {
 
     // NOTE: entity cho transport company - phuc tap nhat
@@ -0,0 +1,86 @@
+package com.homeexpress.home_express_api.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Monthly rollup of a transport's completed bookings. Rows are written only by
+ * {@code TransportMonthlyStatsRepository#refreshMonth}; the entity is read-only.
+ */
+@Entity
+@Table(name = "transport_monthly_stats")
+public class TransportMonthlyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "stat_id")
+    private Long statId;
+
+    @Column(name = "transport_id", nullable = false, updatable = false)
+    private Long transportId;
+
+    @Column(name = "month_start", nullable = false, updatable = false)
+    private LocalDate monthStart;
+
+    @Column(name = "completed_bookings", nullable = false)
+    private Integer completedBookings = 0;
+
+    @Column(name = "gross_revenue_vnd", nullable = false, precision = 15, scale = 0)
+    private BigDecimal grossRevenueVnd = BigDecimal.ZERO;
+
+    @Column(name = "net_to_transport_vnd", nullable = false, precision = 15, scale = 0)
+    private BigDecimal netToTransportVnd = BigDecimal.ZERO;
+
+    @Column(name = "refreshed_at", insertable = false, updatable = false)
+    private LocalDateTime refreshedAt;
+
+    public TransportMonthlyStats() {
+    }
+
+    public TransportMonthlyStats(Long transportId, LocalDate monthStart) {
+        this.transportId = transportId;
+        this.monthStart = monthStart;
+    }
+
+    public Long getStatId() {
+        return statId;
+    }
+
+    public Long getTransportId() {
+        return transportId;
+    }
+
+    public LocalDate getMonthStart() {
+        return monthStart;
+    }
+
+    public Integer getCompletedBookings() {
+        return completedBookings;
+    }
+
+    public void setCompletedBookings(Integer completedBookings) {
+        this.completedBookings = completedBookings;
+    }
+
+    public BigDecimal getGrossRevenueVnd() {
+        return grossRevenueVnd;
+    }
+
+    public void setGrossRevenueVnd(BigDecimal grossRevenueVnd) {
+        this.grossRevenueVnd = grossRevenueVnd;
+    }
+
+    public BigDecimal getNetToTransportVnd() {
+        return netToTransportVnd;
+    }
+
+    public void setNetToTransportVnd(BigDecimal netToTransportVnd) {
+        this.netToTransportVnd = netToTransportVnd;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+}
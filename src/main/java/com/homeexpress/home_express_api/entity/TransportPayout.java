@@ -1,5 +1,7 @@
 package com.homeexpress.home_express_api.entity;
 
+import com.homeexpress.home_express_api.entity.encryption.BankAccountNumberConverter;
+import com.homeexpress.home_express_api.entity.encryption.EncryptedString;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -44,8 +46,9 @@ public class TransportPayout {
     @Column(name = "bank_code", length = 10)
     private String bankCode;
 
-    @Column(name = "bank_account_number", length = 19)
-    private String bankAccountNumber;
+    @Convert(converter = BankAccountNumberConverter.class)
+    @Column(name = "bank_account_number", length = 255)
+    private EncryptedString bankAccountNumber;
 
     @Column(name = "bank_account_holder", length = 255)
     private String bankAccountHolder;
@@ -131,11 +134,11 @@ public class TransportPayout {
     }
 
     public String getBankAccountNumber() {
-        return bankAccountNumber;
+        return EncryptedString.valueOf(bankAccountNumber);
     }
 
     public void setBankAccountNumber(String bankAccountNumber) {
-        this.bankAccountNumber = bankAccountNumber;
+        this.bankAccountNumber = EncryptedString.of(bankAccountNumber);
     }
 
     public String getBankAccountHolder() {
@@ -0,0 +1,131 @@
+package com.homeexpress.home_express_api.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Dashboard counters of one transport. Rows are written only by
+ * {@code TransportStatsService} through JDBC; the entity is read-only.
+ */
+@Entity
+@Table(name = "transport_stats")
+public class TransportStats {
+
+    @Id
+    @Column(name = "transport_id")
+    private Long transportId;
+
+    @Column(name = "total_bookings", nullable = false)
+    private Integer totalBookings = 0;
+
+    @Column(name = "confirmed_bookings", nullable = false)
+    private Integer confirmedBookings = 0;
+
+    @Column(name = "in_progress_bookings", nullable = false)
+    private Integer inProgressBookings = 0;
+
+    @Column(name = "completed_bookings", nullable = false)
+    private Integer completedBookings = 0;
+
+    @Column(name = "cancelled_bookings", nullable = false)
+    private Integer cancelledBookings = 0;
+
+    @Column(name = "completed_revenue_vnd", nullable = false, precision = 15, scale = 0)
+    private BigDecimal completedRevenueVnd = BigDecimal.ZERO;
+
+    @Column(name = "pending_quotations", nullable = false)
+    private Integer pendingQuotations = 0;
+
+    @Column(name = "average_rating", nullable = false, precision = 3, scale = 2)
+    private BigDecimal averageRating = BigDecimal.ZERO;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "reconciled_at", insertable = false, updatable = false)
+    private LocalDateTime reconciledAt;
+
+    public TransportStats() {
+    }
+
+    public TransportStats(Long transportId) {
+        this.transportId = transportId;
+    }
+
+    public Long getTransportId() {
+        return transportId;
+    }
+
+    public Integer getTotalBookings() {
+        return totalBookings;
+    }
+
+    public void setTotalBookings(Integer totalBookings) {
+        this.totalBookings = totalBookings;
+    }
+
+    public Integer getConfirmedBookings() {
+        return confirmedBookings;
+    }
+
+    public void setConfirmedBookings(Integer confirmedBookings) {
+        this.confirmedBookings = confirmedBookings;
+    }
+
+    public Integer getInProgressBookings() {
+        return inProgressBookings;
+    }
+
+    public void setInProgressBookings(Integer inProgressBookings) {
+        this.inProgressBookings = inProgressBookings;
+    }
+
+    public Integer getCompletedBookings() {
+        return completedBookings;
+    }
+
+    public void setCompletedBookings(Integer completedBookings) {
+        this.completedBookings = completedBookings;
+    }
+
+    public Integer getCancelledBookings() {
+        return cancelledBookings;
+    }
+
+    public void setCancelledBookings(Integer cancelledBookings) {
+        this.cancelledBookings = cancelledBookings;
+    }
+
+    public BigDecimal getCompletedRevenueVnd() {
+        return completedRevenueVnd;
+    }
+
+    public void setCompletedRevenueVnd(BigDecimal completedRevenueVnd) {
+        this.completedRevenueVnd = completedRevenueVnd;
+    }
+
+    public Integer getPendingQuotations() {
+        return pendingQuotations;
+    }
+
+    public void setPendingQuotations(Integer pendingQuotations) {
+        this.pendingQuotations = pendingQuotations;
+    }
+
+    public BigDecimal getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(BigDecimal averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+}
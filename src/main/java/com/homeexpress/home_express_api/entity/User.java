@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -15,8 +16,11 @@ import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.homeexpress.home_express_api.service.principal.UserPrincipalInvalidationListener;
+
 @Entity
 @Table(name = "users")
+@EntityListeners(UserPrincipalInvalidationListener.class)
 @Data
 @NoArgsConstructor
 public class User {
@@ -0,0 +1,37 @@
+package com.homeexpress.home_express_api.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Revoke-all cutoff of a user: access tokens issued before
+ * {@code revokedBefore} are rejected. Rows are written only by
+ * {@code UserTokenRevocationRepository#upsert}; the entity is read-only.
+ */
+@Entity
+@Table(name = "user_token_revocations")
+public class UserTokenRevocation {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_before", nullable = false)
+    private LocalDateTime revokedBefore;
+
+    public UserTokenRevocation() {
+    }
+
+    public UserTokenRevocation(Long userId, LocalDateTime revokedBefore) {
+        this.userId = userId;
+        this.revokedBefore = revokedBefore;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getRevokedBefore() {
+        return revokedBefore;
+    }
+}
@@ -0,0 +1,16 @@
+package com.homeexpress.home_express_api.entity.encryption;
+
+import com.homeexpress.home_express_api.config.EncryptionConfig;
+import com.homeexpress.home_express_api.service.EncryptionService;
+import jakarta.persistence.Converter;
+
+/**
+ * Encrypts payout bank account numbers when encryption.encrypt-bank-accounts is on
+ */
+@Converter
+public class BankAccountNumberConverter extends EncryptedStringConverter {
+
+    public BankAccountNumberConverter(EncryptionService encryptionService, EncryptionConfig config) {
+        super(encryptionService, config.isEncryptBankAccounts());
+    }
+}
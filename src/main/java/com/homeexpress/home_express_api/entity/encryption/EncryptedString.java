@@ -0,0 +1,111 @@
+package com.homeexpress.home_express_api.entity.encryption;
+
+import com.homeexpress.home_express_api.service.EncryptionService;
+import org.hibernate.annotations.Immutable;
+
+import java.util.Objects;
+
+/**
+ * Entity attribute value for an encrypted string column.
+ *
+ * Values loaded from the database keep the stored form and are only decrypted
+ * the first time {@link #get()} is called, so list and aggregate queries that
+ * never read the field pay no crypto cost. Values set by application code carry
+ * the plaintext and are encrypted by the converter when written.
+ */
+@Immutable
+public final class EncryptedString {
+
+    /**
+     * Marker in front of encrypted column values; rows without it are legacy plaintext
+     */
+    static final String STORED_PREFIX = "enc:";
+
+    private final String stored;
+    private final EncryptionService encryptionService;
+    private volatile String plaintext;
+
+    private EncryptedString(String stored, String plaintext, EncryptionService encryptionService) {
+        this.stored = stored;
+        this.plaintext = plaintext;
+        this.encryptionService = encryptionService;
+    }
+
+    /**
+     * Wrap a plaintext value set by application code
+     */
+    public static EncryptedString of(String plaintext) {
+        return plaintext == null ? null : new EncryptedString(null, plaintext, null);
+    }
+
+    /**
+     * Wrap a value read from the database (through the converter or a native
+     * query) without decrypting it
+     */
+    public static EncryptedString fromDatabase(String stored, EncryptionService encryptionService) {
+        if (stored == null) {
+            return null;
+        }
+        if (!stored.startsWith(STORED_PREFIX)) {
+            return new EncryptedString(stored, stored, null);
+        }
+        return new EncryptedString(stored, null, encryptionService);
+    }
+
+    /**
+     * Unwrap an attribute value, decrypting on first access
+     */
+    public static String valueOf(EncryptedString value) {
+        return value == null ? null : value.get();
+    }
+
+    /**
+     * Get the plaintext, decrypting and caching it on first access
+     */
+    public String get() {
+        String result = plaintext;
+        if (result == null) {
+            result = encryptionService.decrypt(stored.substring(STORED_PREFIX.length()));
+            plaintext = result;
+        }
+        return result;
+    }
+
+    /**
+     * Stored column value, or null if this value has not been written yet
+     */
+    String getStored() {
+        return stored;
+    }
+
+    /**
+     * Whether this value was read from the database and is still unchanged
+     */
+    public boolean isPersisted() {
+        return stored != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EncryptedString other)) {
+            return false;
+        }
+        if (stored != null || other.stored != null) {
+            return Objects.equals(stored, other.stored);
+        }
+        return Objects.equals(plaintext, other.plaintext);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(stored != null ? stored : plaintext);
+    }
+
+    @Override
+    public String toString() {
+        return "EncryptedString[***]";
+    }
+}
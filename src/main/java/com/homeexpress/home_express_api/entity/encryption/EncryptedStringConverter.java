@@ -0,0 +1,43 @@
+package com.homeexpress.home_express_api.entity.encryption;
+
+import com.homeexpress.home_express_api.service.EncryptionService;
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Base converter between {@link EncryptedString} attributes and VARCHAR columns.
+ *
+ * Writes are encrypted only when the field's encryption flag is on; reads accept
+ * both encrypted and legacy plaintext values, so the flag can be switched without
+ * a data migration. Decryption is deferred to {@link EncryptedString#get()}.
+ */
+public abstract class EncryptedStringConverter implements AttributeConverter<EncryptedString, String> {
+
+    private final EncryptionService encryptionService;
+    private final boolean enabled;
+
+    protected EncryptedStringConverter(EncryptionService encryptionService, boolean enabled) {
+        this.encryptionService = encryptionService;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(EncryptedString attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        if (attribute.isPersisted()) {
+            // Unchanged since load: write back the stored form, no re-encryption
+            return attribute.getStored();
+        }
+        String plaintext = attribute.get();
+        if (!enabled || plaintext.isEmpty()) {
+            return plaintext;
+        }
+        return EncryptedString.STORED_PREFIX + encryptionService.encrypt(plaintext);
+    }
+
+    @Override
+    public EncryptedString convertToEntityAttribute(String dbData) {
+        return EncryptedString.fromDatabase(dbData, encryptionService);
+    }
+}
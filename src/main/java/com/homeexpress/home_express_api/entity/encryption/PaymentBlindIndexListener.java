@@ -0,0 +1,31 @@
+package com.homeexpress.home_express_api.entity.encryption;
+
+import com.homeexpress.home_express_api.entity.Payment;
+import com.homeexpress.home_express_api.service.EncryptionService;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Keeps payments.transaction_id_hash in sync with the transaction ID so
+ * lookups by transaction ID work whether or not the column is encrypted.
+ */
+public class PaymentBlindIndexListener {
+
+    private final EncryptionService encryptionService;
+
+    public PaymentBlindIndexListener(EncryptionService encryptionService) {
+        this.encryptionService = encryptionService;
+    }
+
+    /**
+     * Recompute the hash from the current transaction ID on every write, so
+     * it can never keep describing a value that was replaced
+     */
+    @PrePersist
+    @PreUpdate
+    public void updateBlindIndex(Payment payment) {
+        payment.setTransactionIdHash(payment.hasTransactionId()
+                ? encryptionService.blindIndex(payment.getTransactionId())
+                : null);
+    }
+}
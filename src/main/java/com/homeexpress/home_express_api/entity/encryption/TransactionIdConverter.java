@@ -0,0 +1,16 @@
+package com.homeexpress.home_express_api.entity.encryption;
+
+import com.homeexpress.home_express_api.config.EncryptionConfig;
+import com.homeexpress.home_express_api.service.EncryptionService;
+import jakarta.persistence.Converter;
+
+/**
+ * Encrypts payment transaction IDs when encryption.encrypt-transaction-ids is on
+ */
+@Converter
+public class TransactionIdConverter extends EncryptedStringConverter {
+
+    public TransactionIdConverter(EncryptionService encryptionService, EncryptionConfig config) {
+        super(encryptionService, config.isEncryptTransactionIds());
+    }
+}
@@ -0,0 +1,36 @@
+package com.homeexpress.home_express_api.entity.listener;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.function.Consumer;
+
+/**
+ * Base for JPA entity listeners that forward entity writes to a Spring service.
+ *
+ * Hibernate creates entity listeners through Spring while the
+ * EntityManagerFactory is still being built. Most of these services depend on
+ * repositories, so injecting them directly would need the EntityManagerFactory
+ * that is being built and fail with a circular reference. The service is
+ * therefore injected as an {@link ObjectProvider} and looked up on each
+ * callback; writes made before it exists (startup, migrations) are skipped.
+ *
+ * @param <S> service notified of the writes
+ */
+public abstract class LazyServiceListener<S> {
+
+    private final ObjectProvider<S> service;
+
+    protected LazyServiceListener(ObjectProvider<S> service) {
+        this.service = service;
+    }
+
+    /**
+     * Run {@code action} on the service, or do nothing if it does not exist yet
+     */
+    protected void withService(Consumer<S> action) {
+        S target = service.getIfAvailable();
+        if (target != null) {
+            action.accept(target);
+        }
+    }
+}
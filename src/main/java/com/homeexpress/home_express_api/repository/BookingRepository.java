@@ -3,6 +3,7 @@ package com.homeexpress.home_express_api.repository;
 import com.homeexpress.home_express_api.entity.Booking;
 import com.homeexpress.home_express_api.entity.BookingStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,12 +15,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
 
     List<Booking> findByCustomerId(Long customerId);
 
-    List<Booking> findByCustomerIdOrderByCreatedAtDesc(Long customerId);
-
     List<Booking> findByStatus(BookingStatus status);
 
     List<Booking> findByCustomerIdAndStatus(Long customerId, BookingStatus status);
@@ -88,4 +87,9 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     long countByCustomerIdAndStatusIn(Long customerId, List<BookingStatus> statuses);
 
     long countByTransportIdAndStatusIn(Long transportId, List<BookingStatus> statuses);
+
+    @Query("SELECT DISTINCT b.transportId FROM Booking b WHERE b.status = :status " +
+            "AND b.transportId IS NOT NULL AND b.actualEndTime >= :since")
+    List<Long> findTransportIdsCompletedSince(@Param("status") BookingStatus status,
+                                              @Param("since") LocalDateTime since);
 }
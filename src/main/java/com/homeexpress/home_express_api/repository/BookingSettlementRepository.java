@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -42,4 +43,21 @@ public interface BookingSettlementRepository extends JpaRepository<BookingSettle
 
     @Query("SELECT s FROM BookingSettlement s ORDER BY s.createdAt DESC")
     List<BookingSettlement> findAllOrderByCreatedAtDesc();
+
+    @Query("SELECT s.status AS status, COUNT(s) AS settlements, " +
+           "COALESCE(SUM(s.netToTransportVnd), 0) AS netToTransportVnd " +
+           "FROM BookingSettlement s WHERE s.transportId = :transportId AND s.status IN :statuses " +
+           "GROUP BY s.status")
+    List<StatusTotals> sumByTransportGroupByStatus(
+        @Param("transportId") Long transportId,
+        @Param("statuses") Collection<SettlementStatus> statuses
+    );
+
+    interface StatusTotals {
+        SettlementStatus getStatus();
+
+        Long getSettlements();
+
+        Long getNetToTransportVnd();
+    }
 }
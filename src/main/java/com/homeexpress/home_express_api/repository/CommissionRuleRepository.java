@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -57,4 +58,10 @@ public interface CommissionRuleRepository extends JpaRepository<CommissionRule,
            "AND (cr.effectiveTo IS NULL OR cr.effectiveTo > :effectiveDate) " +
            "ORDER BY cr.effectiveFrom DESC")
     Optional<CommissionRule> findDefaultActiveRule(@Param("effectiveDate") LocalDateTime effectiveDate);
+
+    /**
+     * All active rules, transport-specific and default, for the in-memory
+     * rule table. Expired rules are dropped when the table is compiled.
+     */
+    List<CommissionRule> findByIsActiveTrue();
 }
@@ -1,9 +1,14 @@
 package com.homeexpress.home_express_api.repository;
 
+import com.homeexpress.home_express_api.dto.response.UserDirectoryEntry;
 import com.homeexpress.home_express_api.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +22,10 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     
     // tim customer theo user ID
     Optional<Customer> findByUser_UserId(Long userId);
+
+    // profile cho danh sach user cua admin, 1 query cho ca trang
+    @Query("SELECT new com.homeexpress.home_express_api.dto.response.UserDirectoryEntry$CustomerProfile("
+            + "c.customerId, c.fullName, c.phone, c.address, c.dateOfBirth, u.avatarUrl, c.preferredLanguage, "
+            + "c.createdAt, c.updatedAt) FROM Customer c JOIN c.user u WHERE c.customerId IN :customerIds")
+    List<UserDirectoryEntry.CustomerProfile> findDirectoryProfiles(@Param("customerIds") Collection<Long> customerIds);
 }
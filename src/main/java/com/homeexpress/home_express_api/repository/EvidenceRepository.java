@@ -3,6 +3,8 @@ package com.homeexpress.home_express_api.repository;
 import com.homeexpress.home_express_api.entity.Evidence;
 import com.homeexpress.home_express_api.entity.EvidenceType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,4 +27,14 @@ public interface EvidenceRepository extends JpaRepository<Evidence, Long> {
     long countByBookingId(Long bookingId);
 
     long countByBookingIdAndEvidenceType(Long bookingId, EvidenceType evidenceType);
+
+    // Evidence file access: user is the uploader or a party of the booking (directly or via the incident).
+    // file_name_key is the last path segment of file_url (V21), so the prefix LIKE uses its index.
+    @Query(value = "SELECT COUNT(*) FROM evidence e " +
+           "LEFT JOIN incidents i ON i.incident_id = e.incident_id " +
+           "LEFT JOIN bookings b ON b.booking_id = COALESCE(e.booking_id, i.booking_id) " +
+           "WHERE e.file_name_key LIKE :namePattern " +
+           "AND (e.uploaded_by_user_id = :userId OR b.customer_id = :userId OR b.transport_id = :userId)",
+           nativeQuery = true)
+    long countAccessibleFiles(@Param("namePattern") String namePattern, @Param("userId") Long userId);
 }
@@ -4,12 +4,16 @@ import com.homeexpress.home_express_api.entity.IntakeSessionItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface IntakeSessionItemRepository extends JpaRepository<IntakeSessionItem, Long> {
     
     List<IntakeSessionItem> findBySessionSessionId(String sessionId);
+
+    // item cua ca trang session trong 1 query
+    List<IntakeSessionItem> findBySessionSessionIdInOrderByIdAsc(Collection<String> sessionIds);
     
     void deleteBySessionSessionId(String sessionId);
 }
@@ -2,11 +2,15 @@ package com.homeexpress.home_express_api.repository;
 
 import com.homeexpress.home_express_api.entity.IntakeSession;
 import com.homeexpress.home_express_api.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -31,11 +35,43 @@ public interface IntakeSessionRepository extends JpaRepository<IntakeSession, St
     @Query("DELETE FROM IntakeSession s WHERE s.status = 'expired' AND s.updatedAt < :before")
     int deleteExpiredSessions(LocalDateTime before);
 
-    long countByStatus(String status);
+    // bo loc cua hang doi duyet; tham so null la bo qua dieu kien
+    String REVIEW_QUEUE_FILTER = "(:status IS NULL OR s.status = :status) "
+            + "AND (:userId IS NULL OR s.user.userId = :userId) "
+            + "AND (:createdAfter IS NULL OR s.createdAt >= :createdAfter) "
+            + "AND (:createdBefore IS NULL OR s.createdAt <= :createdBefore) ";
 
-    @Query("SELECT AVG(s.averageConfidence) FROM IntakeSession s WHERE s.status = :status")
-    Double getAverageConfidenceByStatus(String status);
+    /**
+     * Admin review queue: IDs of one page of sessions matching the filters.
+     * Sessions with unknown or below-threshold AI confidence come first,
+     * then the longest waiting.
+     */
+    @Query(value = "SELECT s.sessionId FROM IntakeSession s WHERE " + REVIEW_QUEUE_FILTER
+            + "ORDER BY CASE WHEN s.averageConfidence IS NULL OR s.averageConfidence < :confidenceThreshold "
+            + "THEN 0 ELSE 1 END, s.createdAt, s.sessionId",
+            countQuery = "SELECT COUNT(s) FROM IntakeSession s WHERE " + REVIEW_QUEUE_FILTER)
+    Page<String> findReviewQueueIds(@Param("status") String status,
+                                    @Param("userId") Long userId,
+                                    @Param("createdAfter") LocalDateTime createdAfter,
+                                    @Param("createdBefore") LocalDateTime createdBefore,
+                                    @Param("confidenceThreshold") BigDecimal confidenceThreshold,
+                                    Pageable pageable);
 
-    @Query("SELECT MIN(s.createdAt) FROM IntakeSession s WHERE s.status = :status")
-    LocalDateTime getOldestCreatedAtByStatus(String status);
+    /**
+     * Count, average confidence and oldest session of every status in one
+     * grouped scan of the (status, created_at, average_confidence) index.
+     */
+    @Query("SELECT s.status AS status, COUNT(s) AS total, AVG(s.averageConfidence) AS avgConfidence, "
+            + "MIN(s.createdAt) AS oldestCreatedAt FROM IntakeSession s GROUP BY s.status")
+    List<StatusStats> aggregateStatsByStatus();
+
+    /**
+     * Projection for {@link #aggregateStatsByStatus}.
+     */
+    interface StatusStats {
+        String getStatus();
+        long getTotal();
+        Double getAvgConfidence();
+        LocalDateTime getOldestCreatedAt();
+    }
 }
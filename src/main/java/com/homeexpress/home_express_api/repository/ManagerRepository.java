@@ -1,9 +1,14 @@
 package com.homeexpress.home_express_api.repository;
 
+import com.homeexpress.home_express_api.dto.response.UserDirectoryEntry;
 import com.homeexpress.home_express_api.entity.Manager;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,4 +25,10 @@ public interface ManagerRepository extends JpaRepository<Manager, Long> {
     
     // tim manager theo user ID
     Optional<Manager> findByUser_UserId(Long userId);
+
+    // profile cho danh sach user cua admin, 1 query cho ca trang
+    @Query("SELECT new com.homeexpress.home_express_api.dto.response.UserDirectoryEntry$ManagerProfile("
+            + "m.managerId, m.fullName, m.phone, m.employeeId, m.department, m.permissions, "
+            + "m.createdAt, m.updatedAt) FROM Manager m WHERE m.managerId IN :managerIds")
+    List<UserDirectoryEntry.ManagerProfile> findDirectoryProfiles(@Param("managerIds") Collection<Long> managerIds);
 }
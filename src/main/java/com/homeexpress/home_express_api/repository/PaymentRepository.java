@@ -17,7 +17,17 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     List<Payment> findByBookingIdAndStatus(Long bookingId, PaymentStatus status);
 
-    java.util.Optional<Payment> findByTransactionId(String transactionId);
+    /**
+     * Look up a payment by transaction ID via its blind index.
+     * The plaintext comparison matches rows written before transaction IDs were encrypted;
+     * it can be dropped once PaymentBlindIndexBackfill reports that every row has a hash.
+     */
+    @Query(value = "SELECT * FROM payments WHERE transaction_id_hash = :transactionIdHash " +
+                   "OR transaction_id = :transactionId LIMIT 1", nativeQuery = true)
+    java.util.Optional<Payment> findByTransactionIdHash(
+        @Param("transactionIdHash") String transactionIdHash,
+        @Param("transactionId") String transactionId
+    );
 
     List<Payment> findByBookingIdAndPaymentTypeAndStatusInOrderByCreatedAtDesc(
             Long bookingId, com.homeexpress.home_express_api.entity.PaymentType paymentType,
@@ -43,10 +43,6 @@ public interface ProductModelRepository extends JpaRepository<ProductModel, Long
            "pm.usageCount DESC, pm.lastUsedAt DESC")
     List<ProductModel> findModelsByBrand(@Param("brand") String brand, @Param("modelQuery") String modelQuery);
 
-    @Modifying
-    @Query("UPDATE ProductModel pm SET pm.usageCount = pm.usageCount + 1, pm.lastUsedAt = CURRENT_TIMESTAMP WHERE pm.modelId = :modelId")
-    void incrementUsageCount(@Param("modelId") Long modelId);
-
     @Query("SELECT pm FROM ProductModel pm WHERE pm.usageCount >= 2 OR pm.source = 'system' ORDER BY pm.usageCount DESC, pm.lastUsedAt DESC")
     List<ProductModel> findTopUsedModels();
 
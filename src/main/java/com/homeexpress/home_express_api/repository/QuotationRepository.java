@@ -1,6 +1,8 @@
 package com.homeexpress.home_express_api.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -8,6 +10,7 @@ import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.query.Procedure;
 import org.springframework.data.repository.query.Param;
@@ -23,6 +26,47 @@ public interface QuotationRepository extends JpaRepository<Quotation, Long> {
 
     List<Quotation> findByBookingIdIn(Set<Long> bookingIds);
 
+    /**
+     * Competitive position of each given quotation within its booking,
+     * computed with window functions so no competing quotation leaves the DB.
+     * Rank is 1 + the number of bids strictly cheaper; null prices count as 0.
+     */
+    @Query(value = """
+            SELECT r.quotation_id AS quotationId,
+                   r.competitor_count AS competitorCount,
+                   r.lowest_competitor_price AS lowestCompetitorPrice,
+                   r.price_rank AS priceRank
+            FROM (
+                SELECT q.quotation_id,
+                       COUNT(*) OVER by_booking - 1 AS competitor_count,
+                       RANK() OVER by_price_only AS price_rank,
+                       CASE WHEN ROW_NUMBER() OVER by_price = 1
+                            THEN NTH_VALUE(COALESCE(q.quoted_price, 0), 2) OVER by_price_all
+                            ELSE FIRST_VALUE(COALESCE(q.quoted_price, 0)) OVER by_price_all
+                       END AS lowest_competitor_price
+                FROM quotations q
+                WHERE q.booking_id IN (
+                    SELECT s.booking_id FROM quotations s WHERE s.quotation_id IN (:quotationIds)
+                )
+                WINDOW by_booking AS (PARTITION BY q.booking_id),
+                       by_price_only AS (PARTITION BY q.booking_id ORDER BY COALESCE(q.quoted_price, 0)),
+                       by_price AS (PARTITION BY q.booking_id ORDER BY COALESCE(q.quoted_price, 0), q.quotation_id),
+                       by_price_all AS (by_price ROWS BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING)
+            ) r
+            WHERE r.quotation_id IN (:quotationIds)
+            """, nativeQuery = true)
+    List<CompetitivePosition> findCompetitivePositions(@Param("quotationIds") Collection<Long> quotationIds);
+
+    interface CompetitivePosition {
+        Long getQuotationId();
+
+        Long getCompetitorCount();
+
+        BigDecimal getLowestCompetitorPrice();
+
+        Long getPriceRank();
+    }
+
     Page<Quotation> findByBookingId(Long bookingId, Pageable pageable);
 
     Page<Quotation> findByTransportId(Long transportId, Pageable pageable);
@@ -45,8 +89,68 @@ public interface QuotationRepository extends JpaRepository<Quotation, Long> {
 
     List<Quotation> findByTransportIdAndRespondedAtBetween(Long transportId, LocalDateTime start, LocalDateTime end);
 
-    @Query("SELECT q FROM Quotation q WHERE q.expiresAt < :now AND q.status = 'PENDING'")
-    List<Quotation> findExpiredQuotations(@Param("now") LocalDateTime now);
+    /**
+     * Next chunk of overdue PENDING quotations in deadline order, read through
+     * idx_quotations_status_expires. Rows are locked until the chunk commits;
+     * rows held by a concurrent accept or another node's sweep are skipped.
+     */
+    @Query(value = """
+            SELECT q.quotation_id AS quotationId, q.booking_id AS bookingId,
+                   q.transport_id AS transportId, q.expires_at AS expiresAt
+            FROM quotations q
+            WHERE q.status = 'PENDING' AND q.expires_at < :now
+            ORDER BY q.expires_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<ExpiringQuotation> lockExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Same as {@link #lockExpiredBatch} restricted to the given quotations,
+     * for deadlines fired by the in-memory timing wheel.
+     */
+    @Query(value = """
+            SELECT q.quotation_id AS quotationId, q.booking_id AS bookingId,
+                   q.transport_id AS transportId, q.expires_at AS expiresAt
+            FROM quotations q
+            WHERE q.quotation_id IN (:quotationIds) AND q.status = 'PENDING' AND q.expires_at < :now
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<ExpiringQuotation> lockExpiredByIds(@Param("quotationIds") Collection<Long> quotationIds,
+                                             @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = """
+            UPDATE quotations
+            SET status = 'EXPIRED', responded_at = :now
+            WHERE quotation_id IN (:quotationIds) AND status = 'PENDING' AND expires_at < :now
+            """, nativeQuery = true)
+    int expireByIds(@Param("quotationIds") Collection<Long> quotationIds, @Param("now") LocalDateTime now);
+
+    /**
+     * PENDING quotations due in [from, until), used to preload the timing wheel.
+     */
+    @Query(value = """
+            SELECT q.quotation_id AS quotationId, q.booking_id AS bookingId,
+                   q.transport_id AS transportId, q.expires_at AS expiresAt
+            FROM quotations q
+            WHERE q.status = 'PENDING' AND q.expires_at >= :from AND q.expires_at < :until
+            ORDER BY q.expires_at
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ExpiringQuotation> findUpcomingExpiries(@Param("from") LocalDateTime from,
+                                                 @Param("until") LocalDateTime until,
+                                                 @Param("limit") int limit);
+
+    interface ExpiringQuotation {
+        Long getQuotationId();
+
+        Long getBookingId();
+
+        Long getTransportId();
+
+        LocalDateTime getExpiresAt();
+    }
 
     Optional<Quotation> findTopByBookingIdAndStatusOrderByAcceptedAtDesc(Long bookingId, QuotationStatus status);
 
@@ -0,0 +1,46 @@
+package com.homeexpress.home_express_api.repository;
+
+import com.homeexpress.home_express_api.entity.TransportMonthlyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TransportMonthlyStatsRepository extends JpaRepository<TransportMonthlyStats, Long> {
+
+    List<TransportMonthlyStats> findByTransportIdAndMonthStartBetweenOrderByMonthStartAsc(
+            Long transportId, LocalDate fromMonth, LocalDate toMonth);
+
+    /**
+     * Recomputes one (transport, month) row from bookings and settlements.
+     * The aggregate always yields a row, so months that lost their last
+     * completed booking are reset to zero rather than left stale.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO transport_monthly_stats
+                (transport_id, month_start, completed_bookings, gross_revenue_vnd, net_to_transport_vnd)
+            SELECT :transportId, :monthStart, COUNT(*),
+                   COALESCE(SUM(b.final_price), 0), COALESCE(SUM(s.net_to_transport_vnd), 0)
+            FROM bookings b
+            LEFT JOIN booking_settlements s ON s.booking_id = b.booking_id AND s.status <> 'CANCELLED'
+            WHERE b.transport_id = :transportId
+              AND b.status = 'COMPLETED'
+              AND b.actual_end_time >= :rangeStart
+              AND b.actual_end_time < :rangeEnd
+            ON DUPLICATE KEY UPDATE
+                completed_bookings = VALUES(completed_bookings),
+                gross_revenue_vnd = VALUES(gross_revenue_vnd),
+                net_to_transport_vnd = VALUES(net_to_transport_vnd)
+            """, nativeQuery = true)
+    int refreshMonth(@Param("transportId") Long transportId,
+                     @Param("monthStart") LocalDate monthStart,
+                     @Param("rangeStart") LocalDateTime rangeStart,
+                     @Param("rangeEnd") LocalDateTime rangeEnd);
+}
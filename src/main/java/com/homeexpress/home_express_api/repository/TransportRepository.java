@@ -1,5 +1,6 @@
 package com.homeexpress.home_express_api.repository;
 
+import com.homeexpress.home_express_api.dto.response.UserDirectoryEntry;
 import com.homeexpress.home_express_api.entity.Transport;
 import com.homeexpress.home_express_api.entity.VerificationStatus;
 import org.springframework.data.domain.Page;
@@ -7,6 +8,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,10 +42,24 @@ public interface TransportRepository extends JpaRepository<Transport, Long> {
     List<Transport> findByVerificationStatusOrderByAverageRatingDesc(VerificationStatus status);
 
     long countByVerificationStatus(VerificationStatus status);
+
+    List<Transport> findTop5ByVerificationStatusOrderByAverageRatingDesc(VerificationStatus status);
+
+    // so luong transport theo tung verification status: [status, count]
+    @Query("SELECT t.verificationStatus, COUNT(t) FROM Transport t GROUP BY t.verificationStatus")
+    List<Object[]> countGroupByVerificationStatus();
     
     // tim transport theo city
     List<Transport> findByCity(String city);
     
     // tim transport theo user ID
     Optional<Transport> findByUser_UserId(Long userId);
+
+    // profile cho danh sach user cua admin, 1 query cho ca trang
+    @Query("SELECT new com.homeexpress.home_express_api.dto.response.UserDirectoryEntry$TransportProfile("
+            + "t.transportId, t.companyName, t.businessLicenseNumber, t.taxCode, t.phone, t.address, t.city, "
+            + "t.district, t.ward, t.verificationStatus, t.verifiedAt, t.totalBookings, t.completedBookings, "
+            + "t.cancelledBookings, t.averageRating, t.createdAt, t.updatedAt) "
+            + "FROM Transport t WHERE t.transportId IN :transportIds")
+    List<UserDirectoryEntry.TransportProfile> findDirectoryProfiles(@Param("transportIds") Collection<Long> transportIds);
 }
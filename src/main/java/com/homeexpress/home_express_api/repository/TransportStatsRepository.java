@@ -0,0 +1,9 @@
+package com.homeexpress.home_express_api.repository;
+
+import com.homeexpress.home_express_api.entity.TransportStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TransportStatsRepository extends JpaRepository<TransportStats, Long> {
+}
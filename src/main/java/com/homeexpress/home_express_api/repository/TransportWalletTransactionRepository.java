@@ -4,9 +4,12 @@ import com.homeexpress.home_express_api.entity.TransportWalletTransaction;
 import com.homeexpress.home_express_api.entity.WalletTransactionReferenceType;
 import com.homeexpress.home_express_api.entity.WalletTransactionType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -36,4 +39,23 @@ public interface TransportWalletTransactionRepository extends JpaRepository<Tran
     List<TransportWalletTransaction> findByReferenceTypeAndReferenceId(
             WalletTransactionReferenceType referenceType,
             Long referenceId);
+
+    @Query("SELECT YEAR(t.createdAt) AS calendarYear, MONTH(t.createdAt) AS calendarMonth, "
+            + "COALESCE(SUM(t.amount), 0) AS total "
+            + "FROM TransportWalletTransaction t "
+            + "WHERE t.wallet.walletId = :walletId AND t.transactionType IN :types "
+            + "AND t.createdAt >= :start AND t.createdAt < :end "
+            + "GROUP BY YEAR(t.createdAt), MONTH(t.createdAt)")
+    List<MonthlyTotal> sumAmountByMonth(@Param("walletId") Long walletId,
+            @Param("types") Collection<WalletTransactionType> types,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    interface MonthlyTotal {
+        Integer getCalendarYear();
+
+        Integer getCalendarMonth();
+
+        Long getTotal();
+    }
 }
@@ -1,6 +1,8 @@
 package com.homeexpress.home_express_api.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
@@ -9,10 +11,14 @@ import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.homeexpress.home_express_api.dto.response.UserDirectoryEntry;
 import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
@@ -37,4 +43,109 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     long countByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
 
     Page<User> findByRole(UserRole role, Pageable pageable);
+
+    @Query("SELECT new com.homeexpress.home_express_api.service.principal.UserPrincipal("
+            + "u.userId, u.email, u.role, u.isActive, u.isVerified) FROM User u WHERE u.userId = :userId")
+    Optional<UserPrincipal> findPrincipalById(@Param("userId") Long userId);
+
+    @Query("SELECT new com.homeexpress.home_express_api.service.principal.UserPrincipal("
+            + "u.userId, u.email, u.role, u.isActive, u.isVerified) FROM User u WHERE u.email = :email")
+    Optional<UserPrincipal> findPrincipalByEmail(@Param("email") String email);
+
+    /**
+     * Admin user directory: IDs of one page of users, oldest first.
+     */
+    @Query(value = "SELECT u.userId FROM User u "
+            + "WHERE (:role IS NULL OR u.role = :role) AND (:active IS NULL OR u.isActive = :active) "
+            + "ORDER BY u.userId",
+            countQuery = "SELECT COUNT(u) FROM User u "
+            + "WHERE (:role IS NULL OR u.role = :role) AND (:active IS NULL OR u.isActive = :active)")
+    Page<Long> findDirectoryUserIds(@Param("role") UserRole role, @Param("active") Boolean active,
+                                    Pageable pageable);
+
+    // user_id khop email hoac ten profile; UNION loai trung
+    String DIRECTORY_SEARCH_MATCHES = "SELECT user_id FROM users WHERE LOWER(email) LIKE :emailPrefix "
+            + "UNION SELECT user_id FROM users WHERE MATCH(email) AGAINST (:phrase IN BOOLEAN MODE) "
+            + "UNION SELECT customer_id FROM customers WHERE MATCH(full_name) AGAINST (:phrase IN BOOLEAN MODE) "
+            + "UNION SELECT transport_id FROM transports WHERE MATCH(company_name) AGAINST (:phrase IN BOOLEAN MODE) "
+            + "UNION SELECT manager_id FROM managers WHERE MATCH(full_name) AGAINST (:phrase IN BOOLEAN MODE)";
+
+    /**
+     * Admin user directory search. Each branch of the union is an index
+     * lookup: the ngram FULLTEXT indexes on email and profile names (V22)
+     * for substrings, the LOWER(email) index for prefixes shorter than an
+     * ngram. {@code phrase} is a quoted boolean-mode phrase.
+     */
+    @Query(value = "SELECT u.user_id FROM users u JOIN (" + DIRECTORY_SEARCH_MATCHES + ") m ON m.user_id = u.user_id "
+            + "WHERE (:role IS NULL OR u.role = :role) AND (:active IS NULL OR u.is_active = :active) "
+            + "ORDER BY u.user_id",
+            countQuery = "SELECT COUNT(*) FROM users u JOIN (" + DIRECTORY_SEARCH_MATCHES + ") m ON m.user_id = u.user_id "
+            + "WHERE (:role IS NULL OR u.role = :role) AND (:active IS NULL OR u.is_active = :active)",
+            nativeQuery = true)
+    Page<Long> searchDirectoryUserIds(@Param("role") String role, @Param("active") Boolean active,
+                                      @Param("emailPrefix") String emailPrefix, @Param("phrase") String phrase,
+                                      Pageable pageable);
+
+    // user_id co email hoac ten profile chua :pattern; quet ca bang
+    String DIRECTORY_SUBSTRING_MATCHES = "SELECT user_id FROM users WHERE email LIKE :pattern "
+            + "UNION SELECT customer_id FROM customers WHERE full_name LIKE :pattern "
+            + "UNION SELECT transport_id FROM transports WHERE company_name LIKE :pattern "
+            + "UNION SELECT manager_id FROM managers WHERE full_name LIKE :pattern";
+
+    /**
+     * Directory search for terms with a word shorter than an ngram, which
+     * the FULLTEXT indexes cannot match. Scans the four tables with
+     * {@code LIKE :pattern}; the columns are case-insensitive.
+     */
+    @Query(value = "SELECT u.user_id FROM users u JOIN (" + DIRECTORY_SUBSTRING_MATCHES + ") m ON m.user_id = u.user_id "
+            + "WHERE (:role IS NULL OR u.role = :role) AND (:active IS NULL OR u.is_active = :active) "
+            + "ORDER BY u.user_id",
+            countQuery = "SELECT COUNT(*) FROM users u JOIN (" + DIRECTORY_SUBSTRING_MATCHES + ") m ON m.user_id = u.user_id "
+            + "WHERE (:role IS NULL OR u.role = :role) AND (:active IS NULL OR u.is_active = :active)",
+            nativeQuery = true)
+    Page<Long> scanDirectoryUserIds(@Param("role") String role, @Param("active") Boolean active,
+                                    @Param("pattern") String pattern, Pageable pageable);
+
+    @Query("SELECT new com.homeexpress.home_express_api.dto.response.UserDirectoryEntry$Account("
+            + "u.userId, u.email, u.role, u.isActive, u.isVerified, u.avatarUrl, u.createdAt, u.updatedAt) "
+            + "FROM User u WHERE u.userId IN :userIds")
+    List<UserDirectoryEntry.Account> findDirectoryAccounts(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * All admin dashboard user counters in one table scan.
+     */
+    @Query("""
+            SELECT COUNT(u) AS totalUsers,
+                   COALESCE(SUM(CASE WHEN u.role = com.homeexpress.home_express_api.entity.UserRole.CUSTOMER THEN 1 ELSE 0 END), 0) AS customers,
+                   COALESCE(SUM(CASE WHEN u.role = com.homeexpress.home_express_api.entity.UserRole.TRANSPORT THEN 1 ELSE 0 END), 0) AS transports,
+                   COALESCE(SUM(CASE WHEN u.role = com.homeexpress.home_express_api.entity.UserRole.MANAGER THEN 1 ELSE 0 END), 0) AS managers,
+                   COALESCE(SUM(CASE WHEN u.isActive = true THEN 1 ELSE 0 END), 0) AS activeUsers,
+                   COALESCE(SUM(CASE WHEN u.isVerified = true THEN 1 ELSE 0 END), 0) AS verifiedUsers,
+                   COALESCE(SUM(CASE WHEN u.createdAt >= :startOfToday AND u.createdAt < :end THEN 1 ELSE 0 END), 0) AS newToday,
+                   COALESCE(SUM(CASE WHEN u.createdAt >= :startOfWeek AND u.createdAt < :end THEN 1 ELSE 0 END), 0) AS newThisWeek,
+                   COALESCE(SUM(CASE WHEN u.createdAt >= :startOfMonth AND u.createdAt < :end THEN 1 ELSE 0 END), 0) AS newThisMonth,
+                   COALESCE(SUM(CASE WHEN u.createdAt >= :startOfPreviousMonth AND u.createdAt < :startOfMonth THEN 1 ELSE 0 END), 0) AS newPreviousMonth
+            FROM User u
+            """)
+    UserCounts aggregateUserCounts(@Param("startOfToday") LocalDateTime startOfToday,
+                                   @Param("startOfWeek") LocalDateTime startOfWeek,
+                                   @Param("startOfMonth") LocalDateTime startOfMonth,
+                                   @Param("startOfPreviousMonth") LocalDateTime startOfPreviousMonth,
+                                   @Param("end") LocalDateTime end);
+
+    /**
+     * Projection for {@link #aggregateUserCounts}.
+     */
+    interface UserCounts {
+        long getTotalUsers();
+        long getCustomers();
+        long getTransports();
+        long getManagers();
+        long getActiveUsers();
+        long getVerifiedUsers();
+        long getNewToday();
+        long getNewThisWeek();
+        long getNewThisMonth();
+        long getNewPreviousMonth();
+    }
 }
@@ -35,6 +35,10 @@ public interface UserSessionRepository extends JpaRepository<UserSession, String
            "WHERE s.user.userId = :userId AND s.revokedAt IS NULL")
     int revokeAllUserSessions(Long userId, LocalDateTime now, String reason);
     
+    // sessions bi revoke gan day - nap vao revocation registry luc khoi dong
+    @Query("SELECT s FROM UserSession s WHERE s.revokedAt > :since")
+    List<UserSession> findRevokedSince(LocalDateTime since);
+    
     // count active sessions cua user
     @Query("SELECT COUNT(s) FROM UserSession s WHERE s.user.userId = :userId " +
            "AND s.revokedAt IS NULL AND s.expiresAt > :now")
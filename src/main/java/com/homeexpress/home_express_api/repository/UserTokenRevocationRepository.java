@@ -0,0 +1,28 @@
+package com.homeexpress.home_express_api.repository;
+
+import com.homeexpress.home_express_api.entity.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, Long> {
+
+    /**
+     * Record a revoke-all cutoff; an earlier cutoff never replaces a later one
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_token_revocations (user_id, revoked_before)
+            VALUES (:userId, :revokedBefore)
+            ON DUPLICATE KEY UPDATE revoked_before = GREATEST(revoked_before, VALUES(revoked_before))
+            """, nativeQuery = true)
+    int upsert(@Param("userId") Long userId, @Param("revokedBefore") LocalDateTime revokedBefore);
+
+    List<UserTokenRevocation> findByRevokedBeforeAfter(LocalDateTime since);
+}
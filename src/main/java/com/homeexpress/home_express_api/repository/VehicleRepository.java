@@ -1,5 +1,6 @@
 package com.homeexpress.home_express_api.repository;
 
+import com.homeexpress.home_express_api.dto.vehicle.VehicleCapability;
 import com.homeexpress.home_express_api.entity.Vehicle;
 import com.homeexpress.home_express_api.entity.VehicleStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +20,26 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     List<Vehicle> findByTransportTransportIdAndStatus(Long transportId, VehicleStatus status);
     
     List<Vehicle> findByStatus(VehicleStatus status);
+
+    @Query("SELECT new com.homeexpress.home_express_api.dto.vehicle.VehicleCapability("
+            + "v.vehicleId, v.capacityKg, v.capacityM3, v.hasTailLift, v.hasTools) "
+            + "FROM Vehicle v WHERE v.status = :status")
+    List<VehicleCapability> findCapabilitiesByStatus(@Param("status") VehicleStatus status);
+
+    /**
+     * Database form of the capability index query, used until the index is loaded.
+     * Served by idx_vehicles_status_capacity.
+     */
+    @Query("SELECT v FROM Vehicle v WHERE v.status = :status AND v.capacityKg >= :totalWeight "
+            + "AND (:totalVolume IS NULL OR v.capacityM3 IS NULL OR v.capacityM3 >= :totalVolume) "
+            + "AND (:requiresTailLift = false OR v.hasTailLift = true) "
+            + "AND (:requiresTools = false OR v.hasTools = true) "
+            + "ORDER BY v.vehicleId")
+    List<Vehicle> findEligible(@Param("status") VehicleStatus status,
+                               @Param("totalWeight") BigDecimal totalWeight,
+                               @Param("totalVolume") BigDecimal totalVolume,
+                               @Param("requiresTailLift") boolean requiresTailLift,
+                               @Param("requiresTools") boolean requiresTools);
     
     long countByTransportTransportIdAndStatusNot(Long transportId, VehicleStatus status);
 
@@ -132,15 +132,15 @@ public class AuthService {
         user.setIsActive(true);
         userRepository.save(user);
 
-        // 4. Generate tokens
-        String accessToken = jwtTokenProvider.generateAccessToken(
-            user.getUserId(), user.getEmail(), user.getRole().name());
-        
+        // 4. Generate tokens (access token gan voi session de co the revoke)
         String ipAddress = getClientIp();
         String userAgent = getUserAgent();
         UserSession session = sessionService.createSession(user, ipAddress, userAgent, null);
         String refreshToken = session.getPlainRefreshToken();
         
+        String accessToken = jwtTokenProvider.generateAccessToken(
+            user.getUserId(), user.getEmail(), user.getRole().name(), session.getSessionId());
+        
         // 5. Response
         AuthResponse response = new AuthResponse();
         response.setAccessToken(accessToken);
@@ -181,17 +181,17 @@ public class AuthService {
         user.setLastLogin(LocalDateTime.now());
         userRepository.save(user);
         
-        // 8. generate tokens
-        String accessToken = jwtTokenProvider.generateAccessToken(
-            user.getUserId(), user.getEmail(), user.getRole().name());
-        
-        // 9. tao session moi
+        // 8. tao session moi
         UserSession session = sessionService.createSession(user, ipAddress, userAgent, null);
         String refreshToken = session.getPlainRefreshToken();
         if (!StringUtils.hasText(refreshToken)) {
             throw new IllegalStateException("Failed to generate refresh token");
         }
         
+        // 9. generate access token gan voi session (de revoke duoc khi logout)
+        String accessToken = jwtTokenProvider.generateAccessToken(
+            user.getUserId(), user.getEmail(), user.getRole().name(), session.getSessionId());
+        
         // 10. response
         AuthResponse response = new AuthResponse();
         response.setToken(accessToken);
@@ -219,7 +219,7 @@ public class AuthService {
         
         // 4. generate access token moi
         String newAccessToken = jwtTokenProvider.generateAccessToken(
-            user.getUserId(), user.getEmail(), user.getRole().name());
+            user.getUserId(), user.getEmail(), user.getRole().name(), session.getSessionId());
         
         // 5. response - ko generate refresh token moi, giu refresh token cu
         AuthResponse response = new AuthResponse();
@@ -14,12 +14,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.homeexpress.home_express_api.dto.booking.AddressDto;
+import com.homeexpress.home_express_api.dto.booking.BookingPageResponse;
 import com.homeexpress.home_express_api.dto.booking.BookingRequest;
 import com.homeexpress.home_express_api.dto.booking.BookingResponse;
 import com.homeexpress.home_express_api.dto.booking.BookingStatusHistoryResponse;
 import com.homeexpress.home_express_api.dto.booking.BookingUpdateRequest;
 import com.homeexpress.home_express_api.dto.request.ConfirmCompletionRequest;
-import com.homeexpress.home_express_api.dto.response.BookingTimelineEvent;
 import com.homeexpress.home_express_api.dto.response.BookingTimelineResponse;
 import com.homeexpress.home_express_api.dto.response.QuotationResponse;
 import com.homeexpress.home_express_api.entity.ActorRole;
@@ -33,7 +33,6 @@ import com.homeexpress.home_express_api.entity.Payment;
 import com.homeexpress.home_express_api.entity.PaymentStatus;
 import com.homeexpress.home_express_api.entity.PaymentType;
 import com.homeexpress.home_express_api.entity.Quotation;
-import com.homeexpress.home_express_api.entity.QuotationStatus;
 import com.homeexpress.home_express_api.entity.Transport;
 import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
@@ -52,6 +51,8 @@ import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.repository.VnDistrictRepository;
 import com.homeexpress.home_express_api.repository.VnProvinceRepository;
 import com.homeexpress.home_express_api.repository.VnWardRepository;
+import com.homeexpress.home_express_api.service.booking.BookingQueryService;
+import com.homeexpress.home_express_api.service.booking.BookingTimelineAssembler;
 import com.homeexpress.home_express_api.service.map.MapService;
 
 import lombok.RequiredArgsConstructor;
@@ -111,6 +112,10 @@ public class BookingService {
 
     private final MapService mapService;
 
+    private final BookingTimelineAssembler bookingTimelineAssembler;
+
+    private final BookingQueryService bookingQueryService;
+
     /**
      * Tạo booking mới
      *
@@ -231,72 +236,22 @@ public class BookingService {
         return BookingResponse.fromEntity(booking);
     }
 
-    /**
-     * Lấy danh sách booking cho người dùng
-     *
-     * - MANAGER: Có thể xem tất cả booking hoặc booking của một khách hàng cụ
-     * thể - CUSTOMER: Chỉ xem được booking của chính mình
-     *
-     * @param customerId ID khách hàng (optional)
-     * @param requesterId ID người yêu cầu
-     * @param requesterRole Vai trò người yêu cầu
-     * @return Danh sách BookingResponse
-     */
-    @PreAuthorize("hasAnyRole('CUSTOMER','MANAGER')")
-    @Transactional(readOnly = true)
-    public List<BookingResponse> getBookingsForUser(Long customerId, Long requesterId, UserRole requesterRole) {
-        if (requesterRole == UserRole.MANAGER) {
-            if (customerId != null) {
-                return getBookingsByCustomer(customerId, requesterId, requesterRole);
-            }
-            return getAllBookings(requesterRole);
-        }
-
-        if (requesterRole == UserRole.CUSTOMER) {
-            Long effectiveCustomerId = customerId != null ? customerId : requesterId;
-            return getBookingsByCustomer(effectiveCustomerId, requesterId, requesterRole);
-        }
-
-        throw new UnauthorizedException("Access denied");
-    }
-
     /**
      * Lấy danh sách booking của một khách hàng cụ thể
      *
      * @param customerId ID khách hàng
      * @param requestingUserId ID người yêu cầu
      * @param userRole Vai trò người dùng
-     * @return Danh sách BookingResponse
-     */
-    @Transactional(readOnly = true)
-    public List<BookingResponse> getBookingsByCustomer(Long customerId, Long requestingUserId, UserRole userRole) {
-        // Khách hàng chỉ được xem booking của chính mình
-        if (userRole == UserRole.CUSTOMER && !customerId.equals(requestingUserId)) {
-            throw new UnauthorizedException("You can only view your own bookings");
-        }
-
-        return bookingRepository.findByCustomerIdOrderByCreatedAtDesc(customerId)
-                .stream()
-                .map(BookingResponse::fromEntity)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Lấy tất cả booking trong hệ thống (chỉ dành cho MANAGER)
-     *
-     * @param userRole Vai trò người dùng
-     * @return Danh sách tất cả BookingResponse
+     * @param cursor Cursor trang trước (null cho trang đầu)
+     * @param size Số booking mỗi trang (null dùng mặc định)
+     * @return Một trang booking, mới nhất trước
      */
-    @Transactional(readOnly = true)
-    public List<BookingResponse> getAllBookings(UserRole userRole) {
-        if (userRole != UserRole.MANAGER) {
-            throw new UnauthorizedException("Only managers can view all bookings");
-        }
-
-        return bookingRepository.findAll()
-                .stream()
-                .map(BookingResponse::fromEntity)
-                .collect(Collectors.toList());
+    public BookingPageResponse getBookingsByCustomer(Long customerId, Long requestingUserId, UserRole userRole,
+            String cursor, Integer size) {
+        // Phân trang keyset và kiểm tra quyền nằm ở BookingQueryService
+        return bookingQueryService.search(
+                BookingQueryService.Filter.forCustomer(customerId).withPage(cursor, size),
+                requestingUserId, userRole);
     }
 
     /**
@@ -779,188 +734,7 @@ public class BookingService {
      */
     @Transactional(readOnly = true)
     public BookingTimelineResponse getBookingTimeline(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + bookingId));
-
-        java.util.List<BookingTimelineEvent> events = new java.util.ArrayList<>();
-
-        // 1. Add status history events
-        List<BookingStatusHistory> statusHistory = statusHistoryRepository.findByBookingIdOrderByChangedAtAsc(bookingId);
-        for (BookingStatusHistory history : statusHistory) {
-            String actorName = getActorName(history.getChangedBy(), history.getChangedByRole());
-            String description = String.format("Status changed from %s to %s",
-                    history.getOldStatus() != null ? history.getOldStatus().name() : "N/A",
-                    history.getNewStatus().name());
-            if (history.getReason() != null && !history.getReason().isEmpty()) {
-                description += ". Reason: " + history.getReason();
-            }
-
-            events.add(BookingTimelineEvent.builder()
-                    .timestamp(history.getChangedAt())
-                    .eventType("STATUS_CHANGE")
-                    .status(history.getNewStatus())
-                    .actorRole(history.getChangedByRole())
-                    .actorId(history.getChangedBy())
-                    .actorName(actorName)
-                    .description(description)
-                    .build());
-        }
-
-        // 2. Add quotation events
-        List<Quotation> quotations = quotationRepository.findByBookingId(bookingId);
-        for (Quotation quotation : quotations) {
-            // Quotation submitted
-            if (quotation.getCreatedAt() != null) {
-                String transportName = getTransportName(quotation.getTransportId());
-                events.add(BookingTimelineEvent.builder()
-                        .timestamp(quotation.getCreatedAt())
-                        .eventType("QUOTATION_SUBMITTED")
-                        .status(null)
-                        .actorRole(ActorRole.TRANSPORT)
-                        .actorId(quotation.getTransportId())
-                        .actorName(transportName)
-                        .description(String.format("Quotation submitted: %.0f VND",
-                                quotation.getQuotedPrice().doubleValue()))
-                        .referenceId(quotation.getQuotationId())
-                        .referenceType("QUOTATION")
-                        .build());
-            }
-
-            // Quotation accepted/rejected
-            if (quotation.getAcceptedAt() != null) {
-                String customerName = getCustomerName(booking.getCustomerId());
-                events.add(BookingTimelineEvent.builder()
-                        .timestamp(quotation.getAcceptedAt())
-                        .eventType("QUOTATION_ACCEPTED")
-                        .status(null)
-                        .actorRole(ActorRole.CUSTOMER)
-                        .actorId(booking.getCustomerId())
-                        .actorName(customerName)
-                        .description(String.format("Quotation accepted: %.0f VND",
-                                quotation.getQuotedPrice().doubleValue()))
-                        .referenceId(quotation.getQuotationId())
-                        .referenceType("QUOTATION")
-                        .build());
-            } else if (quotation.getRespondedAt() != null
-                    && quotation.getStatus() == QuotationStatus.REJECTED) {
-                String customerName = getCustomerName(booking.getCustomerId());
-                events.add(BookingTimelineEvent.builder()
-                        .timestamp(quotation.getRespondedAt())
-                        .eventType("QUOTATION_REJECTED")
-                        .status(null)
-                        .actorRole(ActorRole.CUSTOMER)
-                        .actorId(booking.getCustomerId())
-                        .actorName(customerName)
-                        .description("Quotation rejected")
-                        .referenceId(quotation.getQuotationId())
-                        .referenceType("QUOTATION")
-                        .build());
-            }
-        }
-
-        // 3. Add payment events
-        List<Payment> payments = paymentRepository.findByBookingIdOrderByCreatedAtAsc(bookingId);
-        for (Payment payment : payments) {
-            // Payment initiated
-            if (payment.getCreatedAt() != null) {
-                String customerName = getCustomerName(booking.getCustomerId());
-                String paymentTypeStr = payment.getPaymentType() == PaymentType.DEPOSIT ? "Deposit" : "Payment";
-                events.add(BookingTimelineEvent.builder()
-                        .timestamp(payment.getCreatedAt())
-                        .eventType("PAYMENT_INITIATED")
-                        .status(null)
-                        .actorRole(ActorRole.CUSTOMER)
-                        .actorId(booking.getCustomerId())
-                        .actorName(customerName)
-                        .description(String.format("%s initiated: %.0f VND (%s)",
-                                paymentTypeStr,
-                                payment.getAmount().doubleValue(),
-                                payment.getPaymentMethod().name()))
-                        .referenceId(payment.getPaymentId())
-                        .referenceType("PAYMENT")
-                        .build());
-            }
-
-            // Payment completed
-            if (payment.getPaidAt() != null && payment.getStatus() == PaymentStatus.COMPLETED) {
-                String customerName = getCustomerName(booking.getCustomerId());
-                String paymentTypeStr = payment.getPaymentType() == PaymentType.DEPOSIT ? "Deposit" : "Payment";
-                events.add(BookingTimelineEvent.builder()
-                        .timestamp(payment.getPaidAt())
-                        .eventType("PAYMENT_COMPLETED")
-                        .status(null)
-                        .actorRole(ActorRole.CUSTOMER)
-                        .actorId(booking.getCustomerId())
-                        .actorName(customerName)
-                        .description(String.format("%s completed: %.0f VND",
-                                paymentTypeStr,
-                                payment.getAmount().doubleValue()))
-                        .referenceId(payment.getPaymentId())
-                        .referenceType("PAYMENT")
-                        .build());
-            }
-        }
-
-        // Sort all events by timestamp
-        events.sort((e1, e2) -> e1.getTimestamp().compareTo(e2.getTimestamp()));
-
-        return BookingTimelineResponse.builder()
-                .bookingId(bookingId)
-                .timeline(events)
-                .totalEvents(events.size())
-                .build();
-    }
-
-    private String getActorName(Long userId, ActorRole role) {
-        if (userId == null) {
-            return "System";
-        }
-        try {
-            if (role == ActorRole.CUSTOMER) {
-                return customerRepository.findById(userId)
-                        .map(c -> c.getFullName())
-                        .orElse(userRepository.findById(userId).map(u -> u.getEmail()).orElse("Unknown"));
-            } else if (role == ActorRole.TRANSPORT) {
-                return transportRepository.findById(userId)
-                        .map(t -> t.getCompanyName())
-                        .orElse(userRepository.findById(userId).map(u -> u.getEmail()).orElse("Unknown"));
-            }
-
-            User user = userRepository.findById(userId).orElse(null);
-            if (user != null) {
-                return user.getEmail();
-            }
-        } catch (Exception e) {
-            // Ignore
-        }
-        return role != null ? role.name() : "Unknown";
-    }
-
-    private String getTransportName(Long transportId) {
-        if (transportId == null) {
-            return "Unknown Transport";
-        }
-        try {
-            return transportRepository.findById(transportId)
-                    .map(t -> t.getCompanyName() != null ? t.getCompanyName() : "Transport #" + transportId)
-                    .orElse("Unknown Transport");
-        } catch (Exception e) {
-            return "Transport #" + transportId;
-        }
-    }
-
-    private String getCustomerName(Long customerId) {
-        if (customerId == null) {
-            return "Unknown Customer";
-        }
-        try {
-            return customerRepository.findById(customerId)
-                    .map(c -> c.getFullName())
-                    .orElse(userRepository.findById(customerId).map(u -> u.getEmail()).orElse("Customer #" + customerId));
-        } catch (Exception e) {
-            // Ignore
-        }
-        return "Customer #" + customerId;
+        return bookingTimelineAssembler.getTimeline(bookingId);
     }
 
     /**
@@ -1,44 +1,72 @@
 package com.homeexpress.home_express_api.service;
 
+import com.homeexpress.home_express_api.service.commission.CommissionRuleEngine;
+import com.homeexpress.home_express_api.service.commission.CommissionRuleTable;
 import org.springframework.stereotype.Service;
 
 /**
  * Service for calculating commission and platform fees Based on
- * commission_rules table in the database
+ * commission_rules table in the database, served from the in-memory rule
+ * table of {@link CommissionRuleEngine}
  */
 @Service
 public class CommissionService {
 
-    private static final int DEFAULT_COMMISSION_BPS = 500;
     /**
      * Manual bank transfers (no third-party gateway) cost 0 VND by default.
      * Update this constant if the bank applies a per-transaction fee.
      */
     private static final long BANK_TRANSFER_FIXED_FEE_VND = 0L;
 
+    private final CommissionRuleEngine commissionRuleEngine;
+
+    public CommissionService(CommissionRuleEngine commissionRuleEngine) {
+        this.commissionRuleEngine = commissionRuleEngine;
+    }
+
     /**
-     * Calculate platform fee based on commission rate Formula: (agreedPrice ×
-     * commissionRateBps) / 10000
+     * Calculate platform fee from the rule in force for the transport:
+     * (agreedPrice × commissionRateBps) / 10000 for PERCENT rules or the flat
+     * fee for FLAT rules, clamped to the rule's min/max fee. Falls back to
+     * 500 bps when no rule applies.
      *
      * @param agreedPriceVnd agreed price in VND
-     * @param transportId transport ID (for future transport-specific rates)
+     * @param transportId transport ID (null for the platform-wide rule)
      * @return platform fee in VND
      */
     public long calculatePlatformFee(long agreedPriceVnd, Long transportId) {
-        int commissionRateBps = getCommissionRateBps(transportId);
-        return (agreedPriceVnd * commissionRateBps) / 10000;
+        return commissionRuleEngine.table()
+                .platformFee(agreedPriceVnd, transportKey(transportId), CommissionRuleEngine.nowSecond());
+    }
+
+    /**
+     * Calculate platform fees for many bookings at once, against a single
+     * rule snapshot and evaluation time. Sorting the input by transport lets
+     * consecutive entries reuse the rule lookup.
+     *
+     * @param agreedPricesVnd agreed prices in VND
+     * @param transportIds transport IDs, parallel to agreedPricesVnd
+     * @return platform fees in VND, parallel to the input
+     */
+    public long[] calculatePlatformFees(long[] agreedPricesVnd, long[] transportIds) {
+        long[] fees = new long[agreedPricesVnd.length];
+        commissionRuleEngine.table()
+                .platformFees(agreedPricesVnd, transportIds, CommissionRuleEngine.nowSecond(), fees);
+        return fees;
     }
 
     /**
-     * Get commission rate in basis points for a transport Currently returns
-     * default rate (500 bps = 5%) Future: Query commission_rules table for
-     * transport-specific rates
+     * Get commission rate in basis points for a transport from the rule in
+     * force (default 500 bps = 5% when none applies). FLAT rules have no
+     * rate and report 0.
      *
      * @param transportId transport ID
      * @return commission rate in basis points
      */
     public int getCommissionRateBps(Long transportId) {
-        return DEFAULT_COMMISSION_BPS;
+        return commissionRuleEngine.table()
+                .ruleFor(transportKey(transportId), CommissionRuleEngine.nowSecond())
+                .getRateBps();
     }
 
     /**
@@ -82,4 +110,8 @@ public class CommissionService {
             long platformFeeVnd, long adjustmentVnd) {
         return totalCollectedVnd - gatewayFeeVnd - platformFeeVnd + adjustmentVnd;
     }
+
+    private static long transportKey(Long transportId) {
+        return transportId != null ? transportId : CommissionRuleTable.NO_TRANSPORT;
+    }
 }
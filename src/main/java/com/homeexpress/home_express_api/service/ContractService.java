@@ -2,7 +2,6 @@ package com.homeexpress.home_express_api.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -27,6 +26,7 @@ import com.homeexpress.home_express_api.constants.BookingConstants;
 import com.homeexpress.home_express_api.exception.ContractNotFoundException;
 import com.homeexpress.home_express_api.exception.QuotationNotFoundException;
 import com.homeexpress.home_express_api.exception.ResourceNotFoundException;
+import com.homeexpress.home_express_api.service.sequence.DocumentSequenceService;
 import com.homeexpress.home_express_api.entity.Transport;
 import com.homeexpress.home_express_api.constants.BookingConstants;
 import org.slf4j.Logger;
@@ -43,19 +43,22 @@ public class ContractService {
     private final NotificationService notificationService;
     private final UserRepository userRepository;
     private final TransportRepository transportRepository;
+    private final DocumentSequenceService documentSequenceService;
 
     public ContractService(ContractRepository contractRepository,
             QuotationRepository quotationRepository,
             BookingRepository bookingRepository,
             NotificationService notificationService,
             UserRepository userRepository,
-            TransportRepository transportRepository) {
+            TransportRepository transportRepository,
+            DocumentSequenceService documentSequenceService) {
         this.contractRepository = contractRepository;
         this.quotationRepository = quotationRepository;
         this.bookingRepository = bookingRepository;
         this.notificationService = notificationService;
         this.userRepository = userRepository;
         this.transportRepository = transportRepository;
+        this.documentSequenceService = documentSequenceService;
     }
 
     @Transactional
@@ -86,7 +89,7 @@ public class ContractService {
         long depositAmount = (long) (quotation.getQuotedPrice().longValue() * BookingConstants.DEFAULT_CONTRACT_DEPOSIT_PERCENTAGE);
         contract.setDepositRequiredVnd(depositAmount);
 
-        String contractNumber = generateContractNumber();
+        String contractNumber = documentSequenceService.nextContractNumber();
         contract.setContractNumber(contractNumber);
 
         contract.setStatus(ContractStatus.DRAFT);
@@ -95,16 +98,6 @@ public class ContractService {
         return mapToResponse(saved);
     }
 
-    private String generateContractNumber() {
-        String datePrefix = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String baseNumber = BookingConstants.CONTRACT_NUMBER_PREFIX + datePrefix + "-";
-
-        long count = contractRepository.count();
-        int sequence = (int) (count + 1);
-
-        return baseNumber + String.format(BookingConstants.CONTRACT_SEQUENCE_FORMAT, sequence);
-    }
-
     public ContractResponse getContractById(Long id) {
         Contract contract = contractRepository.findById(id)
                 .orElseThrow(() -> new ContractNotFoundException(id));
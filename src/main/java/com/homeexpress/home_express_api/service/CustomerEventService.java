@@ -106,6 +106,19 @@ public class CustomerEventService {
         sendEvent(bookingId, "booking:quotation_received", "New quotation received", data);
     }
 
+    /**
+     * Send quotation expired event
+     */
+    public void sendQuotationExpired(Long bookingId, Long quotationId, Long transportId) {
+        Map<String, Object> data = Map.of(
+                "bookingId", bookingId,
+                "quotationId", quotationId,
+                "transportId", transportId
+        );
+
+        sendEvent(bookingId, "booking:quotation_expired", "Quotation expired", data);
+    }
+
     /**
      * Send payment completed event
      */
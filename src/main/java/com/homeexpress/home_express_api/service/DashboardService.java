@@ -3,16 +3,20 @@ package com.homeexpress.home_express_api.service;
 import com.homeexpress.home_express_api.dto.response.AdminDashboardStatsResponse;
 import com.homeexpress.home_express_api.dto.response.AdminDashboardStatsResponse.TopTransportSummary;
 import com.homeexpress.home_express_api.entity.Transport;
-import com.homeexpress.home_express_api.entity.UserRole;
 import com.homeexpress.home_express_api.entity.VerificationStatus;
 import com.homeexpress.home_express_api.repository.TransportRepository;
 import com.homeexpress.home_express_api.repository.UserRepository;
+import com.homeexpress.home_express_api.repository.UserRepository.UserCounts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,62 +31,82 @@ public class DashboardService {
 
     private final TransportRepository transportRepository;
 
-    public AdminDashboardStatsResponse getAdminDashboardStats() {
-        AdminDashboardStatsResponse stats = new AdminDashboardStatsResponse();
-
-        long totalUsers = userRepository.count();
-        long totalCustomers = userRepository.countByRole(UserRole.CUSTOMER);
-        long totalTransports = userRepository.countByRole(UserRole.TRANSPORT);
-        long totalManagers = userRepository.countByRole(UserRole.MANAGER);
-        long activeUsers = userRepository.countByIsActive(true);
-        long verifiedUsers = userRepository.countByIsVerified(true);
-
-        LocalDate today = LocalDate.now();
-        LocalDateTime startOfToday = today.atStartOfDay();
-        LocalDateTime startOfTomorrow = startOfToday.plusDays(1);
+    @Value("${dashboard.admin-stats.refresh-interval-ms:30000}")
+    private long refreshIntervalMs = 30000;
 
-        LocalDate startOfWeek = today.with(DayOfWeek.MONDAY);
-        LocalDateTime startOfWeekDateTime = startOfWeek.atStartOfDay();
+    /**
+     * Latest precomputed statistics. Swapped as a whole so readers never see a half-built snapshot.
+     */
+    private volatile AdminDashboardStatsResponse snapshot;
 
-        LocalDate startOfMonth = today.withDayOfMonth(1);
-        LocalDateTime startOfMonthDateTime = startOfMonth.atStartOfDay();
+    /**
+     * Serves the dashboard from the in-memory snapshot. Only the first call after startup, or a call
+     * after the scheduler has fallen behind by more than two intervals, hits the database.
+     */
+    public AdminDashboardStatsResponse getAdminDashboardStats() {
+        AdminDashboardStatsResponse current = snapshot;
+        if (current == null || isStale(current)) {
+            current = refreshSnapshot();
+        }
+        return current;
+    }
 
-        LocalDate previousMonthStart = startOfMonth.minusMonths(1);
-        LocalDateTime previousMonthStartDateTime = previousMonthStart.atStartOfDay();
-        LocalDateTime previousMonthEndDateTime = startOfMonthDateTime;
+    @Scheduled(fixedDelayString = "${dashboard.admin-stats.refresh-interval-ms:30000}",
+               initialDelayString = "${dashboard.admin-stats.refresh-interval-ms:30000}")
+    public synchronized AdminDashboardStatsResponse refreshSnapshot() {
+        AdminDashboardStatsResponse stats = computeStats();
+        snapshot = stats;
+        return stats;
+    }
 
-        long newUsersToday = userRepository.countByCreatedAtBetween(startOfToday, startOfTomorrow);
-        long newUsersWeek = userRepository.countByCreatedAtBetween(startOfWeekDateTime, startOfTomorrow);
-        long newUsersMonth = userRepository.countByCreatedAtBetween(startOfMonthDateTime, startOfTomorrow);
-        long newUsersPreviousMonth = userRepository.countByCreatedAtBetween(previousMonthStartDateTime, previousMonthEndDateTime);
+    private boolean isStale(AdminDashboardStatsResponse current) {
+        return current.getGeneratedAt().plus(Duration.ofMillis(refreshIntervalMs * 2)).isBefore(LocalDateTime.now());
+    }
 
-        double growthRate = calculateGrowthRate(newUsersMonth, newUsersPreviousMonth);
-        
-        long verifiedTransports = transportRepository.countByVerificationStatus(VerificationStatus.APPROVED);
+    private AdminDashboardStatsResponse computeStats() {
+        AdminDashboardStatsResponse stats = new AdminDashboardStatsResponse();
+        LocalDateTime generatedAt = LocalDateTime.now();
 
-        long pendingTransportVerifications = transportRepository.countByVerificationStatus(VerificationStatus.PENDING);
+        LocalDate today = generatedAt.toLocalDate();
+        LocalDateTime startOfToday = today.atStartOfDay();
+        LocalDateTime startOfTomorrow = startOfToday.plusDays(1);
+        LocalDateTime startOfWeek = today.with(DayOfWeek.MONDAY).atStartOfDay();
+        LocalDateTime startOfMonth = today.withDayOfMonth(1).atStartOfDay();
+        LocalDateTime previousMonthStart = startOfMonth.minusMonths(1);
+
+        UserCounts users = userRepository.aggregateUserCounts(
+                startOfToday, startOfWeek, startOfMonth, previousMonthStart, startOfTomorrow);
+
+        Map<VerificationStatus, Long> transportsByStatus = new EnumMap<>(VerificationStatus.class);
+        for (Object[] row : transportRepository.countGroupByVerificationStatus()) {
+            if (row[0] != null) {
+                transportsByStatus.put((VerificationStatus) row[0], ((Number) row[1]).longValue());
+            }
+        }
 
         List<TopTransportSummary> topTransports = transportRepository
-                .findByVerificationStatusOrderByAverageRatingDesc(VerificationStatus.APPROVED)
+                .findTop5ByVerificationStatusOrderByAverageRatingDesc(VerificationStatus.APPROVED)
                 .stream()
-                .limit(5)
                 .map(this::mapTopTransport)
                 .collect(Collectors.toList());
 
-        stats.setTotalUsers(totalUsers);
-        stats.setTotalCustomers(totalCustomers);
-        stats.setTotalTransports(totalTransports);
-        stats.setTotalManagers(totalManagers);
-        stats.setActiveUsers(activeUsers);
-        stats.setInactiveUsers(totalUsers - activeUsers);
-        stats.setVerifiedUsers(verifiedUsers);
-        stats.setVerifiedTransports(verifiedTransports);
-        stats.setNewUsersToday(newUsersToday);
-        stats.setNewUsersThisWeek(newUsersWeek);
-        stats.setNewUsersThisMonth(newUsersMonth);
+        double growthRate = calculateGrowthRate(users.getNewThisMonth(), users.getNewPreviousMonth());
+
+        stats.setTotalUsers(users.getTotalUsers());
+        stats.setTotalCustomers(users.getCustomers());
+        stats.setTotalTransports(users.getTransports());
+        stats.setTotalManagers(users.getManagers());
+        stats.setActiveUsers(users.getActiveUsers());
+        stats.setInactiveUsers(users.getTotalUsers() - users.getActiveUsers());
+        stats.setVerifiedUsers(users.getVerifiedUsers());
+        stats.setVerifiedTransports(transportsByStatus.getOrDefault(VerificationStatus.APPROVED, 0L));
+        stats.setNewUsersToday(users.getNewToday());
+        stats.setNewUsersThisWeek(users.getNewThisWeek());
+        stats.setNewUsersThisMonth(users.getNewThisMonth());
         stats.setUserGrowthRate(String.format("%.1f%%", growthRate));
-        stats.setPendingTransportVerifications(pendingTransportVerifications);
+        stats.setPendingTransportVerifications(transportsByStatus.getOrDefault(VerificationStatus.PENDING, 0L));
         stats.setTopTransports(topTransports);
+        stats.setGeneratedAt(generatedAt);
 
         return stats;
     }
@@ -104,6 +128,7 @@ public class DashboardService {
         map.put("userGrowthRate", response.getUserGrowthRate());
         map.put("pendingTransportVerifications", response.getPendingTransportVerifications());
         map.put("topTransports", response.getTopTransports());
+        map.put("generatedAt", response.getGeneratedAt());
         return map;
     }
 
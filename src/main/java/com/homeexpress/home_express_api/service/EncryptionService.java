@@ -7,13 +7,19 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.Cipher;
 import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
-import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Encryption Service for sensitive payment and financial data
@@ -21,8 +27,16 @@ import java.util.Base64;
  * Uses AES-256-GCM for authenticated encryption with associated data (AEAD).
  * GCM mode provides both confidentiality and authenticity.
  * 
- * Format: [IV (12 bytes)][Encrypted Data][Auth Tag (16 bytes)]
- * Output: Base64-encoded string
+ * Binary format: [Version (1 byte)][Key ID (1 byte)][IV (12 bytes)][Encrypted Data][Auth Tag (16 bytes)]
+ * String output: Base64 of the binary format
+ *
+ * The key ID lets values written under a retired master key be decrypted after
+ * rotation. Cipher instances are cached per thread, so the hot path does not go
+ * through provider lookup on every call. Binary (VARBINARY) columns can use the
+ * byte[] methods directly and skip the Base64 round-trip.
+ *
+ * Blind indexes (HMAC-SHA256) allow equality lookups on encrypted columns
+ * without decrypting every row.
  * 
  * Thread-safe and suitable for high-throughput operations.
  */
@@ -30,13 +44,33 @@ import java.util.Base64;
 @Service
 public class EncryptionService {
     
+    /**
+     * Ciphertext format version written as the first byte
+     */
+    static final byte FORMAT_VERSION = 1;
+
+    private static final int HEADER_LENGTH = 2;
+
+    private static final String BLIND_INDEX_ALGORITHM = "HmacSHA256";
+    private static final byte[] BLIND_INDEX_DERIVATION_LABEL =
+            "home-express:blind-index:v1".getBytes(StandardCharsets.UTF_8);
+
     private final EncryptionConfig config;
     private final SecureRandom secureRandom;
+    private final ThreadLocal<Cipher> cipherCache;
+    private final ThreadLocal<Mac> macCache;
+    private final SecretKey[] keysById = new SecretKey[256];
     private SecretKey masterKey;
+    private SecretKey blindIndexKey;
+    private int activeKeyId;
+    private int ivLength;
+    private int tagLengthBytes;
     
     public EncryptionService(EncryptionConfig config) {
         this.config = config;
         this.secureRandom = new SecureRandom();
+        this.cipherCache = ThreadLocal.withInitial(this::newCipher);
+        this.macCache = ThreadLocal.withInitial(this::newMac);
     }
     
     @PostConstruct
@@ -47,8 +81,22 @@ public class EncryptionService {
             // Decode master key from Base64
             byte[] keyBytes = Base64.getDecoder().decode(config.getMasterKey());
             this.masterKey = new SecretKeySpec(keyBytes, "AES");
+            this.activeKeyId = config.getKeyId();
+            this.ivLength = config.getIvLength();
+            this.tagLengthBytes = config.getGcmTagLength() / 8;
+            keysById[activeKeyId] = masterKey;
+            this.blindIndexKey = resolveBlindIndexKey(keyBytes);
             
-            log.info("Encryption service initialized with AES-{}-GCM", config.getKeySize());
+            if (config.isKeyRotationEnabled()) {
+                for (Map.Entry<Integer, String> retired : config.getRetiredKeys().entrySet()) {
+                    byte[] retiredBytes = Base64.getDecoder().decode(retired.getValue());
+                    keysById[retired.getKey()] = new SecretKeySpec(retiredBytes, "AES");
+                }
+            }
+
+            log.info("Encryption service initialized with AES-{}-GCM, active key ID {}, {} retired key(s)",
+                    config.getKeySize(), activeKeyId,
+                    config.isKeyRotationEnabled() ? config.getRetiredKeys().size() : 0);
         } catch (Exception e) {
             log.error("Failed to initialize encryption service", e);
             throw new RuntimeException("Encryption service initialization failed", e);
@@ -59,46 +107,21 @@ public class EncryptionService {
      * Encrypt a string value
      * 
      * @param plaintext The plaintext to encrypt
-     * @return Base64-encoded encrypted data with IV prepended
+     * @return Base64-encoded encrypted data with key ID and IV prepended
      * @throws RuntimeException if encryption fails
      */
     public String encrypt(String plaintext) {
         if (plaintext == null || plaintext.isEmpty()) {
             return plaintext;
         }
-        
-        try {
-            // Generate random IV
-            byte[] iv = new byte[config.getIvLength()];
-            secureRandom.nextBytes(iv);
-            
-            // Initialize cipher
-            Cipher cipher = Cipher.getInstance(config.getAlgorithm());
-            GCMParameterSpec parameterSpec = new GCMParameterSpec(config.getGcmTagLength(), iv);
-            cipher.init(Cipher.ENCRYPT_MODE, masterKey, parameterSpec);
-            
-            // Encrypt
-            byte[] plaintextBytes = plaintext.getBytes(StandardCharsets.UTF_8);
-            byte[] ciphertext = cipher.doFinal(plaintextBytes);
-            
-            // Combine IV + ciphertext (ciphertext already includes auth tag)
-            ByteBuffer byteBuffer = ByteBuffer.allocate(iv.length + ciphertext.length);
-            byteBuffer.put(iv);
-            byteBuffer.put(ciphertext);
-            
-            // Return Base64-encoded result
-            return Base64.getEncoder().encodeToString(byteBuffer.array());
-            
-        } catch (Exception e) {
-            log.error("Encryption failed", e);
-            throw new RuntimeException("Failed to encrypt data", e);
-        }
+        byte[] encrypted = encryptBytes(plaintext.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(encrypted);
     }
     
     /**
      * Decrypt a string value
      * 
-     * @param encryptedData Base64-encoded encrypted data with IV prepended
+     * @param encryptedData Base64-encoded encrypted data with key ID and IV prepended
      * @return Decrypted plaintext
      * @throws RuntimeException if decryption fails
      */
@@ -106,32 +129,37 @@ public class EncryptionService {
         if (encryptedData == null || encryptedData.isEmpty()) {
             return encryptedData;
         }
+        byte[] plaintextBytes = decryptBytes(decodeBase64(encryptedData));
+        return new String(plaintextBytes, StandardCharsets.UTF_8);
+    }
         
-        try {
-            // Decode from Base64
-            byte[] decoded = Base64.getDecoder().decode(encryptedData);
-            
-            // Extract IV and ciphertext
-            ByteBuffer byteBuffer = ByteBuffer.wrap(decoded);
-            byte[] iv = new byte[config.getIvLength()];
-            byteBuffer.get(iv);
-            byte[] ciphertext = new byte[byteBuffer.remaining()];
-            byteBuffer.get(ciphertext);
-            
-            // Initialize cipher
-            Cipher cipher = Cipher.getInstance(config.getAlgorithm());
-            GCMParameterSpec parameterSpec = new GCMParameterSpec(config.getGcmTagLength(), iv);
-            cipher.init(Cipher.DECRYPT_MODE, masterKey, parameterSpec);
-            
-            // Decrypt
-            byte[] plaintextBytes = cipher.doFinal(ciphertext);
-            
-            return new String(plaintextBytes, StandardCharsets.UTF_8);
+    /**
+     * Encrypt raw bytes into the binary ciphertext format.
+     * Intended for VARBINARY columns where Base64 would only add size and CPU.
+     *
+     * @param plaintext The bytes to encrypt
+     * @return [version][key ID][IV][ciphertext + tag]
+     * @throws RuntimeException if encryption fails
+     */
+    public byte[] encryptBytes(byte[] plaintext) {
+        if (plaintext == null) {
+            return null;
+        }
+        return encryptBytes(cipherCache.get(), plaintext, 0, plaintext.length);
+    }
             
-        } catch (Exception e) {
-            log.error("Decryption failed", e);
-            throw new RuntimeException("Failed to decrypt data", e);
+    /**
+     * Decrypt the binary ciphertext format back to raw bytes.
+     *
+     * @param encryptedData Bytes produced by {@link #encryptBytes(byte[])}
+     * @return Decrypted bytes
+     * @throws RuntimeException if decryption fails
+     */
+    public byte[] decryptBytes(byte[] encryptedData) {
+        if (encryptedData == null) {
+            return null;
         }
+        return decryptBytes(cipherCache.get(), encryptedData);
     }
     
     /**
@@ -144,7 +172,7 @@ public class EncryptionService {
         if (value == null) {
             return null;
         }
-        return encrypt(value.toString());
+        return Base64.getEncoder().encodeToString(encryptLongToBytes(value));
     }
     
     /**
@@ -157,8 +185,34 @@ public class EncryptionService {
         if (encryptedData == null || encryptedData.isEmpty()) {
             return null;
         }
-        String decrypted = decrypt(encryptedData);
-        return Long.parseLong(decrypted);
+        return decryptLongFromBytes(decodeBase64(encryptedData));
+    }
+
+    /**
+     * Encrypt a Long value into the binary ciphertext format
+     *
+     * @param value The value to encrypt
+     * @return Encrypted bytes
+     */
+    public byte[] encryptLongToBytes(Long value) {
+        if (value == null) {
+            return null;
+        }
+        return encryptBytes(asciiBytes(value.toString()));
+    }
+
+    /**
+     * Decrypt a Long value from the binary ciphertext format.
+     * Parses the decrypted digits directly without building an intermediate String.
+     *
+     * @param encryptedData Encrypted bytes
+     * @return Decrypted Long value
+     */
+    public Long decryptLongFromBytes(byte[] encryptedData) {
+        if (encryptedData == null || encryptedData.length == 0) {
+            return null;
+        }
+        return parseLong(decryptBytes(encryptedData));
     }
     
     /**
@@ -171,7 +225,7 @@ public class EncryptionService {
         if (value == null) {
             return null;
         }
-        return encrypt(value.toPlainString());
+        return Base64.getEncoder().encodeToString(encryptBigDecimalToBytes(value));
     }
     
     /**
@@ -184,8 +238,267 @@ public class EncryptionService {
         if (encryptedData == null || encryptedData.isEmpty()) {
             return null;
         }
-        String decrypted = decrypt(encryptedData);
-        return new java.math.BigDecimal(decrypted);
+        return decryptBigDecimalFromBytes(decodeBase64(encryptedData));
+    }
+
+    /**
+     * Encrypt a BigDecimal value into the binary ciphertext format
+     *
+     * @param value The value to encrypt
+     * @return Encrypted bytes
+     */
+    public byte[] encryptBigDecimalToBytes(java.math.BigDecimal value) {
+        if (value == null) {
+            return null;
+        }
+        return encryptBytes(asciiBytes(value.toPlainString()));
+    }
+
+    /**
+     * Decrypt a BigDecimal value from the binary ciphertext format
+     *
+     * @param encryptedData Encrypted bytes
+     * @return Decrypted BigDecimal value
+     */
+    public java.math.BigDecimal decryptBigDecimalFromBytes(byte[] encryptedData) {
+        if (encryptedData == null || encryptedData.length == 0) {
+            return null;
+        }
+        byte[] digits = decryptBytes(encryptedData);
+        char[] chars = new char[digits.length];
+        for (int i = 0; i < digits.length; i++) {
+            chars[i] = (char) digits[i];
+        }
+        return new java.math.BigDecimal(chars);
+    }
+
+    /**
+     * Encrypt a batch of string values, reusing one cipher for the whole batch.
+     * Null and empty entries are passed through unchanged, like {@link #encrypt(String)}.
+     *
+     * @param plaintexts Values to encrypt
+     * @return Encrypted values in iteration order
+     */
+    public List<String> encryptAll(Collection<String> plaintexts) {
+        Cipher cipher = cipherCache.get();
+        Base64.Encoder encoder = Base64.getEncoder();
+        List<String> result = new ArrayList<>(plaintexts.size());
+        for (String plaintext : plaintexts) {
+            if (plaintext == null || plaintext.isEmpty()) {
+                result.add(plaintext);
+                continue;
+            }
+            byte[] bytes = plaintext.getBytes(StandardCharsets.UTF_8);
+            result.add(encoder.encodeToString(encryptBytes(cipher, bytes, 0, bytes.length)));
+        }
+        return result;
+    }
+
+    /**
+     * Decrypt a batch of string values, reusing one cipher for the whole batch.
+     *
+     * @param encryptedValues Values to decrypt
+     * @return Decrypted values in iteration order
+     */
+    public List<String> decryptAll(Collection<String> encryptedValues) {
+        Cipher cipher = cipherCache.get();
+        List<String> result = new ArrayList<>(encryptedValues.size());
+        for (String encrypted : encryptedValues) {
+            if (encrypted == null || encrypted.isEmpty()) {
+                result.add(encrypted);
+                continue;
+            }
+            byte[] plaintext = decryptBytes(cipher, decodeBase64(encrypted));
+            result.add(new String(plaintext, StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    /**
+     * Decrypt a batch of encrypted Long values, e.g. amounts for a list page
+     *
+     * @param encryptedValues Base64-encoded encrypted values
+     * @return Decrypted values in iteration order (null entries stay null)
+     */
+    public List<Long> decryptLongs(Collection<String> encryptedValues) {
+        Cipher cipher = cipherCache.get();
+        List<Long> result = new ArrayList<>(encryptedValues.size());
+        for (String encrypted : encryptedValues) {
+            if (encrypted == null || encrypted.isEmpty()) {
+                result.add(null);
+                continue;
+            }
+            result.add(parseLong(decryptBytes(cipher, decodeBase64(encrypted))));
+        }
+        return result;
+    }
+
+    /**
+     * Get the key ID a ciphertext was written with
+     *
+     * @param encryptedData Encrypted bytes
+     * @return Key ID (1-255)
+     */
+    public int getKeyId(byte[] encryptedData) {
+        checkHeader(encryptedData);
+        return encryptedData[1] & 0xFF;
+    }
+
+    /**
+     * Check whether a value was encrypted under a key other than the active one
+     * and should be rewritten during key rotation.
+     *
+     * @param encryptedData Base64-encoded encrypted data
+     * @return true if the value should be re-encrypted
+     */
+    public boolean needsReEncryption(String encryptedData) {
+        if (encryptedData == null || encryptedData.isEmpty()) {
+            return false;
+        }
+        return getKeyId(decodeBase64(encryptedData)) != activeKeyId;
+    }
+
+    /**
+     * Re-encrypt a value under the active key
+     *
+     * @param encryptedData Base64-encoded encrypted data under any known key
+     * @return Base64-encoded encrypted data under the active key
+     */
+    public String reEncrypt(String encryptedData) {
+        if (!needsReEncryption(encryptedData)) {
+            return encryptedData;
+        }
+        return encrypt(decrypt(encryptedData));
+    }
+
+    /**
+     * Compute the deterministic blind index of a value for equality lookups.
+     * The same input always maps to the same index, so it can back a unique key.
+     *
+     * @param value The plaintext value
+     * @return Hex-encoded HMAC-SHA256 (64 chars), or null for null input
+     */
+    public String blindIndex(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] digest = macCache.get().doFinal(value.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private SecretKey resolveBlindIndexKey(byte[] masterKeyBytes) throws GeneralSecurityException {
+        if (config.getBlindIndexKey() != null && !config.getBlindIndexKey().isEmpty()) {
+            return new SecretKeySpec(Base64.getDecoder().decode(config.getBlindIndexKey()), BLIND_INDEX_ALGORITHM);
+        }
+        // Derive a separate key so blind indexes never reuse the encryption key directly
+        Mac derivation = Mac.getInstance(BLIND_INDEX_ALGORITHM);
+        derivation.init(new SecretKeySpec(masterKeyBytes, BLIND_INDEX_ALGORITHM));
+        return new SecretKeySpec(derivation.doFinal(BLIND_INDEX_DERIVATION_LABEL), BLIND_INDEX_ALGORITHM);
+    }
+
+    private byte[] encryptBytes(Cipher cipher, byte[] plaintext, int offset, int length) {
+        try {
+            byte[] output = new byte[HEADER_LENGTH + ivLength + length + tagLengthBytes];
+            output[0] = FORMAT_VERSION;
+            output[1] = (byte) activeKeyId;
+
+            // Generate random IV
+            byte[] iv = new byte[ivLength];
+            secureRandom.nextBytes(iv);
+            System.arraycopy(iv, 0, output, HEADER_LENGTH, ivLength);
+
+            cipher.init(Cipher.ENCRYPT_MODE, masterKey, new GCMParameterSpec(config.getGcmTagLength(), iv));
+
+            // Encrypt straight into the output buffer (ciphertext includes auth tag)
+            cipher.doFinal(plaintext, offset, length, output, HEADER_LENGTH + ivLength);
+            return output;
+
+        } catch (GeneralSecurityException e) {
+            log.error("Encryption failed", e);
+            throw new RuntimeException("Failed to encrypt data", e);
+        }
+    }
+
+    private byte[] decryptBytes(Cipher cipher, byte[] encryptedData) {
+        checkHeader(encryptedData);
+        int keyId = encryptedData[1] & 0xFF;
+        SecretKey key = keysById[keyId];
+        if (key == null) {
+            throw new RuntimeException("Failed to decrypt data: unknown encryption key ID " + keyId);
+        }
+
+        try {
+            GCMParameterSpec parameterSpec = new GCMParameterSpec(
+                    config.getGcmTagLength(), encryptedData, HEADER_LENGTH, ivLength);
+            cipher.init(Cipher.DECRYPT_MODE, key, parameterSpec);
+
+            int dataOffset = HEADER_LENGTH + ivLength;
+            return cipher.doFinal(encryptedData, dataOffset, encryptedData.length - dataOffset);
+
+        } catch (GeneralSecurityException e) {
+            log.error("Decryption failed", e);
+            throw new RuntimeException("Failed to decrypt data", e);
+        }
+    }
+
+    private void checkHeader(byte[] encryptedData) {
+        if (encryptedData.length < HEADER_LENGTH + ivLength + tagLengthBytes) {
+            throw new RuntimeException("Failed to decrypt data: ciphertext is too short");
+        }
+        if (encryptedData[0] != FORMAT_VERSION) {
+            throw new RuntimeException("Failed to decrypt data: unsupported format version " + encryptedData[0]);
+        }
+    }
+
+    private Cipher newCipher() {
+        try {
+            return Cipher.getInstance(config.getAlgorithm());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cipher " + config.getAlgorithm() + " is not available", e);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(BLIND_INDEX_ALGORITHM);
+            mac.init(blindIndexKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Blind index MAC is not available", e);
+        }
+    }
+
+    private static byte[] decodeBase64(String encryptedData) {
+        try {
+            return Base64.getDecoder().decode(encryptedData);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Failed to decrypt data: invalid Base64", e);
+        }
+    }
+
+    private static byte[] asciiBytes(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static long parseLong(byte[] digits) {
+        if (digits.length == 0) {
+            throw new NumberFormatException("Empty numeric value");
+        }
+        boolean negative = digits[0] == '-';
+        int i = negative || digits[0] == '+' ? 1 : 0;
+        if (i == digits.length) {
+            throw new NumberFormatException("Invalid numeric value");
+        }
+        long result = 0;
+        for (; i < digits.length; i++) {
+            int digit = digits[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Invalid numeric value");
+            }
+            // Accumulate negatively so Long.MIN_VALUE round-trips
+            result = Math.subtractExact(Math.multiplyExact(result, 10), digit);
+        }
+        return negative ? result : Math.negateExact(result);
     }
     
     /**
@@ -1,34 +1,62 @@
 package com.homeexpress.home_express_api.service;
 
+import com.homeexpress.home_express_api.service.upload.ImageVariantService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+/**
+ * Stores uploads under {@code <upload dir>/<category>/} by content: the file
+ * name is the SHA-256 of the bytes, so identical uploads share one file and
+ * every name is immutable. The stream is hashed while it is written to a
+ * temporary file, which is then moved into place (or dropped if the content
+ * already exists). Images get resized variants from {@link ImageVariantService}.
+ */
 @Service
 public class FileStorageService {
 
+    // <sha256>.<ext> hoặc <sha256>_<variant>.jpg
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("^[0-9a-f]{64}(_[a-z]+)?\\.[a-z0-9]+$");
+
+    private static final Pattern SAFE_EXTENSION = Pattern.compile("^\\.[a-z0-9]{1,10}$");
+
+    private static final String INCOMING_DIR = ".incoming";
+
     private final Path uploadRoot;
     private final long maxFileSize;
     private final Set<String> allowedMimeTypes;
+    private final ImageVariantService imageVariantService;
 
     public FileStorageService(
             @Value("${file.upload.dir:uploads}") String uploadDir,
             @Value("${file.max-size:10485760}") long maxFileSize,
-            @Value("${file.allowed-types:image/jpeg,image/png,image/jpg,image/gif,application/pdf}") String allowedTypes) {
+            @Value("${file.allowed-types:image/jpeg,image/png,image/jpg,image/gif,application/pdf}") String allowedTypes,
+            ImageVariantService imageVariantService) {
         this.uploadRoot = Paths.get(uploadDir).toAbsolutePath().normalize();
         this.maxFileSize = maxFileSize;
+        this.imageVariantService = imageVariantService;
         this.allowedMimeTypes = Arrays.stream(allowedTypes.split(","))
                 .map(String::trim)
                 .filter(type -> !type.isEmpty())
@@ -55,17 +83,54 @@ public class FileStorageService {
         }
 
         String extension = resolveExtension(file.getOriginalFilename(), file.getContentType());
-        String fileName = UUID.randomUUID().toString() + extension;
+        Path incomingDir = uploadRoot.resolve(INCOMING_DIR);
+        Files.createDirectories(incomingDir);
+        Path temp = incomingDir.resolve(UUID.randomUUID() + ".part");
 
-        Path filePath = targetDir.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        String contentHash;
+        long size;
+        try {
+            // Băm SHA-256 ngay trong lúc ghi, không phải đọc lại file
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                size = in.transferTo(out);
+            }
+            contentHash = HexFormat.of().formatHex(digest.digest());
+
+            Path filePath = targetDir.resolve(contentHash + extension);
+            if (Files.exists(filePath)) {
+                // Cùng nội dung đã có sẵn: dùng lại file cũ
+                Files.delete(temp);
+            } else {
+                moveIntoPlace(temp, filePath);
+                if (imageVariantService.isImage(file.getContentType())) {
+                    imageVariantService.generateAsync(filePath, contentHash);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
 
+        String fileName = contentHash + extension;
         String relativeUrl = "/uploads/" + safeCategory + "/" + fileName;
-        String publicUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
-                .path(relativeUrl)
-                .toUriString();
+        String publicUrl = publicUrl(relativeUrl);
+
+        Map<String, String> variantUrls = new LinkedHashMap<>();
+        if (imageVariantService.isImage(file.getContentType())) {
+            ImageVariantService.variantFileNames(contentHash).forEach((variant, variantName) ->
+                    variantUrls.put(variant, publicUrl("/uploads/" + safeCategory + "/" + variantName)));
+        }
 
-        return new StoredFile(fileName, relativeUrl, publicUrl, file.getSize(), file.getContentType());
+        return new StoredFile(fileName, relativeUrl, publicUrl, size, file.getContentType(), contentHash, variantUrls);
+    }
+
+    /**
+     * Whether a stored file name is a content hash (plus variant), i.e. its
+     * bytes can never change
+     */
+    public static boolean isContentAddressed(String fileName) {
+        return fileName != null && CONTENT_ADDRESSED_NAME.matcher(fileName).matches();
     }
 
     public StoredFile storeAvatar(MultipartFile file) throws IOException {
@@ -84,6 +149,10 @@ public class FileStorageService {
         try {
             String normalizedUrl = avatarUrl.replace("\\", "/");
             String fileName = normalizedUrl.substring(normalizedUrl.lastIndexOf("/") + 1);
+            if (isContentAddressed(fileName)) {
+                // File theo nội dung có thể đang được dùng chung, không xóa
+                return;
+            }
             Path filePath = uploadRoot.resolve("avatars").resolve(fileName).normalize();
             if (filePath.startsWith(uploadRoot)) {
                 Files.deleteIfExists(filePath);
@@ -109,7 +178,10 @@ public class FileStorageService {
 
     private String resolveExtension(String originalFilename, String contentType) {
         if (originalFilename != null && originalFilename.contains(".")) {
-            return originalFilename.substring(originalFilename.lastIndexOf("."));
+            String extension = originalFilename.substring(originalFilename.lastIndexOf(".")).toLowerCase();
+            if (SAFE_EXTENSION.matcher(extension).matches()) {
+                return extension;
+            }
         }
 
         if (contentType == null) {
@@ -124,11 +196,35 @@ public class FileStorageService {
         };
     }
 
+    private static String publicUrl(String relativeUrl) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path(relativeUrl)
+                .toUriString();
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     public record StoredFile(
             String fileName,
             String fileUrl,
             String publicUrl,
             long fileSizeBytes,
-            String mimeType
+            String mimeType,
+            String contentHash,
+            Map<String, String> variantUrls
     ) {}
 }
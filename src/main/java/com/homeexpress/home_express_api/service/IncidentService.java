@@ -8,18 +8,31 @@ import com.homeexpress.home_express_api.exception.ResourceNotFoundException;
 import com.homeexpress.home_express_api.exception.UnauthorizedException;
 import com.homeexpress.home_express_api.repository.BookingRepository;
 import com.homeexpress.home_express_api.repository.IncidentRepository;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
 @Service
 public class IncidentService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Sort INCIDENT_SORT = Sort.by(Sort.Order.desc("reportedAt"), Sort.Order.desc("incidentId"));
+
     private final IncidentRepository incidentRepository;
 
     private final BookingRepository bookingRepository;
@@ -73,62 +86,64 @@ public class IncidentService {
         return IncidentResponse.fromEntity(incident);
     }
 
+    /**
+     * Một trang sự cố, mới nhất trước. Khách hàng và đơn vị vận chuyển chỉ thấy sự cố
+     * của booking mình tham gia: điều kiện được join với bookings ngay trong SQL.
+     * {@code to} tính cả ngày cuối.
+     */
     @Transactional(readOnly = true)
-    public List<IncidentResponse> getIncidents(Long bookingId, IncidentStatus status, 
-                                               Severity severity, Long userId, UserRole userRole) {
-        List<Incident> incidents;
-
-        if (userRole == UserRole.MANAGER) {
-            if (bookingId != null && status != null) {
-                incidents = incidentRepository.findByBookingIdAndStatusOrderByReportedAtDesc(bookingId, status);
-            } else if (bookingId != null) {
-                incidents = incidentRepository.findByBookingIdOrderByReportedAtDesc(bookingId);
-            } else if (status != null) {
-                incidents = incidentRepository.findByStatusOrderByReportedAtDesc(status);
-            } else if (severity != null) {
-                incidents = incidentRepository.findBySeverityOrderByReportedAtDesc(severity);
-            } else {
-                incidents = incidentRepository.findAllByOrderByReportedAtDesc();
+    public Page<IncidentResponse> getIncidents(Long bookingId, IncidentStatus status, Severity severity,
+                                               LocalDate from, LocalDate to, int page, int size,
+                                               Long userId, UserRole userRole) {
+        if (userRole != UserRole.MANAGER && userRole != UserRole.CUSTOMER && userRole != UserRole.TRANSPORT) {
+            throw new UnauthorizedException("Invalid user role");
+        }
+
+        if (userRole == UserRole.CUSTOMER && bookingId != null) {
+            Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+
+            if (!booking.getCustomerId().equals(userId)) {
+                throw new UnauthorizedException("You can only view incidents for your own bookings");
+            }
+        }
+
+        Specification<Incident> spec = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (userRole != UserRole.MANAGER) {
+                Root<Booking> booking = query.from(Booking.class);
+                predicates.add(cb.equal(booking.get("bookingId"), root.get("bookingId")));
+                predicates.add(userRole == UserRole.CUSTOMER
+                    ? cb.equal(booking.get("customerId"), userId)
+                    : cb.equal(booking.get("transportId"), userId));
             }
-        } else if (userRole == UserRole.CUSTOMER) {
             if (bookingId != null) {
-                Booking booking = bookingRepository.findById(bookingId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-                
-                if (!booking.getCustomerId().equals(userId)) {
-                    throw new UnauthorizedException("You can only view incidents for your own bookings");
-                }
-                
-                incidents = incidentRepository.findByBookingIdOrderByReportedAtDesc(bookingId);
-            } else {
-                List<Long> userBookingIds = bookingRepository.findByCustomerIdOrderByCreatedAtDesc(userId)
-                    .stream()
-                    .map(Booking::getBookingId)
-                    .collect(Collectors.toList());
-                
-                incidents = incidentRepository.findAllByOrderByReportedAtDesc()
-                    .stream()
-                    .filter(incident -> userBookingIds.contains(incident.getBookingId()))
-                    .collect(Collectors.toList());
+                predicates.add(cb.equal(root.get("bookingId"), bookingId));
             }
-        } else if (userRole == UserRole.TRANSPORT) {
-            List<Long> transportBookingIds = bookingRepository.findAll()
-                .stream()
-                .filter(booking -> userId.equals(booking.getTransportId()))
-                .map(Booking::getBookingId)
-                .collect(Collectors.toList());
-            
-            incidents = incidentRepository.findAllByOrderByReportedAtDesc()
-                .stream()
-                .filter(incident -> transportBookingIds.contains(incident.getBookingId()))
-                .collect(Collectors.toList());
-        } else {
-            throw new UnauthorizedException("Invalid user role");
-        }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (severity != null) {
+                predicates.add(cb.equal(root.get("severity"), severity));
+            }
+            if (from != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("reportedAt"), from.atStartOfDay()));
+            }
+            if (to != null) {
+                predicates.add(cb.lessThan(root.get("reportedAt"), to.plusDays(1).atStartOfDay()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
 
-        return incidents.stream()
-            .map(IncidentResponse::fromEntity)
-            .collect(Collectors.toList());
+        Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize(size), INCIDENT_SORT);
+        return incidentRepository.findAll(spec, pageable).map(IncidentResponse::fromEntity);
+    }
+
+    private static int pageSize(int requested) {
+        if (requested <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
     }
 
     @Transactional
@@ -156,4 +171,4 @@ public class IncidentService {
         return IncidentResponse.fromEntity(updatedIncident);
     }
 }
-
+
@@ -105,6 +105,8 @@ public class PaymentService {
 
     private final ObjectMapper objectMapper;
 
+    private final EncryptionService encryptionService;
+
     public PaymentSummaryDTO getPaymentSummary(Long bookingId, Long userId, UserRole userRole) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
@@ -208,10 +210,10 @@ public class PaymentService {
             throw new IllegalArgumentException("PayOS order code is required");
         }
 
-        Optional<Payment> paymentOpt = paymentRepository.findByTransactionId(String.valueOf(orderCode));
+        Optional<Payment> paymentOpt = findByTransactionId(String.valueOf(orderCode));
 
         if (paymentOpt.isEmpty() && StringUtils.hasText(reference)) {
-            paymentOpt = paymentRepository.findByTransactionId(reference);
+            paymentOpt = findByTransactionId(reference);
         }
 
         Payment payment = paymentOpt
@@ -259,6 +261,25 @@ public class PaymentService {
         return updatedPayment;
     }
 
+    /**
+     * Booking of the payment a PayOS order code (or reference) belongs to,
+     * or null if no such payment exists
+     */
+    @Transactional(readOnly = true)
+    public Long findBookingIdForPayOsOrder(Long orderCode, String reference) {
+        if (orderCode == null) {
+            return null;
+        }
+        Optional<Payment> paymentOpt = findByTransactionId(String.valueOf(orderCode));
+        if (paymentOpt.isEmpty() && StringUtils.hasText(reference)) {
+            paymentOpt = findByTransactionId(reference);
+        }
+        return paymentOpt.map(Payment::getBookingId).orElse(null);
+    }
+
+    private Optional<Payment> findByTransactionId(String transactionId) {
+        return paymentRepository.findByTransactionIdHash(encryptionService.blindIndex(transactionId), transactionId);
+    }
 
     /**
      * Update settlement breakdown based on all completed payments
@@ -18,8 +18,8 @@ import com.homeexpress.home_express_api.repository.BookingSettlementRepository;
 import com.homeexpress.home_express_api.repository.TransportPayoutItemRepository;
 import com.homeexpress.home_express_api.repository.TransportPayoutRepository;
 import com.homeexpress.home_express_api.repository.TransportRepository;
+import com.homeexpress.home_express_api.service.sequence.DocumentSequenceService;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -51,6 +51,8 @@ public class PayoutService {
 
     private final ExternalPayoutGateway externalPayoutGateway;
 
+    private final DocumentSequenceService documentSequenceService;
+
     /**
      * Creates a payout batch for a specific transport from all READY settlements.
      *
@@ -86,7 +88,7 @@ public class PayoutService {
 
         TransportPayout payout = new TransportPayout();
         payout.setTransportId(transportId);
-        payout.setPayoutNumber(generatePayoutNumber(transportId));
+        payout.setPayoutNumber(documentSequenceService.nextPayoutNumber(transportId));
         payout.setTotalAmountVnd(totalAmount);
         payout.setItemCount(readySettlements.size());
         payout.setStatus(PayoutStatus.PENDING);
@@ -332,18 +334,6 @@ public class PayoutService {
         return net != null ? net : 0L;
     }
 
-    private String generatePayoutNumber(Long transportId) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        String payoutNumber = String.format("PO-%d-%s", transportId, timestamp);
-
-        int counter = 1;
-        while (payoutRepository.existsByPayoutNumber(payoutNumber)) {
-            payoutNumber = String.format("PO-%d-%s-%d", transportId, timestamp, counter++);
-        }
-
-        return payoutNumber;
-    }
-
     /**
      * Rolls back settlements to READY status when a payout fails.
      *
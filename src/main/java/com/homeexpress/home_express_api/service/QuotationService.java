@@ -5,6 +5,7 @@ import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -41,6 +42,9 @@ import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.exception.QuotationNotFoundException;
 import com.homeexpress.home_express_api.exception.InvalidQuotationStatusException;
 import com.homeexpress.home_express_api.exception.ResourceNotFoundException;
+import com.homeexpress.home_express_api.service.analytics.TransportStatsService;
+import com.homeexpress.home_express_api.service.booking.BookingTimelineAssembler;
+import com.homeexpress.home_express_api.service.sequence.DocumentSequenceService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
@@ -63,6 +67,9 @@ public class QuotationService {
     private final RateCardService rateCardService;
     private final PricingService pricingService;
     private final ObjectMapper objectMapper;
+    private final BookingTimelineAssembler bookingTimelineAssembler;
+    private final TransportStatsService transportStatsService;
+    private final DocumentSequenceService documentSequenceService;
 
     public QuotationService(QuotationRepository quotationRepository,
             BookingRepository bookingRepository,
@@ -76,7 +83,10 @@ public class QuotationService {
             CustomerEventService customerEventService,
             RateCardService rateCardService,
             PricingService pricingService,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            BookingTimelineAssembler bookingTimelineAssembler,
+            TransportStatsService transportStatsService,
+            DocumentSequenceService documentSequenceService) {
         this.quotationRepository = quotationRepository;
         this.bookingRepository = bookingRepository;
         this.contractRepository = contractRepository;
@@ -90,6 +100,9 @@ public class QuotationService {
         this.rateCardService = rateCardService;
         this.pricingService = pricingService;
         this.objectMapper = objectMapper;
+        this.bookingTimelineAssembler = bookingTimelineAssembler;
+        this.transportStatsService = transportStatsService;
+        this.documentSequenceService = documentSequenceService;
     }
 
     @Transactional
@@ -330,6 +343,11 @@ public class QuotationService {
 
         Quotation quotation = quotationRepository.findById(quotationId)
                 .orElseThrow(() -> new QuotationNotFoundException(quotationId));
+        // Stored procedure ghi thang vao DB, entity listener khong thay duoc
+        bookingTimelineAssembler.invalidate(quotation.getBookingId());
+        transportStatsService.reconcile(quotationRepository.findByBookingId(quotation.getBookingId()).stream()
+                .map(Quotation::getTransportId)
+                .collect(Collectors.toSet()));
 
         Booking booking = bookingRepository.findById(quotation.getBookingId())
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", quotation.getBookingId()));
@@ -529,25 +547,13 @@ public class QuotationService {
         return mapToResponse(updated);
     }
 
-    @Transactional
-    public void expireQuotations() {
-        List<Quotation> expiredQuotations = quotationRepository.findExpiredQuotations(LocalDateTime.now());
-
-        for (Quotation quotation : expiredQuotations) {
-            quotation.setStatus(QuotationStatus.EXPIRED);
-            quotation.setRespondedAt(LocalDateTime.now());
-        }
-
-        quotationRepository.saveAll(expiredQuotations);
-    }
-
     private Contract createContractFromQuotation(Quotation quotation, Booking booking) {
         Contract contract = new Contract();
         contract.setQuotationId(quotation.getQuotationId());
         contract.setBookingId(quotation.getBookingId());
 
         // Generate contract number
-        String contractNumber = generateContractNumber();
+        String contractNumber = documentSequenceService.nextContractNumber();
         contract.setContractNumber(contractNumber);
 
         // Set default terms and conditions
@@ -570,16 +576,6 @@ public class QuotationService {
         return contractRepository.save(contract);
     }
 
-    private String generateContractNumber() {
-        String datePrefix = LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String baseNumber = BookingConstants.CONTRACT_NUMBER_PREFIX + datePrefix + "-";
-
-        long count = contractRepository.count();
-        int sequence = (int) (count + 1);
-
-        return baseNumber + String.format(BookingConstants.CONTRACT_SEQUENCE_FORMAT, sequence);
-    }
-
     private String getDefaultTermsAndConditions() {
         return """
             HỢP ĐỒNG VẬN CHUYỂN HÀNG HÓA
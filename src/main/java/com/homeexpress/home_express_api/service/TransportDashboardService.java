@@ -4,14 +4,15 @@ import com.homeexpress.home_express_api.dto.response.TransportDashboardStatsResp
 import com.homeexpress.home_express_api.dto.response.TransportDashboardStatsResponse.MonthlyRevenuePoint;
 import com.homeexpress.home_express_api.dto.response.TransportQuotationSummaryResponse;
 import com.homeexpress.home_express_api.entity.Booking;
-import com.homeexpress.home_express_api.entity.BookingStatus;
 import com.homeexpress.home_express_api.entity.Customer;
 import com.homeexpress.home_express_api.entity.Quotation;
-import com.homeexpress.home_express_api.entity.QuotationStatus;
+import com.homeexpress.home_express_api.entity.TransportMonthlyStats;
+import com.homeexpress.home_express_api.entity.TransportStats;
 import com.homeexpress.home_express_api.repository.BookingRepository;
 import com.homeexpress.home_express_api.repository.CustomerRepository;
 import com.homeexpress.home_express_api.repository.QuotationRepository;
-import com.homeexpress.home_express_api.repository.TransportRepository;
+import com.homeexpress.home_express_api.service.analytics.TransportMonthlyStatsService;
+import com.homeexpress.home_express_api.service.analytics.TransportStatsService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -20,15 +21,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.ArrayList;
-import java.util.EnumSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -44,26 +40,23 @@ public class TransportDashboardService {
     private final QuotationRepository quotationRepository;
 
     private final CustomerRepository customerRepository;
-    
-    private final TransportRepository transportRepository;
+
+    private final TransportMonthlyStatsService monthlyStatsService;
+
+    private final TransportStatsService transportStatsService;
 
     @Transactional(readOnly = true)
     public TransportDashboardStatsResponse getDashboardStats(Long transportId) {
         TransportDashboardStatsResponse response = new TransportDashboardStatsResponse();
 
-        long totalBookings = bookingRepository.countByTransportId(transportId);
-        long completedBookings = bookingRepository.countByTransportIdAndStatus(transportId, BookingStatus.COMPLETED);
-        long inProgressBookings = countActiveBookings(transportId);
-        long pendingQuotations = quotationRepository.countByTransportIdAndStatus(
-                transportId, QuotationStatus.PENDING);
-
-        BigDecimal totalIncome = defaultZero(
-                bookingRepository.sumFinalPriceByTransportAndStatus(transportId, BookingStatus.COMPLETED));
-
-        // Get average rating from Transport entity (managed separately from review system)
-        BigDecimal averageRating = transportRepository.findById(transportId)
-                .map(t -> t.getAverageRating() != null ? t.getAverageRating() : BigDecimal.ZERO)
-                .orElse(BigDecimal.ZERO);
+        // Một lần đọc theo khóa chính; counters được duy trì bởi TransportStatsService
+        TransportStats stats = transportStatsService.getStats(transportId);
+        long totalBookings = stats.getTotalBookings();
+        long completedBookings = stats.getCompletedBookings();
+        long inProgressBookings = stats.getConfirmedBookings() + stats.getInProgressBookings();
+        long pendingQuotations = stats.getPendingQuotations();
+        BigDecimal totalIncome = defaultZero(stats.getCompletedRevenueVnd());
+        BigDecimal averageRating = defaultZero(stats.getAverageRating());
         double completionRate = totalBookings == 0
                 ? 0d
                 : roundTwoDecimal((completedBookings * 100.0) / totalBookings);
@@ -92,18 +85,10 @@ public class TransportDashboardService {
                 .map(Quotation::getBookingId)
                 .collect(Collectors.toSet()));
 
-        // Load all quotations for these bookings to calculate competitors and rankings
-        Set<Long> bookingIds = page.stream()
-            .map(Quotation::getBookingId)
-            .collect(Collectors.toSet());
-
-        Map<Long, List<Quotation>> allQuotationsByBooking = new LinkedHashMap<>();
-        if (!bookingIds.isEmpty()) {
-            List<Quotation> allQuotations = quotationRepository.findByBookingIdIn(bookingIds);
-            for (Quotation q : allQuotations) {
-                allQuotationsByBooking.computeIfAbsent(q.getBookingId(), k -> new ArrayList<>()).add(q);
-            }
-        }
+        // Vị trí cạnh tranh (số đối thủ, giá thấp nhất, hạng) tính bằng window function trên DB
+        Map<Long, QuotationRepository.CompetitivePosition> positions = quotationRepository
+                .findCompetitivePositions(page.map(Quotation::getQuotationId).getContent()).stream()
+                .collect(Collectors.toMap(QuotationRepository.CompetitivePosition::getQuotationId, p -> p));
 
         List<TransportQuotationSummaryResponse> summaries = new ArrayList<>();
         for (Quotation quotation : page) {
@@ -123,35 +108,15 @@ public class TransportDashboardService {
                 dto.setPreferredDate(booking.getPreferredDate().toString());
             }
 
-            // Calculate competitor information
-            List<Quotation> bookingQuotations = allQuotationsByBooking.getOrDefault(quotation.getBookingId(), List.of());
-            dto.setCompetitorQuotesCount(bookingQuotations.size() - 1); // Exclude this quotation
-
-            // Calculate lowest competitor price and ranking
-            List<Quotation> sortedCompetitors = bookingQuotations.stream()
-                .filter(q -> !q.getQuotationId().equals(quotation.getQuotationId()))
-                .sorted((a, b) -> defaultZero(a.getQuotedPrice()).compareTo(defaultZero(b.getQuotedPrice())))
-                .collect(Collectors.toList());
-
-            if (!sortedCompetitors.isEmpty()) {
-                dto.setLowestCompetitorPrice(defaultZero(sortedCompetitors.get(0).getQuotedPrice()).doubleValue());
-
-                // Calculate rank (1-based, lower price = better rank)
-                List<BigDecimal> allPrices = bookingQuotations.stream()
-                    .map(q -> defaultZero(q.getQuotedPrice()))
-                    .sorted()
-                    .collect(Collectors.toList());
-
-                BigDecimal myPrice = defaultZero(quotation.getQuotedPrice());
-                int rank = 1;
-                for (BigDecimal price : allPrices) {
-                    if (myPrice.compareTo(price) <= 0) {
-                        break;
-                    }
-                    rank++;
-                }
-                dto.setMyRank(rank);
+            QuotationRepository.CompetitivePosition position = positions.get(quotation.getQuotationId());
+            if (position != null) {
+                dto.setCompetitorQuotesCount(position.getCompetitorCount().intValue());
+                dto.setLowestCompetitorPrice(position.getLowestCompetitorPrice() != null
+                        ? position.getLowestCompetitorPrice().doubleValue()
+                        : null);
+                dto.setMyRank(position.getPriceRank().intValue());
             } else {
+                dto.setCompetitorQuotesCount(0);
                 dto.setLowestCompetitorPrice(null);
                 dto.setMyRank(1);
             }
@@ -178,53 +143,17 @@ public class TransportDashboardService {
                 .collect(Collectors.toMap(Customer::getCustomerId, c -> c));
     }
 
-    private long countActiveBookings(Long transportId) {
-        EnumSet<BookingStatus> activeStatuses = EnumSet.of(BookingStatus.CONFIRMED, BookingStatus.IN_PROGRESS);
-        return activeStatuses.stream()
-                .mapToLong(status -> bookingRepository.countByTransportIdAndStatus(transportId, status))
-                .sum();
-    }
-
     private List<MonthlyRevenuePoint> buildMonthlyRevenueSeries(Long transportId) {
-        LocalDate today = LocalDate.now();
-        YearMonth endMonth = YearMonth.from(today);
+        YearMonth endMonth = YearMonth.now();
         YearMonth startMonth = endMonth.minusMonths(DEFAULT_MONTH_WINDOW - 1);
 
-        Map<YearMonth, BigDecimal> revenueByMonth = new LinkedHashMap<>();
-        YearMonth current = startMonth;
-        while (!current.isAfter(endMonth)) {
-            revenueByMonth.put(current, BigDecimal.ZERO);
-            current = current.plusMonths(1);
-        }
-
-        LocalDateTime rangeStart = startMonth.atDay(1).atStartOfDay();
-        LocalDateTime rangeEnd = endMonth.plusMonths(1).atDay(1).atStartOfDay();
-
-        List<Booking> completedBookings = bookingRepository
-                .findByTransportIdAndStatusAndActualEndTimeBetween(
-                        transportId,
-                        BookingStatus.COMPLETED,
-                        rangeStart,
-                        rangeEnd
-                );
-
-        for (Booking booking : completedBookings) {
-            LocalDateTime completedAt = Optional.ofNullable(booking.getActualEndTime())
-                    .orElseGet(booking::getUpdatedAt);
-            if (completedAt == null) {
-                completedAt = booking.getCreatedAt();
-            }
-            YearMonth key = YearMonth.from(completedAt);
-            if (revenueByMonth.containsKey(key)) {
-                BigDecimal currentTotal = revenueByMonth.get(key);
-                revenueByMonth.put(key, currentTotal.add(defaultZero(booking.getFinalPrice())));
-            }
-        }
+        Map<YearMonth, TransportMonthlyStats> statsByMonth =
+                monthlyStatsService.getMonthlyStats(transportId, startMonth, endMonth);
 
         List<MonthlyRevenuePoint> series = new ArrayList<>();
-        for (Map.Entry<YearMonth, BigDecimal> entry : revenueByMonth.entrySet()) {
+        for (Map.Entry<YearMonth, TransportMonthlyStats> entry : statsByMonth.entrySet()) {
             String monthLabel = entry.getKey().toString();
-            double revenue = roundTwoDecimal(entry.getValue().doubleValue());
+            double revenue = roundTwoDecimal(defaultZero(entry.getValue().getGrossRevenueVnd()).doubleValue());
             series.add(new MonthlyRevenuePoint(monthLabel, revenue));
         }
 
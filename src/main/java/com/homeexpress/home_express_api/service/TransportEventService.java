@@ -0,0 +1,142 @@
+package com.homeexpress.home_express_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for managing Server-Sent Events (SSE) connections of transport accounts.
+ * Pushes quotation lifecycle updates (e.g. expiry) to every open session of a transport.
+ */
+@Slf4j
+@Service
+public class TransportEventService {
+
+    private final ObjectMapper objectMapper;
+
+    // Map of transport ID to map of emitter ID to SseEmitter
+    // A transport may keep several sessions (tabs, devices) open at once
+    private final Map<Long, Map<String, SseEmitter>> transportEmitters = new ConcurrentHashMap<>();
+
+    public TransportEventService(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Create a new SSE connection for a transport
+     * @param transportId The transport to stream events for
+     * @return SseEmitter for the connection
+     */
+    public SseEmitter createEventStream(Long transportId) {
+        // 30 minutes timeout (1800000ms)
+        SseEmitter emitter = new SseEmitter(1800000L);
+        String emitterKey = UUID.randomUUID().toString();
+
+        transportEmitters.computeIfAbsent(transportId, k -> new ConcurrentHashMap<>())
+                .put(emitterKey, emitter);
+
+        log.info("Created SSE connection {} for transport {}", emitterKey, transportId);
+
+        emitter.onCompletion(() -> removeEmitter(transportId, emitterKey));
+        emitter.onTimeout(() -> removeEmitter(transportId, emitterKey));
+        emitter.onError((ex) -> {
+            removeEmitter(transportId, emitterKey);
+            log.error("SSE connection error for transport {}: {}", transportId, ex.getMessage());
+        });
+
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("connected")
+                    .data(createEventData("connected", "Connected to transport updates", null)));
+        } catch (IOException e) {
+            log.error("Error sending initial SSE message: {}", e.getMessage());
+            removeEmitter(transportId, emitterKey);
+        }
+
+        return emitter;
+    }
+
+    /**
+     * Send quotation expired event
+     */
+    public void sendQuotationExpired(Long transportId, Long quotationId, Long bookingId) {
+        Map<String, Object> data = Map.of(
+                "transportId", transportId,
+                "quotationId", quotationId,
+                "bookingId", bookingId
+        );
+
+        sendEvent(transportId, "quotation:expired", "Quotation expired", data);
+    }
+
+    /**
+     * Get count of active connections for a transport
+     */
+    public int getActiveConnectionCount(Long transportId) {
+        Map<String, SseEmitter> emitters = transportEmitters.get(transportId);
+        return emitters != null ? emitters.size() : 0;
+    }
+
+    private void sendEvent(Long transportId, String eventName, String message, Map<String, Object> data) {
+        Map<String, SseEmitter> emitters = transportEmitters.get(transportId);
+        if (emitters == null || emitters.isEmpty()) {
+            log.debug("No active SSE connections for transport {}", transportId);
+            return;
+        }
+
+        String eventData = createEventData(eventName, message, data);
+
+        emitters.entrySet().removeIf(entry -> {
+            try {
+                entry.getValue().send(SseEmitter.event()
+                        .name(eventName)
+                        .data(eventData));
+                return false;
+            } catch (IOException e) {
+                log.error("Error sending SSE event to emitter {}: {}", entry.getKey(), e.getMessage());
+                try {
+                    entry.getValue().completeWithError(e);
+                } catch (Exception ex) {
+                    // Ignore
+                }
+                return true;
+            }
+        });
+    }
+
+    private String createEventData(String type, String message, Map<String, Object> data) {
+        try {
+            Map<String, Object> eventData = new ConcurrentHashMap<>();
+            eventData.put("type", type);
+            eventData.put("message", message);
+            eventData.put("timestamp", LocalDateTime.now().toString());
+
+            if (data != null) {
+                eventData.put("data", data);
+            }
+
+            return objectMapper.writeValueAsString(eventData);
+        } catch (Exception e) {
+            log.error("Error creating event data: {}", e.getMessage());
+            return String.format("{\"type\":\"%s\",\"message\":\"%s\",\"timestamp\":\"%s\"}",
+                    type, message, LocalDateTime.now());
+        }
+    }
+
+    private void removeEmitter(Long transportId, String emitterKey) {
+        Map<String, SseEmitter> emitters = transportEmitters.get(transportId);
+        if (emitters != null) {
+            emitters.remove(emitterKey);
+            if (emitters.isEmpty()) {
+                transportEmitters.remove(transportId, emitters);
+            }
+        }
+    }
+}
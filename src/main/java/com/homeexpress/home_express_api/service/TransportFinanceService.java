@@ -9,6 +9,7 @@ import com.homeexpress.home_express_api.entity.BookingStatus;
 import com.homeexpress.home_express_api.entity.Customer;
 import com.homeexpress.home_express_api.entity.PayoutStatus;
 import com.homeexpress.home_express_api.entity.SettlementStatus;
+import com.homeexpress.home_express_api.entity.TransportMonthlyStats;
 import com.homeexpress.home_express_api.entity.TransportPayout;
 import com.homeexpress.home_express_api.entity.TransportWallet;
 import com.homeexpress.home_express_api.entity.TransportWalletTransaction;
@@ -19,6 +20,7 @@ import com.homeexpress.home_express_api.repository.BookingSettlementRepository;
 import com.homeexpress.home_express_api.repository.CustomerRepository;
 import com.homeexpress.home_express_api.repository.TransportPayoutRepository;
 import com.homeexpress.home_express_api.repository.TransportWalletTransactionRepository;
+import com.homeexpress.home_express_api.service.analytics.TransportMonthlyStatsService;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
@@ -42,25 +44,41 @@ public class TransportFinanceService {
     private static final int DEFAULT_REPORT_DAYS = 30;
     private static final int MAX_REPORT_DAYS = 90;
 
+    private static final Set<SettlementStatus> PENDING_SETTLEMENT_STATUSES = EnumSet.of(
+            SettlementStatus.PENDING,
+            SettlementStatus.READY,
+            SettlementStatus.IN_PAYOUT,
+            SettlementStatus.ON_HOLD
+    );
+
+    private static final Set<WalletTransactionType> CREDIT_TYPES = EnumSet.of(
+            WalletTransactionType.SETTLEMENT_CREDIT,
+            WalletTransactionType.ADJUSTMENT_CREDIT,
+            WalletTransactionType.REVERSAL
+    );
+
     private final BookingRepository bookingRepository;
     private final BookingSettlementRepository bookingSettlementRepository;
     private final CustomerRepository customerRepository;
     private final TransportPayoutRepository transportPayoutRepository;
     private final TransportWalletTransactionRepository walletTransactionRepository;
     private final WalletService walletService;
+    private final TransportMonthlyStatsService monthlyStatsService;
 
     public TransportFinanceService(BookingRepository bookingRepository,
             BookingSettlementRepository bookingSettlementRepository,
             CustomerRepository customerRepository,
             TransportPayoutRepository transportPayoutRepository,
             TransportWalletTransactionRepository walletTransactionRepository,
-            WalletService walletService) {
+            WalletService walletService,
+            TransportMonthlyStatsService monthlyStatsService) {
         this.bookingRepository = bookingRepository;
         this.bookingSettlementRepository = bookingSettlementRepository;
         this.customerRepository = customerRepository;
         this.transportPayoutRepository = transportPayoutRepository;
         this.walletTransactionRepository = walletTransactionRepository;
         this.walletService = walletService;
+        this.monthlyStatsService = monthlyStatsService;
     }
 
     @Transactional
@@ -74,50 +92,28 @@ public class TransportFinanceService {
         response.setCurrentBalance(wallet.getCurrentBalanceVnd());
 
         YearMonth currentMonth = YearMonth.now();
-        LocalDateTime monthStart = currentMonth.atDay(1).atStartOfDay();
-        LocalDateTime nextMonthStart = currentMonth.plusMonths(1).atDay(1).atStartOfDay();
-        List<TransportWalletTransaction> monthLedger = walletTransactionRepository
-                .findByWallet_WalletIdAndCreatedAtBetweenOrderByCreatedAtAsc(wallet.getWalletId(), monthStart, nextMonthStart);
-
-        long thisMonthRevenue = monthLedger.stream()
-                .filter(tx -> isCredit(tx.getTransactionType()))
-                .mapToLong(TransportWalletTransaction::getAmount)
-                .sum();
-        response.setThisMonthEarnings(thisMonthRevenue);
-
-        List<Booking> completedThisMonth = bookingRepository.findByTransportIdAndStatusAndActualEndTimeBetween(
-                transportId,
-                BookingStatus.COMPLETED,
-                monthStart,
-                nextMonthStart
-        );
-        response.setThisMonthBookings(completedThisMonth.size());
+        YearMonth firstMonth = currentMonth.minusMonths(MONTH_WINDOW - 1);
+        Map<YearMonth, Long> creditsByMonth = sumCreditsByMonth(wallet, firstMonth, currentMonth);
+        Map<YearMonth, TransportMonthlyStats> statsByMonth =
+                monthlyStatsService.getMonthlyStats(transportId, firstMonth, currentMonth);
+
+        response.setThisMonthEarnings(creditsByMonth.getOrDefault(currentMonth, 0L));
+        response.setThisMonthBookings(statsByMonth.get(currentMonth).getCompletedBookings());
 
         response.setAveragePerBooking(totalBookings > 0 ? wallet.getTotalEarnedVnd() / totalBookings : 0L);
 
-        List<BookingSettlement> settlements = bookingSettlementRepository.findByTransportId(transportId);
-        EnumSet<SettlementStatus> pendingStatuses = EnumSet.of(
-                SettlementStatus.PENDING,
-                SettlementStatus.READY,
-                SettlementStatus.IN_PAYOUT,
-                SettlementStatus.ON_HOLD
-        );
-
-        long pendingAmount = settlements.stream()
-                .filter(s -> pendingStatuses.contains(s.getStatus()))
-                .map(BookingSettlement::getNetToTransportVnd)
-                .filter(amount -> amount != null)
-                .mapToLong(Long::longValue)
-                .sum();
+        long pendingAmount = 0L;
+        int pendingTransactions = 0;
+        for (BookingSettlementRepository.StatusTotals totals : bookingSettlementRepository
+                .sumByTransportGroupByStatus(transportId, PENDING_SETTLEMENT_STATUSES)) {
+            pendingAmount += totals.getNetToTransportVnd() != null ? totals.getNetToTransportVnd() : 0L;
+            pendingTransactions += totals.getSettlements().intValue();
+        }
         response.setPendingAmount(pendingAmount);
-
-        int pendingTransactions = (int) settlements.stream()
-                .filter(s -> pendingStatuses.contains(s.getStatus()))
-                .count();
         response.setPendingTransactions(pendingTransactions);
 
         response.setGrowthRate("0%");
-        response.setMonthlyBreakdown(buildMonthlyBreakdown(transportId, wallet));
+        response.setMonthlyBreakdown(buildMonthlyBreakdown(statsByMonth, creditsByMonth));
 
         return response;
     }
@@ -162,47 +158,41 @@ public class TransportFinanceService {
         return report;
     }
 
-    private List<TransportEarningsStatsResponse.MonthlyBreakdown> buildMonthlyBreakdown(Long transportId, TransportWallet wallet) {
+    private List<TransportEarningsStatsResponse.MonthlyBreakdown> buildMonthlyBreakdown(
+            Map<YearMonth, TransportMonthlyStats> statsByMonth,
+            Map<YearMonth, Long> creditsByMonth) {
         List<TransportEarningsStatsResponse.MonthlyBreakdown> breakdowns = new ArrayList<>();
 
-        YearMonth end = YearMonth.now();
-        YearMonth start = end.minusMonths(MONTH_WINDOW - 1);
-
-        LocalDateTime rangeStart = start.atDay(1).atStartOfDay();
-        LocalDateTime rangeEnd = end.plusMonths(1).atDay(1).atStartOfDay();
-
-        List<TransportWalletTransaction> ledger = walletTransactionRepository
-                .findByWallet_WalletIdAndCreatedAtBetweenOrderByCreatedAtAsc(wallet.getWalletId(), rangeStart, rangeEnd);
-
-        Map<YearMonth, Long> revenueByMonth = ledger.stream()
-                .filter(tx -> isCredit(tx.getTransactionType()))
-                .collect(Collectors.groupingBy(tx -> YearMonth.from(tx.getCreatedAt()),
-                        Collectors.summingLong(TransportWalletTransaction::getAmount)));
-
-        YearMonth current = start;
-        while (!current.isAfter(end)) {
-            LocalDateTime monthStart = current.atDay(1).atStartOfDay();
-            LocalDateTime monthEnd = current.plusMonths(1).atDay(1).atStartOfDay();
-
-            List<Booking> bookings = bookingRepository.findByTransportIdAndStatusAndActualEndTimeBetween(
-                    transportId,
-                    BookingStatus.COMPLETED,
-                    monthStart,
-                    monthEnd
-            );
-
+        for (Map.Entry<YearMonth, TransportMonthlyStats> entry : statsByMonth.entrySet()) {
+            TransportMonthlyStats stats = entry.getValue();
             TransportEarningsStatsResponse.MonthlyBreakdown breakdown = new TransportEarningsStatsResponse.MonthlyBreakdown();
-            breakdown.setMonth(current.toString());
-            breakdown.setRevenue(revenueByMonth.getOrDefault(current, 0L));
-            breakdown.setBookings(bookings.size());
+            breakdown.setMonth(entry.getKey().toString());
+            breakdown.setRevenue(creditsByMonth.getOrDefault(entry.getKey(), 0L));
+            breakdown.setBookings(stats.getCompletedBookings());
+            breakdown.setNetToTransport(stats.getNetToTransportVnd().longValue());
             breakdowns.add(breakdown);
-
-            current = current.plusMonths(1);
         }
 
         return breakdowns;
     }
 
+    /**
+     * Tổng tiền vào ví theo tháng, gom nhóm ở DB thay vì tải từng giao dịch
+     */
+    private Map<YearMonth, Long> sumCreditsByMonth(TransportWallet wallet, YearMonth from, YearMonth to) {
+        List<TransportWalletTransactionRepository.MonthlyTotal> totals = walletTransactionRepository.sumAmountByMonth(
+                wallet.getWalletId(),
+                CREDIT_TYPES,
+                from.atDay(1).atStartOfDay(),
+                to.plusMonths(1).atDay(1).atStartOfDay());
+
+        Map<YearMonth, Long> byMonth = new HashMap<>();
+        for (TransportWalletTransactionRepository.MonthlyTotal total : totals) {
+            byMonth.put(YearMonth.of(total.getCalendarYear(), total.getCalendarMonth()), total.getTotal());
+        }
+        return byMonth;
+    }
+
     private List<TransportWalletReportResponse.CashflowEntry> buildCashflowEntries(
             List<TransportWalletTransaction> transactions,
             LedgerReferenceContext context) {
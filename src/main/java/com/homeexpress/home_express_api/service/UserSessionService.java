@@ -6,6 +6,7 @@ import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserSession;
 import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.repository.UserSessionRepository;
+import com.homeexpress.home_express_api.service.session.SessionRevocationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -39,6 +40,8 @@ public class UserSessionService {
     
     private final SecurityConfigProperties securityConfig;
     
+    private final SessionRevocationService revocationService;
+    
     // tao session moi khi login
     public UserSession createSession(User user, String ipAddress, String userAgent, String deviceId) {
         // 1. generate refresh token
@@ -115,12 +118,23 @@ public class UserSessionService {
             session.setRevokedAt(LocalDateTime.now());
             session.setRevokedReason(reason);
             sessionRepository.save(session);
+            
+            // access token cua session nay cung bi tu choi tren moi node
+            revocationService.revokeSession(sessionId);
         }
     }
     
     // revoke tat ca sessions cua user (change password, security breach)
     public int revokeAllUserSessions(Long userId, String reason) {
-        return sessionRepository.revokeAllUserSessions(userId, LocalDateTime.now(), reason);
+        LocalDateTime now = LocalDateTime.now();
+        List<String> sessionIds = sessionRepository.findActiveSessionsByUserId(userId, now).stream()
+                .map(UserSession::getSessionId)
+                .toList();
+        int revoked = sessionRepository.revokeAllUserSessions(userId, now, reason);
+        
+        // access token cu cua user (ke ca token khong gan session) bi tu choi tren moi node
+        revocationService.revokeUser(userId, sessionIds);
+        return revoked;
     }
     
     // lay active sessions cua user (de hien thi "Manage devices")
@@ -9,10 +9,13 @@ import com.homeexpress.home_express_api.exception.UnauthorizedException;
 import com.homeexpress.home_express_api.repository.TransportRepository;
 import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.repository.VehicleRepository;
+import com.homeexpress.home_express_api.service.vehicle.VehicleCapabilityIndex;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -30,6 +33,8 @@ public class VehicleService {
 
     private final UserRepository userRepository;
 
+    private final VehicleCapabilityIndex vehicleCapabilityIndex;
+
     public String normalizeLicensePlate(String licensePlate) {
         if (licensePlate == null) {
             return null;
@@ -102,6 +107,7 @@ public class VehicleService {
         vehicle.setCreatedBy(user);
 
         Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        vehicleCapabilityIndex.vehicleSaved(savedVehicle);
         return VehicleResponse.fromEntity(savedVehicle);
     }
 
@@ -177,6 +183,7 @@ public class VehicleService {
         vehicle.setUpdatedBy(user);
 
         Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+        vehicleCapabilityIndex.vehicleSaved(updatedVehicle);
         return VehicleResponse.fromEntity(updatedVehicle);
     }
 
@@ -195,6 +202,7 @@ public class VehicleService {
         checkOwnership(vehicle, userId);
 
         vehicleRepository.delete(vehicle);
+        vehicleCapabilityIndex.vehicleRemoved(vehicleId);
     }
 
     @Transactional
@@ -215,11 +223,14 @@ public class VehicleService {
         vehicle.setUpdatedBy(user);
 
         Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+        vehicleCapabilityIndex.vehicleSaved(updatedVehicle);
         return VehicleResponse.fromEntity(updatedVehicle);
     }
 
     /**
-     * Get eligible vehicles for a booking based on weight, volume, and equipment requirements
+     * Get eligible vehicles for a booking based on weight, volume, and equipment requirements.
+     * Candidates come from the in-memory capability index (the database until it is loaded)
+     * and are re-checked against the loaded rows, which may be newer than the index.
      */
     @Transactional(readOnly = true)
     public List<VehicleResponse> getEligibleVehicles(
@@ -227,42 +238,51 @@ public class VehicleService {
             BigDecimal totalVolume,
             boolean requiresTailLift,
             boolean requiresTools) {
-        
-        // Get all active vehicles
-        List<Vehicle> allVehicles = vehicleRepository.findByStatus(VehicleStatus.ACTIVE);
-
-        // Filter by requirements
-        List<Vehicle> eligibleVehicles = allVehicles.stream()
-                .filter(vehicle -> {
-                    // Check weight capacity
-                    if (vehicle.getCapacityKg() == null || vehicle.getCapacityKg().compareTo(totalWeight) < 0) {
-                        return false;
-                    }
-
-                    // Check volume capacity if specified
-                    if (vehicle.getCapacityM3() != null && totalVolume != null) {
-                        if (vehicle.getCapacityM3().compareTo(totalVolume) < 0) {
-                            return false;
-                        }
-                    }
-
-                    // Check tail lift requirement
-                    if (requiresTailLift && !vehicle.getHasTailLift()) {
-                        return false;
-                    }
-
-                    // Check tools requirement
-                    if (requiresTools && !vehicle.getHasTools()) {
-                        return false;
-                    }
-
-                    return true;
-                })
-                .collect(Collectors.toList());
 
-        return eligibleVehicles.stream()
+        long[] candidateIds = vehicleCapabilityIndex.findEligibleIds(
+                totalWeight, totalVolume, requiresTailLift, requiresTools);
+
+        List<Vehicle> candidates;
+        if (candidateIds == null) {
+            // Index chưa nạp xong (cold start): query DB qua idx_vehicles_status_capacity
+            candidates = vehicleRepository.findEligible(
+                    VehicleStatus.ACTIVE, totalWeight, totalVolume, requiresTailLift, requiresTools);
+        } else if (candidateIds.length == 0) {
+            return List.of();
+        } else {
+            candidates = vehicleRepository.findByVehicleIdIn(Arrays.stream(candidateIds).boxed().toList());
+        }
+
+        return candidates.stream()
+                .filter(vehicle -> isEligible(vehicle, totalWeight, totalVolume, requiresTailLift, requiresTools))
+                .sorted(Comparator.comparing(Vehicle::getVehicleId))
                 .map(VehicleResponse::fromEntity)
                 .collect(Collectors.toList());
     }
+
+    private boolean isEligible(Vehicle vehicle, BigDecimal totalWeight, BigDecimal totalVolume,
+                               boolean requiresTailLift, boolean requiresTools) {
+        if (vehicle.getStatus() != VehicleStatus.ACTIVE) {
+            return false;
+        }
+
+        // Check weight capacity
+        if (vehicle.getCapacityKg() == null || vehicle.getCapacityKg().compareTo(totalWeight) < 0) {
+            return false;
+        }
+
+        // Check volume capacity if specified
+        if (vehicle.getCapacityM3() != null && totalVolume != null
+                && vehicle.getCapacityM3().compareTo(totalVolume) < 0) {
+            return false;
+        }
+
+        // Check tail lift requirement
+        if (requiresTailLift && !Boolean.TRUE.equals(vehicle.getHasTailLift())) {
+            return false;
+        }
+
+        // Check tools requirement
+        return !requiresTools || Boolean.TRUE.equals(vehicle.getHasTools());
+    }
 }
-
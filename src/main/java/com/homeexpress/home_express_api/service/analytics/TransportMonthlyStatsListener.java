@@ -0,0 +1,40 @@
+package com.homeexpress.home_express_api.service.analytics;
+
+import com.homeexpress.home_express_api.entity.Booking;
+import com.homeexpress.home_express_api.entity.BookingSettlement;
+import com.homeexpress.home_express_api.entity.listener.LazyServiceListener;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Marks the monthly rollup of a transport dirty whenever one of its completed
+ * bookings or their settlements is written.
+ *
+ * For bookings both the previously persisted and the new completion month are
+ * marked, so a booking that leaves COMPLETED, changes transport or gets a new
+ * end time is also taken out of the month it used to count towards.
+ */
+public class TransportMonthlyStatsListener extends LazyServiceListener<TransportMonthlyStatsService> {
+
+    public TransportMonthlyStatsListener(ObjectProvider<TransportMonthlyStatsService> statsService) {
+        super(statsService);
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void rollupSourceChanged(Object entity) {
+        withService(service -> {
+            if (entity instanceof Booking booking) {
+                service.bookingChanged(
+                        booking.getPersistedTransportId(), booking.getPersistedStatus(),
+                        booking.getPersistedActualEndTime(),
+                        booking.getTransportId(), booking.getStatus(), booking.getActualEndTime());
+            } else if (entity instanceof BookingSettlement settlement) {
+                service.settlementChanged(settlement.getBookingId());
+            }
+        });
+    }
+}
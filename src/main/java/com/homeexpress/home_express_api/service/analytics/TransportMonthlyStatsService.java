@@ -0,0 +1,173 @@
+package com.homeexpress.home_express_api.service.analytics;
+
+import com.homeexpress.home_express_api.entity.Booking;
+import com.homeexpress.home_express_api.entity.BookingStatus;
+import com.homeexpress.home_express_api.entity.TransportMonthlyStats;
+import com.homeexpress.home_express_api.repository.BookingRepository;
+import com.homeexpress.home_express_api.repository.TransportMonthlyStatsRepository;
+import com.homeexpress.home_express_api.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Maintains the {@code transport_monthly_stats} rollup and serves the monthly
+ * series of the transport dashboards from it.
+ *
+ * Booking and settlement writes mark (transport, month) pairs dirty through
+ * {@link TransportMonthlyStatsListener}; after the writing transaction commits,
+ * each dirty month is recomputed once in its own transaction. A nightly repair
+ * re-runs the current and previous month to cover failed refreshes and bulk
+ * updates that bypass the entity listeners.
+ */
+@Service
+public class TransportMonthlyStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransportMonthlyStatsService.class);
+
+    private final TransportMonthlyStatsRepository statsRepository;
+
+    private final BookingRepository bookingRepository;
+
+    private final TransactionTemplate refreshTransaction;
+
+    public TransportMonthlyStatsService(TransportMonthlyStatsRepository statsRepository,
+                                        BookingRepository bookingRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.bookingRepository = bookingRepository;
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Rollup rows for every month in [from, to]; months without a row are zero.
+     */
+    @Transactional(readOnly = true)
+    public Map<YearMonth, TransportMonthlyStats> getMonthlyStats(Long transportId, YearMonth from, YearMonth to) {
+        Map<YearMonth, TransportMonthlyStats> byMonth = new LinkedHashMap<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            byMonth.put(month, new TransportMonthlyStats(transportId, month.atDay(1)));
+        }
+        List<TransportMonthlyStats> rows = statsRepository.findByTransportIdAndMonthStartBetweenOrderByMonthStartAsc(
+                transportId, from.atDay(1), to.atDay(1));
+        for (TransportMonthlyStats row : rows) {
+            byMonth.put(YearMonth.from(row.getMonthStart()), row);
+        }
+        return byMonth;
+    }
+
+    /**
+     * Called for every booking write with the previously persisted and the new
+     * state; only completed bookings count towards the rollup, so the month the
+     * booking counted in before and the one it counts in now are both refreshed.
+     */
+    public void bookingChanged(Long oldTransportId, BookingStatus oldStatus, LocalDateTime oldCompletedAt,
+                               Long newTransportId, BookingStatus newStatus, LocalDateTime newCompletedAt) {
+        MonthKey oldKey = MonthKey.of(oldTransportId, oldStatus, oldCompletedAt);
+        MonthKey newKey = MonthKey.of(newTransportId, newStatus, newCompletedAt);
+        if (oldKey == null && newKey == null) {
+            return;
+        }
+        schedule(pending -> {
+            if (oldKey != null) {
+                pending.months.add(oldKey);
+            }
+            if (newKey != null) {
+                pending.months.add(newKey);
+            }
+        });
+    }
+
+    /**
+     * Called for every settlement write; the month is resolved from the booking after commit.
+     */
+    public void settlementChanged(Long bookingId) {
+        if (bookingId != null) {
+            schedule(pending -> pending.bookingIds.add(bookingId));
+        }
+    }
+
+    @Transactional
+    public void refreshMonth(Long transportId, YearMonth month) {
+        statsRepository.refreshMonth(transportId, month.atDay(1),
+                month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    @Scheduled(cron = "${transport.monthly-stats.repair-cron:0 40 2 * * ?}")
+    public void repairRecentMonths() {
+        YearMonth current = YearMonth.now();
+        YearMonth previous = current.minusMonths(1);
+        List<Long> transportIds = bookingRepository.findTransportIdsCompletedSince(
+                BookingStatus.COMPLETED, previous.atDay(1).atStartOfDay());
+
+        PendingRefresh pending = new PendingRefresh();
+        for (Long transportId : transportIds) {
+            pending.months.add(new MonthKey(transportId, previous));
+            pending.months.add(new MonthKey(transportId, current));
+        }
+        refresh(pending);
+        log.info("Repaired transport monthly stats for {} transports", transportIds.size());
+    }
+
+    private void schedule(Consumer<PendingRefresh> mark) {
+        // Gom các tháng bị ảnh hưởng trong cùng transaction, refresh một lần sau commit
+        TransactionCallbacks.batchAfterCommit(this, PendingRefresh::new, mark, this::refresh);
+    }
+
+    private void refresh(PendingRefresh pending) {
+        try {
+            refreshTransaction.executeWithoutResult(status -> {
+                Set<MonthKey> months = new HashSet<>(pending.months);
+                if (!pending.bookingIds.isEmpty()) {
+                    for (Booking booking : bookingRepository.findAllById(pending.bookingIds)) {
+                        MonthKey key = MonthKey.of(booking);
+                        if (key != null) {
+                            months.add(key);
+                        }
+                    }
+                }
+                for (MonthKey key : months) {
+                    refreshMonth(key.transportId(), key.month());
+                }
+            });
+        } catch (RuntimeException e) {
+            // nightly repair sẽ tính lại các tháng gần nhất
+            log.warn("Failed to refresh transport monthly stats {} / bookings {}: {}",
+                    pending.months, pending.bookingIds, e.getMessage());
+        }
+    }
+
+    private record MonthKey(Long transportId, YearMonth month) {
+
+        static MonthKey of(Booking booking) {
+            return of(booking.getTransportId(), booking.getStatus(), booking.getActualEndTime());
+        }
+
+        static MonthKey of(Long transportId, BookingStatus status, LocalDateTime completedAt) {
+            if (status != BookingStatus.COMPLETED || transportId == null || completedAt == null) {
+                return null;
+            }
+            return new MonthKey(transportId, YearMonth.from(completedAt));
+        }
+    }
+
+    private static final class PendingRefresh {
+        private final Set<MonthKey> months = new HashSet<>();
+        private final Set<Long> bookingIds = new HashSet<>();
+    }
+}
@@ -0,0 +1,55 @@
+package com.homeexpress.home_express_api.service.analytics;
+
+import com.homeexpress.home_express_api.entity.Booking;
+import com.homeexpress.home_express_api.entity.Quotation;
+import com.homeexpress.home_express_api.entity.Transport;
+import com.homeexpress.home_express_api.entity.listener.LazyServiceListener;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Feeds booking, quotation and transport writes into {@link TransportStatsService}.
+ *
+ * Booking and Quotation remember the state they were loaded or last flushed
+ * with; listener callbacks run before the entity's own callbacks, so the
+ * remembered state is still the previous one here.
+ */
+public class TransportStatsListener extends LazyServiceListener<TransportStatsService> {
+
+    public TransportStatsListener(ObjectProvider<TransportStatsService> statsService) {
+        super(statsService);
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void written(Object entity) {
+        withService(service -> {
+            if (entity instanceof Booking booking) {
+                service.bookingChanged(
+                        booking.getPersistedTransportId(), booking.getPersistedStatus(), booking.getPersistedFinalPrice(),
+                        booking.getTransportId(), booking.getStatus(), booking.getFinalPrice());
+            } else if (entity instanceof Quotation quotation) {
+                service.quotationChanged(
+                        quotation.getPersistedTransportId(), quotation.getPersistedStatus(),
+                        quotation.getTransportId(), quotation.getStatus());
+            } else if (entity instanceof Transport transport) {
+                service.ratingChanged(transport.getTransportId(), transport.getAverageRating());
+            }
+        });
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        withService(service -> {
+            if (entity instanceof Booking booking) {
+                service.bookingChanged(
+                        booking.getPersistedTransportId(), booking.getPersistedStatus(), booking.getPersistedFinalPrice(),
+                        null, null, null);
+            } else if (entity instanceof Quotation quotation) {
+                service.quotationChanged(quotation.getPersistedTransportId(), quotation.getPersistedStatus(), null, null);
+            }
+        });
+    }
+}
@@ -0,0 +1,233 @@
+package com.homeexpress.home_express_api.service.analytics;
+
+import com.homeexpress.home_express_api.entity.BookingStatus;
+import com.homeexpress.home_express_api.entity.QuotationStatus;
+import com.homeexpress.home_express_api.entity.TransportStats;
+import com.homeexpress.home_express_api.repository.TransportStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maintains the {@code transport_stats} counters behind the transport dashboard.
+ *
+ * {@link TransportStatsListener} reports every booking and quotation write
+ * with its previous and new state; the difference is applied as a relative
+ * UPDATE on the same JDBC connection, so counters commit or roll back together
+ * with the write that caused them. Writes that bypass JPA (sp_accept_quotation,
+ * manual fixes) are covered by {@link #reconcile} and the periodic
+ * {@link #reconcileAll}, which recompute rows from bookings and quotations.
+ */
+@Service
+public class TransportStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransportStatsService.class);
+
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private static final String APPLY_DELTA_SQL = """
+            INSERT INTO transport_stats
+                (transport_id, total_bookings, confirmed_bookings, in_progress_bookings, completed_bookings,
+                 cancelled_bookings, completed_revenue_vnd, pending_quotations)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                total_bookings = total_bookings + VALUES(total_bookings),
+                confirmed_bookings = confirmed_bookings + VALUES(confirmed_bookings),
+                in_progress_bookings = in_progress_bookings + VALUES(in_progress_bookings),
+                completed_bookings = completed_bookings + VALUES(completed_bookings),
+                cancelled_bookings = cancelled_bookings + VALUES(cancelled_bookings),
+                completed_revenue_vnd = completed_revenue_vnd + VALUES(completed_revenue_vnd),
+                pending_quotations = pending_quotations + VALUES(pending_quotations)
+            """;
+
+    private static final String SET_RATING_SQL = """
+            INSERT INTO transport_stats (transport_id, average_rating)
+            VALUES (?, ?)
+            ON DUPLICATE KEY UPDATE average_rating = VALUES(average_rating)
+            """;
+
+    private static final String RECONCILE_SQL = """
+            INSERT INTO transport_stats
+                (transport_id, total_bookings, confirmed_bookings, in_progress_bookings, completed_bookings,
+                 cancelled_bookings, completed_revenue_vnd, pending_quotations, average_rating, reconciled_at)
+            SELECT t.transport_id,
+                   COALESCE(b.total, 0), COALESCE(b.confirmed, 0), COALESCE(b.in_progress, 0),
+                   COALESCE(b.completed, 0), COALESCE(b.cancelled, 0), COALESCE(b.revenue, 0),
+                   COALESCE(q.pending, 0), COALESCE(t.average_rating, 0), NOW()
+            FROM transports t
+            LEFT JOIN (
+                SELECT transport_id,
+                       COUNT(*) AS total,
+                       SUM(status = 'CONFIRMED') AS confirmed,
+                       SUM(status = 'IN_PROGRESS') AS in_progress,
+                       SUM(status = 'COMPLETED') AS completed,
+                       SUM(status = 'CANCELLED') AS cancelled,
+                       SUM(CASE WHEN status = 'COMPLETED' THEN COALESCE(final_price, 0) ELSE 0 END) AS revenue
+                FROM bookings
+                WHERE transport_id IN (:transportIds)
+                GROUP BY transport_id
+            ) b ON b.transport_id = t.transport_id
+            LEFT JOIN (
+                SELECT transport_id, COUNT(*) AS pending
+                FROM quotations
+                WHERE transport_id IN (:transportIds) AND status = 'PENDING'
+                GROUP BY transport_id
+            ) q ON q.transport_id = t.transport_id
+            WHERE t.transport_id IN (:transportIds)
+            ON DUPLICATE KEY UPDATE
+                total_bookings = VALUES(total_bookings),
+                confirmed_bookings = VALUES(confirmed_bookings),
+                in_progress_bookings = VALUES(in_progress_bookings),
+                completed_bookings = VALUES(completed_bookings),
+                cancelled_bookings = VALUES(cancelled_bookings),
+                completed_revenue_vnd = VALUES(completed_revenue_vnd),
+                pending_quotations = VALUES(pending_quotations),
+                average_rating = VALUES(average_rating),
+                reconciled_at = VALUES(reconciled_at)
+            """;
+
+    private final TransportStatsRepository statsRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public TransportStatsService(TransportStatsRepository statsRepository, JdbcTemplate jdbcTemplate) {
+        this.statsRepository = statsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Counters of a transport; a transport without a row has no bookings or quotations yet.
+     */
+    @Transactional(readOnly = true)
+    public TransportStats getStats(Long transportId) {
+        return statsRepository.findById(transportId).orElseGet(() -> new TransportStats(transportId));
+    }
+
+    /**
+     * Applies a booking write. A null status means the booking did not exist
+     * before (insert) or no longer exists (delete).
+     */
+    public void bookingChanged(Long oldTransportId, BookingStatus oldStatus, BigDecimal oldFinalPrice,
+                               Long newTransportId, BookingStatus newStatus, BigDecimal newFinalPrice) {
+        Counters before = Counters.ofBooking(oldStatus, oldFinalPrice);
+        Counters after = Counters.ofBooking(newStatus, newFinalPrice);
+        if (Objects.equals(oldTransportId, newTransportId)) {
+            apply(newTransportId, after.minus(before));
+        } else {
+            apply(oldTransportId, Counters.NONE.minus(before));
+            apply(newTransportId, after);
+        }
+    }
+
+    /**
+     * Applies a quotation write; only PENDING quotations are counted.
+     */
+    public void quotationChanged(Long oldTransportId, QuotationStatus oldStatus,
+                                 Long newTransportId, QuotationStatus newStatus) {
+        Counters before = Counters.ofQuotation(oldStatus);
+        Counters after = Counters.ofQuotation(newStatus);
+        if (Objects.equals(oldTransportId, newTransportId)) {
+            apply(newTransportId, after.minus(before));
+        } else {
+            apply(oldTransportId, Counters.NONE.minus(before));
+            apply(newTransportId, after);
+        }
+    }
+
+    public void ratingChanged(Long transportId, BigDecimal averageRating) {
+        if (transportId != null) {
+            jdbcTemplate.update(SET_RATING_SQL, transportId, averageRating != null ? averageRating : BigDecimal.ZERO);
+        }
+    }
+
+    /**
+     * Recomputes the counters of the given transports from bookings and quotations
+     */
+    @Transactional
+    public void reconcile(Collection<Long> transportIds) {
+        if (transportIds == null || transportIds.isEmpty()) {
+            return;
+        }
+        namedJdbcTemplate.update(RECONCILE_SQL, new MapSqlParameterSource("transportIds", transportIds));
+    }
+
+    @Scheduled(cron = "${transport.stats.reconcile-cron:0 20 * * * ?}")
+    public void reconcileAll() {
+        long lastId = 0L;
+        int reconciled = 0;
+        while (true) {
+            List<Long> batch = jdbcTemplate.queryForList(
+                    "SELECT transport_id FROM transports WHERE transport_id > ? ORDER BY transport_id LIMIT ?",
+                    Long.class, lastId, RECONCILE_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                reconcile(batch);
+                reconciled += batch.size();
+            } catch (RuntimeException e) {
+                log.warn("Failed to reconcile transport stats after transport {}: {}", lastId, e.getMessage());
+            }
+            lastId = batch.get(batch.size() - 1);
+        }
+        log.info("Reconciled transport stats for {} transports", reconciled);
+    }
+
+    private void apply(Long transportId, Counters delta) {
+        if (transportId == null || delta.isZero()) {
+            return;
+        }
+        jdbcTemplate.update(APPLY_DELTA_SQL, transportId, delta.total(), delta.confirmed(), delta.inProgress(),
+                delta.completed(), delta.cancelled(), delta.revenue(), delta.pendingQuotations());
+    }
+
+    record Counters(int total, int confirmed, int inProgress, int completed, int cancelled,
+                    BigDecimal revenue, int pendingQuotations) {
+
+        static final Counters NONE = new Counters(0, 0, 0, 0, 0, BigDecimal.ZERO, 0);
+
+        static Counters ofBooking(BookingStatus status, BigDecimal finalPrice) {
+            if (status == null) {
+                return NONE;
+            }
+            boolean completed = status == BookingStatus.COMPLETED;
+            return new Counters(1,
+                    status == BookingStatus.CONFIRMED ? 1 : 0,
+                    status == BookingStatus.IN_PROGRESS ? 1 : 0,
+                    completed ? 1 : 0,
+                    status == BookingStatus.CANCELLED ? 1 : 0,
+                    completed && finalPrice != null ? finalPrice : BigDecimal.ZERO,
+                    0);
+        }
+
+        static Counters ofQuotation(QuotationStatus status) {
+            return status == QuotationStatus.PENDING
+                    ? new Counters(0, 0, 0, 0, 0, BigDecimal.ZERO, 1)
+                    : NONE;
+        }
+
+        Counters minus(Counters other) {
+            return new Counters(total - other.total, confirmed - other.confirmed, inProgress - other.inProgress,
+                    completed - other.completed, cancelled - other.cancelled,
+                    revenue.subtract(other.revenue), pendingQuotations - other.pendingQuotations);
+        }
+
+        boolean isZero() {
+            return total == 0 && confirmed == 0 && inProgress == 0 && completed == 0 && cancelled == 0
+                    && revenue.signum() == 0 && pendingQuotations == 0;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.homeexpress.home_express_api.service.booking;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homeexpress.home_express_api.dto.booking.BookingPageResponse;
+import com.homeexpress.home_express_api.dto.booking.BookingResponse;
+import com.homeexpress.home_express_api.entity.Booking;
+import com.homeexpress.home_express_api.entity.BookingStatus;
+import com.homeexpress.home_express_api.entity.UserRole;
+import com.homeexpress.home_express_api.exception.BadRequestException;
+import com.homeexpress.home_express_api.exception.UnauthorizedException;
+import com.homeexpress.home_express_api.repository.BookingRepository;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Danh sách booking có phân trang keyset theo (createdAt, bookingId) giảm dần,
+ * và export NDJSON đọc bằng cursor JDBC forward-only để bộ nhớ không tăng theo
+ * số dòng.
+ */
+@Service
+public class BookingQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("bookingId"));
+
+    private static final String EXPORT_COLUMNS =
+            "booking_id, customer_id, transport_id, status, pickup_province_code, delivery_province_code, "
+            + "preferred_date, preferred_time_slot, distance_km, estimated_price, final_price, created_at, updated_at";
+
+    private static final int EXPORT_FLUSH_EVERY = 500;
+
+    private final BookingRepository bookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public BookingQueryService(BookingRepository bookingRepository,
+                               JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper) {
+        this.bookingRepository = bookingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Một trang booking theo bộ lọc; khách hàng chỉ thấy booking của mình.
+     */
+    @Transactional(readOnly = true)
+    public BookingPageResponse search(Filter filter, Long requesterId, UserRole role) {
+        Filter scoped = scope(filter, requesterId, role);
+        int size = pageSize(scoped.size());
+        Cursor cursor = Cursor.decode(scoped.cursor());
+
+        List<Booking> rows = bookingRepository.findBy(toSpecification(scoped, cursor),
+                query -> query.sortBy(KEYSET_SORT).limit(size + 1).all());
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            Booking last = rows.get(rows.size() - 1);
+            nextCursor = new Cursor(last.getCreatedAt(), last.getBookingId()).encode();
+        }
+
+        List<BookingResponse> bookings = rows.stream()
+                .map(BookingResponse::fromEntity)
+                .collect(Collectors.toList());
+        return new BookingPageResponse(bookings, nextCursor, hasMore);
+    }
+
+    /**
+     * Kiểm tra quyền và chuẩn hoá bộ lọc trước khi bắt đầu stream,
+     * để lỗi quyền vẫn trả về status code bình thường.
+     */
+    public Filter prepareExport(Filter filter, Long requesterId, UserRole role) {
+        return scope(filter, requesterId, role);
+    }
+
+    /**
+     * Ghi từng booking thành một dòng JSON ngay khi đọc được từ DB.
+     * Bộ lọc phải đi qua {@link #prepareExport} trước.
+     */
+    public long exportNdjson(Filter filter, OutputStream out) throws IOException {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT " + EXPORT_COLUMNS + " FROM bookings"
+                + buildWhereClause(filter, params)
+                + " ORDER BY created_at DESC, booking_id DESC";
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+        long[] written = {0};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // MySQL Connector/J streams row by row only with this fetch size
+                ps.setFetchSize(Integer.MIN_VALUE);
+                for (int i = 0; i < params.size(); i++) {
+                    ps.setObject(i + 1, params.get(i));
+                }
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writeRow(generator, rs);
+                    if (++written[0] % EXPORT_FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // client disconnected mid-export
+            throw e.getCause();
+        }
+        generator.flush();
+        return written[0];
+    }
+
+    private void writeRow(JsonGenerator generator, ResultSet rs) throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeNumberField("bookingId", rs.getLong("booking_id"));
+        generator.writeNumberField("customerId", rs.getLong("customer_id"));
+        long transportId = rs.getLong("transport_id");
+        if (rs.wasNull()) {
+            generator.writeNullField("transportId");
+        } else {
+            generator.writeNumberField("transportId", transportId);
+        }
+        generator.writeStringField("status", rs.getString("status"));
+        generator.writeStringField("pickupProvinceCode", rs.getString("pickup_province_code"));
+        generator.writeStringField("deliveryProvinceCode", rs.getString("delivery_province_code"));
+        writeString(generator, "preferredDate", rs.getDate("preferred_date"));
+        generator.writeStringField("preferredTimeSlot", rs.getString("preferred_time_slot"));
+        writeDecimal(generator, "distanceKm", rs.getBigDecimal("distance_km"));
+        writeDecimal(generator, "estimatedPrice", rs.getBigDecimal("estimated_price"));
+        writeDecimal(generator, "finalPrice", rs.getBigDecimal("final_price"));
+        writeTimestamp(generator, "createdAt", rs.getTimestamp("created_at"));
+        writeTimestamp(generator, "updatedAt", rs.getTimestamp("updated_at"));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeString(JsonGenerator generator, String field, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeStringField(field, value.toString());
+        }
+    }
+
+    private static void writeDecimal(JsonGenerator generator, String field, BigDecimal value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    private static void writeTimestamp(JsonGenerator generator, String field, Timestamp value) throws IOException {
+        writeString(generator, field, value != null ? value.toLocalDateTime() : null);
+    }
+
+    private Filter scope(Filter filter, Long requesterId, UserRole role) {
+        Filter scoped = filter != null ? filter : Filter.NONE;
+        if (scoped.from() != null && scoped.to() != null && scoped.from().isAfter(scoped.to())) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        if (role == UserRole.MANAGER) {
+            return scoped;
+        }
+        if (role == UserRole.CUSTOMER) {
+            // Khách hàng chỉ được xem booking của chính mình
+            if (scoped.customerId() != null && !scoped.customerId().equals(requesterId)) {
+                throw new UnauthorizedException("You can only view your own bookings");
+            }
+            return scoped.withCustomerId(requesterId);
+        }
+        throw new UnauthorizedException("Access denied");
+    }
+
+    private static int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    private static Specification<Booking> toSpecification(Filter filter, Cursor cursor) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.customerId() != null) {
+                predicates.add(cb.equal(root.get("customerId"), filter.customerId()));
+            }
+            if (filter.status() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.status()));
+            }
+            if (filter.provinceCode() != null && !filter.provinceCode().isBlank()) {
+                predicates.add(cb.equal(root.get("pickupProvinceCode"), filter.provinceCode()));
+            }
+            if (filter.from() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.from().atStartOfDay()));
+            }
+            if (filter.to() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), filter.to().plusDays(1).atStartOfDay()));
+            }
+            if (cursor != null) {
+                // (createdAt, bookingId) < (cursor.createdAt, cursor.bookingId)
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                        cb.and(cb.equal(root.get("createdAt"), cursor.createdAt()),
+                                cb.lessThan(root.get("bookingId"), cursor.bookingId()))));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String buildWhereClause(Filter filter, List<Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.customerId() != null) {
+            conditions.add("customer_id = ?");
+            params.add(filter.customerId());
+        }
+        if (filter.status() != null) {
+            conditions.add("status = ?");
+            params.add(filter.status().name());
+        }
+        if (filter.provinceCode() != null && !filter.provinceCode().isBlank()) {
+            conditions.add("pickup_province_code = ?");
+            params.add(filter.provinceCode());
+        }
+        if (filter.from() != null) {
+            conditions.add("created_at >= ?");
+            params.add(Timestamp.valueOf(filter.from().atStartOfDay()));
+        }
+        if (filter.to() != null) {
+            conditions.add("created_at < ?");
+            params.add(Timestamp.valueOf(filter.to().plusDays(1).atStartOfDay()));
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    /**
+     * Bộ lọc danh sách booking; {@code to} tính cả ngày cuối.
+     */
+    public record Filter(Long customerId, BookingStatus status, LocalDate from, LocalDate to,
+                         String provinceCode, String cursor, Integer size) {
+
+        public static final Filter NONE = new Filter(null, null, null, null, null, null, null);
+
+        public static Filter forCustomer(Long customerId) {
+            return NONE.withCustomerId(customerId);
+        }
+
+        public Filter withCustomerId(Long customerId) {
+            return new Filter(customerId, status, from, to, provinceCode, cursor, size);
+        }
+
+        public Filter withPage(String cursor, Integer size) {
+            return new Filter(customerId, status, from, to, provinceCode, cursor, size);
+        }
+    }
+
+    /**
+     * Vị trí keyset của booking cuối trang trước, mã hoá base64url "createdAt|bookingId".
+     */
+    record Cursor(LocalDateTime createdAt, Long bookingId) {
+
+        String encode() {
+            String raw = createdAt + "|" + bookingId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package com.homeexpress.home_express_api.service.booking;
+
+import com.homeexpress.home_express_api.dto.response.BookingTimelineEvent;
+import com.homeexpress.home_express_api.dto.response.BookingTimelineResponse;
+import com.homeexpress.home_express_api.entity.ActorRole;
+import com.homeexpress.home_express_api.entity.Booking;
+import com.homeexpress.home_express_api.entity.BookingStatusHistory;
+import com.homeexpress.home_express_api.entity.Customer;
+import com.homeexpress.home_express_api.entity.Payment;
+import com.homeexpress.home_express_api.entity.PaymentStatus;
+import com.homeexpress.home_express_api.entity.PaymentType;
+import com.homeexpress.home_express_api.entity.Quotation;
+import com.homeexpress.home_express_api.entity.QuotationStatus;
+import com.homeexpress.home_express_api.entity.Transport;
+import com.homeexpress.home_express_api.entity.User;
+import com.homeexpress.home_express_api.exception.ResourceNotFoundException;
+import com.homeexpress.home_express_api.repository.BookingRepository;
+import com.homeexpress.home_express_api.repository.BookingStatusHistoryRepository;
+import com.homeexpress.home_express_api.repository.CustomerRepository;
+import com.homeexpress.home_express_api.repository.PaymentRepository;
+import com.homeexpress.home_express_api.repository.QuotationRepository;
+import com.homeexpress.home_express_api.repository.TransportRepository;
+import com.homeexpress.home_express_api.repository.UserRepository;
+import com.homeexpress.home_express_api.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dựng timeline của một booking (admin view) từ status history, quotation và payment.
+ *
+ * Tên actor được resolve theo lô: gom toàn bộ ID trước rồi gọi findAllById cho
+ * customers, transports và users (tối đa 3 query), thay vì 1-3 query cho mỗi event.
+ * Ba luồng event đã sắp xếp được trộn k-way theo timestamp. Kết quả được cache theo
+ * booking và bị xoá (trên mọi node, qua Redis) khi có history/quotation/payment mới.
+ */
+@Service
+public class BookingTimelineAssembler implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingTimelineAssembler.class);
+
+    public static final String CHANNEL = "booking:timeline-invalidations";
+
+    private static final Comparator<LocalDateTime> TIMESTAMP_ORDER =
+            Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final BookingRepository bookingRepository;
+    private final BookingStatusHistoryRepository statusHistoryRepository;
+    private final QuotationRepository quotationRepository;
+    private final PaymentRepository paymentRepository;
+    private final CustomerRepository customerRepository;
+    private final TransportRepository transportRepository;
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final ConcurrentHashMap<Long, CachedTimeline> cache = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public BookingTimelineAssembler(BookingRepository bookingRepository,
+                                    BookingStatusHistoryRepository statusHistoryRepository,
+                                    QuotationRepository quotationRepository,
+                                    PaymentRepository paymentRepository,
+                                    CustomerRepository customerRepository,
+                                    TransportRepository transportRepository,
+                                    UserRepository userRepository,
+                                    StringRedisTemplate redisTemplate,
+                                    @Value("${booking.timeline-cache.max-entries:2000}") int maxEntries,
+                                    @Value("${booking.timeline-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.bookingRepository = bookingRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.quotationRepository = quotationRepository;
+        this.paymentRepository = paymentRepository;
+        this.customerRepository = customerRepository;
+        this.transportRepository = transportRepository;
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000L;
+    }
+
+    @Transactional(readOnly = true)
+    public BookingTimelineResponse getTimeline(Long bookingId) {
+        CachedTimeline cached = cache.get(bookingId);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return cached.timeline();
+        }
+
+        long loadedAtGeneration = generation.get();
+        BookingTimelineResponse timeline = assemble(bookingId);
+        if (maxEntries > 0) {
+            if (cache.size() >= maxEntries) {
+                evict();
+            }
+            cache.put(bookingId, new CachedTimeline(timeline, System.currentTimeMillis() + ttlMillis));
+            if (generation.get() != loadedAtGeneration) {
+                // Có ghi mới trong lúc đang dựng timeline
+                cache.remove(bookingId);
+            }
+        }
+        return timeline;
+    }
+
+    /**
+     * Xoá timeline đã cache của booking trên mọi node, sau khi transaction hiện tại commit
+     */
+    public void invalidate(Long bookingId) {
+        if (bookingId == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            evictLocal(bookingId);
+            try {
+                redisTemplate.convertAndSend(CHANNEL, bookingId.toString());
+            } catch (Exception e) {
+                // các node khác hết hạn theo TTL
+                log.warn("Failed to publish timeline invalidation for booking {}: {}", bookingId, e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            evictLocal(Long.parseLong(body));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed timeline invalidation message: {}", body);
+        }
+    }
+
+    BookingTimelineResponse assemble(Long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + bookingId));
+
+        List<BookingStatusHistory> statusHistory = statusHistoryRepository.findByBookingIdOrderByChangedAtAsc(bookingId);
+        List<Quotation> quotations = quotationRepository.findByBookingId(bookingId);
+        List<Payment> payments = paymentRepository.findByBookingIdOrderByCreatedAtAsc(bookingId);
+
+        ActorNames names = resolveActorNames(booking, statusHistory, quotations);
+
+        List<BookingTimelineEvent> historyEvents = historyEvents(statusHistory, names);
+        List<BookingTimelineEvent> quotationEvents = quotationEvents(booking, quotations, names);
+        List<BookingTimelineEvent> paymentEvents = paymentEvents(booking, payments, names);
+
+        List<BookingTimelineEvent> events = merge(List.of(historyEvents, quotationEvents, paymentEvents));
+
+        return BookingTimelineResponse.builder()
+                .bookingId(bookingId)
+                .timeline(events)
+                .totalEvents(events.size())
+                .build();
+    }
+
+    /**
+     * Trộn các luồng event (mỗi luồng đã sắp xếp) theo timestamp. Khi trùng
+     * timestamp, luồng đứng trước thắng, giữ đúng thứ tự history - quotation - payment.
+     */
+    static List<BookingTimelineEvent> merge(List<List<BookingTimelineEvent>> streams) {
+        int total = 0;
+        for (List<BookingTimelineEvent> stream : streams) {
+            total += stream.size();
+        }
+        List<BookingTimelineEvent> merged = new ArrayList<>(total);
+
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, streams.size()),
+                Comparator.comparing((Cursor c) -> c.head.getTimestamp(), TIMESTAMP_ORDER)
+                        .thenComparingInt(c -> c.streamIndex));
+        for (int i = 0; i < streams.size(); i++) {
+            Iterator<BookingTimelineEvent> iterator = streams.get(i).iterator();
+            if (iterator.hasNext()) {
+                heap.add(new Cursor(i, iterator, iterator.next()));
+            }
+        }
+        while (!heap.isEmpty()) {
+            Cursor cursor = heap.poll();
+            merged.add(cursor.head);
+            if (cursor.rest.hasNext()) {
+                cursor.head = cursor.rest.next();
+                heap.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private List<BookingTimelineEvent> historyEvents(List<BookingStatusHistory> statusHistory, ActorNames names) {
+        List<BookingTimelineEvent> events = new ArrayList<>(statusHistory.size());
+        for (BookingStatusHistory history : statusHistory) {
+            String description = String.format("Status changed from %s to %s",
+                    history.getOldStatus() != null ? history.getOldStatus().name() : "N/A",
+                    history.getNewStatus().name());
+            if (history.getReason() != null && !history.getReason().isEmpty()) {
+                description += ". Reason: " + history.getReason();
+            }
+
+            events.add(BookingTimelineEvent.builder()
+                    .timestamp(history.getChangedAt())
+                    .eventType("STATUS_CHANGE")
+                    .status(history.getNewStatus())
+                    .actorRole(history.getChangedByRole())
+                    .actorId(history.getChangedBy())
+                    .actorName(names.actor(history.getChangedBy(), history.getChangedByRole()))
+                    .description(description)
+                    .build());
+        }
+        // Đã ORDER BY changed_at ở DB; sort lại (stable) phòng dữ liệu cũ có changed_at null
+        events.sort(Comparator.comparing(BookingTimelineEvent::getTimestamp, TIMESTAMP_ORDER));
+        return events;
+    }
+
+    private List<BookingTimelineEvent> quotationEvents(Booking booking, List<Quotation> quotations, ActorNames names) {
+        String customerName = names.customer(booking.getCustomerId());
+        List<BookingTimelineEvent> events = new ArrayList<>(quotations.size() * 2);
+        for (Quotation quotation : quotations) {
+            if (quotation.getCreatedAt() != null) {
+                events.add(BookingTimelineEvent.builder()
+                        .timestamp(quotation.getCreatedAt())
+                        .eventType("QUOTATION_SUBMITTED")
+                        .status(null)
+                        .actorRole(ActorRole.TRANSPORT)
+                        .actorId(quotation.getTransportId())
+                        .actorName(names.transport(quotation.getTransportId()))
+                        .description(String.format("Quotation submitted: %.0f VND",
+                                quotation.getQuotedPrice().doubleValue()))
+                        .referenceId(quotation.getQuotationId())
+                        .referenceType("QUOTATION")
+                        .build());
+            }
+
+            if (quotation.getAcceptedAt() != null) {
+                events.add(BookingTimelineEvent.builder()
+                        .timestamp(quotation.getAcceptedAt())
+                        .eventType("QUOTATION_ACCEPTED")
+                        .status(null)
+                        .actorRole(ActorRole.CUSTOMER)
+                        .actorId(booking.getCustomerId())
+                        .actorName(customerName)
+                        .description(String.format("Quotation accepted: %.0f VND",
+                                quotation.getQuotedPrice().doubleValue()))
+                        .referenceId(quotation.getQuotationId())
+                        .referenceType("QUOTATION")
+                        .build());
+            } else if (quotation.getRespondedAt() != null
+                    && quotation.getStatus() == QuotationStatus.REJECTED) {
+                events.add(BookingTimelineEvent.builder()
+                        .timestamp(quotation.getRespondedAt())
+                        .eventType("QUOTATION_REJECTED")
+                        .status(null)
+                        .actorRole(ActorRole.CUSTOMER)
+                        .actorId(booking.getCustomerId())
+                        .actorName(customerName)
+                        .description("Quotation rejected")
+                        .referenceId(quotation.getQuotationId())
+                        .referenceType("QUOTATION")
+                        .build());
+            }
+        }
+        events.sort(Comparator.comparing(BookingTimelineEvent::getTimestamp, TIMESTAMP_ORDER));
+        return events;
+    }
+
+    private List<BookingTimelineEvent> paymentEvents(Booking booking, List<Payment> payments, ActorNames names) {
+        String customerName = names.customer(booking.getCustomerId());
+        List<BookingTimelineEvent> events = new ArrayList<>(payments.size() * 2);
+        for (Payment payment : payments) {
+            String paymentTypeStr = payment.getPaymentType() == PaymentType.DEPOSIT ? "Deposit" : "Payment";
+            if (payment.getCreatedAt() != null) {
+                events.add(BookingTimelineEvent.builder()
+                        .timestamp(payment.getCreatedAt())
+                        .eventType("PAYMENT_INITIATED")
+                        .status(null)
+                        .actorRole(ActorRole.CUSTOMER)
+                        .actorId(booking.getCustomerId())
+                        .actorName(customerName)
+                        .description(String.format("%s initiated: %.0f VND (%s)",
+                                paymentTypeStr,
+                                payment.getAmount().doubleValue(),
+                                payment.getPaymentMethod().name()))
+                        .referenceId(payment.getPaymentId())
+                        .referenceType("PAYMENT")
+                        .build());
+            }
+
+            if (payment.getPaidAt() != null && payment.getStatus() == PaymentStatus.COMPLETED) {
+                events.add(BookingTimelineEvent.builder()
+                        .timestamp(payment.getPaidAt())
+                        .eventType("PAYMENT_COMPLETED")
+                        .status(null)
+                        .actorRole(ActorRole.CUSTOMER)
+                        .actorId(booking.getCustomerId())
+                        .actorName(customerName)
+                        .description(String.format("%s completed: %.0f VND",
+                                paymentTypeStr,
+                                payment.getAmount().doubleValue()))
+                        .referenceId(payment.getPaymentId())
+                        .referenceType("PAYMENT")
+                        .build());
+            }
+        }
+        events.sort(Comparator.comparing(BookingTimelineEvent::getTimestamp, TIMESTAMP_ORDER));
+        return events;
+    }
+
+    /**
+     * Gom mọi actor ID rồi resolve theo lô: customers và transports trước,
+     * sau đó users cho các ID còn thiếu tên hoặc thuộc vai trò khác.
+     */
+    private ActorNames resolveActorNames(Booking booking, List<BookingStatusHistory> statusHistory,
+                                         List<Quotation> quotations) {
+        Set<Long> customerIds = new HashSet<>();
+        Set<Long> transportIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+
+        if (booking.getCustomerId() != null) {
+            customerIds.add(booking.getCustomerId());
+        }
+        for (Quotation quotation : quotations) {
+            if (quotation.getTransportId() != null) {
+                transportIds.add(quotation.getTransportId());
+            }
+        }
+        for (BookingStatusHistory history : statusHistory) {
+            Long actorId = history.getChangedBy();
+            if (actorId == null) {
+                continue;
+            }
+            if (history.getChangedByRole() == ActorRole.CUSTOMER) {
+                customerIds.add(actorId);
+            } else if (history.getChangedByRole() == ActorRole.TRANSPORT) {
+                transportIds.add(actorId);
+            } else {
+                userIds.add(actorId);
+            }
+        }
+
+        Map<Long, String> customerNames = new HashMap<>();
+        if (!customerIds.isEmpty()) {
+            for (Customer customer : customerRepository.findAllById(customerIds)) {
+                if (customer.getFullName() != null) {
+                    customerNames.put(customer.getCustomerId(), customer.getFullName());
+                }
+            }
+        }
+        Map<Long, String> transportNames = new HashMap<>();
+        Set<Long> knownTransports = new HashSet<>();
+        if (!transportIds.isEmpty()) {
+            for (Transport transport : transportRepository.findAllById(transportIds)) {
+                knownTransports.add(transport.getTransportId());
+                if (transport.getCompanyName() != null) {
+                    transportNames.put(transport.getTransportId(), transport.getCompanyName());
+                }
+            }
+        }
+
+        // Email làm tên dự phòng cho actor không có hồ sơ customer/transport
+        for (Long id : customerIds) {
+            if (!customerNames.containsKey(id)) {
+                userIds.add(id);
+            }
+        }
+        for (Long id : transportIds) {
+            if (!transportNames.containsKey(id)) {
+                userIds.add(id);
+            }
+        }
+        Map<Long, String> userEmails = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            for (User user : userRepository.findAllById(userIds)) {
+                userEmails.put(user.getUserId(), user.getEmail());
+            }
+        }
+
+        return new ActorNames(customerNames, transportNames, knownTransports, userEmails);
+    }
+
+    private void evictLocal(Long bookingId) {
+        generation.incrementAndGet();
+        cache.remove(bookingId);
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        int toRemove = cache.size() - maxEntries + Math.max(1, maxEntries / 8);
+        Iterator<Long> keys = cache.keySet().iterator();
+        while (toRemove-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * Tên hiển thị đã resolve sẵn; giữ nguyên các giá trị mặc định của cách resolve cũ.
+     */
+    private record ActorNames(Map<Long, String> customers, Map<Long, String> transports,
+                              Set<Long> knownTransports, Map<Long, String> users) {
+
+        String actor(Long userId, ActorRole role) {
+            if (userId == null) {
+                return "System";
+            }
+            String name;
+            if (role == ActorRole.CUSTOMER) {
+                name = customers.getOrDefault(userId, users.getOrDefault(userId, "Unknown"));
+            } else if (role == ActorRole.TRANSPORT) {
+                name = transports.getOrDefault(userId, users.getOrDefault(userId, "Unknown"));
+            } else {
+                name = users.get(userId);
+            }
+            if (name != null) {
+                return name;
+            }
+            return role != null ? role.name() : "Unknown";
+        }
+
+        String customer(Long customerId) {
+            if (customerId == null) {
+                return "Unknown Customer";
+            }
+            String name = customers.get(customerId);
+            if (name == null) {
+                name = users.get(customerId);
+            }
+            return name != null ? name : "Customer #" + customerId;
+        }
+
+        String transport(Long transportId) {
+            if (transportId == null) {
+                return "Unknown Transport";
+            }
+            if (!knownTransports.contains(transportId)) {
+                return "Unknown Transport";
+            }
+            return transports.getOrDefault(transportId, "Transport #" + transportId);
+        }
+    }
+
+    private static final class Cursor {
+        private final int streamIndex;
+        private final Iterator<BookingTimelineEvent> rest;
+        private BookingTimelineEvent head;
+
+        private Cursor(int streamIndex, Iterator<BookingTimelineEvent> rest, BookingTimelineEvent head) {
+            this.streamIndex = streamIndex;
+            this.rest = rest;
+            this.head = head;
+        }
+    }
+
+    private record CachedTimeline(BookingTimelineResponse timeline, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.homeexpress.home_express_api.service.booking;
+
+import com.homeexpress.home_express_api.entity.BookingStatusHistory;
+import com.homeexpress.home_express_api.entity.Payment;
+import com.homeexpress.home_express_api.entity.Quotation;
+import com.homeexpress.home_express_api.entity.listener.LazyServiceListener;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Drops the cached booking timeline whenever a status history, quotation or
+ * payment row of that booking is written.
+ */
+public class BookingTimelineInvalidationListener extends LazyServiceListener<BookingTimelineAssembler> {
+
+    public BookingTimelineInvalidationListener(ObjectProvider<BookingTimelineAssembler> assembler) {
+        super(assembler);
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void timelineSourceChanged(Object entity) {
+        Long bookingId = null;
+        if (entity instanceof BookingStatusHistory history) {
+            bookingId = history.getBookingId();
+        } else if (entity instanceof Quotation quotation) {
+            bookingId = quotation.getBookingId();
+        } else if (entity instanceof Payment payment) {
+            bookingId = payment.getBookingId();
+        }
+        if (bookingId != null) {
+            Long changedBookingId = bookingId;
+            withService(assembler -> assembler.invalidate(changedBookingId));
+        }
+    }
+}
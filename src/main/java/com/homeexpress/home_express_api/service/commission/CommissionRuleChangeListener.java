@@ -0,0 +1,26 @@
+package com.homeexpress.home_express_api.service.commission;
+
+import com.homeexpress.home_express_api.entity.CommissionRule;
+import com.homeexpress.home_express_api.entity.listener.LazyServiceListener;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Rebuilds the commission rule table whenever a rule is created, edited or
+ * deleted through JPA.
+ */
+public class CommissionRuleChangeListener extends LazyServiceListener<CommissionRuleEngine> {
+
+    public CommissionRuleChangeListener(ObjectProvider<CommissionRuleEngine> engine) {
+        super(engine);
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void ruleChanged(CommissionRule rule) {
+        withService(CommissionRuleEngine::rulesChanged);
+    }
+}
@@ -0,0 +1,90 @@
+package com.homeexpress.home_express_api.service.commission;
+
+import com.homeexpress.home_express_api.repository.CommissionRuleRepository;
+import com.homeexpress.home_express_api.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Serves commission rules from an in-memory {@link CommissionRuleTable}.
+ *
+ * The table is loaded on first use and swapped atomically: after a rule is
+ * written through JPA (once the transaction commits, via
+ * {@link CommissionRuleChangeListener}) and periodically, so edits made on
+ * another node or directly in the database are picked up too. Evaluating a
+ * fee never touches the database.
+ */
+@Service
+public class CommissionRuleEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(CommissionRuleEngine.class);
+
+    public static final int DEFAULT_COMMISSION_BPS = 500;
+
+    private final CommissionRuleRepository commissionRuleRepository;
+
+    private volatile CommissionRuleTable table;
+
+    public CommissionRuleEngine(CommissionRuleRepository commissionRuleRepository) {
+        this.commissionRuleRepository = commissionRuleRepository;
+    }
+
+    /**
+     * Current rule table, loading it on first use
+     */
+    public CommissionRuleTable table() {
+        CommissionRuleTable current = table;
+        if (current == null) {
+            synchronized (this) {
+                current = table;
+                if (current == null) {
+                    current = load();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Reload the active rules and swap the table in.
+     */
+    @Scheduled(fixedDelayString = "${finance.commission-rules-refresh-ms:300000}",
+            initialDelayString = "${finance.commission-rules-refresh-ms:300000}")
+    public synchronized void refresh() {
+        load();
+    }
+
+    /**
+     * Called when a rule row changes; reloads once the current transaction
+     * has committed so the new table sees the change.
+     */
+    public void rulesChanged() {
+        TransactionCallbacks.afterCommit(this::refresh);
+    }
+
+    public static long nowSecond() {
+        return CommissionRuleTable.epochSecond(LocalDateTime.now());
+    }
+
+    private CommissionRuleTable load() {
+        try {
+            CommissionRuleTable loaded = CommissionRuleTable.compile(
+                    commissionRuleRepository.findByIsActiveTrue(), DEFAULT_COMMISSION_BPS, LocalDateTime.now());
+            table = loaded;
+            log.debug("Loaded {} active commission rules", loaded.size());
+            return loaded;
+        } catch (RuntimeException ex) {
+            CommissionRuleTable current = table;
+            if (current == null) {
+                throw ex;
+            }
+            // Giữ bảng cũ nếu DB tạm thời lỗi
+            log.warn("Commission rule refresh failed, keeping previous rules: {}", ex.getMessage());
+            return current;
+        }
+    }
+}
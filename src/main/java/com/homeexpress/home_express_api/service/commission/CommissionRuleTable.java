@@ -0,0 +1,229 @@
+package com.homeexpress.home_express_api.service.commission;
+
+import com.homeexpress.home_express_api.entity.CommissionRule;
+import com.homeexpress.home_express_api.entity.CommissionRuleType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable, precompiled form of the active commission rules.
+ *
+ * Rules are grouped by transport into parallel arrays (transport IDs sorted
+ * for binary search), each group ordered by effective_from DESC, so a lookup
+ * is a binary search plus a short scan with no boxing. Rates are converted to
+ * basis points and fees to {@code long} VND up front; times are compared as
+ * wall-clock epoch seconds, matching the DATETIME columns.
+ */
+public final class CommissionRuleTable {
+
+    /** Transport ID used by callers that have no transport (default rules only) */
+    public static final long NO_TRANSPORT = 0L;
+
+    private static final CompiledRule[] NO_RULES = new CompiledRule[0];
+
+    private final long[] transportIds;
+
+    private final CompiledRule[][] transportRules;
+
+    private final CompiledRule[] defaultRules;
+
+    private final CompiledRule fallback;
+
+    private final int ruleCount;
+
+    private CommissionRuleTable(long[] transportIds, CompiledRule[][] transportRules,
+                                CompiledRule[] defaultRules, CompiledRule fallback, int ruleCount) {
+        this.transportIds = transportIds;
+        this.transportRules = transportRules;
+        this.defaultRules = defaultRules;
+        this.fallback = fallback;
+        this.ruleCount = ruleCount;
+    }
+
+    /**
+     * Compile the given rules. Inactive rules and rules that ended before
+     * {@code now} are dropped; {@code fallbackRateBps} applies when no rule
+     * matches.
+     */
+    public static CommissionRuleTable compile(List<CommissionRule> rules, int fallbackRateBps, LocalDateTime now) {
+        long nowSecond = epochSecond(now);
+        Map<Long, List<CompiledRule>> byTransport = new TreeMap<>();
+        List<CompiledRule> defaults = new ArrayList<>();
+        int count = 0;
+
+        for (CommissionRule rule : rules) {
+            if (!Boolean.TRUE.equals(rule.getIsActive()) || rule.getEffectiveFrom() == null) {
+                continue;
+            }
+            CompiledRule compiled = CompiledRule.of(rule);
+            if (compiled.effectiveToSecond <= nowSecond) {
+                continue;
+            }
+            if (rule.getTransportId() == null) {
+                defaults.add(compiled);
+            } else {
+                byTransport.computeIfAbsent(rule.getTransportId(), id -> new ArrayList<>()).add(compiled);
+            }
+            count++;
+        }
+
+        long[] transportIds = new long[byTransport.size()];
+        CompiledRule[][] transportRules = new CompiledRule[byTransport.size()][];
+        int i = 0;
+        for (Map.Entry<Long, List<CompiledRule>> entry : byTransport.entrySet()) {
+            transportIds[i] = entry.getKey();
+            transportRules[i] = newestFirst(entry.getValue());
+            i++;
+        }
+
+        CompiledRule fallback = new CompiledRule(0L, false, fallbackRateBps, 0L, 0L, Long.MAX_VALUE,
+                Long.MIN_VALUE, Long.MAX_VALUE);
+        return new CommissionRuleTable(transportIds, transportRules, newestFirst(defaults), fallback, count);
+    }
+
+    public static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Rule in force for a transport at the given time: its own newest
+     * effective rule, else the newest effective default rule, else the
+     * fallback rate. Never null.
+     */
+    public CompiledRule ruleFor(long transportId, long atSecond) {
+        if (transportId != NO_TRANSPORT) {
+            int index = Arrays.binarySearch(transportIds, transportId);
+            if (index >= 0) {
+                CompiledRule rule = firstEffective(transportRules[index], atSecond);
+                if (rule != null) {
+                    return rule;
+                }
+            }
+        }
+        CompiledRule rule = firstEffective(defaultRules, atSecond);
+        return rule != null ? rule : fallback;
+    }
+
+    public long platformFee(long agreedPriceVnd, long transportId, long atSecond) {
+        return ruleFor(transportId, atSecond).fee(agreedPriceVnd);
+    }
+
+    /**
+     * Fee for every (price, transport) pair, written to {@code feesOut}.
+     * The rule lookup is reused while consecutive entries share a transport,
+     * so callers that group by transport mostly skip it.
+     */
+    public void platformFees(long[] agreedPricesVnd, long[] transportIds, long atSecond, long[] feesOut) {
+        if (agreedPricesVnd.length != transportIds.length || feesOut.length < agreedPricesVnd.length) {
+            throw new IllegalArgumentException("Price, transport and output arrays must have matching lengths");
+        }
+        long lastTransportId = 0L;
+        CompiledRule rule = null;
+        for (int i = 0; i < agreedPricesVnd.length; i++) {
+            if (rule == null || transportIds[i] != lastTransportId) {
+                lastTransportId = transportIds[i];
+                rule = ruleFor(lastTransportId, atSecond);
+            }
+            feesOut[i] = rule.fee(agreedPricesVnd[i]);
+        }
+    }
+
+    public int size() {
+        return ruleCount;
+    }
+
+    private static CompiledRule firstEffective(CompiledRule[] rules, long atSecond) {
+        for (CompiledRule rule : rules) {
+            if (rule.effectiveFromSecond <= atSecond && atSecond < rule.effectiveToSecond) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static CompiledRule[] newestFirst(List<CompiledRule> rules) {
+        if (rules.isEmpty()) {
+            return NO_RULES;
+        }
+        CompiledRule[] sorted = rules.toArray(NO_RULES);
+        // Cùng effective_from thì rule mới tạo (ID lớn hơn) thắng
+        Arrays.sort(sorted, Comparator.comparingLong((CompiledRule rule) -> rule.effectiveFromSecond)
+                .thenComparingLong(rule -> rule.ruleId)
+                .reversed());
+        return sorted;
+    }
+
+    /**
+     * One rule reduced to primitives.
+     */
+    public static final class CompiledRule {
+
+        private final long ruleId;
+        private final boolean flat;
+        private final int rateBps;
+        private final long flatFeeVnd;
+        private final long minFeeVnd;
+        private final long maxFeeVnd;
+        private final long effectiveFromSecond;
+        private final long effectiveToSecond;
+
+        private CompiledRule(long ruleId, boolean flat, int rateBps, long flatFeeVnd, long minFeeVnd,
+                             long maxFeeVnd, long effectiveFromSecond, long effectiveToSecond) {
+            this.ruleId = ruleId;
+            this.flat = flat;
+            this.rateBps = rateBps;
+            this.flatFeeVnd = flatFeeVnd;
+            this.minFeeVnd = minFeeVnd;
+            this.maxFeeVnd = maxFeeVnd;
+            this.effectiveFromSecond = effectiveFromSecond;
+            this.effectiveToSecond = effectiveToSecond;
+        }
+
+        private static CompiledRule of(CommissionRule rule) {
+            boolean flat = rule.getRuleType() == CommissionRuleType.FLAT;
+            // commission_rate lưu theo %, 2 chữ số thập phân -> basis points
+            int rateBps = rule.getCommissionRate() != null ? (int) Math.round(rule.getCommissionRate() * 100) : 0;
+            long flatFee = rule.getFlatFeeVnd() != null ? rule.getFlatFeeVnd() : 0L;
+            long minFee = rule.getMinFeeVnd() != null ? rule.getMinFeeVnd() : 0L;
+            long maxFee = rule.getMaxFeeVnd() != null ? rule.getMaxFeeVnd() : Long.MAX_VALUE;
+            long from = epochSecond(rule.getEffectiveFrom());
+            long to = rule.getEffectiveTo() != null ? epochSecond(rule.getEffectiveTo()) : Long.MAX_VALUE;
+            return new CompiledRule(rule.getRuleId() != null ? rule.getRuleId() : 0L,
+                    flat, flat ? 0 : rateBps, flatFee, minFee, Math.max(maxFee, minFee), from, to);
+        }
+
+        /**
+         * Fee for an agreed price: rate × price / 10000 (rounded down, as
+         * before) or the flat fee, clamped to [min, max].
+         */
+        public long fee(long agreedPriceVnd) {
+            long fee = flat ? flatFeeVnd : agreedPriceVnd * rateBps / 10000;
+            if (fee < minFeeVnd) {
+                return minFeeVnd;
+            }
+            return Math.min(fee, maxFeeVnd);
+        }
+
+        public long getRuleId() {
+            return ruleId;
+        }
+
+        public boolean isFlat() {
+            return flat;
+        }
+
+        /**
+         * Nominal rate in basis points; 0 for FLAT rules
+         */
+        public int getRateBps() {
+            return rateBps;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.homeexpress.home_express_api.service.directory;
+
+import com.homeexpress.home_express_api.dto.response.UserDirectoryEntry;
+import com.homeexpress.home_express_api.entity.UserRole;
+import com.homeexpress.home_express_api.repository.CustomerRepository;
+import com.homeexpress.home_express_api.repository.ManagerRepository;
+import com.homeexpress.home_express_api.repository.TransportRepository;
+import com.homeexpress.home_express_api.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read side of the admin user list.
+ *
+ * A page is loaded with a fixed number of queries whatever its size: the
+ * page of user IDs (plus its count), the accounts, and one projection query
+ * per profile table for the roles present on the page. Nothing is loaded as
+ * an entity, so the lazy one-to-one profile associations of {@code User}
+ * are never initialized row by row.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UserDirectoryService {
+
+    // ngram_token_size mặc định của MySQL, dùng cho các FULLTEXT index ở V22
+    private static final int NGRAM_TOKEN_SIZE = 2;
+
+    private static final UserDirectoryEntry.Profile NO_PROFILE = new UserDirectoryEntry.NoProfile();
+
+    private final UserRepository userRepository;
+
+    private final CustomerRepository customerRepository;
+
+    private final TransportRepository transportRepository;
+
+    private final ManagerRepository managerRepository;
+
+    /**
+     * @param search matched against email and profile name; null or blank for no filter
+     */
+    public Page<UserDirectoryEntry> findPage(UserRole role, Boolean active, String search, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        String query = normalizeSearch(search);
+        String roleName = role != null ? role.name() : null;
+        Page<Long> userIds;
+        if (query == null) {
+            userIds = userRepository.findDirectoryUserIds(role, active, pageable);
+        } else if (hasWordShorterThanNgram(query)) {
+            userIds = userRepository.scanDirectoryUserIds(roleName, active, "%" + likeEscape(query) + "%", pageable);
+        } else {
+            userIds = userRepository.searchDirectoryUserIds(roleName, active,
+                    likeEscape(query) + "%", "\"" + query + "\"", pageable);
+        }
+        return new PageImpl<>(load(userIds.getContent()), pageable, userIds.getTotalElements());
+    }
+
+    public Optional<UserDirectoryEntry> findById(Long userId) {
+        List<UserDirectoryEntry> entries = load(List.of(userId));
+        return entries.isEmpty() ? Optional.empty() : Optional.of(entries.get(0));
+    }
+
+    /**
+     * Entries for the given users keyed by user ID; unknown IDs are absent
+     */
+    public Map<Long, UserDirectoryEntry> findByIds(Collection<Long> userIds) {
+        return load(List.copyOf(userIds)).stream()
+                .collect(Collectors.toMap(entry -> entry.user().userId(), Function.identity()));
+    }
+
+    /**
+     * Entries for the given users, in the same order; unknown IDs are skipped
+     */
+    private List<UserDirectoryEntry> load(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, UserDirectoryEntry.Account> accounts = userRepository.findDirectoryAccounts(userIds).stream()
+                .collect(Collectors.toMap(UserDirectoryEntry.Account::userId, Function.identity()));
+
+        Map<UserRole, List<Long>> idsByRole = accounts.values().stream()
+                .filter(account -> account.role() != null)
+                .collect(Collectors.groupingBy(UserDirectoryEntry.Account::role,
+                        Collectors.mapping(UserDirectoryEntry.Account::userId, Collectors.toList())));
+
+        // Profile dùng chung khóa chính với users nên tra theo user_id luôn
+        Map<Long, UserDirectoryEntry.Profile> profiles = new HashMap<>();
+        List<Long> customerIds = idsByRole.getOrDefault(UserRole.CUSTOMER, List.of());
+        if (!customerIds.isEmpty()) {
+            customerRepository.findDirectoryProfiles(customerIds)
+                    .forEach(profile -> profiles.put(profile.customerId(), profile));
+        }
+        List<Long> transportIds = idsByRole.getOrDefault(UserRole.TRANSPORT, List.of());
+        if (!transportIds.isEmpty()) {
+            transportRepository.findDirectoryProfiles(transportIds)
+                    .forEach(profile -> profiles.put(profile.transportId(), profile));
+        }
+        List<Long> managerIds = idsByRole.getOrDefault(UserRole.MANAGER, List.of());
+        if (!managerIds.isEmpty()) {
+            managerRepository.findDirectoryProfiles(managerIds)
+                    .forEach(profile -> profiles.put(profile.managerId(), profile));
+        }
+
+        List<UserDirectoryEntry> entries = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            UserDirectoryEntry.Account account = accounts.get(userId);
+            if (account != null) {
+                entries.add(new UserDirectoryEntry(account, profiles.getOrDefault(userId, NO_PROFILE)));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Lower-cased search term without double quotes (it is sent as a
+     * FULLTEXT phrase), or null when nothing is left to search for.
+     */
+    static String normalizeSearch(String search) {
+        if (search == null) {
+            return null;
+        }
+        String query = search.replace('"', ' ').trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return query.isEmpty() ? null : query;
+    }
+
+    /**
+     * Whether a word of the term is too short for the ngram FULLTEXT
+     * indexes: a phrase with such a word finds nothing there.
+     */
+    static boolean hasWordShorterThanNgram(String query) {
+        for (String word : query.split(" ")) {
+            if (word.codePointCount(0, word.length()) < NGRAM_TOKEN_SIZE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String likeEscape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
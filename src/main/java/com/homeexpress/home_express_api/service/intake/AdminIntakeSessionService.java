@@ -9,6 +9,7 @@ import com.homeexpress.home_express_api.dto.intake.PublishSessionRequest;
 import com.homeexpress.home_express_api.dto.response.AdminIntakeSessionDetailResponse;
 import com.homeexpress.home_express_api.dto.response.AdminIntakeSessionListResponse;
 import com.homeexpress.home_express_api.dto.response.AdminIntakeSessionStatsResponse;
+import com.homeexpress.home_express_api.dto.response.UserDirectoryEntry;
 import com.homeexpress.home_express_api.dto.booking.BookingResponse;
 import com.homeexpress.home_express_api.entity.IntakeSession;
 import com.homeexpress.home_express_api.entity.IntakeSessionItem;
@@ -16,13 +17,14 @@ import com.homeexpress.home_express_api.entity.User;
 import com.homeexpress.home_express_api.entity.UserRole;
 import com.homeexpress.home_express_api.repository.IntakeSessionRepository;
 import com.homeexpress.home_express_api.repository.IntakeSessionItemRepository;
-import com.homeexpress.home_express_api.repository.UserRepository;
 import com.homeexpress.home_express_api.service.BookingService;
+import com.homeexpress.home_express_api.service.directory.UserDirectoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -30,11 +32,16 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.util.StringUtils;
 
@@ -49,55 +56,41 @@ public class AdminIntakeSessionService {
 
     private final IntakeSessionRepository sessionRepository;
     private final IntakeSessionItemRepository itemRepository;
-    private final UserRepository userRepository;
     private final BookingService bookingService;
     private final ObjectMapper objectMapper;
+    private final UserDirectoryService userDirectoryService;
+
+    // Sessions below this average confidence are reviewed first
+    @Value("${ai.detection.confidence-threshold:0.85}")
+    private BigDecimal confidenceThreshold;
 
     // Store active SSE emitters for log streaming
     private final Map<String, SseEmitter> activeEmitters = new ConcurrentHashMap<>();
 
     /**
-     * List all intake sessions with pagination
+     * Review queue of intake sessions. Filters are optional; sessions with
+     * low or unknown AI confidence come first, then the longest waiting.
+     *
+     * @param minAgeMinutes only sessions created at least this long ago
+     * @param maxAgeMinutes only sessions created at most this long ago
      */
     @Transactional(readOnly = true)
-    public AdminIntakeSessionListResponse listSessions(String status, Long customerId, int page, int size) {
+    public AdminIntakeSessionListResponse listSessions(String status, Long customerId,
+                                                       Integer minAgeMinutes, Integer maxAgeMinutes,
+                                                       int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<IntakeSession> sessions;
-
-        if (status != null && customerId != null) {
-            sessions = sessionRepository.findAll(pageable); // TODO: Add filtering by status and customerId
-        } else if (status != null) {
-            sessions = sessionRepository.findAll(pageable); // TODO: Add filtering by status
-        } else if (customerId != null) {
-            User user = userRepository.findById(customerId).orElse(null);
-            if (user != null) {
-                List<IntakeSession> userSessions = sessionRepository.findByUserAndStatus(user, "active");
-                // Convert to page manually
-                int start = (int) pageable.getOffset();
-                int end = Math.min(start + pageable.getPageSize(), userSessions.size());
-                List<IntakeSession> pagedSessions = userSessions.subList(start, end);
-                // Create a custom page response
-                return AdminIntakeSessionListResponse.builder()
-                        .sessions(pagedSessions.stream()
-                                .map(this::mapToDetailResponse)
-                                .collect(Collectors.toList()))
-                        .total(userSessions.size())
-                        .page(page)
-                        .size(size)
-                        .build();
-            }
-            sessions = Page.empty(pageable);
-        } else {
-            sessions = sessionRepository.findAll(pageable);
-        }
-
-        List<AdminIntakeSessionDetailResponse> sessionList = sessions.getContent().stream()
-                .map(this::mapToDetailResponse)
-                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Page<String> sessionIds = sessionRepository.findReviewQueueIds(
+                StringUtils.hasText(status) ? status.trim() : null,
+                customerId,
+                maxAgeMinutes != null ? now.minusMinutes(maxAgeMinutes) : null,
+                minAgeMinutes != null ? now.minusMinutes(minAgeMinutes) : null,
+                confidenceThreshold,
+                pageable);
 
         return AdminIntakeSessionListResponse.builder()
-                .sessions(sessionList)
-                .total((int) sessions.getTotalElements())
+                .sessions(loadDetails(sessionIds.getContent()))
+                .total((int) sessionIds.getTotalElements())
                 .page(page)
                 .size(size)
                 .build();
@@ -108,19 +101,27 @@ public class AdminIntakeSessionService {
      */
     @Transactional(readOnly = true)
     public AdminIntakeSessionStatsResponse getSessionStats(String status) {
-        long total = sessionRepository.countByStatus(status);
-        Double avgConfidence = sessionRepository.getAverageConfidenceByStatus(status);
-        LocalDateTime oldestCreatedAt = sessionRepository.getOldestCreatedAtByStatus(status);
-        
+        // One grouped query for all statuses instead of three aggregates
+        Map<String, Long> countByStatus = new LinkedHashMap<>();
+        IntakeSessionRepository.StatusStats selected = null;
+        for (IntakeSessionRepository.StatusStats stats : sessionRepository.aggregateStatsByStatus()) {
+            countByStatus.put(stats.getStatus(), stats.getTotal());
+            // The status column collation is case-insensitive; match it the same way
+            if (stats.getStatus() != null && stats.getStatus().equalsIgnoreCase(status)) {
+                selected = stats;
+            }
+        }
+
         long oldestWaitTime = 0;
-        if (oldestCreatedAt != null) {
-            oldestWaitTime = java.time.Duration.between(oldestCreatedAt, LocalDateTime.now()).getSeconds();
+        if (selected != null && selected.getOldestCreatedAt() != null) {
+            oldestWaitTime = java.time.Duration.between(selected.getOldestCreatedAt(), LocalDateTime.now()).getSeconds();
         }
         
         return AdminIntakeSessionStatsResponse.builder()
-                .total(total)
-                .avgConfidence(avgConfidence != null ? avgConfidence : 0.0)
+                .total(selected != null ? selected.getTotal() : 0L)
+                .avgConfidence(selected != null && selected.getAvgConfidence() != null ? selected.getAvgConfidence() : 0.0)
                 .oldestWaitTimeSeconds(oldestWaitTime)
+                .countByStatus(countByStatus)
                 .build();
     }
 
@@ -129,10 +130,11 @@ public class AdminIntakeSessionService {
      */
     @Transactional(readOnly = true)
     public AdminIntakeSessionDetailResponse getSessionDetail(String sessionId) {
-        IntakeSession session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found: " + sessionId));
-
-        return mapToDetailResponse(session);
+        List<AdminIntakeSessionDetailResponse> details = loadDetails(List.of(sessionId));
+        if (details.isEmpty()) {
+            throw new RuntimeException("Session not found: " + sessionId);
+        }
+        return details.get(0);
     }
 
     /**
@@ -394,16 +396,57 @@ public class AdminIntakeSessionService {
         }
     }
 
-    private AdminIntakeSessionDetailResponse mapToDetailResponse(IntakeSession session) {
-        User user = session.getUser();
+    /**
+     * Detail responses for the given sessions, in the same order. Items and
+     * customers of all sessions are loaded in one query each.
+     */
+    private List<AdminIntakeSessionDetailResponse> loadDetails(List<String> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, IntakeSession> sessions = sessionRepository.findAllById(sessionIds).stream()
+                .collect(Collectors.toMap(IntakeSession::getSessionId, Function.identity()));
+        Map<String, List<IntakeSessionItem>> itemsBySession = itemRepository
+                .findBySessionSessionIdInOrderByIdAsc(sessionIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getSession().getSessionId()));
+        // user is a lazy proxy; reading its id does not load it
+        Set<Long> userIds = sessions.values().stream()
+                .map(IntakeSession::getUser)
+                .filter(Objects::nonNull)
+                .map(User::getUserId)
+                .collect(Collectors.toSet());
+        Map<Long, UserDirectoryEntry> customers = userIds.isEmpty()
+                ? Map.of()
+                : userDirectoryService.findByIds(userIds);
+
+        List<AdminIntakeSessionDetailResponse> details = new ArrayList<>(sessionIds.size());
+        for (String sessionId : sessionIds) {
+            IntakeSession session = sessions.get(sessionId);
+            if (session != null) {
+                Long userId = session.getUser() != null ? session.getUser().getUserId() : null;
+                details.add(mapToDetailResponse(session,
+                        itemsBySession.getOrDefault(sessionId, List.of()),
+                        userId,
+                        userId != null ? customers.get(userId) : null));
+            }
+        }
+        return details;
+    }
+
+    private AdminIntakeSessionDetailResponse mapToDetailResponse(IntakeSession session, List<IntakeSessionItem> items,
+                                                                 Long userId, UserDirectoryEntry customer) {
         CustomerInfo customerInfo = null;
         
-        if (user != null) {
+        if (customer != null) {
+            String customerName = customer.profile() instanceof UserDirectoryEntry.CustomerProfile profile
+                    && StringUtils.hasText(profile.fullName())
+                    ? profile.fullName()
+                    : customer.user().email();
             customerInfo = CustomerInfo.builder()
-                    .customerId(user.getUserId())
-                    .customerName(user.getEmail()) // Use email as name
-                    .customerEmail(user.getEmail())
-                    .customerAvatar(null) 
+                    .customerId(userId)
+                    .customerName(customerName)
+                    .customerEmail(customer.user().email())
+                    .customerAvatar(customer.user().avatarUrl())
                     .build();
         }
 
@@ -425,7 +468,7 @@ public class AdminIntakeSessionService {
             }
         }
 
-        List<String> imageUrls = session.getItems().stream()
+        List<String> imageUrls = items.stream()
                 .map(IntakeSessionItem::getImageUrl)
                 .filter(StringUtils::hasText)
                 .distinct()
@@ -433,18 +476,18 @@ public class AdminIntakeSessionService {
 
         return AdminIntakeSessionDetailResponse.builder()
                 .sessionId(session.getSessionId())
-                .customerId(user != null ? user.getUserId() : null)
+                .customerId(userId)
                 .status(session.getStatus())
                 .imageUrls(imageUrls)
                 .imageCount(imageUrls.size())
                 .detectionResults(session.getMetadata())
                 .averageConfidence(session.getAverageConfidence() != null 
                         ? session.getAverageConfidence().doubleValue() : null)
-                .items(session.getItems().stream()
+                .items(items.stream()
                         .map(this::mapItemToDto)
                         .collect(Collectors.toList()))
                 .estimatedPrice(null) // TODO: Calculate from items
-                .estimatedWeightKg(session.getItems().stream()
+                .estimatedWeightKg(items.stream()
                         .map(IntakeSessionItem::getWeightKg)
                         .filter(w -> w != null)
                         .reduce(BigDecimal.ZERO, BigDecimal::add)
@@ -0,0 +1,438 @@
+package com.homeexpress.home_express_api.service.intake;
+
+import com.homeexpress.home_express_api.entity.ProductModel;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory autocomplete over {@code product_models}.
+ *
+ * Brand, model and product name are split into normalized tokens (lower
+ * case, Vietnamese diacritics removed, split on anything that is not a
+ * letter or digit) and stored in two tries: brand tokens only, and all
+ * tokens. A query matches a model when every query token is a prefix of
+ * one of its tokens; the longest query token is looked up in the trie and
+ * the rest are checked against the candidates. Results are ranked like the
+ * SQL queries they replace: system entries first, then usage count, then
+ * last use. Only models with at least 2 uses or from the system are
+ * suggested, but all are indexed so they surface as soon as they qualify.
+ *
+ * Reads take a shared lock; {@link #upsert}, {@link #addUsage} and
+ * {@link #rebuild} take the exclusive lock.
+ */
+public final class ProductModelAutocomplete {
+
+    private static final String SYSTEM_SOURCE = "system";
+
+    private static final int MIN_USAGE = 2;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparing((Entry entry) -> entry.system).reversed()
+            .thenComparing(Comparator.comparingInt((Entry entry) -> entry.usageCount).reversed())
+            .thenComparing(entry -> entry.lastUsedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(entry -> entry.modelId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Entry> entries = new HashMap<>();
+
+    private Map<String, Set<Long>> byBrand = new HashMap<>();
+
+    private TokenTrie brandTrie = new TokenTrie();
+
+    private TokenTrie allTrie = new TokenTrie();
+
+    private volatile boolean loaded;
+
+    /**
+     * Whether {@link #rebuild} has run; callers query the database until then
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Replace the whole index.
+     *
+     * @param pendingUsage uses recorded but not yet written, added to each model's count
+     */
+    public void rebuild(Collection<ProductModel> models, ToIntFunction<Long> pendingUsage) {
+        Map<Long, Entry> newEntries = new HashMap<>();
+        Map<String, Set<Long>> newByBrand = new HashMap<>();
+        TokenTrie newBrandTrie = new TokenTrie();
+        TokenTrie newAllTrie = new TokenTrie();
+        for (ProductModel model : models) {
+            if (model.getModelId() == null || model.getBrand() == null || model.getModel() == null) {
+                continue;
+            }
+            Entry entry = new Entry(model, pendingUsage.applyAsInt(model.getModelId()));
+            index(entry, newEntries, newByBrand, newBrandTrie, newAllTrie);
+        }
+
+        lock.writeLock().lock();
+        try {
+            entries = newEntries;
+            byBrand = newByBrand;
+            brandTrie = newBrandTrie;
+            allTrie = newAllTrie;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace one model after it was saved
+     */
+    public void upsert(ProductModel model, int pendingUsage) {
+        if (model.getModelId() == null || model.getBrand() == null || model.getModel() == null) {
+            return;
+        }
+        Entry entry = new Entry(model, pendingUsage);
+        lock.writeLock().lock();
+        try {
+            unindex(entries.get(entry.modelId));
+            index(entry, entries, byBrand, brandTrie, allTrie);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Count a use right away so ranking follows clicks before they are written
+     */
+    public void addUsage(Long modelId, int uses, LocalDateTime usedAt) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(modelId);
+            if (entry != null) {
+                entry.usageCount += uses;
+                entry.lastUsedAt = usedAt;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Brands with a token starting with each query token, best first
+     */
+    public List<String> searchBrands(String query, int limit) {
+        String[] queryTokens = tokenize(query);
+        if (queryTokens.length == 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // Gom theo brand: brand có hàng system hoặc lượt dùng cao nhất lên trước
+            Map<String, Entry> bestByBrand = new LinkedHashMap<>();
+            for (Entry entry : matching(brandTrie, queryTokens, entry -> entry.brandTokens)) {
+                if (!entry.isSuggested()) {
+                    continue;
+                }
+                bestByBrand.merge(entry.brand, entry, (a, b) -> RANKING.compare(a, b) <= 0 ? a : b);
+            }
+            return bestByBrand.values().stream()
+                    .sorted(RANKING)
+                    .limit(limit)
+                    .map(entry -> entry.brand)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Models whose brand, model or product name tokens match the query; the
+     * most used models when the query is blank.
+     */
+    public List<ProductModel> searchModels(String query, int limit) {
+        String[] queryTokens = tokenize(query);
+        lock.readLock().lock();
+        try {
+            Collection<Entry> candidates = queryTokens.length == 0
+                    ? entries.values()
+                    : matching(allTrie, queryTokens, entry -> entry.allTokens);
+            return ranked(candidates, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Models of {@code brand} (case-insensitive) whose model tokens match the query
+     */
+    public List<ProductModel> findModelsByBrand(String brand, String modelQuery, int limit) {
+        String[] queryTokens = tokenize(modelQuery);
+        lock.readLock().lock();
+        try {
+            Set<Long> ids = byBrand.getOrDefault(brand.toLowerCase(Locale.ROOT), Set.of());
+            List<Entry> candidates = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Entry entry = entries.get(id);
+                if (entry != null && matchesAll(entry.modelTokens, queryTokens, -1)) {
+                    candidates.add(entry);
+                }
+            }
+            return ranked(candidates, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower case, without diacritics, split on anything that is not a letter or digit
+     */
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D')
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(TOKEN_SEPARATOR.split(folded))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private List<Entry> matching(TokenTrie trie, String[] queryTokens, Function<Entry, String[]> tokensOf) {
+        // Tra trie bằng token dài nhất (ít ứng viên nhất), các token còn lại lọc sau
+        int longest = 0;
+        for (int i = 1; i < queryTokens.length; i++) {
+            if (queryTokens[i].length() > queryTokens[longest].length()) {
+                longest = i;
+            }
+        }
+        List<Entry> result = new ArrayList<>();
+        for (Long id : trie.withPrefix(queryTokens[longest])) {
+            Entry entry = entries.get(id);
+            if (entry != null && matchesAll(tokensOf.apply(entry), queryTokens, longest)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private static boolean matchesAll(String[] entryTokens, String[] queryTokens, int skip) {
+        for (int i = 0; i < queryTokens.length; i++) {
+            if (i == skip) {
+                continue;
+            }
+            boolean found = false;
+            for (String token : entryTokens) {
+                if (token.startsWith(queryTokens[i])) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<ProductModel> ranked(Collection<Entry> candidates, int limit) {
+        return candidates.stream()
+                .filter(Entry::isSuggested)
+                .sorted(RANKING)
+                .limit(limit)
+                .map(Entry::toModel)
+                .toList();
+    }
+
+    private static void index(Entry entry, Map<Long, Entry> entries, Map<String, Set<Long>> byBrand,
+                              TokenTrie brandTrie, TokenTrie allTrie) {
+        entries.put(entry.modelId, entry);
+        byBrand.computeIfAbsent(entry.brandKey, key -> new HashSet<>()).add(entry.modelId);
+        for (String token : entry.brandTokens) {
+            brandTrie.add(token, entry.modelId);
+        }
+        for (String token : entry.allTokens) {
+            allTrie.add(token, entry.modelId);
+        }
+    }
+
+    private void unindex(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        entries.remove(entry.modelId);
+        Set<Long> brandIds = byBrand.get(entry.brandKey);
+        if (brandIds != null) {
+            brandIds.remove(entry.modelId);
+            if (brandIds.isEmpty()) {
+                byBrand.remove(entry.brandKey);
+            }
+        }
+        for (String token : entry.brandTokens) {
+            brandTrie.remove(token, entry.modelId);
+        }
+        for (String token : entry.allTokens) {
+            allTrie.remove(token, entry.modelId);
+        }
+    }
+
+    /**
+     * Snapshot of a product model. The usage fields change under the write lock.
+     */
+    private static final class Entry {
+
+        private final Long modelId;
+        private final String brand;
+        private final String brandKey;
+        private final String model;
+        private final String productName;
+        private final Long categoryId;
+        private final BigDecimal weightKg;
+        private final String dimensionsMm;
+        private final String source;
+        private final String sourceUrl;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+        private final boolean system;
+        private final String[] brandTokens;
+        private final String[] modelTokens;
+        private final String[] allTokens;
+        private int usageCount;
+        private LocalDateTime lastUsedAt;
+
+        private Entry(ProductModel model, int pendingUsage) {
+            this.modelId = model.getModelId();
+            this.brand = model.getBrand();
+            this.brandKey = model.getBrand().toLowerCase(Locale.ROOT);
+            this.model = model.getModel();
+            this.productName = model.getProductName();
+            this.categoryId = model.getCategoryId();
+            this.weightKg = model.getWeightKg();
+            this.dimensionsMm = model.getDimensionsMm();
+            this.source = model.getSource();
+            this.sourceUrl = model.getSourceUrl();
+            this.createdAt = model.getCreatedAt();
+            this.updatedAt = model.getUpdatedAt();
+            this.system = SYSTEM_SOURCE.equals(model.getSource());
+            this.brandTokens = tokenize(model.getBrand());
+            this.modelTokens = tokenize(model.getModel());
+            this.allTokens = tokenize(model.getBrand() + " " + model.getModel() + " "
+                    + (model.getProductName() != null ? model.getProductName() : ""));
+            this.usageCount = (model.getUsageCount() != null ? model.getUsageCount() : 0) + pendingUsage;
+            this.lastUsedAt = model.getLastUsedAt();
+        }
+
+        private boolean isSuggested() {
+            return system || usageCount >= MIN_USAGE;
+        }
+
+        private ProductModel toModel() {
+            ProductModel copy = new ProductModel();
+            copy.setModelId(modelId);
+            copy.setBrand(brand);
+            copy.setModel(model);
+            copy.setProductName(productName);
+            copy.setCategoryId(categoryId);
+            copy.setWeightKg(weightKg);
+            copy.setDimensionsMm(dimensionsMm);
+            copy.setSource(source);
+            copy.setSourceUrl(sourceUrl);
+            copy.setUsageCount(usageCount);
+            copy.setLastUsedAt(lastUsedAt);
+            copy.setCreatedAt(createdAt);
+            copy.setUpdatedAt(updatedAt);
+            return copy;
+        }
+    }
+
+    /**
+     * Character trie from token to the IDs of the models having that token
+     */
+    private static final class TokenTrie {
+
+        private final Node root = new Node();
+
+        private void add(String token, Long id) {
+            Node node = root;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.children.computeIfAbsent(token.charAt(i), c -> new Node());
+            }
+            if (node.ids == null) {
+                node.ids = new HashSet<>();
+            }
+            node.ids.add(id);
+        }
+
+        private void remove(String token, Long id) {
+            Deque<Node> path = new ArrayDeque<>();
+            Node node = root;
+            for (int i = 0; i < token.length() && node != null; i++) {
+                path.push(node);
+                node = node.children.get(token.charAt(i));
+            }
+            if (node == null || node.ids == null) {
+                return;
+            }
+            node.ids.remove(id);
+            // Cắt các nhánh không còn model nào
+            for (int i = token.length() - 1; i >= 0 && node.isEmpty(); i--) {
+                Node parent = path.pop();
+                parent.children.remove(token.charAt(i));
+                node = parent;
+            }
+        }
+
+        private Set<Long> withPrefix(String prefix) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            if (node == null) {
+                return Set.of();
+            }
+            Set<Long> ids = new HashSet<>();
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(node);
+            while (!stack.isEmpty()) {
+                Node current = stack.pop();
+                if (current.ids != null) {
+                    ids.addAll(current.ids);
+                }
+                current.children.values().forEach(stack::push);
+            }
+            return ids;
+        }
+
+        private static final class Node {
+
+            private final Map<Character, Node> children = new HashMap<>(4);
+            private Set<Long> ids;
+
+            private boolean isEmpty() {
+                return children.isEmpty() && (ids == null || ids.isEmpty());
+            }
+        }
+    }
+}
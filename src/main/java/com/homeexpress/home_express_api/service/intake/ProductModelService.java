@@ -2,35 +2,80 @@ package com.homeexpress.home_express_api.service.intake;
 
 import com.homeexpress.home_express_api.entity.ProductModel;
 import com.homeexpress.home_express_api.repository.ProductModelRepository;
+import com.homeexpress.home_express_api.util.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import org.springframework.scheduling.annotation.Scheduled;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class ProductModelService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductModelService.class);
+
+    private static final String ADD_USAGE_SQL = """
+            UPDATE product_models SET usage_count = usage_count + ?, last_used_at = ?
+            WHERE model_id = ?
+            """;
+
     private final ProductModelRepository productModelRepository;
 
-    public ProductModelService(ProductModelRepository productModelRepository) {
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate cleanupTransaction;
+
+    private final int suggestionLimit;
+
+    // Gợi ý autocomplete phục vụ từ bộ nhớ; trước khi nạp xong thì query DB như cũ
+    private final ProductModelAutocomplete autocomplete = new ProductModelAutocomplete();
+
+    // Lượt dùng chưa ghi xuống DB, gộp theo model và flush định kỳ
+    private final Map<Long, PendingUsage> pendingUsage = new ConcurrentHashMap<>();
+
+    private final Object indexLock = new Object();
+
+    public ProductModelService(ProductModelRepository productModelRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${intake.product-models.suggestion-limit:20}") int suggestionLimit) {
         this.productModelRepository = productModelRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cleanupTransaction = new TransactionTemplate(transactionManager);
+        this.suggestionLimit = suggestionLimit;
     }
 
     public List<String> searchBrands(String query) {
         if (query == null || query.trim().isEmpty()) {
             return List.of();
         }
+        if (autocomplete.isLoaded()) {
+            return autocomplete.searchBrands(query.trim(), suggestionLimit);
+        }
         return productModelRepository.findBrandsByQuery(query.trim());
     }
 
     public List<ProductModel> searchModels(String query) {
+        if (autocomplete.isLoaded()) {
+            return autocomplete.searchModels(query, suggestionLimit);
+        }
         if (query == null || query.trim().isEmpty()) {
             return productModelRepository.findTopUsedModels();
         }
@@ -42,6 +87,9 @@ public class ProductModelService {
             return List.of();
         }
         String query = modelQuery == null ? "" : modelQuery.trim();
+        if (autocomplete.isLoaded()) {
+            return autocomplete.findModelsByBrand(brand, query, suggestionLimit);
+        }
         return productModelRepository.findModelsByBrand(brand, query);
     }
 
@@ -82,7 +130,7 @@ public class ProductModelService {
                 existingModel.setDimensionsMm(model.getDimensionsMm());
             }
             
-            return productModelRepository.save(existingModel);
+            return indexAfterCommit(productModelRepository.save(existingModel));
         } else {
             // Nếu chưa có thì tạo mới
             model.setUsageCount(1); // Mới tạo thì uy tín thấp (1)
@@ -90,7 +138,7 @@ public class ProductModelService {
             if (model.getSource() == null) {
                 model.setSource("user_save"); // Mặc định là do user nhập
             }
-            return productModelRepository.save(model);
+            return indexAfterCommit(productModelRepository.save(model));
         }
     }
 
@@ -122,17 +170,105 @@ public class ProductModelService {
 
     // Scheduled Job: Chạy mỗi đêm lúc 3h sáng để dọn rác
     @Scheduled(cron = "0 0 3 * * ?")
-    @Transactional
     public void cleanupStaleEntries() {
+        // Ghi lượt dùng đang chờ trước để không xóa nhầm model vừa được chọn.
+        // Flush ngoài transaction xóa: lượt dùng đã lấy khỏi pendingUsage không được mất theo rollback
+        flushUsage();
         // Xóa những cái tạo ra đã 7 ngày mà vẫn chỉ có 1 người dùng (usage < 2)
         // Trừ những cái do hệ thống (system) tạo ra
         LocalDateTime cutoff = LocalDateTime.now().minusDays(7);
-        productModelRepository.deleteStaleEntries(cutoff);
+        cleanupTransaction.executeWithoutResult(status -> productModelRepository.deleteStaleEntries(cutoff));
         log.info("Đã dọn dẹp các model rác/mồ côi cũ hơn {}", cutoff);
+        rebuildIndex();
     }
 
-    @Transactional
+    /**
+     * Count a selection. The use is ranked immediately and written to the
+     * database with the next {@link #flushUsage} batch.
+     */
     public void recordUsage(Long modelId) {
-        productModelRepository.incrementUsageCount(modelId);
+        LocalDateTime usedAt = LocalDateTime.now();
+        pendingUsage.merge(modelId, new PendingUsage(1, usedAt), PendingUsage::plus);
+        autocomplete.addUsage(modelId, 1, usedAt);
+    }
+
+    /**
+     * Write buffered usage counts, with the time of each model's latest use,
+     * in one JDBC batch. Counts that fail to write are put back for the next run.
+     * Must not run inside a caller's transaction: the counts leave
+     * {@code pendingUsage} before the batch, so a later rollback would lose them.
+     */
+    @Scheduled(fixedDelayString = "${intake.product-models.usage-flush-ms:30000}")
+    @PreDestroy
+    public void flushUsage() {
+        if (pendingUsage.isEmpty()) {
+            return;
+        }
+        // Giữ lock tới khi batch ghi xong: rebuildIndex chạy giữa remove() và commit
+        // sẽ không thấy lượt dùng ở cả pendingUsage lẫn DB
+        synchronized (indexLock) {
+            Map<Long, PendingUsage> flushed = new HashMap<>();
+            List<Object[]> batch = new ArrayList<>();
+            for (Long modelId : List.copyOf(pendingUsage.keySet())) {
+                // remove() là atomic với merge() nên không mất lượt dùng ghi vào giữa chừng
+                PendingUsage usage = pendingUsage.remove(modelId);
+                if (usage != null) {
+                    flushed.put(modelId, usage);
+                    batch.add(new Object[] {usage.uses(), Timestamp.valueOf(usage.lastUsedAt()), modelId});
+                }
+            }
+            try {
+                jdbcTemplate.batchUpdate(ADD_USAGE_SQL, batch);
+                log.debug("Flushed usage counts for {} product models", batch.size());
+            } catch (RuntimeException e) {
+                flushed.forEach((modelId, usage) -> pendingUsage.merge(modelId, usage, PendingUsage::plus));
+                log.warn("Không ghi được lượt dùng của {} model, sẽ thử lại: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reload the autocomplete index from the database; also picks up models
+     * saved on other nodes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${intake.product-models.index-refresh-ms:600000}",
+            initialDelayString = "${intake.product-models.index-refresh-ms:600000}")
+    public void rebuildIndex() {
+        // Giữ lock trong lúc đọc DB để model lưu cùng lúc được upsert sau khi rebuild xong
+        synchronized (indexLock) {
+            try {
+                List<ProductModel> models = productModelRepository.findAll();
+                autocomplete.rebuild(models, this::pendingUses);
+                log.debug("Loaded {} product models into the autocomplete index", models.size());
+            } catch (RuntimeException e) {
+                log.warn("Không nạp được autocomplete index cho product models: {}", e.getMessage());
+            }
+        }
+    }
+
+    private int pendingUses(Long modelId) {
+        PendingUsage usage = pendingUsage.get(modelId);
+        return usage != null ? usage.uses() : 0;
+    }
+
+    private ProductModel indexAfterCommit(ProductModel saved) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (indexLock) {
+                autocomplete.upsert(saved, pendingUses(saved.getModelId()));
+            }
+        });
+        return saved;
+    }
+
+    /**
+     * Uses of one model not yet written, and when the latest of them happened
+     */
+    private record PendingUsage(int uses, LocalDateTime lastUsedAt) {
+
+        PendingUsage plus(PendingUsage other) {
+            LocalDateTime latest = other.lastUsedAt.isAfter(lastUsedAt) ? other.lastUsedAt : lastUsedAt;
+            return new PendingUsage(uses + other.uses, latest);
+        }
     }
 }
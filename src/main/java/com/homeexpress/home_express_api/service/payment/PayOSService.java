@@ -1,8 +1,11 @@
 package com.homeexpress.home_express_api.service.payment;
 
 import com.homeexpress.home_express_api.entity.Booking;
+import com.homeexpress.home_express_api.service.sequence.DocumentSequenceService;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import vn.payos.PayOS;
@@ -15,27 +18,36 @@ import vn.payos.type.WebhookData;
 public class PayOSService {
 
     private static final long MAX_ORDER_CODE = 999_999_999_999_999L;
-    private static final long BOOKING_ID_MOD = 100_000L;
-    private static final long TIMESTAMP_MOD = 1_000_000_000L;
-    private static final long BOOKING_FACTOR = 1_000_000_000L;
+    private static final long ORDER_SEQUENCE_FACTOR = 1_000_000_000L;
+    private static final String ORDER_CODE_SEQUENCE = "PAYOS";
+    private static final DateTimeFormatter ORDER_DAY_FORMAT = DateTimeFormatter.ofPattern("yyMMdd");
 
     private final PayOS payOS;
 
+    private final DocumentSequenceService documentSequenceService;
+
     @Value("${payos.return-url}")
     private String returnUrl;
 
     @Value("${payos.cancel-url}")
     private String cancelUrl;
 
-    public PayOSService(PayOS payOS) {
+    public PayOSService(PayOS payOS, DocumentSequenceService documentSequenceService) {
         this.payOS = payOS;
+        this.documentSequenceService = documentSequenceService;
     }
 
-    public long generateOrderCode(Long bookingId) {
-        long safeBookingId = bookingId != null ? bookingId : 0L;
-        long compressedBooking = Math.abs(safeBookingId % BOOKING_ID_MOD);
-        long timestampFragment = Math.abs(System.currentTimeMillis() % TIMESTAMP_MOD);
-        long orderCode = compressedBooking * BOOKING_FACTOR + timestampFragment;
+    /**
+     * Order code yyMMdd × 10^9 + today's PAYOS sequence, e.g. 250601000000042:
+     * unique across nodes and within the gateway's 15-digit limit.
+     */
+    public long generateOrderCode() {
+        LocalDate today = LocalDate.now();
+        long sequence = documentSequenceService.next(ORDER_CODE_SEQUENCE, today);
+        if (sequence >= ORDER_SEQUENCE_FACTOR) {
+            throw new IllegalStateException("Daily PayOS order code sequence exhausted");
+        }
+        long orderCode = Long.parseLong(today.format(ORDER_DAY_FORMAT)) * ORDER_SEQUENCE_FACTOR + sequence;
 
         if (orderCode > MAX_ORDER_CODE) {
             throw new IllegalStateException("Generated order code exceeds gateway limit");
@@ -0,0 +1,222 @@
+package com.homeexpress.home_express_api.service.payment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import vn.payos.type.WebhookData;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Storage side of PayOS webhook ingestion: the {@code payos_webhook_inbox} table.
+ *
+ * A verified webhook is written once, keyed by orderCode + reference, so
+ * PayOS retries of the same notification are counted as duplicates and
+ * dropped. {@link PayOsWebhookWorker} claims rows in inbox order with at most
+ * one unfinished row per booking in flight, so payments of a booking are
+ * confirmed in the order PayOS reported them, on any number of nodes.
+ */
+@Service
+public class PayOsWebhookInbox {
+
+    private static final String STATUS_PENDING = "PENDING";
+    private static final String STATUS_FAILED = "FAILED";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    /*
+     * Plain INSERT: a duplicate dedupe_key is the only duplicate-key error this
+     * table can raise, and every other error (NULL, truncation, bad value) still
+     * fails the insert, unlike INSERT IGNORE. Update counts of ON DUPLICATE KEY
+     * UPDATE depend on the driver's useAffectedRows setting, so they are not used.
+     */
+    private static final String INSERT_SQL = """
+            INSERT INTO payos_webhook_inbox
+                (dedupe_key, order_code, reference, payment_link_id, amount, booking_id, payload,
+                 status, received_at, next_attempt_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 'PENDING', ?, ?)
+            """;
+
+    /*
+     * The subquery is a plain consistent read (no lock), so a row another node
+     * has locked but not yet marked still holds back later rows of its booking.
+     */
+    private static final String LOCK_READY_SQL = """
+            SELECT i.inbox_id, i.order_code, i.reference, i.payment_link_id, i.amount, i.booking_id,
+                   i.attempts, i.received_at
+            FROM payos_webhook_inbox i
+            WHERE i.status = 'PENDING' AND i.next_attempt_at <= ?
+              AND NOT EXISTS (
+                  SELECT 1 FROM payos_webhook_inbox e
+                  WHERE e.booking_id = i.booking_id AND e.inbox_id < i.inbox_id
+                    AND e.status IN ('PENDING', 'PROCESSING'))
+            ORDER BY i.inbox_id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String MARK_PROCESSING_SQL = """
+            UPDATE payos_webhook_inbox SET status = 'PROCESSING', claimed_at = :now
+            WHERE inbox_id IN (:inboxIds)
+            """;
+
+    private static final String MARK_DONE_SQL = """
+            UPDATE payos_webhook_inbox SET status = 'DONE', processed_at = ?, last_error = NULL
+            WHERE inbox_id = ?
+            """;
+
+    private static final String MARK_RETRY_SQL = """
+            UPDATE payos_webhook_inbox
+            SET status = ?, attempts = ?, next_attempt_at = ?, last_error = ?, claimed_at = NULL
+            WHERE inbox_id = ?
+            """;
+
+    private static final String RELEASE_STALE_SQL = """
+            UPDATE payos_webhook_inbox SET status = 'PENDING', claimed_at = NULL
+            WHERE status = 'PROCESSING' AND claimed_at < ?
+            """;
+
+    private static final String BACKLOG_SQL = """
+            SELECT COUNT(*) AS backlog, MIN(received_at) AS oldest
+            FROM payos_webhook_inbox
+            WHERE status IN ('PENDING', 'PROCESSING')
+            """;
+
+    private static final RowMapper<Entry> ENTRY_MAPPER = (rs, rowNum) -> new Entry(
+            rs.getLong("inbox_id"),
+            rs.getLong("order_code"),
+            rs.getString("reference"),
+            rs.getString("payment_link_id"),
+            rs.getObject("amount", Long.class),
+            rs.getObject("booking_id", Long.class),
+            rs.getInt("attempts"),
+            rs.getTimestamp("received_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter accepted;
+
+    private final Counter duplicates;
+
+    public PayOsWebhookInbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.objectMapper = objectMapper;
+        this.accepted = Counter.builder("payos.webhook.received")
+                .description("Verified PayOS webhooks written to the inbox or dropped as duplicates")
+                .tag("outcome", "accepted")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("payos.webhook.received")
+                .description("Verified PayOS webhooks written to the inbox or dropped as duplicates")
+                .tag("outcome", "duplicate")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Store a verified successful webhook.
+     *
+     * @param data verified webhook data
+     * @param bookingId booking of the payment, if known; rows without one are not ordered
+     * @return false if the same notification was already stored
+     */
+    public boolean add(WebhookData data, Long bookingId) {
+        String reference = StringUtils.hasText(data.getReference()) ? data.getReference() : null;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.update(INSERT_SQL,
+                    data.getOrderCode() + ":" + (reference != null ? reference : ""),
+                    data.getOrderCode(),
+                    reference,
+                    data.getPaymentLinkId(),
+                    data.getAmount() != null ? data.getAmount().longValue() : null,
+                    bookingId,
+                    toJson(data),
+                    now,
+                    now);
+        } catch (DuplicateKeyException e) {
+            duplicates.increment();
+            return false;
+        }
+        accepted.increment();
+        return true;
+    }
+
+    /**
+     * Lock the next ready rows and mark them PROCESSING. Must run in a
+     * transaction so the locks are held until the marks commit.
+     */
+    List<Entry> claim(LocalDateTime now, int limit) {
+        List<Entry> ready = jdbcTemplate.query(LOCK_READY_SQL, ENTRY_MAPPER, Timestamp.valueOf(now), limit);
+        if (!ready.isEmpty()) {
+            namedJdbcTemplate.update(MARK_PROCESSING_SQL, new MapSqlParameterSource()
+                    .addValue("now", Timestamp.valueOf(now))
+                    .addValue("inboxIds", ready.stream().map(Entry::inboxId).toList()));
+        }
+        return ready;
+    }
+
+    void markDone(long inboxId, LocalDateTime now) {
+        jdbcTemplate.update(MARK_DONE_SQL, Timestamp.valueOf(now), inboxId);
+    }
+
+    void markRetry(long inboxId, int attempts, LocalDateTime nextAttemptAt, String error) {
+        jdbcTemplate.update(MARK_RETRY_SQL, STATUS_PENDING, attempts, Timestamp.valueOf(nextAttemptAt),
+                truncate(error), inboxId);
+    }
+
+    void markFailed(long inboxId, int attempts, LocalDateTime now, String error) {
+        jdbcTemplate.update(MARK_RETRY_SQL, STATUS_FAILED, attempts, Timestamp.valueOf(now), truncate(error), inboxId);
+    }
+
+    /**
+     * Return rows claimed before {@code claimedBefore} to PENDING; their node
+     * died or stalled. Reprocessing is safe because confirming a COMPLETED
+     * payment is a no-op.
+     */
+    int releaseStale(LocalDateTime claimedBefore) {
+        return jdbcTemplate.update(RELEASE_STALE_SQL, Timestamp.valueOf(claimedBefore));
+    }
+
+    Backlog backlog() {
+        return jdbcTemplate.queryForObject(BACKLOG_SQL, (rs, rowNum) -> {
+            Timestamp oldest = rs.getTimestamp("oldest");
+            return new Backlog(rs.getLong("backlog"), oldest != null ? oldest.toLocalDateTime() : null);
+        });
+    }
+
+    private String toJson(WebhookData data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    record Entry(long inboxId, long orderCode, String reference, String paymentLinkId, Long amount,
+                 Long bookingId, int attempts, LocalDateTime receivedAt) {
+    }
+
+    record Backlog(long size, LocalDateTime oldestReceivedAt) {
+    }
+}
@@ -0,0 +1,244 @@
+package com.homeexpress.home_express_api.service.payment;
+
+import com.homeexpress.home_express_api.service.PaymentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import vn.payos.type.WebhookData;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ingests PayOS webhooks into {@link PayOsWebhookInbox} and confirms the
+ * payments off the request thread.
+ *
+ * A single dispatcher thread polls the inbox (and is woken right after each
+ * accepted webhook), claims up to the free worker capacity and hands the
+ * rows to a fixed worker pool. Failed rows are retried with exponential
+ * backoff up to {@code maxAttempts}, then left as FAILED for an operator.
+ *
+ * Metrics: {@code payos.webhook.lag} (received to processed),
+ * {@code payos.webhook.processed} by outcome, and the backlog size and age
+ * of its oldest row as gauges.
+ */
+@Component
+public class PayOsWebhookWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(PayOsWebhookWorker.class);
+
+    private static final long MAX_BACKOFF_SECONDS = 600L;
+
+    private final PayOsWebhookInbox inbox;
+
+    private final PaymentService paymentService;
+
+    private final TransactionTemplate claimTransaction;
+
+    private final int workerCount;
+
+    private final long pollMillis;
+
+    private final int maxAttempts;
+
+    private final Duration lease;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong backlogSize = new AtomicLong();
+
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
+
+    private final Timer lag;
+
+    private final Counter succeeded;
+
+    private final Counter retried;
+
+    private final Counter failed;
+
+    private ScheduledExecutorService dispatcher;
+
+    private ExecutorService workers;
+
+    public PayOsWebhookWorker(PayOsWebhookInbox inbox,
+                              PaymentService paymentService,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${payos.webhook.workers:4}") int workerCount,
+                              @Value("${payos.webhook.poll-ms:1000}") long pollMillis,
+                              @Value("${payos.webhook.max-attempts:8}") int maxAttempts,
+                              @Value("${payos.webhook.lease-ms:300000}") long leaseMillis) {
+        this.inbox = inbox;
+        this.paymentService = paymentService;
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.claimTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.workerCount = Math.max(workerCount, 1);
+        this.pollMillis = pollMillis;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.lease = Duration.ofMillis(leaseMillis);
+
+        this.lag = Timer.builder("payos.webhook.lag")
+                .description("Time from webhook receipt to payment confirmation")
+                .register(meterRegistry);
+        this.succeeded = processed(meterRegistry, "success");
+        this.retried = processed(meterRegistry, "retry");
+        this.failed = processed(meterRegistry, "failed");
+        Gauge.builder("payos.webhook.inbox.backlog", backlogSize, AtomicLong::get)
+                .description("Inbox rows not yet processed")
+                .register(meterRegistry);
+        Gauge.builder("payos.webhook.inbox.oldest.age", oldestAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest unprocessed inbox row")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payos-webhook-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger index = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "payos-webhook-worker-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+        }
+        if (workers != null) {
+            // Dòng đang xử lý dở sẽ được node khác nhận lại khi hết lease
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * Store a verified successful webhook and wake the dispatcher. Only the
+     * booking of the payment is looked up here, to keep per-booking order.
+     *
+     * @return false if the same notification was already received
+     */
+    public boolean enqueue(WebhookData data) {
+        Long bookingId = paymentService.findBookingIdForPayOsOrder(data.getOrderCode(), data.getReference());
+        boolean added = inbox.add(data, bookingId);
+        if (added) {
+            wakeUp();
+        }
+        return added;
+    }
+
+    /**
+     * Poll now instead of waiting for the next tick
+     */
+    public void wakeUp() {
+        if (dispatcher == null) {
+            return;
+        }
+        try {
+            dispatcher.execute(this::poll);
+        } catch (RejectedExecutionException ignored) {
+            // Đang shutdown
+        }
+    }
+
+    void poll() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int released = inbox.releaseStale(now.minus(lease));
+            if (released > 0) {
+                log.warn("Released {} PayOS webhook(s) whose processing lease expired", released);
+            }
+
+            int capacity = workerCount * 2 - inFlight.get();
+            if (capacity > 0) {
+                List<PayOsWebhookInbox.Entry> claimed = claimTransaction.execute(status -> inbox.claim(now, capacity));
+                if (claimed != null) {
+                    for (PayOsWebhookInbox.Entry entry : claimed) {
+                        inFlight.incrementAndGet();
+                        workers.execute(() -> {
+                            try {
+                                process(entry);
+                            } finally {
+                                inFlight.decrementAndGet();
+                            }
+                        });
+                    }
+                }
+            }
+
+            PayOsWebhookInbox.Backlog backlog = inbox.backlog();
+            backlogSize.set(backlog.size());
+            oldestAgeSeconds.set(backlog.oldestReceivedAt() != null
+                    ? Math.max(Duration.between(backlog.oldestReceivedAt(), now).toSeconds(), 0L)
+                    : 0L);
+        } catch (RuntimeException e) {
+            // Không để lỗi làm dừng dispatcher; lần poll sau sẽ thử lại
+            log.warn("PayOS webhook poll failed: {}", e.getMessage());
+        }
+    }
+
+    void process(PayOsWebhookInbox.Entry entry) {
+        try {
+            paymentService.confirmPayOsPayment(
+                    entry.orderCode(),
+                    entry.amount() != null ? entry.amount().intValue() : null,
+                    entry.paymentLinkId(),
+                    entry.reference());
+            LocalDateTime now = LocalDateTime.now();
+            inbox.markDone(entry.inboxId(), now);
+            lag.record(Duration.between(entry.receivedAt(), now));
+            succeeded.increment();
+        } catch (RuntimeException e) {
+            int attempts = entry.attempts() + 1;
+            LocalDateTime now = LocalDateTime.now();
+            if (attempts >= maxAttempts) {
+                inbox.markFailed(entry.inboxId(), attempts, now, e.getMessage());
+                failed.increment();
+                log.error("PayOS webhook for order {} failed after {} attempts: {}",
+                        entry.orderCode(), attempts, e.getMessage(), e);
+            } else {
+                inbox.markRetry(entry.inboxId(), attempts, now.plusSeconds(backoffSeconds(attempts)), e.getMessage());
+                retried.increment();
+                log.warn("PayOS webhook for order {} failed (attempt {}), will retry: {}",
+                        entry.orderCode(), attempts, e.getMessage());
+            }
+        }
+    }
+
+    static long backoffSeconds(int attempts) {
+        return Math.min(1L << Math.min(attempts, 20), MAX_BACKOFF_SECONDS);
+    }
+
+    private static Counter processed(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("payos.webhook.processed")
+                .description("PayOS webhook inbox rows processed")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
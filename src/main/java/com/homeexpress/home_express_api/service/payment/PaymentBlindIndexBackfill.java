@@ -0,0 +1,116 @@
+package com.homeexpress.home_express_api.service.payment;
+
+import com.homeexpress.home_express_api.entity.encryption.EncryptedString;
+import com.homeexpress.home_express_api.service.EncryptionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Fills payments.transaction_id_hash for rows written before V9 added it.
+ *
+ * {@code PaymentRepository.findByTransactionIdHash} also compares the plaintext
+ * transaction_id for those rows. Once every node runs code that sets the hash
+ * and this job has logged that no payment is left without one, that fallback
+ * can be removed.
+ */
+@Service
+public class PaymentBlindIndexBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentBlindIndexBackfill.class);
+
+    private static final String SELECT_SQL = """
+            SELECT payment_id, transaction_id FROM payments
+            WHERE transaction_id_hash IS NULL AND transaction_id IS NOT NULL AND payment_id > ?
+            ORDER BY payment_id LIMIT ?
+            """;
+
+    private static final String UPDATE_SQL =
+            "UPDATE payments SET transaction_id_hash = ? WHERE payment_id = ? AND transaction_id_hash IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EncryptionService encryptionService;
+
+    private final int batchSize;
+
+    private volatile boolean complete;
+
+    public PaymentBlindIndexBackfill(JdbcTemplate jdbcTemplate,
+                                     EncryptionService encryptionService,
+                                     @Value("${encryption.blind-index-backfill.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.encryptionService = encryptionService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Runs at startup and then periodically until a run finds nothing left.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${encryption.blind-index-backfill.interval-ms:3600000}",
+            initialDelayString = "${encryption.blind-index-backfill.interval-ms:3600000}")
+    public void backfillPending() {
+        if (!complete) {
+            backfill();
+        }
+    }
+
+    /**
+     * Hash every payment still missing its blind index.
+     *
+     * @return number of rows updated
+     */
+    public int backfill() {
+        int updated = 0;
+        int skipped = 0;
+        long afterId = 0L;
+        try {
+            while (true) {
+                List<Row> rows = jdbcTemplate.query(SELECT_SQL,
+                        (rs, rowNum) -> new Row(rs.getLong("payment_id"), rs.getString("transaction_id")),
+                        afterId, batchSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                for (Row row : rows) {
+                    afterId = row.paymentId();
+                    String transactionId = EncryptedString.valueOf(
+                            EncryptedString.fromDatabase(row.transactionId(), encryptionService));
+                    try {
+                        updated += jdbcTemplate.update(UPDATE_SQL,
+                                encryptionService.blindIndex(transactionId), row.paymentId());
+                    } catch (DataIntegrityViolationException e) {
+                        // Một payment khác đã mang cùng transaction ID: để nguyên, kiểm tra thủ công
+                        skipped++;
+                        log.warn("Payment {} shares its transaction ID with another payment; hash not set",
+                                row.paymentId());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Transaction ID blind index backfill stopped after {} rows: {}", updated, e.getMessage());
+            return updated;
+        }
+        if (updated > 0) {
+            log.info("Backfilled transaction_id_hash for {} payments", updated);
+        }
+        if (skipped == 0) {
+            complete = true;
+            log.info("Every payment with a transaction ID has transaction_id_hash; "
+                    + "the plaintext fallback in PaymentRepository.findByTransactionIdHash is no longer needed");
+        }
+        return updated;
+    }
+
+    private record Row(long paymentId, String transactionId) {
+    }
+}
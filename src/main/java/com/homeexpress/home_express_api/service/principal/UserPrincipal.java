@@ -0,0 +1,36 @@
+package com.homeexpress.home_express_api.service.principal;
+
+import com.homeexpress.home_express_api.entity.UserRole;
+
+/**
+ * Slim, immutable view of a user for authorization checks in controllers.
+ * Carries only what request handling needs so it can be cached per node
+ * instead of loading the full {@code User} entity on every request.
+ */
+public record UserPrincipal(Long userId, String email, UserRole role, Boolean isActive, Boolean isVerified) {
+
+    // Bean-style getters so call sites read the same as with the User entity
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public Boolean getIsVerified() {
+        return isVerified;
+    }
+
+    public boolean hasRole(UserRole expected) {
+        return role == expected;
+    }
+}
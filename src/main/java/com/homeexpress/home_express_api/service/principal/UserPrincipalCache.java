@@ -0,0 +1,136 @@
+package com.homeexpress.home_express_api.service.principal;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded per-node cache of {@link UserPrincipal} keyed by user ID.
+ *
+ * Entries are dropped when the user changes (see {@link UserPrincipalResolver})
+ * and also expire after a TTL, which bounds staleness if an invalidation
+ * message is lost. Hit/miss counts and the hit ratio are published as
+ * {@code user.principal.cache.*} metrics.
+ */
+@Component
+public class UserPrincipalCache implements MeterBinder {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final ConcurrentHashMap<Long, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public UserPrincipalCache(@Value("${security.user-principal-cache.max-entries:10000}") int maxEntries,
+                              @Value("${security.user-principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.entries = new ConcurrentHashMap<>(Math.max(16, Math.min(maxEntries, 1 << 16)));
+    }
+
+    /**
+     * Get the cached principal, or null if absent or expired
+     */
+    public UserPrincipal get(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(userId, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.principal();
+    }
+
+    /**
+     * Current invalidation generation; read it before loading from the database
+     * and pass it to {@link #put} so a load that raced with an invalidation is discarded.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(UserPrincipal principal, long loadedAtGeneration) {
+        if (maxEntries <= 0 || principal.userId() == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(principal.userId(), new Entry(principal, System.currentTimeMillis() + ttlMillis));
+        if (generation.get() != loadedAtGeneration) {
+            // An invalidation arrived while this principal was being loaded
+            entries.remove(principal.userId());
+        }
+    }
+
+    public void invalidate(Long userId) {
+        generation.incrementAndGet();
+        entries.remove(userId);
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("user.principal.cache.hits", this, UserPrincipalCache::getHitCount)
+                .description("Authenticated-user lookups served from the per-node cache")
+                .register(registry);
+        FunctionCounter.builder("user.principal.cache.misses", this, UserPrincipalCache::getMissCount)
+                .description("Authenticated-user lookups that went to the database")
+                .register(registry);
+        Gauge.builder("user.principal.cache.hit.ratio", this, UserPrincipalCache::getHitRatio)
+                .register(registry);
+        Gauge.builder("user.principal.cache.size", this, UserPrincipalCache::size)
+                .register(registry);
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        // Still full: drop an arbitrary eighth rather than track recency on every hit
+        int toRemove = entries.size() - maxEntries + Math.max(1, maxEntries / 8);
+        Iterator<Long> keys = entries.keySet().iterator();
+        while (toRemove-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(UserPrincipal principal, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.homeexpress.home_express_api.service.principal;
+
+import com.homeexpress.home_express_api.entity.User;
+import com.homeexpress.home_express_api.entity.listener.LazyServiceListener;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Invalidates cached principals whenever a users row is updated or deleted,
+ * so profile, role and activation changes are picked up regardless of which
+ * service made them.
+ */
+public class UserPrincipalInvalidationListener extends LazyServiceListener<UserPrincipalResolver> {
+
+    public UserPrincipalInvalidationListener(ObjectProvider<UserPrincipalResolver> resolver) {
+        super(resolver);
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void userChanged(User user) {
+        withService(resolver -> resolver.userChanged(user.getUserId()));
+    }
+}
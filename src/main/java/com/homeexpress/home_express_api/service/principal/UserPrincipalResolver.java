@@ -0,0 +1,100 @@
+package com.homeexpress.home_express_api.service.principal;
+
+import com.homeexpress.home_express_api.repository.UserRepository;
+import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import com.homeexpress.home_express_api.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Resolves the authenticated user for controllers.
+ *
+ * {@link #resolve} returns a cached {@link UserPrincipal}, so most requests
+ * need no users SELECT at all. When a user row changes, the entry is dropped
+ * locally after commit and the user ID is published on a Redis channel so
+ * every other node drops it too.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserPrincipalResolver implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPrincipalResolver.class);
+
+    public static final String CHANNEL = "auth:user-changes";
+
+    private final UserPrincipalCache cache;
+
+    private final UserRepository userRepository;
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Resolve the authenticated user as a slim principal
+     *
+     * @throws RuntimeException if the user cannot be resolved
+     */
+    public UserPrincipal resolve(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new RuntimeException("Authenticated user not found");
+        }
+
+        Long userId = AuthenticationUtils.getUserId(authentication);
+        if (userId != null) {
+            UserPrincipal cached = cache.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+            long generation = cache.generation();
+            UserPrincipal loaded = userRepository.findPrincipalById(userId)
+                    .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
+            cache.put(loaded, generation);
+            return loaded;
+        }
+
+        // Non-JWT principals (e.g. form login in tests) only carry the email
+        String email = authentication.getName();
+        if (StringUtils.hasText(email)) {
+            return userRepository.findPrincipalByEmail(email)
+                    .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
+        }
+
+        throw new RuntimeException("Authenticated user not found");
+    }
+
+    /**
+     * Drop the cached principal on every node once the current transaction commits
+     */
+    public void userChanged(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            cache.invalidate(userId);
+            try {
+                redisTemplate.convertAndSend(CHANNEL, userId.toString());
+            } catch (Exception e) {
+                // other nodes fall back to the cache TTL
+                log.warn("Failed to publish user change {} to Redis: {}", userId, e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            cache.invalidate(Long.parseLong(body));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed user change message: {}", body);
+        }
+    }
+}
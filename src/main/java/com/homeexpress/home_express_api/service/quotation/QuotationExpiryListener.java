@@ -0,0 +1,37 @@
+package com.homeexpress.home_express_api.service.quotation;
+
+import com.homeexpress.home_express_api.entity.Quotation;
+import com.homeexpress.home_express_api.entity.QuotationStatus;
+import com.homeexpress.home_express_api.entity.listener.LazyServiceListener;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Keeps the expiry timing wheel in step with quotation writes: PENDING
+ * quotations are tracked by deadline, any other state drops them.
+ */
+public class QuotationExpiryListener extends LazyServiceListener<QuotationExpiryService> {
+
+    public QuotationExpiryListener(ObjectProvider<QuotationExpiryService> expiryService) {
+        super(expiryService);
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void written(Quotation quotation) {
+        withService(service -> {
+            if (quotation.getStatus() == QuotationStatus.PENDING && quotation.getExpiresAt() != null) {
+                service.track(quotation.getQuotationId(), quotation.getExpiresAt());
+            } else {
+                service.untrack(quotation.getQuotationId());
+            }
+        });
+    }
+
+    @PostRemove
+    public void removed(Quotation quotation) {
+        withService(service -> service.untrack(quotation.getQuotationId()));
+    }
+}
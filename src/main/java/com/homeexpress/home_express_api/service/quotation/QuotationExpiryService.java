@@ -0,0 +1,203 @@
+package com.homeexpress.home_express_api.service.quotation;
+
+import com.homeexpress.home_express_api.repository.QuotationRepository;
+import com.homeexpress.home_express_api.repository.QuotationRepository.ExpiringQuotation;
+import com.homeexpress.home_express_api.service.CustomerEventService;
+import com.homeexpress.home_express_api.service.TransportEventService;
+import com.homeexpress.home_express_api.service.analytics.TransportStatsService;
+import com.homeexpress.home_express_api.service.booking.BookingTimelineAssembler;
+import com.homeexpress.home_express_api.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Moves PENDING quotations past {@code expires_at} to EXPIRED.
+ *
+ * A periodic sweep expires overdue rows with set-based UPDATEs in chunks of
+ * {@code batchSize}, each in its own transaction, and preloads the deadlines
+ * of the next few minutes into a {@link QuotationExpiryWheel}. The wheel is
+ * ticked by a dedicated thread so near-term quotations expire on time instead
+ * of waiting for the next sweep; {@link QuotationExpiryListener} keeps it in
+ * step with quotation writes. Each expired quotation is announced on the
+ * customer's booking stream and the transport's stream after commit.
+ */
+@Service
+public class QuotationExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(QuotationExpiryService.class);
+
+    private static final int PRELOAD_LIMIT = 10_000;
+
+    private final QuotationRepository quotationRepository;
+
+    private final TransportStatsService transportStatsService;
+
+    private final BookingTimelineAssembler bookingTimelineAssembler;
+
+    private final CustomerEventService customerEventService;
+
+    private final TransportEventService transportEventService;
+
+    private final TransactionTemplate expiryTransaction;
+
+    private final int batchSize;
+
+    private final long tickMillis;
+
+    private final QuotationExpiryWheel wheel;
+
+    private ScheduledExecutorService ticker;
+
+    public QuotationExpiryService(QuotationRepository quotationRepository,
+                                  TransportStatsService transportStatsService,
+                                  BookingTimelineAssembler bookingTimelineAssembler,
+                                  CustomerEventService customerEventService,
+                                  TransportEventService transportEventService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${quotation.expiry.batch-size:500}") int batchSize,
+                                  @Value("${quotation.expiry.tick-ms:1000}") long tickMillis,
+                                  @Value("${quotation.expiry.wheel-size:1024}") int wheelSize) {
+        this.quotationRepository = quotationRepository;
+        this.transportStatsService = transportStatsService;
+        this.bookingTimelineAssembler = bookingTimelineAssembler;
+        this.customerEventService = customerEventService;
+        this.transportEventService = transportEventService;
+        this.expiryTransaction = new TransactionTemplate(transactionManager);
+        this.expiryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.tickMillis = tickMillis;
+        this.wheel = new QuotationExpiryWheel(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    @PostConstruct
+    void startTicker() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quotation-expiry-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopTicker() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Tracks the deadline of a PENDING quotation once the current transaction
+     * commits; deadlines past the wheel horizon are left to a later sweep.
+     */
+    public void track(Long quotationId, LocalDateTime expiresAt) {
+        if (quotationId == null || expiresAt == null) {
+            return;
+        }
+        // DATETIME làm tròn tới giây nên hẹn sau deadline thêm 1 giây
+        long deadlineMillis = expiresAt.plusSeconds(1).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        TransactionCallbacks.afterCommit(() -> wheel.schedule(quotationId, deadlineMillis));
+    }
+
+    public void untrack(Long quotationId) {
+        if (quotationId != null) {
+            TransactionCallbacks.afterCommit(() -> wheel.cancel(quotationId));
+        }
+    }
+
+    /**
+     * Expires every overdue quotation chunk by chunk, then preloads the
+     * deadlines within the wheel horizon.
+     *
+     * @return number of quotations expired
+     */
+    @Scheduled(fixedDelayString = "${quotation.expiry.sweep-interval-ms:60000}")
+    public int sweep() {
+        int expired = 0;
+        List<ExpiringQuotation> chunk;
+        do {
+            chunk = expireChunk(now -> quotationRepository.lockExpiredBatch(now, batchSize));
+            expired += chunk.size();
+        } while (chunk.size() >= batchSize);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ExpiringQuotation> upcoming = quotationRepository.findUpcomingExpiries(
+                now, now.plusNanos(wheel.horizonMillis() * 1_000_000L), PRELOAD_LIMIT);
+        for (ExpiringQuotation quotation : upcoming) {
+            track(quotation.getQuotationId(), quotation.getExpiresAt());
+        }
+
+        if (expired > 0) {
+            log.info("Expired {} quotations; {} deadlines tracked in memory", expired, wheel.size());
+        }
+        return expired;
+    }
+
+    void tick() {
+        try {
+            List<Long> due = wheel.advance(System.currentTimeMillis());
+            for (int from = 0; from < due.size(); from += batchSize) {
+                List<Long> ids = due.subList(from, Math.min(from + batchSize, due.size()));
+                expireChunk(now -> quotationRepository.lockExpiredByIds(ids, now));
+            }
+        } catch (RuntimeException e) {
+            // Không để lỗi làm dừng ticker; sweep định kỳ sẽ xử lý các báo giá còn sót
+            log.warn("Quotation expiry tick failed: {}", e.getMessage());
+        }
+    }
+
+    private List<ExpiringQuotation> expireChunk(Function<LocalDateTime, List<ExpiringQuotation>> lockChunk) {
+        List<ExpiringQuotation> expired = expiryTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ExpiringQuotation> locked = lockChunk.apply(now);
+            if (locked.isEmpty()) {
+                return locked;
+            }
+            List<Long> quotationIds = new ArrayList<>(locked.size());
+            Set<Long> transportIds = new HashSet<>();
+            Set<Long> bookingIds = new HashSet<>();
+            for (ExpiringQuotation quotation : locked) {
+                quotationIds.add(quotation.getQuotationId());
+                transportIds.add(quotation.getTransportId());
+                bookingIds.add(quotation.getBookingId());
+            }
+            quotationRepository.expireByIds(quotationIds, now);
+
+            // UPDATE hàng loạt không qua entity listener nên tự cập nhật thống kê và timeline
+            transportStatsService.reconcile(transportIds);
+            bookingIds.forEach(bookingTimelineAssembler::invalidate);
+            return locked;
+        });
+        if (expired == null || expired.isEmpty()) {
+            return List.of();
+        }
+
+        for (ExpiringQuotation quotation : expired) {
+            wheel.cancel(quotation.getQuotationId());
+            customerEventService.sendQuotationExpired(
+                    quotation.getBookingId(), quotation.getQuotationId(), quotation.getTransportId());
+            transportEventService.sendQuotationExpired(
+                    quotation.getTransportId(), quotation.getQuotationId(), quotation.getBookingId());
+        }
+        return expired;
+    }
+}
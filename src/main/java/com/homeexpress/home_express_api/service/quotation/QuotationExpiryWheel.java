@@ -0,0 +1,96 @@
+package com.homeexpress.home_express_api.service.quotation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hashed timing wheel of quotation deadlines falling within the next
+ * {@code wheelSize} ticks.
+ *
+ * A slot holds the quotations due on one tick; {@link #advance} walks the
+ * slots passed since the previous call and hands back their ids. Deadlines
+ * beyond the horizon are rejected and left to the periodic sweep, so slots
+ * never wrap and need no rounds bookkeeping.
+ */
+final class QuotationExpiryWheel {
+
+    private final long tickMillis;
+
+    private final List<Set<Long>> slots;
+
+    private final Map<Long, Long> tickByQuotation = new HashMap<>();
+
+    private long currentTick;
+
+    QuotationExpiryWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMillis must be positive and wheelSize at least 2");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new HashSet<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    long horizonMillis() {
+        return tickMillis * (slots.size() - 1);
+    }
+
+    /**
+     * Schedules the quotation on the first tick after its deadline, replacing
+     * any earlier schedule. Past deadlines fire on the next tick.
+     *
+     * @return false when the deadline lies beyond the horizon
+     */
+    synchronized boolean schedule(Long quotationId, long deadlineMillis) {
+        long tick = Math.max(deadlineMillis / tickMillis + 1, currentTick + 1);
+        cancel(quotationId);
+        if (tick - currentTick >= slots.size()) {
+            return false;
+        }
+        slots.get(slotOf(tick)).add(quotationId);
+        tickByQuotation.put(quotationId, tick);
+        return true;
+    }
+
+    synchronized void cancel(Long quotationId) {
+        Long tick = tickByQuotation.remove(quotationId);
+        if (tick != null) {
+            slots.get(slotOf(tick)).remove(quotationId);
+        }
+    }
+
+    /**
+     * Moves the wheel to {@code nowMillis} and returns every quotation whose tick has passed.
+     */
+    synchronized List<Long> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<Long> due = new ArrayList<>();
+        // Nếu ticker bị trễ quá một vòng thì mọi slot đều đã đến hạn, chỉ cần quét một vòng
+        long fromTick = Math.max(currentTick + 1, targetTick - slots.size() + 1);
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            Set<Long> slot = slots.get(slotOf(tick));
+            if (!slot.isEmpty()) {
+                due.addAll(slot);
+                slot.forEach(tickByQuotation::remove);
+                slot.clear();
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return due;
+    }
+
+    synchronized int size() {
+        return tickByQuotation.size();
+    }
+
+    private int slotOf(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.size());
+    }
+}
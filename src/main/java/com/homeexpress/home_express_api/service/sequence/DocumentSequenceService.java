@@ -0,0 +1,150 @@
+package com.homeexpress.home_express_api.service.sequence;
+
+import com.homeexpress.home_express_api.constants.BookingConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues per-day, per-prefix document numbers (contracts, payouts, PayOS
+ * order codes) that never repeat across nodes.
+ *
+ * Each node reserves a block of {@code blockSize} values from the
+ * {@code document_sequences} table with one atomic upsert, in its own
+ * transaction so the row lock is released straight away, then hands them
+ * out from memory. Only one call in {@code blockSize} touches the
+ * database. Numbers are unique but not gap-free: values left in a block
+ * when a node stops or the day ends are skipped, and different nodes
+ * interleave.
+ */
+@Service
+public class DocumentSequenceService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentSequenceService.class);
+
+    public static final String CONTRACT_SEQUENCE = "CNT";
+    public static final String PAYOUT_SEQUENCE = "PO";
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    // LAST_INSERT_ID(expr) ghi nhớ giá trị mới trên connection, đọc lại không cần SELECT ... FOR UPDATE
+    private static final String RESERVE_SQL = """
+            INSERT INTO document_sequences (sequence_key, next_value)
+            VALUES (?, LAST_INSERT_ID(1 + ?))
+            ON DUPLICATE KEY UPDATE next_value = LAST_INSERT_ID(next_value + ?)
+            """;
+
+    private static final String LAST_INSERT_ID_SQL = "SELECT LAST_INSERT_ID()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate reserveTransaction;
+
+    private final int blockSize;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public DocumentSequenceService(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${document-sequence.block-size:20}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(blockSize, 1);
+    }
+
+    /**
+     * Next value of the {@code prefix} counter for {@code day}, starting at 1
+     */
+    public long next(String prefix, LocalDate day) {
+        String key = prefix + ":" + day.format(DAY_FORMAT);
+        while (true) {
+            Block block = blocks.get(key);
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return value;
+                }
+            }
+            refill(key, block);
+        }
+    }
+
+    /**
+     * Contract number for today, e.g. {@code CNT-20250601-0042}
+     */
+    public String nextContractNumber() {
+        LocalDate today = LocalDate.now();
+        return BookingConstants.CONTRACT_NUMBER_PREFIX + today.format(DAY_FORMAT) + "-"
+                + String.format(BookingConstants.CONTRACT_SEQUENCE_FORMAT, next(CONTRACT_SEQUENCE, today));
+    }
+
+    /**
+     * Payout number for a transport, e.g. {@code PO-100-20250601-0007}
+     */
+    public String nextPayoutNumber(Long transportId) {
+        LocalDate today = LocalDate.now();
+        return String.format("PO-%d-%s-%04d", transportId, today.format(DAY_FORMAT), next(PAYOUT_SEQUENCE, today));
+    }
+
+    private synchronized void refill(String key, Block exhausted) {
+        if (blocks.get(key) != exhausted) {
+            // Luồng khác đã nạp block mới
+            return;
+        }
+        long end = reserve(key);
+        blocks.put(key, new Block(end - blockSize, end));
+        // Counter của ngày cũ không còn dùng tới
+        String daySuffix = key.substring(key.indexOf(':'));
+        blocks.keySet().removeIf(existing -> !existing.endsWith(daySuffix));
+        log.debug("Reserved {} [{}, {})", key, end - blockSize, end);
+    }
+
+    /**
+     * Reserve the next block for {@code key}; returns its exclusive upper bound
+     */
+    private long reserve(String key) {
+        Long end = reserveTransaction.execute(status -> jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (PreparedStatement upsert = connection.prepareStatement(RESERVE_SQL)) {
+                upsert.setString(1, key);
+                upsert.setLong(2, blockSize);
+                upsert.setLong(3, blockSize);
+                upsert.executeUpdate();
+            }
+            try (PreparedStatement select = connection.prepareStatement(LAST_INSERT_ID_SQL);
+                 ResultSet rs = select.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }));
+        if (end == null || end <= blockSize) {
+            throw new IllegalStateException("Could not reserve document sequence block for " + key);
+        }
+        return end;
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.homeexpress.home_express_api.service.session;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.homeexpress.home_express_api.config.JwtTokenProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node-local view of revoked sessions and users, consulted by the JWT filter
+ * on every authenticated request.
+ *
+ * Lookups are lock-free: a bloom filter answers "not revoked" for almost every
+ * request and the exact maps confirm positives. Entries are kept for one access
+ * token lifetime after revocation, after which any token they could match has
+ * expired on its own. Writes are rare (logout, password change, admin action)
+ * and serialized so filter rebuilds never lose an entry.
+ */
+@Component
+public class AccessTokenRevocationRegistry {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final long retentionMillis;
+    private final int expectedEntries;
+
+    // sessionId -> revokedAt (epoch millis)
+    private final Map<String, Long> revokedSessions = new ConcurrentHashMap<>();
+    // userId -> tokens issued before this second are revoked (epoch millis)
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    private volatile RevocationBloomFilter sessionFilter;
+    private volatile RevocationBloomFilter userFilter;
+
+    public AccessTokenRevocationRegistry(
+            JwtTokenProvider jwtTokenProvider,
+            @Value("${security.revocation.expected-entries:100000}") int expectedEntries) {
+        this.retentionMillis = jwtTokenProvider.getAccessTokenExpiration();
+        this.expectedEntries = expectedEntries;
+        this.sessionFilter = new RevocationBloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+        this.userFilter = new RevocationBloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Reject every access token issued for the session
+     */
+    public synchronized void revokeSession(String sessionId, long revokedAtMillis) {
+        revokedSessions.merge(sessionId, revokedAtMillis, Math::max);
+        sessionFilter.add(sessionId);
+    }
+
+    /**
+     * Reject every access token of the user issued before the revocation
+     */
+    public synchronized void revokeUser(Long userId, long revokedAtMillis) {
+        // JWT iat has second precision: only tokens from earlier seconds are rejected,
+        // so a login right after a password reset is not caught by its own revocation
+        long cutoff = revokedAtMillis - Math.floorMod(revokedAtMillis, 1000L);
+        revokedUsers.merge(userId, cutoff, Math::max);
+        userFilter.add(userId);
+    }
+
+    /**
+     * O(1) check used on the request hot path
+     *
+     * @param userId token subject
+     * @param sessionId token "sid" claim, may be null
+     * @param issuedAtMillis token "iat" claim in epoch millis
+     */
+    public boolean isRevoked(Long userId, String sessionId, long issuedAtMillis) {
+        if (sessionId != null && sessionFilter.mightContain(sessionId)
+                && revokedSessions.containsKey(sessionId)) {
+            return true;
+        }
+        if (userId != null && userFilter.mightContain(userId)) {
+            Long cutoff = revokedUsers.get(userId);
+            return cutoff != null && issuedAtMillis < cutoff;
+        }
+        return false;
+    }
+
+    /**
+     * Drop revocations older than the access token lifetime and rebuild the filters
+     *
+     * @return number of entries removed
+     */
+    public synchronized int prune(long nowMillis) {
+        long threshold = nowMillis - retentionMillis;
+        int before = revokedSessions.size() + revokedUsers.size();
+        revokedSessions.values().removeIf(revokedAt -> revokedAt < threshold);
+        revokedUsers.values().removeIf(revokedAt -> revokedAt < threshold);
+
+        RevocationBloomFilter sessions = new RevocationBloomFilter(
+                Math.max(expectedEntries, revokedSessions.size()), FALSE_POSITIVE_RATE);
+        revokedSessions.keySet().forEach(sessions::add);
+        RevocationBloomFilter users = new RevocationBloomFilter(
+                Math.max(expectedEntries, revokedUsers.size()), FALSE_POSITIVE_RATE);
+        revokedUsers.keySet().forEach(users::add);
+        sessionFilter = sessions;
+        userFilter = users;
+
+        return before - revokedSessions.size() - revokedUsers.size();
+    }
+
+    public long getRetentionMillis() {
+        return retentionMillis;
+    }
+
+    public int size() {
+        return revokedSessions.size() + revokedUsers.size();
+    }
+}
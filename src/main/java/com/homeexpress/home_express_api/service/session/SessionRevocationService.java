@@ -0,0 +1,180 @@
+package com.homeexpress.home_express_api.service.session;
+
+import com.homeexpress.home_express_api.entity.UserSession;
+import com.homeexpress.home_express_api.entity.UserTokenRevocation;
+import com.homeexpress.home_express_api.repository.UserSessionRepository;
+import com.homeexpress.home_express_api.repository.UserTokenRevocationRepository;
+import com.homeexpress.home_express_api.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Propagates session/user revocations to every node.
+ *
+ * Revocations are applied to the local {@link AccessTokenRevocationRegistry}
+ * and published on a Redis channel; each node applies the messages it receives
+ * to its own registry. Revoked sessions (user_sessions) and revoke-all cutoffs
+ * (user_token_revocations) are also persisted with the revoking transaction.
+ * On startup the registry is seeded from both tables so a restarted node does
+ * not miss revocations still inside the token lifetime, and every node
+ * re-reads recent rows periodically, so a lost Redis message delays a
+ * revocation by at most one resync interval. No database access happens on
+ * the request path.
+ */
+@Service
+@RequiredArgsConstructor
+public class SessionRevocationService implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionRevocationService.class);
+
+    public static final String CHANNEL = "auth:revocations";
+
+    private static final String SESSION_PREFIX = "S";
+    private static final String USER_PREFIX = "U";
+
+    // Each resync reaches back this far to cover late commits and clock skew between nodes
+    private static final long RESYNC_OVERLAP_MILLIS = 60_000L;
+
+    private final AccessTokenRevocationRegistry registry;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final UserSessionRepository sessionRepository;
+
+    private final UserTokenRevocationRepository userRevocationRepository;
+
+    // Start of the last database sync (epoch millis), 0 until the first load
+    private volatile long lastSyncedAtMillis;
+
+    /**
+     * Revoke access tokens of one session, once the current transaction commits
+     */
+    public void revokeSession(String sessionId) {
+        long now = System.currentTimeMillis();
+        TransactionCallbacks.afterCommit(() -> {
+            registry.revokeSession(sessionId, now);
+            publish(SESSION_PREFIX, sessionId, now);
+        });
+    }
+
+    /**
+     * Revoke access tokens of the given sessions and every older token of the user.
+     * The cutoff is persisted in the current transaction.
+     */
+    public void revokeUser(Long userId, List<String> sessionIds) {
+        long now = System.currentTimeMillis();
+        userRevocationRepository.upsert(userId, toLocalDateTime(now));
+        TransactionCallbacks.afterCommit(() -> {
+            for (String sessionId : sessionIds) {
+                registry.revokeSession(sessionId, now);
+                publish(SESSION_PREFIX, sessionId, now);
+            }
+            registry.revokeUser(userId, now);
+            publish(USER_PREFIX, String.valueOf(userId), now);
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        // format: <type>:<epochMillis>:<id>
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split(":", 3);
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed revocation message: {}", body);
+            return;
+        }
+        try {
+            long revokedAt = Long.parseLong(parts[1]);
+            if (SESSION_PREFIX.equals(parts[0])) {
+                registry.revokeSession(parts[2], revokedAt);
+            } else if (USER_PREFIX.equals(parts[0])) {
+                registry.revokeUser(Long.parseLong(parts[2]), revokedAt);
+            } else {
+                log.warn("Ignoring revocation message of unknown type: {}", body);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation message: {}", body);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRecentRevocations() {
+        long now = System.currentTimeMillis();
+        int loaded = loadRevokedSince(now - registry.getRetentionMillis());
+        lastSyncedAtMillis = now;
+        log.info("Loaded {} recent session/user revocations into the revocation registry", loaded);
+    }
+
+    /**
+     * Re-read revocations written since the last sync. Redis pub/sub is fire
+     * and forget, so this bounds how long a node can miss a revocation whose
+     * message was lost.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.resync-interval-ms:30000}",
+            initialDelayString = "${security.revocation.resync-interval-ms:30000}")
+    public void resyncRecentRevocations() {
+        long now = System.currentTimeMillis();
+        long lastSynced = lastSyncedAtMillis;
+        long since = lastSynced == 0
+                ? now - registry.getRetentionMillis()
+                : lastSynced - RESYNC_OVERLAP_MILLIS;
+        int loaded = loadRevokedSince(since);
+        lastSyncedAtMillis = now;
+        if (loaded > 0) {
+            log.debug("Resynced {} session/user revocations from the database", loaded);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.prune-interval-ms:600000}")
+    public void pruneExpiredRevocations() {
+        int removed = registry.prune(System.currentTimeMillis());
+        if (removed > 0) {
+            log.debug("Pruned {} expired revocations", removed);
+        }
+    }
+
+    // Registry merges by max, so re-applying rows already known is harmless
+    private int loadRevokedSince(long sinceMillis) {
+        LocalDateTime since = toLocalDateTime(sinceMillis);
+        List<UserSession> sessions = sessionRepository.findRevokedSince(since);
+        for (UserSession session : sessions) {
+            registry.revokeSession(session.getSessionId(), toEpochMillis(session.getRevokedAt()));
+        }
+        List<UserTokenRevocation> users = userRevocationRepository.findByRevokedBeforeAfter(since);
+        for (UserTokenRevocation user : users) {
+            registry.revokeUser(user.getUserId(), toEpochMillis(user.getRevokedBefore()));
+        }
+        return sessions.size() + users.size();
+    }
+
+    private void publish(String type, String id, long revokedAt) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, type + ":" + revokedAt + ":" + id);
+        } catch (Exception e) {
+            // local registry already updated; other nodes pick it up on their next resyncRecentRevocations
+            log.warn("Failed to publish revocation {}:{} to Redis: {}", type, id, e.getMessage());
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
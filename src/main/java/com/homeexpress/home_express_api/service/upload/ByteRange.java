@@ -0,0 +1,56 @@
+package com.homeexpress.home_express_api.service.upload;
+
+/**
+ * A single satisfiable byte range of a file, both ends inclusive.
+ */
+public record ByteRange(long start, long end) {
+
+    /** Range header that cannot be satisfied for the file (416) */
+    public static final ByteRange UNSATISFIABLE = new ByteRange(-1L, -1L);
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * Parse a {@code Range} header against a file of {@code size} bytes.
+     * Only single ranges are served; a missing, malformed or multi-range
+     * header returns null, meaning the whole file.
+     */
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.startsWith("bytes=")) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (spec.indexOf(',') >= 0 || dash < 0) {
+            return null;
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        try {
+            if (first.isEmpty()) {
+                // bytes=-N: N byte cuối
+                if (last.isEmpty()) {
+                    return null;
+                }
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0L, size - suffix), size - 1);
+            }
+            long start = Long.parseLong(first);
+            if (start < 0 || (!last.isEmpty() && Long.parseLong(last) < start)) {
+                return null;
+            }
+            if (start >= size) {
+                return UNSATISFIABLE;
+            }
+            long end = last.isEmpty() ? size - 1 : Long.parseLong(last);
+            return new ByteRange(start, Math.min(end, size - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.homeexpress.home_express_api.service.upload;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.w3c.dom.Node;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resized JPEG variants of uploaded images, stored next to the original as
+ * {@code <sha256>_<variant>.jpg}.
+ *
+ * Variants are generated after the upload on a small bounded pool, since a
+ * decoded camera photo takes tens of MB of heap. When the queue is full the
+ * upload is not slowed down; the variant is generated on its first request
+ * instead ({@link #ensureVariant}). Concurrent requests for the same
+ * original share one generation. The original is decoded once, subsampled
+ * close to the largest variant, and EXIF orientation is applied so phone
+ * photos are not served sideways.
+ */
+@Service
+public class ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private static final Set<String> IMAGE_TYPES = Set.of("image/jpeg", "image/jpg", "image/png", "image/gif");
+
+    private static final Pattern VARIANT_NAME = Pattern.compile("^([0-9a-f]{64})_([a-z]+)\\.jpg$");
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    // Ảnh lớn hơn ngưỡng này (≈ 200MB heap khi decode) thì bỏ qua, chỉ phục vụ bản gốc
+    private static final long MAX_PIXELS = 50_000_000L;
+
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+    public enum Variant {
+        THUMB("thumb", 320),
+        MEDIUM("medium", 1280);
+
+        private final String suffix;
+        private final int maxDimension;
+
+        Variant(String suffix, int maxDimension) {
+            this.suffix = suffix;
+            this.maxDimension = maxDimension;
+        }
+
+        public String getSuffix() {
+            return suffix;
+        }
+
+        public int getMaxDimension() {
+            return maxDimension;
+        }
+
+        static Variant fromSuffix(String suffix) {
+            for (Variant variant : values()) {
+                if (variant.suffix.equals(suffix)) {
+                    return variant;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<Path, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter generated;
+
+    private final Counter deferred;
+
+    private final Counter failed;
+
+    public ImageVariantService(@Value("${file.variants.workers:2}") int workers,
+                               @Value("${file.variants.queue-capacity:64}") int queueCapacity,
+                               MeterRegistry meterRegistry) {
+        AtomicInteger index = new AtomicInteger();
+        int poolSize = Math.max(workers, 1);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.generated = outcome(meterRegistry, "generated");
+        this.deferred = outcome(meterRegistry, "deferred");
+        this.failed = outcome(meterRegistry, "failed");
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public boolean isImage(String contentType) {
+        return contentType != null && IMAGE_TYPES.contains(contentType.toLowerCase(Locale.ROOT));
+    }
+
+    public static String variantFileName(String contentHash, Variant variant) {
+        return contentHash + "_" + variant.suffix + ".jpg";
+    }
+
+    public static boolean isVariantFileName(String fileName) {
+        Matcher matcher = VARIANT_NAME.matcher(fileName);
+        return matcher.matches() && Variant.fromSuffix(matcher.group(2)) != null;
+    }
+
+    /**
+     * Variant suffix to file name for an original
+     */
+    public static Map<String, String> variantFileNames(String contentHash) {
+        Map<String, String> names = new LinkedHashMap<>();
+        for (Variant variant : Variant.values()) {
+            names.put(variant.suffix, variantFileName(contentHash, variant));
+        }
+        return names;
+    }
+
+    /**
+     * Queue generation of all variants of {@code original}
+     */
+    public void generateAsync(Path original, String contentHash) {
+        try {
+            executor.execute(() -> generateOnce(original, contentHash));
+        } catch (RejectedExecutionException e) {
+            // Hàng đợi đầy: để request đầu tiên tới variant tự sinh
+            deferred.increment();
+            log.debug("Image variant queue full, deferring {}", original.getFileName());
+        }
+    }
+
+    /**
+     * Make sure the variant at {@code variantPath} exists, generating it from
+     * its original in the same directory if needed.
+     *
+     * @return false if the name is not a variant, the original is missing or
+     *         it could not be decoded
+     */
+    public boolean ensureVariant(Path variantPath) {
+        if (Files.isRegularFile(variantPath)) {
+            return true;
+        }
+        Matcher matcher = VARIANT_NAME.matcher(variantPath.getFileName().toString());
+        if (!matcher.matches() || Variant.fromSuffix(matcher.group(2)) == null) {
+            return false;
+        }
+        String contentHash = matcher.group(1);
+        Path original = findOriginal(variantPath.getParent(), contentHash);
+        if (original == null) {
+            return false;
+        }
+        generateOnce(original, contentHash);
+        return Files.isRegularFile(variantPath);
+    }
+
+    private void generateOnce(Path original, String contentHash) {
+        CompletableFuture<Void> mine = new CompletableFuture<>();
+        CompletableFuture<Void> running = inFlight.putIfAbsent(original, mine);
+        if (running != null) {
+            try {
+                running.join();
+            } catch (CompletionException ignored) {
+                // Đã log ở luồng sinh ảnh
+            }
+            return;
+        }
+        try {
+            writeVariants(original, contentHash);
+            mine.complete(null);
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.warn("Could not generate variants of {}: {}", original.getFileName(), e.getMessage());
+            mine.completeExceptionally(e);
+        } finally {
+            inFlight.remove(original, mine);
+        }
+    }
+
+    private void writeVariants(Path original, String contentHash) throws IOException {
+        Path dir = original.getParent();
+        boolean missing = false;
+        for (Variant variant : Variant.values()) {
+            missing |= !Files.isRegularFile(dir.resolve(variantFileName(contentHash, variant)));
+        }
+        if (!missing) {
+            return;
+        }
+
+        BufferedImage decoded;
+        int orientation;
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                return;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, false);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_PIXELS) {
+                    log.warn("Skipping variants of {}: {}x{} is too large", original.getFileName(), width, height);
+                    return;
+                }
+                orientation = readExifOrientation(reader);
+                // Decode thưa (subsampling) về gần 2 lần variant lớn nhất để đỡ tốn heap
+                int step = Math.max(1, Math.max(width, height) / (Variant.MEDIUM.maxDimension * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                decoded = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        for (Variant variant : Variant.values()) {
+            Path target = dir.resolve(variantFileName(contentHash, variant));
+            if (!Files.isRegularFile(target)) {
+                writeJpeg(orient(scale(decoded, variant.maxDimension), orientation), target);
+                generated.increment();
+            }
+        }
+    }
+
+    private Path findOriginal(Path dir, String contentHash) {
+        if (dir == null || !Files.isDirectory(dir)) {
+            return null;
+        }
+        try (DirectoryStream<Path> matches = Files.newDirectoryStream(dir, contentHash + ".*")) {
+            for (Path match : matches) {
+                return match;
+            }
+        } catch (IOException e) {
+            log.warn("Could not look up original for {}: {}", contentHash, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Fit within {@code maxDimension}, never upscaling, flattened onto white
+     */
+    private static BufferedImage scale(BufferedImage source, int maxDimension) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Apply an EXIF orientation (1-8) so the pixels are upright
+     */
+    static BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation < 2 || orientation > 8) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        boolean swap = orientation >= 5;
+        BufferedImage result = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int rgb = image.getRGB(x, y);
+                switch (orientation) {
+                    case 2 -> result.setRGB(w - 1 - x, y, rgb);
+                    case 3 -> result.setRGB(w - 1 - x, h - 1 - y, rgb);
+                    case 4 -> result.setRGB(x, h - 1 - y, rgb);
+                    case 5 -> result.setRGB(y, x, rgb);
+                    case 6 -> result.setRGB(h - 1 - y, x, rgb);
+                    case 7 -> result.setRGB(h - 1 - y, w - 1 - x, rgb);
+                    default -> result.setRGB(y, w - 1 - x, rgb);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Path temp = target.resolveSibling("." + UUID.randomUUID() + ".part");
+        try {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            writer.dispose();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Orientation from the EXIF APP1 segment of a JPEG; 1 when absent
+     */
+    private static int readExifOrientation(ImageReader reader) {
+        try {
+            IIOMetadata metadata = reader.getImageMetadata(0);
+            if (metadata == null || !"javax_imageio_jpeg_image_1.0".equals(metadata.getNativeMetadataFormatName())) {
+                return 1;
+            }
+            Node root = metadata.getAsTree("javax_imageio_jpeg_image_1.0");
+            for (Node sequence = root.getFirstChild(); sequence != null; sequence = sequence.getNextSibling()) {
+                if (!"markerSequence".equals(sequence.getNodeName())) {
+                    continue;
+                }
+                for (Node marker = sequence.getFirstChild(); marker != null; marker = marker.getNextSibling()) {
+                    if (marker instanceof IIOMetadataNode node && "unknown".equals(node.getNodeName())
+                            && "225".equals(node.getAttribute("MarkerTag"))
+                            && node.getUserObject() instanceof byte[] data) {
+                        return parseExifOrientation(data);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not read EXIF orientation: {}", e.getMessage());
+        }
+        return 1;
+    }
+
+    static int parseExifOrientation(byte[] app1) {
+        // "Exif\0\0" rồi tới TIFF header: byte order, 42, offset IFD0
+        if (app1.length < 14 || app1[0] != 'E' || app1[1] != 'x' || app1[2] != 'i' || app1[3] != 'f') {
+            return 1;
+        }
+        int tiff = 6;
+        boolean little = app1[tiff] == 'I';
+        int ifd = tiff + (int) readUnsigned(app1, tiff + 4, 4, little);
+        if (ifd + 2 > app1.length) {
+            return 1;
+        }
+        int entries = (int) readUnsigned(app1, ifd, 2, little);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > app1.length) {
+                break;
+            }
+            if (readUnsigned(app1, entry, 2, little) == EXIF_ORIENTATION_TAG) {
+                return (int) readUnsigned(app1, entry + 8, 2, little);
+            }
+        }
+        return 1;
+    }
+
+    private static long readUnsigned(byte[] data, int offset, int length, boolean little) {
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            int b = data[offset + (little ? length - 1 - i : i)] & 0xFF;
+            value = (value << 8) | b;
+        }
+        return value;
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("uploads.image.variants")
+                .description("Image variants generated, deferred to first request, or failed")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
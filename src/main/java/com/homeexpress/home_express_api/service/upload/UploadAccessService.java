@@ -0,0 +1,94 @@
+package com.homeexpress.home_express_api.service.upload;
+
+import com.homeexpress.home_express_api.entity.UserRole;
+import com.homeexpress.home_express_api.repository.EvidenceRepository;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
+import com.homeexpress.home_express_api.util.AuthenticationUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Access rules for files under {@code /uploads}. Most categories are public;
+ * files in the private categories (evidence by default) are only served to
+ * managers and to the uploader, customer or transport of a booking whose
+ * evidence references the file or one of its variants.
+ */
+@Service
+public class UploadAccessService {
+
+    public enum Decision {
+        ALLOWED,
+        UNAUTHENTICATED,
+        FORBIDDEN
+    }
+
+    private final Set<String> privateCategories;
+
+    private final EvidenceRepository evidenceRepository;
+
+    private final UserPrincipalResolver userPrincipalResolver;
+
+    public UploadAccessService(@Value("${file.private-categories:evidence}") String privateCategories,
+                               EvidenceRepository evidenceRepository,
+                               UserPrincipalResolver userPrincipalResolver) {
+        this.privateCategories = Arrays.stream(privateCategories.split(","))
+                .map(String::trim)
+                .filter(category -> !category.isEmpty())
+                .map(category -> category.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        this.evidenceRepository = evidenceRepository;
+        this.userPrincipalResolver = userPrincipalResolver;
+    }
+
+    public boolean isPrivate(String category) {
+        return category != null && privateCategories.contains(category.toLowerCase(Locale.ROOT));
+    }
+
+    public Decision check(String category, String fileName, Authentication authentication) {
+        if (!isPrivate(category)) {
+            return Decision.ALLOWED;
+        }
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || AuthenticationUtils.getUserId(authentication) == null) {
+            return Decision.UNAUTHENTICATED;
+        }
+        UserPrincipal user;
+        try {
+            user = userPrincipalResolver.resolve(authentication);
+        } catch (RuntimeException e) {
+            return Decision.UNAUTHENTICATED;
+        }
+        if (user.hasRole(UserRole.MANAGER)) {
+            return Decision.ALLOWED;
+        }
+        return evidenceRepository.countAccessibleFiles(likeEscape(fileStem(fileName)) + ".%", user.getUserId()) > 0
+                ? Decision.ALLOWED
+                : Decision.FORBIDDEN;
+    }
+
+    /**
+     * Name of the original without extension: {@code <hash>_thumb.jpg} and
+     * {@code <hash>.png} both give {@code <hash>}
+     */
+    static String fileStem(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String stem = dot > 0 ? fileName.substring(0, dot) : fileName;
+        int underscore = stem.indexOf('_');
+        if (underscore > 0 && ImageVariantService.isVariantFileName(fileName)) {
+            stem = stem.substring(0, underscore);
+        }
+        return stem;
+    }
+
+    private static String likeEscape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,130 @@
+package com.homeexpress.home_express_api.service.vehicle;
+
+import com.homeexpress.home_express_api.dto.vehicle.VehicleCapability;
+import com.homeexpress.home_express_api.entity.Vehicle;
+import com.homeexpress.home_express_api.entity.VehicleStatus;
+import com.homeexpress.home_express_api.repository.VehicleRepository;
+import com.homeexpress.home_express_api.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Answers vehicle eligibility queries from an in-memory {@link VehicleCapabilityTable}.
+ *
+ * The table is loaded once the application is ready and reloaded
+ * periodically, so vehicles changed on another node are picked up too.
+ * Changes made through {@code VehicleService} on this node are applied as
+ * soon as their transaction commits. Until the first load succeeds
+ * {@link #findEligibleIds} returns null and callers query the database.
+ */
+@Service
+public class VehicleCapabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(VehicleCapabilityIndex.class);
+
+    private final VehicleRepository vehicleRepository;
+
+    /** Serializes refreshes; changes only take the monitor of this index */
+    private final Object refreshLock = new Object();
+
+    private volatile VehicleCapabilityTable table;
+
+    /** Changes applied while a refresh is loading; null otherwise. Guarded by this */
+    private List<UnaryOperator<VehicleCapabilityTable>> changesDuringLoad;
+
+    public VehicleCapabilityIndex(VehicleRepository vehicleRepository) {
+        this.vehicleRepository = vehicleRepository;
+    }
+
+    /**
+     * IDs of the ACTIVE vehicles matching the requirements, ascending, or
+     * null while the index has not been loaded.
+     */
+    public long[] findEligibleIds(BigDecimal totalWeight, BigDecimal totalVolume,
+                                  boolean requiresTailLift, boolean requiresTools) {
+        VehicleCapabilityTable current = table;
+        if (current == null) {
+            return null;
+        }
+        int requiredFlags = (requiresTailLift ? VehicleCapabilityTable.TAIL_LIFT : 0)
+                | (requiresTools ? VehicleCapabilityTable.TOOLS : 0);
+        return current.eligible(totalWeight, totalVolume, requiredFlags);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    /**
+     * Reload the ACTIVE vehicles and swap the table in. The query runs without
+     * holding the table lock; changes applied meanwhile are recorded and
+     * replayed on top of the loaded table before it is swapped in.
+     */
+    @Scheduled(fixedDelayString = "${vehicle.capability-index.refresh-ms:300000}",
+            initialDelayString = "${vehicle.capability-index.refresh-ms:300000}")
+    public void refresh() {
+        synchronized (refreshLock) {
+            synchronized (this) {
+                changesDuringLoad = new ArrayList<>();
+            }
+            try {
+                VehicleCapabilityTable loaded = VehicleCapabilityTable.of(
+                        vehicleRepository.findCapabilitiesByStatus(VehicleStatus.ACTIVE));
+                synchronized (this) {
+                    // with/without là idempotent nên replay thay đổi mà query đã thấy cũng không sao
+                    for (UnaryOperator<VehicleCapabilityTable> change : changesDuringLoad) {
+                        loaded = change.apply(loaded);
+                    }
+                    table = loaded;
+                }
+                log.debug("Loaded {} active vehicles into the capability index", loaded.size());
+            } catch (RuntimeException ex) {
+                // Giữ bảng cũ (hoặc tiếp tục query DB nếu chưa có) khi DB tạm thời lỗi
+                log.warn("Vehicle capability index refresh failed: {}", ex.getMessage());
+            } finally {
+                synchronized (this) {
+                    changesDuringLoad = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Called after a vehicle is created or updated, including status changes
+     */
+    public void vehicleSaved(Vehicle vehicle) {
+        Long vehicleId = vehicle.getVehicleId();
+        if (vehicle.getStatus() != VehicleStatus.ACTIVE) {
+            vehicleRemoved(vehicleId);
+            return;
+        }
+        VehicleCapability capability = new VehicleCapability(
+                vehicleId, vehicle.getCapacityKg(), vehicle.getCapacityM3(),
+                vehicle.getHasTailLift(), vehicle.getHasTools());
+        TransactionCallbacks.afterCommit(() -> apply(current -> current.with(capability)));
+    }
+
+    public void vehicleRemoved(Long vehicleId) {
+        TransactionCallbacks.afterCommit(() -> apply(current -> current.without(vehicleId)));
+    }
+
+    private synchronized void apply(UnaryOperator<VehicleCapabilityTable> change) {
+        if (changesDuringLoad != null) {
+            changesDuringLoad.add(change);
+        }
+        VehicleCapabilityTable current = table;
+        if (current != null) {
+            table = change.apply(current);
+        }
+    }
+}
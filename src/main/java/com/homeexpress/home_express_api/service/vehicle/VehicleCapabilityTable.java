@@ -0,0 +1,195 @@
+package com.homeexpress.home_express_api.service.vehicle;
+
+import com.homeexpress.home_express_api.dto.vehicle.VehicleCapability;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable, sorted form of the capabilities of all ACTIVE vehicles.
+ *
+ * Vehicles are kept in parallel arrays ordered by weight capacity, with
+ * capacities stored as {@code long} hundredths (the DECIMAL(19, 2) scale of
+ * the columns) and equipment as a bitmask. An eligibility query is a binary
+ * search for the first vehicle that carries the weight, then a scan of the
+ * remaining suffix checking volume and {@code (flags & required) == required}.
+ * Changes return a new table; readers never see a partial update.
+ */
+public final class VehicleCapabilityTable {
+
+    public static final int TAIL_LIFT = 1;
+    public static final int TOOLS = 1 << 1;
+
+    /** Stored capacity_m3 for vehicles without one; such vehicles fit any volume */
+    private static final long NO_VOLUME = -1L;
+
+    private final long[] vehicleIds;
+
+    private final long[] capacityKg;
+
+    private final long[] capacityM3;
+
+    private final byte[] flags;
+
+    private VehicleCapabilityTable(long[] vehicleIds, long[] capacityKg, long[] capacityM3, byte[] flags) {
+        this.vehicleIds = vehicleIds;
+        this.capacityKg = capacityKg;
+        this.capacityM3 = capacityM3;
+        this.flags = flags;
+    }
+
+    /**
+     * Build the table from the given vehicles, which must all be ACTIVE
+     */
+    public static VehicleCapabilityTable of(List<VehicleCapability> capabilities) {
+        VehicleCapability[] sorted = capabilities.stream()
+                .filter(capability -> capability.capacityKg() != null)
+                .sorted(Comparator.comparing(VehicleCapability::capacityKg).thenComparing(VehicleCapability::vehicleId))
+                .toArray(VehicleCapability[]::new);
+
+        int size = sorted.length;
+        long[] vehicleIds = new long[size];
+        long[] capacityKg = new long[size];
+        long[] capacityM3 = new long[size];
+        byte[] flags = new byte[size];
+        for (int i = 0; i < size; i++) {
+            VehicleCapability capability = sorted[i];
+            vehicleIds[i] = capability.vehicleId();
+            capacityKg[i] = toHundredths(capability.capacityKg(), RoundingMode.HALF_UP);
+            capacityM3[i] = capability.capacityM3() != null
+                    ? toHundredths(capability.capacityM3(), RoundingMode.HALF_UP)
+                    : NO_VOLUME;
+            flags[i] = flags(capability);
+        }
+        return new VehicleCapabilityTable(vehicleIds, capacityKg, capacityM3, flags);
+    }
+
+    /**
+     * IDs of the vehicles that can carry {@code totalWeight} and
+     * {@code totalVolume} (null: any) and have every equipment flag in
+     * {@code requiredFlags}, in ascending ID order.
+     */
+    public long[] eligible(BigDecimal totalWeight, BigDecimal totalVolume, int requiredFlags) {
+        // Dung tích lưu theo 2 chữ số thập phân nên làm tròn lên yêu cầu là so sánh chính xác
+        long minKg = toHundredths(totalWeight, RoundingMode.CEILING);
+        long minM3 = totalVolume != null ? toHundredths(totalVolume, RoundingMode.CEILING) : NO_VOLUME;
+
+        int from = lowerBound(minKg);
+        long[] matches = new long[vehicleIds.length - from];
+        int count = 0;
+        for (int i = from; i < vehicleIds.length; i++) {
+            if ((flags[i] & requiredFlags) != requiredFlags) {
+                continue;
+            }
+            if (minM3 != NO_VOLUME && capacityM3[i] != NO_VOLUME && capacityM3[i] < minM3) {
+                continue;
+            }
+            matches[count++] = vehicleIds[i];
+        }
+        long[] result = Arrays.copyOf(matches, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Table with {@code capability} added, replacing any entry for the same vehicle
+     */
+    public VehicleCapabilityTable with(VehicleCapability capability) {
+        VehicleCapabilityTable base = without(capability.vehicleId());
+        if (capability.capacityKg() == null) {
+            return base;
+        }
+        long kg = toHundredths(capability.capacityKg(), RoundingMode.HALF_UP);
+        int size = base.vehicleIds.length;
+        int at = base.lowerBound(kg);
+        while (at < size && base.capacityKg[at] == kg && base.vehicleIds[at] < capability.vehicleId()) {
+            at++;
+        }
+
+        long[] vehicleIds = insert(base.vehicleIds, at, capability.vehicleId());
+        long[] capacityKg = insert(base.capacityKg, at, kg);
+        long[] capacityM3 = insert(base.capacityM3, at, capability.capacityM3() != null
+                ? toHundredths(capability.capacityM3(), RoundingMode.HALF_UP)
+                : NO_VOLUME);
+        byte[] flags = new byte[size + 1];
+        System.arraycopy(base.flags, 0, flags, 0, at);
+        flags[at] = flags(capability);
+        System.arraycopy(base.flags, at, flags, at + 1, size - at);
+        return new VehicleCapabilityTable(vehicleIds, capacityKg, capacityM3, flags);
+    }
+
+    /**
+     * Table without the given vehicle; this table if it is not present
+     */
+    public VehicleCapabilityTable without(long vehicleId) {
+        int at = -1;
+        for (int i = 0; i < vehicleIds.length; i++) {
+            if (vehicleIds[i] == vehicleId) {
+                at = i;
+                break;
+            }
+        }
+        if (at < 0) {
+            return this;
+        }
+        byte[] remainingFlags = new byte[flags.length - 1];
+        System.arraycopy(flags, 0, remainingFlags, 0, at);
+        System.arraycopy(flags, at + 1, remainingFlags, at, flags.length - at - 1);
+        return new VehicleCapabilityTable(remove(vehicleIds, at), remove(capacityKg, at), remove(capacityM3, at),
+                remainingFlags);
+    }
+
+    public int size() {
+        return vehicleIds.length;
+    }
+
+    /**
+     * First position whose weight capacity is at least {@code minKg}
+     */
+    private int lowerBound(long minKg) {
+        int low = 0;
+        int high = capacityKg.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (capacityKg[mid] < minKg) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long toHundredths(BigDecimal value, RoundingMode roundingMode) {
+        return value.setScale(2, roundingMode).unscaledValue().longValue();
+    }
+
+    private static byte flags(VehicleCapability capability) {
+        int value = 0;
+        if (Boolean.TRUE.equals(capability.hasTailLift())) {
+            value |= TAIL_LIFT;
+        }
+        if (Boolean.TRUE.equals(capability.hasTools())) {
+            value |= TOOLS;
+        }
+        return (byte) value;
+    }
+
+    private static long[] insert(long[] values, int at, long value) {
+        long[] result = new long[values.length + 1];
+        System.arraycopy(values, 0, result, 0, at);
+        result[at] = value;
+        System.arraycopy(values, at, result, at + 1, values.length - at);
+        return result;
+    }
+
+    private static long[] remove(long[] values, int at) {
+        long[] result = new long[values.length - 1];
+        System.arraycopy(values, 0, result, 0, at);
+        System.arraycopy(values, at + 1, result, at, values.length - at - 1);
+        return result;
+    }
+}
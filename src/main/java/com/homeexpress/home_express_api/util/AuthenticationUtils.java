@@ -72,6 +72,8 @@ public final class AuthenticationUtils {
 
     /**
      * Resolve the authenticated {@link User}, using the provided repository as needed.
+     * Always hits the database; request handlers that only need the id/role should
+     * use {@code UserPrincipalResolver} instead.
      *
      * @param authentication the authentication context
      * @param userRepository repository used to load user information
@@ -0,0 +1,76 @@
+package com.homeexpress.home_express_api.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Run work once the current transaction has committed.
+ *
+ * Caches and in-memory indexes refreshed from inside a transaction would
+ * otherwise reload the old rows, or publish changes that are then rolled
+ * back. Without an active transaction the work runs immediately.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Run {@code action} after the current transaction commits, or now if
+     * there is none. Nothing runs if the transaction rolls back.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Collect changes of one transaction into a single batch and run
+     * {@code action} on it once after commit, instead of once per change.
+     *
+     * @param key identifies the batch within the transaction, usually the calling bean
+     * @param factory creates the batch on the first change of a transaction
+     * @param collect adds the current change to the batch
+     * @param action processes the batch; runs immediately without a transaction
+     */
+    public static <T> void batchAfterCommit(Object key, Supplier<T> factory, Consumer<T> collect,
+                                            Consumer<T> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            T batch = factory.get();
+            collect.accept(batch);
+            action.accept(batch);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        T batch = (T) TransactionSynchronizationManager.getResource(key);
+        if (batch == null) {
+            T created = factory.get();
+            TransactionSynchronizationManager.bindResource(key, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.accept(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                }
+            });
+            batch = created;
+        }
+        collect.accept(batch);
+    }
+}
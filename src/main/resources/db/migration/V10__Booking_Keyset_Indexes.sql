@@ -0,0 +1,10 @@
+-- Composite indexes for keyset pagination over (created_at DESC, booking_id DESC)
+-- with the booking list filters. The new customer/status indexes have the same
+-- leading column as the single-column ones, which become redundant.
+ALTER TABLE `bookings`
+    ADD KEY `idx_bookings_created` (`created_at`, `booking_id`),
+    ADD KEY `idx_bookings_customer_created` (`customer_id`, `created_at`, `booking_id`),
+    ADD KEY `idx_bookings_status_created` (`status`, `created_at`, `booking_id`),
+    ADD KEY `idx_bookings_pickup_province_created` (`pickup_province_code`, `created_at`, `booking_id`),
+    DROP KEY `idx_bookings_customer`,
+    DROP KEY `idx_bookings_status`;
@@ -0,0 +1,45 @@
+-- Monthly rollup of completed bookings per transport, keyed by the month of
+-- actual_end_time. Rows are recomputed one (transport, month) at a time when a
+-- booking completes or its settlement changes, so the transport dashboards read
+-- at most a few rows instead of scanning the transport's whole booking history.
+CREATE TABLE IF NOT EXISTS `transport_monthly_stats` (
+    `stat_id` BIGINT NOT NULL AUTO_INCREMENT,
+    `transport_id` BIGINT NOT NULL,
+    `month_start` DATE NOT NULL,
+    `completed_bookings` INT NOT NULL DEFAULT 0,
+    `gross_revenue_vnd` DECIMAL(15, 0) NOT NULL DEFAULT 0,
+    `net_to_transport_vnd` DECIMAL(15, 0) NOT NULL DEFAULT 0,
+    `refreshed_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (`stat_id`),
+    UNIQUE KEY `uk_transport_monthly_stats` (`transport_id`, `month_start`),
+    CONSTRAINT `fk_transport_monthly_stats_transport` FOREIGN KEY (`transport_id`) REFERENCES `transports` (`transport_id`) ON DELETE CASCADE
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+
+-- Range access for the per-month refresh and the grouped status/ledger queries.
+-- Each replaces a single-column index with the same leading column.
+ALTER TABLE `bookings`
+    ADD KEY `idx_bookings_transport_status_end` (`transport_id`, `status`, `actual_end_time`),
+    DROP KEY `idx_bookings_transport`;
+
+ALTER TABLE `booking_settlements`
+    ADD KEY `idx_settlements_transport_status` (`transport_id`, `status`),
+    DROP KEY `idx_settlements_transport`;
+
+ALTER TABLE `transport_wallet_transactions`
+    ADD KEY `idx_wallet_tx_wallet_created` (`wallet_id`, `created_at`),
+    DROP KEY `idx_wallet_tx_wallet`;
+
+INSERT INTO `transport_monthly_stats`
+    (`transport_id`, `month_start`, `completed_bookings`, `gross_revenue_vnd`, `net_to_transport_vnd`)
+SELECT b.`transport_id`,
+       DATE_FORMAT(b.`actual_end_time`, '%Y-%m-01'),
+       COUNT(*),
+       COALESCE(SUM(b.`final_price`), 0),
+       COALESCE(SUM(s.`net_to_transport_vnd`), 0)
+FROM `bookings` b
+LEFT JOIN `booking_settlements` s
+       ON s.`booking_id` = b.`booking_id` AND s.`status` <> 'CANCELLED'
+WHERE b.`status` = 'COMPLETED'
+  AND b.`transport_id` IS NOT NULL
+  AND b.`actual_end_time` IS NOT NULL
+GROUP BY b.`transport_id`, DATE_FORMAT(b.`actual_end_time`, '%Y-%m-01');
@@ -0,0 +1,58 @@
+-- Per-transport dashboard counters. Kept out of `transports` (whose own
+-- total_bookings/completed_bookings columns are overwritten by every profile
+-- save) so counter updates never contend with the transport row.
+-- Maintained by TransportStatsService in the same transaction as the booking
+-- and quotation writes; a background reconciler recomputes rows from source.
+CREATE TABLE IF NOT EXISTS `transport_stats` (
+    `transport_id` BIGINT NOT NULL,
+    `total_bookings` INT NOT NULL DEFAULT 0,
+    `confirmed_bookings` INT NOT NULL DEFAULT 0,
+    `in_progress_bookings` INT NOT NULL DEFAULT 0,
+    `completed_bookings` INT NOT NULL DEFAULT 0,
+    `cancelled_bookings` INT NOT NULL DEFAULT 0,
+    `completed_revenue_vnd` DECIMAL(15, 0) NOT NULL DEFAULT 0,
+    `pending_quotations` INT NOT NULL DEFAULT 0,
+    `average_rating` DECIMAL(3, 2) NOT NULL DEFAULT 0.00,
+    `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    `reconciled_at` DATETIME DEFAULT NULL,
+    PRIMARY KEY (`transport_id`),
+    CONSTRAINT `fk_transport_stats_transport` FOREIGN KEY (`transport_id`) REFERENCES `transports` (`transport_id`) ON DELETE CASCADE
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+
+-- Pending quotation count per transport for the reconciler
+ALTER TABLE `quotations`
+    ADD KEY `idx_quotations_transport_status` (`transport_id`, `status`),
+    DROP KEY `idx_quotations_transport`;
+
+INSERT INTO `transport_stats`
+    (`transport_id`, `total_bookings`, `confirmed_bookings`, `in_progress_bookings`, `completed_bookings`,
+     `cancelled_bookings`, `completed_revenue_vnd`, `pending_quotations`, `average_rating`, `reconciled_at`)
+SELECT t.`transport_id`,
+       COALESCE(b.`total`, 0),
+       COALESCE(b.`confirmed`, 0),
+       COALESCE(b.`in_progress`, 0),
+       COALESCE(b.`completed`, 0),
+       COALESCE(b.`cancelled`, 0),
+       COALESCE(b.`revenue`, 0),
+       COALESCE(q.`pending`, 0),
+       COALESCE(t.`average_rating`, 0),
+       NOW()
+FROM `transports` t
+LEFT JOIN (
+    SELECT `transport_id`,
+           COUNT(*) AS `total`,
+           SUM(`status` = 'CONFIRMED') AS `confirmed`,
+           SUM(`status` = 'IN_PROGRESS') AS `in_progress`,
+           SUM(`status` = 'COMPLETED') AS `completed`,
+           SUM(`status` = 'CANCELLED') AS `cancelled`,
+           SUM(CASE WHEN `status` = 'COMPLETED' THEN COALESCE(`final_price`, 0) ELSE 0 END) AS `revenue`
+    FROM `bookings`
+    WHERE `transport_id` IS NOT NULL
+    GROUP BY `transport_id`
+) b ON b.`transport_id` = t.`transport_id`
+LEFT JOIN (
+    SELECT `transport_id`, COUNT(*) AS `pending`
+    FROM `quotations`
+    WHERE `status` = 'PENDING'
+    GROUP BY `transport_id`
+) q ON q.`transport_id` = t.`transport_id`;
@@ -0,0 +1,6 @@
+-- Covering index for the per-booking window functions behind the transport
+-- dashboard's competitive position (count, lowest competitor price, rank).
+-- Replaces the single-column booking index, which has the same leading column.
+ALTER TABLE `quotations`
+    ADD KEY `idx_quotations_booking_price` (`booking_id`, `quoted_price`, `quotation_id`),
+    DROP KEY `idx_quotations_booking`;
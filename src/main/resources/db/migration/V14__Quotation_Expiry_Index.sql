@@ -0,0 +1,5 @@
+-- Range index for the quotation expiry sweep and timing-wheel preload:
+-- WHERE status = 'PENDING' AND expires_at < ? ORDER BY expires_at LIMIT n
+-- reads only the pending rows in deadline order instead of scanning the table.
+ALTER TABLE `quotations`
+    ADD KEY `idx_quotations_status_expires` (`status`, `expires_at`);
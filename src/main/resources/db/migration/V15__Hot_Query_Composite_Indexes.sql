@@ -0,0 +1,31 @@
+-- Composite indexes for the repository methods flagged by RepositoryQueryPlanAuditTest
+-- (EXPLAIN over a seeded database: full scans or filesorts above 1,000 rows).
+-- Widened indexes replace the narrower ones sharing their leading columns.
+
+-- Open-market listing (transport_id IS NULL ... ORDER BY created_at DESC) reads in index
+-- order; per-customer status counts and the preferred-date range no longer touch rows.
+ALTER TABLE `bookings`
+    ADD KEY `idx_bookings_transport_created` (`transport_id`, `created_at`, `status`),
+    ADD KEY `idx_bookings_customer_status` (`customer_id`, `status`),
+    ADD KEY `idx_bookings_preferred_date` (`preferred_date`);
+
+-- Status queues ordered by ready_at / created_at; per-transport listings ordered by created_at.
+ALTER TABLE `booking_settlements`
+    ADD KEY `idx_settlements_status_ready` (`status`, `ready_at`),
+    ADD KEY `idx_settlements_status_created` (`status`, `created_at`, `transport_id`),
+    ADD KEY `idx_settlements_transport_status_created` (`transport_id`, `status`, `created_at`),
+    DROP KEY `idx_settlements_transport_status`;
+
+-- Per-booking payment lookups filter on status and sort by created_at; idempotency
+-- keys were matched by a full scan.
+ALTER TABLE `payments`
+    ADD KEY `idx_payments_booking_status_created` (`booking_id`, `status`, `created_at`),
+    ADD KEY `idx_payments_idempotency_key` (`idempotency_key`);
+
+-- Ledger filters by reference type / transaction type within a wallet, and the
+-- duplicate-credit check matches all three reference columns.
+ALTER TABLE `transport_wallet_transactions`
+    ADD KEY `idx_wallet_tx_wallet_ref_created` (`wallet_id`, `reference_type`, `created_at`),
+    ADD KEY `idx_wallet_tx_wallet_type_created` (`wallet_id`, `transaction_type`, `created_at`),
+    ADD KEY `idx_wallet_tx_ref_type` (`reference_type`, `reference_id`, `transaction_type`),
+    DROP KEY `idx_wallet_tx_ref`;
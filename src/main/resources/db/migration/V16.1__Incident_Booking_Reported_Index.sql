@@ -0,0 +1,8 @@
+-- Incident listing joins incidents to the caller's bookings and pages by reported_at DESC
+-- (reported_at comes from V16). (booking_id, reported_at) serves the per-booking side of the
+-- join in order and replaces the single-column booking index; reported_at alone serves the
+-- unfiltered manager listing.
+ALTER TABLE `incidents`
+    ADD KEY `idx_incidents_booking_reported` (`booking_id`, `reported_at`),
+    ADD KEY `idx_incidents_reported` (`reported_at`),
+    DROP KEY `idx_incidents_booking`;
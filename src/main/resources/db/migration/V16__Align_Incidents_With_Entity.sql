@@ -0,0 +1,36 @@
+-- The incidents table from V1 never matched the Incident entity: the reporter and type columns
+-- are named differently, severity/resolved_by/resolved_at are missing, the status values differ
+-- and there is no reported_at.
+
+-- Existing rows must satisfy the narrower, NOT NULL columns before they change.
+-- A type the entity does not know (which includes anything longer than 20 characters) becomes
+-- OTHER; the original label is kept at the start of the description.
+UPDATE `incidents`
+SET `description` = CONCAT('[', `type`, '] ', `description`),
+    `type` = 'OTHER'
+WHERE `type` NOT IN ('DAMAGE', 'DELAY', 'LOSS', 'ACCIDENT', 'COMPLAINT', 'OTHER');
+
+UPDATE `incidents`
+SET `created_at` = COALESCE(`updated_at`, CURRENT_TIMESTAMP)
+WHERE `created_at` IS NULL;
+
+UPDATE `incidents`
+SET `status` = 'OPEN'
+WHERE `status` IS NULL;
+
+ALTER TABLE `incidents`
+    CHANGE COLUMN `reported_by` `reported_by_user_id` BIGINT NOT NULL,
+    CHANGE COLUMN `type` `incident_type` VARCHAR(20) NOT NULL,
+    ADD COLUMN `severity` VARCHAR(10) NOT NULL DEFAULT 'MEDIUM' AFTER `incident_type`,
+    MODIFY COLUMN `status` VARCHAR(20) NOT NULL DEFAULT 'REPORTED',
+    ADD COLUMN `resolved_by` BIGINT DEFAULT NULL AFTER `resolution_notes`,
+    ADD COLUMN `resolved_at` DATETIME DEFAULT NULL AFTER `resolved_by`,
+    CHANGE COLUMN `created_at` `reported_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ADD CONSTRAINT `fk_incidents_resolved_by` FOREIGN KEY (`resolved_by`) REFERENCES `users` (`user_id`) ON DELETE SET NULL;
+
+UPDATE `incidents`
+SET `status` = CASE `status`
+                   WHEN 'OPEN' THEN 'REPORTED'
+                   WHEN 'INVESTIGATING' THEN 'UNDER_INVESTIGATION'
+                   ELSE `status`
+               END;
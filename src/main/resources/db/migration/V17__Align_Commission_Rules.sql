@@ -0,0 +1,20 @@
+-- Align commission_rules with the CommissionRule entity now that the commission engine reads it.
+-- Existing percentage rules keep their rate and min/max fee and become effective from their creation time.
+-- apply_to_transport_type is left in place: transports carry no type, rules target a transport_id instead.
+ALTER TABLE `commission_rules`
+    MODIFY `name` VARCHAR(100) NULL,
+    MODIFY `percentage` DECIMAL(5, 2) NULL,
+    ADD COLUMN `transport_id` BIGINT NULL AFTER `rule_id`,
+    ADD COLUMN `rule_type` VARCHAR(20) NOT NULL DEFAULT 'PERCENT' AFTER `transport_id`,
+    ADD COLUMN `commission_rate` DECIMAL(5, 2) NOT NULL DEFAULT 0 AFTER `rule_type`,
+    ADD COLUMN `flat_fee_vnd` DECIMAL(12, 0) NULL AFTER `commission_rate`,
+    ADD COLUMN `effective_from` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP AFTER `is_active`,
+    ADD COLUMN `effective_to` DATETIME NULL AFTER `effective_from`,
+    ADD COLUMN `created_by` BIGINT NULL AFTER `effective_to`,
+    ADD COLUMN `updated_by` BIGINT NULL AFTER `created_by`,
+    ADD COLUMN `updated_at` DATETIME NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP AFTER `created_at`,
+    ADD KEY `idx_commission_rules_active_transport` (`is_active`, `transport_id`);
+
+UPDATE `commission_rules`
+SET `commission_rate` = COALESCE(`percentage`, 0),
+    `effective_from` = COALESCE(`created_at`, `effective_from`);
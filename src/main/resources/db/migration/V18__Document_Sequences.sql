@@ -0,0 +1,18 @@
+-- Per-day, per-prefix counters for document numbers (contracts, payouts, PayOS order codes).
+-- next_value is the first value not yet handed out; nodes reserve blocks from it.
+CREATE TABLE IF NOT EXISTS `document_sequences` (
+    `sequence_key` VARCHAR(64) NOT NULL,
+    `next_value` BIGINT NOT NULL,
+    `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (`sequence_key`)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+
+-- Contract numbers used to be CNT-yyyyMMdd-<total contract count + 1>. On the deploy day those
+-- numbers sit in the same CNT-yyyyMMdd-NNNN space as the new daily counter, so start each day
+-- that already has old-format numbers after the highest one issued.
+INSERT INTO `document_sequences` (`sequence_key`, `next_value`)
+SELECT CONCAT('CNT:', SUBSTRING(`contract_number`, 5, 8)),
+       MAX(CAST(SUBSTRING(`contract_number`, 14) AS UNSIGNED)) + 1
+FROM `contracts`
+WHERE `contract_number` REGEXP '^CNT-[0-9]{8}-[0-9]+$'
+GROUP BY SUBSTRING(`contract_number`, 5, 8);
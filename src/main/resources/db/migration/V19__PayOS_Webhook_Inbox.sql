@@ -0,0 +1,23 @@
+-- Inbox for verified PayOS webhooks: stored once per orderCode + reference, processed asynchronously.
+-- idx_payos_inbox_ready serves the claim query; idx_payos_inbox_booking the per-booking ordering check.
+CREATE TABLE IF NOT EXISTS `payos_webhook_inbox` (
+    `inbox_id` BIGINT NOT NULL AUTO_INCREMENT,
+    `dedupe_key` VARCHAR(191) NOT NULL,
+    `order_code` BIGINT NOT NULL,
+    `reference` VARCHAR(150) NULL,
+    `payment_link_id` VARCHAR(100) NULL,
+    `amount` BIGINT NULL,
+    `booking_id` BIGINT NULL,
+    `payload` TEXT NULL,
+    `status` VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    `attempts` INT NOT NULL DEFAULT 0,
+    `last_error` VARCHAR(500) NULL,
+    `received_at` DATETIME(3) NOT NULL,
+    `next_attempt_at` DATETIME(3) NOT NULL,
+    `claimed_at` DATETIME(3) NULL,
+    `processed_at` DATETIME(3) NULL,
+    PRIMARY KEY (`inbox_id`),
+    UNIQUE KEY `uk_payos_inbox_dedupe` (`dedupe_key`),
+    KEY `idx_payos_inbox_ready` (`status`, `next_attempt_at`),
+    KEY `idx_payos_inbox_booking` (`booking_id`, `status`)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
@@ -0,0 +1,5 @@
+-- Eligible-vehicle matching: ACTIVE vehicles by weight capacity, with volume and equipment
+-- checked inside the index. Serves the cold-start query of VehicleRepository.findEligible
+-- and covers the capability index load (vehicle_id is the implicit primary key suffix).
+ALTER TABLE `vehicles`
+    ADD KEY `idx_vehicles_status_capacity` (`status`, `capacity_kg`, `capacity_m3`, `has_tail_lift`, `has_tools`);
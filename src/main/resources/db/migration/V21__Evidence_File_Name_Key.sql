@@ -0,0 +1,6 @@
+-- Access checks on /uploads/evidence/** look evidence up by stored file name. file_url is
+-- a full TEXT URL; the generated column keeps its last path segment so the lookup is an
+-- index range scan instead of a LIKE '%...' over every row.
+ALTER TABLE `evidence`
+    ADD COLUMN `file_name_key` VARCHAR(255) AS (SUBSTRING_INDEX(`file_url`, '/', -1)) STORED,
+    ADD KEY `idx_evidence_file_name_key` (`file_name_key`);
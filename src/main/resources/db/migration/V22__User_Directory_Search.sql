@@ -0,0 +1,24 @@
+-- Admin user directory search matched LIKE '%term%' on email and the three profile
+-- name columns, scanning every user on each request. ngram FULLTEXT indexes answer
+-- the same substring searches (of at least ngram_token_size characters) from the
+-- index; the existing LOWER(email) index covers shorter email prefixes.
+--
+-- An ngram token that contains a stopword is not indexed, and the default InnoDB list
+-- has "a", "i", "an", "com"... so names such as "Hai" or "Anh" and every ".com" email
+-- would lose most of their tokens. Stopwords are bound to an index when it is created;
+-- create these without any.
+SET SESSION innodb_ft_enable_stopword = 0;
+
+ALTER TABLE `users`
+    ADD FULLTEXT KEY `ft_users_email` (`email`) WITH PARSER ngram;
+
+ALTER TABLE `customers`
+    ADD FULLTEXT KEY `ft_customers_full_name` (`full_name`) WITH PARSER ngram;
+
+ALTER TABLE `transports`
+    ADD FULLTEXT KEY `ft_transports_company_name` (`company_name`) WITH PARSER ngram;
+
+ALTER TABLE `managers`
+    ADD FULLTEXT KEY `ft_managers_full_name` (`full_name`) WITH PARSER ngram;
+
+SET SESSION innodb_ft_enable_stopword = 1;
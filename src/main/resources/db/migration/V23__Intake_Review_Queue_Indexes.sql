@@ -0,0 +1,10 @@
+-- Admin intake review queue. intake_sessions only had its primary key and the
+-- foreign key index on user_id, so every status filter, age filter and the
+-- per-status stats scanned the whole table.
+-- (status, created_at, average_confidence) serves the status/age range and the
+-- grouped stats without reading the rows. It does not serve the queue order: the
+-- low-confidence-first CASE depends on a configurable threshold, so the matching
+-- rows are still sorted (filesort); the index only narrows what gets sorted.
+ALTER TABLE `intake_sessions`
+    ADD KEY `idx_intake_sessions_status_created` (`status`, `created_at`, `average_confidence`),
+    ADD KEY `idx_intake_sessions_user_status_created` (`user_id`, `status`, `created_at`);
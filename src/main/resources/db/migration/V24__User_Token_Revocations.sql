@@ -0,0 +1,16 @@
+-- Revoke-all cutoffs (password change, deactivation, security breach). Access
+-- tokens of the user issued before revoked_before are rejected. Only the
+-- latest cutoff per user matters, so the row is upserted with GREATEST.
+-- Nodes load rows from the last token lifetime on startup and re-read recent
+-- ones periodically in case a Redis revocation message was lost.
+CREATE TABLE IF NOT EXISTS `user_token_revocations` (
+    `user_id` BIGINT NOT NULL,
+    `revoked_before` DATETIME(3) NOT NULL,
+    PRIMARY KEY (`user_id`),
+    KEY `idx_user_token_revocations_revoked` (`revoked_before`),
+    CONSTRAINT `fk_user_token_revocations_user` FOREIGN KEY (`user_id`) REFERENCES `users` (`user_id`) ON DELETE CASCADE
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+
+-- Startup load and periodic resync read recently revoked sessions by revoked_at
+ALTER TABLE `user_sessions`
+    ADD KEY `idx_user_sessions_revoked_at` (`revoked_at`);
@@ -0,0 +1,9 @@
+-- Blind index for payments.transaction_id, which may now hold AES-GCM ciphertext.
+-- Rows written before encryption keep plaintext and are still matched on transaction_id.
+ALTER TABLE `payments`
+    ADD COLUMN `transaction_id_hash` CHAR(64) DEFAULT NULL AFTER `transaction_id`,
+    ADD UNIQUE KEY `uk_payments_transaction_id_hash` (`transaction_id_hash`);
+
+-- Encrypted bank account numbers no longer fit in VARCHAR(19)
+ALTER TABLE `transport_payouts`
+    MODIFY COLUMN `bank_account_number` VARCHAR(255) DEFAULT NULL;
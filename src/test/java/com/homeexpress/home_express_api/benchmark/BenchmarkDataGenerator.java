@@ -0,0 +1,215 @@
+package com.homeexpress.home_express_api.benchmark;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Fills a local MySQL with synthetic marketplace data for the benchmark suite:
+ * customers, transports ready to quote (wallet, vehicles, rate cards, vehicle and
+ * category pricing) and a backlog of historical bookings with items.
+ *
+ * Generated ids start at {@code bench.idBase} so a run never collides with real
+ * rows and {@link BookingFlowLoadScenario} can address the same actors. Volumes
+ * and connection come from system properties:
+ * bench.url, bench.user, bench.password, bench.customers, bench.transports,
+ * bench.bookings, bench.idBase, bench.seed.
+ *
+ * Run: java -cp "target/test-classes:target/classes:<test classpath>" -Dbench.bookings=200000
+ * com.homeexpress.home_express_api.benchmark.BenchmarkDataGenerator
+ */
+public class BenchmarkDataGenerator {
+
+    static final long DEFAULT_ID_BASE = 5_000_000L;
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final String[] DISTRICTS = {
+        "Quận 1", "Quận 3", "Quận 7", "Bình Thạnh", "Thủ Đức", "Gò Vấp", "Tân Bình", "Phú Nhuận"
+    };
+
+    private static final String[] ITEM_NAMES = {
+        "Tủ lạnh", "Máy giặt", "Sofa 3 chỗ", "Giường đôi", "Tủ quần áo", "Bàn ăn", "Tivi 55 inch",
+        "Bàn làm việc", "Ghế văn phòng", "Kệ sách", "Điều hòa", "Thùng carton"
+    };
+
+    private static final String[] BOOKING_STATUSES = {
+        "PENDING", "QUOTED", "CONFIRMED", "IN_PROGRESS", "COMPLETED", "COMPLETED", "CONFIRMED_BY_CUSTOMER", "CANCELLED"
+    };
+
+    private final JdbcTemplate jdbc;
+    private final SplittableRandom random;
+    private final long idBase;
+
+    public BenchmarkDataGenerator(JdbcTemplate jdbc, long idBase, long seed) {
+        this.jdbc = jdbc;
+        this.idBase = idBase;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public static void main(String[] args) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("bench.url", "jdbc:mysql://localhost:3306/home_express?rewriteBatchedStatements=true"),
+                System.getProperty("bench.user", "root"),
+                System.getProperty("bench.password", ""));
+        BenchmarkDataGenerator generator = new BenchmarkDataGenerator(new JdbcTemplate(dataSource),
+                Long.getLong("bench.idBase", DEFAULT_ID_BASE), Long.getLong("bench.seed", 42L));
+
+        int customers = Integer.getInteger("bench.customers", 5_000);
+        int transports = Integer.getInteger("bench.transports", 500);
+        int bookings = Integer.getInteger("bench.bookings", 50_000);
+
+        long started = System.nanoTime();
+        generator.generate(customers, transports, bookings);
+        System.out.printf("Generated %d customers, %d transports, %d bookings in %d ms%n",
+                customers, transports, bookings, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public void generate(int customers, int transports, int bookings) {
+        List<Long> categoryIds = jdbc.queryForList(
+                "SELECT category_id FROM categories WHERE is_active = TRUE ORDER BY category_id", Long.class);
+        if (categoryIds.isEmpty()) {
+            throw new IllegalStateException("No active categories; apply V8__Seed_Categories first");
+        }
+        insertCustomers(customers);
+        insertTransports(transports, categoryIds);
+        insertBookings(bookings, customers, transports, categoryIds);
+        jdbc.execute("ANALYZE TABLE users, customers, transports, vehicles, bookings, booking_items");
+    }
+
+    private void insertCustomers(int count) {
+        List<Object[]> users = new ArrayList<>(count);
+        List<Object[]> customers = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            long id = customerId(i);
+            users.add(new Object[] {id, "bench-customer-" + i + "@example.com", "CUSTOMER", daysAgo(random.nextInt(720))});
+            customers.add(new Object[] {id, "Khách hàng " + i, String.format("09%08d", i)});
+        }
+        batch("INSERT INTO users (user_id, email, password_hash, role, is_active, is_verified, created_at) "
+                + "VALUES (?, ?, 'x', ?, TRUE, TRUE, ?)", users);
+        batch("INSERT INTO customers (customer_id, full_name, phone) VALUES (?, ?, ?)", customers);
+    }
+
+    private void insertTransports(int count, List<Long> categoryIds) {
+        List<Object[]> users = new ArrayList<>(count);
+        List<Object[]> transports = new ArrayList<>(count);
+        List<Object[]> wallets = new ArrayList<>(count);
+        List<Object[]> vehicles = new ArrayList<>(count * 2);
+        List<Object[]> rateCards = new ArrayList<>(count * categoryIds.size());
+        List<Object[]> vehiclePricing = new ArrayList<>(count);
+        List<Object[]> categoryPricing = new ArrayList<>(count * categoryIds.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp validFrom = daysAgo(30);
+        for (int i = 1; i <= count; i++) {
+            long id = transportId(i);
+            users.add(new Object[] {id, "bench-transport-" + i + "@example.com", "TRANSPORT", daysAgo(random.nextInt(720))});
+            transports.add(new Object[] {id, "Vận tải " + i, String.format("BENCH%06d", i), String.format("08%08d", i),
+                    DISTRICTS[i % DISTRICTS.length] + ", TP. Hồ Chí Minh", "Hồ Chí Minh", "Vận tải " + i});
+            wallets.add(new Object[] {id, now, now});
+            int vehicleCount = 1 + random.nextInt(3);
+            for (int v = 0; v < vehicleCount; v++) {
+                boolean truck = v > 0;
+                vehicles.add(new Object[] {id, truck ? "truck_small" : "van", truck ? "Hyundai Porter" : "Suzuki Carry",
+                        String.format("51C-%03d.%02d", i % 1000, v), truck ? 1_500 : 750, truck ? 9.5 : 4.2, now, now});
+            }
+            long base = 250_000L + random.nextInt(20) * 10_000L;
+            vehiclePricing.add(new Object[] {id, base, 15_000L, 11_000L, 9_000L, base + 150_000L, validFrom});
+            for (Long categoryId : categoryIds) {
+                rateCards.add(new Object[] {id, categoryId, base, 12_000L + random.nextInt(5) * 1_000L, 120_000L,
+                        base + 100_000L, validFrom});
+                categoryPricing.add(new Object[] {id, categoryId, 50_000L + random.nextInt(30) * 5_000L, validFrom});
+            }
+        }
+        batch("INSERT INTO users (user_id, email, password_hash, role, is_active, is_verified, created_at) "
+                + "VALUES (?, ?, 'x', ?, TRUE, TRUE, ?)", users);
+        batch("INSERT INTO transports (transport_id, company_name, business_license_number, phone, address, city, "
+                + "verification_status, ready_to_quote, bank_code, bank_account_holder) "
+                + "VALUES (?, ?, ?, ?, ?, ?, 'READY_TO_QUOTE', TRUE, 'VCB', ?)", transports);
+        batch("INSERT INTO transport_wallets (transport_id, status, created_at, updated_at) VALUES (?, 'ACTIVE', ?, ?)",
+                wallets);
+        batch("INSERT INTO vehicles (transport_id, type, model, license_plate, capacity_kg, capacity_m3, status, "
+                + "has_tail_lift, has_tools, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, 'ACTIVE', FALSE, TRUE, ?, ?)",
+                vehicles);
+        batch("INSERT INTO vehicle_pricing (transport_id, vehicle_type, base_price_vnd, per_km_first_4km_vnd, "
+                + "per_km_5_to_40km_vnd, per_km_after_40km_vnd, min_charge_vnd, elevator_bonus_vnd, "
+                + "no_elevator_fee_per_floor_vnd, no_elevator_floor_threshold, peak_hour_multiplier, weekend_multiplier, "
+                + "timezone, is_active, valid_from) "
+                + "VALUES (?, 'van', ?, ?, ?, ?, ?, 0, 20000, 3, 1.00, 1.00, 'Asia/Ho_Chi_Minh', TRUE, ?)", vehiclePricing);
+        batch("INSERT INTO rate_cards (transport_id, category_id, base_price, price_per_km, price_per_hour, "
+                + "minimum_charge, valid_from, is_active, additional_rules) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, TRUE, '{\"fragile_multiplier\": 1.2, \"heavy_item_multiplier\": 1.5}')",
+                rateCards);
+        batch("INSERT INTO category_pricing (transport_id, category_id, price_per_unit_vnd, valid_from) VALUES (?, ?, ?, ?)",
+                categoryPricing);
+    }
+
+    private void insertBookings(int count, int customers, int transports, List<Long> categoryIds) {
+        long firstBookingId = idBase;
+        List<Object[]> bookings = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> items = new ArrayList<>(BATCH_SIZE * 4);
+        for (int i = 1; i <= count; i++) {
+            long bookingId = firstBookingId + i;
+            String status = BOOKING_STATUSES[random.nextInt(BOOKING_STATUSES.length)];
+            boolean assigned = !status.equals("PENDING") && !status.equals("QUOTED");
+            Timestamp createdAt = minutesAgo(random.nextInt(365 * 24 * 60));
+            double distanceKm = 2 + random.nextInt(4_000) / 100.0;
+            bookings.add(new Object[] {
+                bookingId,
+                customerId(1 + random.nextInt(customers)),
+                assigned ? transportId(1 + random.nextInt(transports)) : null,
+                (1 + random.nextInt(300)) + " Nguyễn Văn Cừ, " + DISTRICTS[random.nextInt(DISTRICTS.length)],
+                (1 + random.nextInt(300)) + " Lê Văn Việt, " + DISTRICTS[random.nextInt(DISTRICTS.length)],
+                Date.valueOf(LocalDate.now().plusDays(random.nextInt(-180, 60))),
+                distanceKm,
+                assigned ? 1_000_000L + random.nextInt(200) * 25_000L : null,
+                status,
+                createdAt,
+                createdAt
+            });
+            int itemCount = 1 + random.nextInt(8);
+            for (int n = 0; n < itemCount; n++) {
+                String name = ITEM_NAMES[random.nextInt(ITEM_NAMES.length)];
+                items.add(new Object[] {bookingId, categoryIds.get(random.nextInt(categoryIds.size())), name,
+                        1 + random.nextInt(3), 5 + random.nextInt(150), random.nextInt(5) == 0, random.nextInt(4) == 0});
+            }
+            if (bookings.size() == BATCH_SIZE || i == count) {
+                batch("INSERT INTO bookings (booking_id, customer_id, transport_id, pickup_address, delivery_address, "
+                        + "preferred_date, distance_km, final_price, status, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", bookings);
+                batch("INSERT INTO booking_items (booking_id, category_id, name, quantity, weight_kg, is_fragile, "
+                        + "requires_disassembly) VALUES (?, ?, ?, ?, ?, ?, ?)", items);
+                bookings.clear();
+                items.clear();
+            }
+        }
+    }
+
+    long customerId(int index) {
+        return idBase + index;
+    }
+
+    long transportId(int index) {
+        return idBase + 500_000L + index;
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+
+    private static Timestamp daysAgo(int days) {
+        return Timestamp.valueOf(LocalDateTime.now().minusDays(days));
+    }
+
+    private static Timestamp minutesAgo(int minutes) {
+        return Timestamp.valueOf(LocalDateTime.now().minusMinutes(minutes));
+    }
+}
@@ -0,0 +1,286 @@
+package com.homeexpress.home_express_api.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.homeexpress.home_express_api.HomeExpressApiApplication;
+import com.homeexpress.home_express_api.dto.booking.AddressDto;
+import com.homeexpress.home_express_api.dto.booking.BookingRequest;
+import com.homeexpress.home_express_api.dto.request.ConfirmCompletionRequest;
+import com.homeexpress.home_express_api.dto.request.InitiateDepositRequest;
+import com.homeexpress.home_express_api.dto.request.InitiateRemainingPaymentRequest;
+import com.homeexpress.home_express_api.dto.request.PaymentMethodRequest;
+import com.homeexpress.home_express_api.dto.request.SubmitQuotationRequest;
+import com.homeexpress.home_express_api.entity.UserRole;
+import com.homeexpress.home_express_api.service.BookingService;
+import com.homeexpress.home_express_api.service.PaymentService;
+import com.homeexpress.home_express_api.service.PayoutService;
+import com.homeexpress.home_express_api.service.QuotationService;
+import com.homeexpress.home_express_api.service.SettlementService;
+import com.homeexpress.home_express_api.service.TransportJobService;
+
+/**
+ * Drives the booking-to-payout flow through the service layer against a local
+ * MySQL/Redis and reports p50/p99/max latency and SQL statements per call for
+ * every stage.
+ *
+ * Expects the actors from {@link BenchmarkDataGenerator} (same bench.idBase,
+ * bench.customers, bench.transports) and the full production schema, including
+ * the sp_accept_quotation procedure. Flows run on bench.threads threads until
+ * bench.flows have finished; a failed stage ends its flow and is counted.
+ *
+ * Run: java -cp "target/test-classes:target/classes:<test classpath>" -Dbench.flows=500 -Dbench.threads=16
+ * com.homeexpress.home_express_api.benchmark.BookingFlowLoadScenario
+ */
+public class BookingFlowLoadScenario {
+
+    enum Stage {
+        CREATE_BOOKING, SUBMIT_QUOTATION, ACCEPT_QUOTATION, DEPOSIT, START_JOB, COMPLETE_JOB,
+        REMAINING_PAYMENT, GENERATE_SETTLEMENT, CONFIRM_COMPLETION, PAYOUT_BATCH
+    }
+
+    private final Map<Stage, StageStats> stats = new EnumMap<>(Stage.class);
+
+    private final BookingService bookingService;
+    private final QuotationService quotationService;
+    private final PaymentService paymentService;
+    private final TransportJobService transportJobService;
+    private final SettlementService settlementService;
+    private final PayoutService payoutService;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final long idBase;
+    private final int customers;
+    private final int transports;
+    private final List<Long> categoryIds;
+    private final Map<Long, Long> vehicleByTransport = new ConcurrentHashMap<>();
+
+    BookingFlowLoadScenario(ConfigurableApplicationContext context, long idBase, int customers, int transports) {
+        this.bookingService = context.getBean(BookingService.class);
+        this.quotationService = context.getBean(QuotationService.class);
+        this.paymentService = context.getBean(PaymentService.class);
+        this.transportJobService = context.getBean(TransportJobService.class);
+        this.settlementService = context.getBean(SettlementService.class);
+        this.payoutService = context.getBean(PayoutService.class);
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.idBase = idBase;
+        this.customers = customers;
+        this.transports = transports;
+        this.categoryIds = jdbcTemplate.queryForList(
+                "SELECT category_id FROM categories WHERE is_active = TRUE ORDER BY category_id LIMIT 4", Long.class);
+        for (Stage stage : Stage.values()) {
+            stats.put(stage, new StageStats());
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int flows = Integer.getInteger("bench.flows", 200);
+        int threads = Integer.getInteger("bench.threads", 8);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HomeExpressApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + StatementCounter.class.getName())
+                .run(args)) {
+            BookingFlowLoadScenario scenario = new BookingFlowLoadScenario(context,
+                    Long.getLong("bench.idBase", BenchmarkDataGenerator.DEFAULT_ID_BASE),
+                    Integer.getInteger("bench.customers", 5_000),
+                    Integer.getInteger("bench.transports", 500));
+
+            // Warm-up pass so class loading and connection pool growth stay out of the numbers
+            scenario.run(Math.min(flows, threads * 2), threads);
+            scenario.clear();
+
+            long started = System.nanoTime();
+            scenario.run(flows, threads);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            scenario.report(flows, threads, elapsedMillis);
+        }
+    }
+
+    void run(int flows, int threads) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicLong sequence = new AtomicLong();
+        for (int i = 0; i < flows; i++) {
+            executor.execute(() -> runFlow(sequence.incrementAndGet()));
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.HOURS);
+    }
+
+    private void runFlow(long flow) {
+        long customerId = idBase + 1 + flow % customers;
+        long transportId = idBase + 500_000L + 1 + flow % transports;
+        try {
+            Long bookingId = stage(Stage.CREATE_BOOKING, UserRole.CUSTOMER,
+                    () -> bookingService.createBooking(bookingRequest(flow), customerId, UserRole.CUSTOMER).getBookingId());
+            Long quotationId = stage(Stage.SUBMIT_QUOTATION, UserRole.TRANSPORT,
+                    () -> quotationService.submitQuotation(quotationRequest(bookingId, transportId), transportId)
+                            .getQuotationId());
+            stage(Stage.ACCEPT_QUOTATION, UserRole.CUSTOMER,
+                    () -> quotationService.acceptQuotation(quotationId, customerId, "127.0.0.1"));
+            stage(Stage.DEPOSIT, UserRole.CUSTOMER, () -> paymentService.initiateDepositPayment(
+                    new InitiateDepositRequest(bookingId, PaymentMethodRequest.CASH, null, null), customerId));
+            stage(Stage.START_JOB, UserRole.TRANSPORT, () -> transportJobService.startJob(bookingId, transportId));
+            stage(Stage.COMPLETE_JOB, UserRole.TRANSPORT,
+                    () -> transportJobService.completeJob(bookingId, transportId, "Load scenario", List.of()));
+            stage(Stage.REMAINING_PAYMENT, UserRole.CUSTOMER, () -> paymentService.initiateRemainingPayment(
+                    new InitiateRemainingPaymentRequest(bookingId, PaymentMethodRequest.CASH, 0L, null, null), customerId));
+            stage(Stage.GENERATE_SETTLEMENT, UserRole.MANAGER, () -> settlementService.generateSettlement(bookingId));
+            stage(Stage.CONFIRM_COMPLETION, UserRole.CUSTOMER, () -> bookingService.confirmBookingCompletion(
+                    bookingId, new ConfirmCompletionRequest("Tốt", 5), customerId));
+            stage(Stage.PAYOUT_BATCH, UserRole.MANAGER, () -> payoutService.createPayoutBatch(transportId));
+        } catch (StageFailed e) {
+            // đã ghi nhận lỗi ở stage tương ứng, bỏ phần còn lại của flow
+        }
+    }
+
+    private <T> T stage(Stage stage, UserRole role, Supplier<T> call) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "load-scenario", null, List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+        StatementCounter.reset();
+        long started = System.nanoTime();
+        try {
+            T result = call.get();
+            stats.get(stage).record(System.nanoTime() - started, StatementCounter.reset());
+            return result;
+        } catch (RuntimeException e) {
+            StatementCounter.reset();
+            stats.get(stage).fail(e);
+            throw new StageFailed();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private BookingRequest bookingRequest(long flow) {
+        BookingRequest request = new BookingRequest();
+        request.setPickupAddress(address((flow % 300 + 1) + " Nguyễn Văn Cừ, Quận 5", "10.7626", "106.6822"));
+        request.setDeliveryAddress(address((flow % 200 + 1) + " Lê Văn Việt, Thủ Đức", "10.8456", "106.7942"));
+        request.setPreferredDate(LocalDate.now().plusDays(3 + flow % 20));
+
+        List<BookingRequest.ItemDto> items = new ArrayList<>();
+        String[] names = {"Tủ lạnh", "Máy giặt", "Sofa 3 chỗ", "Thùng carton"};
+        for (int i = 0; i < 1 + flow % names.length; i++) {
+            BookingRequest.ItemDto item = new BookingRequest.ItemDto();
+            item.setCategoryId(categoryIds.get(i % categoryIds.size()));
+            item.setName(names[i]);
+            item.setQuantity(1 + i);
+            items.add(item);
+        }
+        request.setItems(items);
+        return request;
+    }
+
+    private static AddressDto address(String line, String lat, String lng) {
+        AddressDto address = new AddressDto();
+        address.setAddressLine(line);
+        address.setLat(new BigDecimal(lat));
+        address.setLng(new BigDecimal(lng));
+        return address;
+    }
+
+    private SubmitQuotationRequest quotationRequest(Long bookingId, long transportId) {
+        SubmitQuotationRequest request = new SubmitQuotationRequest();
+        request.setBookingId(bookingId);
+        request.setVehicleId(vehicleByTransport.computeIfAbsent(transportId, id -> jdbcTemplate.queryForObject(
+                "SELECT MIN(vehicle_id) FROM vehicles WHERE transport_id = ?", Long.class, id)));
+        request.setBasePrice(BigDecimal.valueOf(1_200_000));
+        request.setDistancePrice(BigDecimal.valueOf(250_000));
+        request.setEstimatedDurationHours(BigDecimal.valueOf(3));
+        return request;
+    }
+
+    void clear() {
+        stats.values().forEach(StageStats::clear);
+    }
+
+    void report(int flows, int threads, long elapsedMillis) {
+        System.out.printf("%d flows on %d threads in %d ms (%.1f flows/s)%n",
+                flows, threads, elapsedMillis, flows * 1000.0 / Math.max(1, elapsedMillis));
+        System.out.printf("%-20s %7s %7s %9s %9s %9s %12s%n",
+                "stage", "ok", "errors", "p50 ms", "p99 ms", "max ms", "queries/req");
+        for (Map.Entry<Stage, StageStats> entry : stats.entrySet()) {
+            StageStats stage = entry.getValue();
+            long[] latencies = stage.sortedLatencies();
+            System.out.printf("%-20s %7d %7d %9.2f %9.2f %9.2f %12.1f%n",
+                    entry.getKey(), latencies.length, stage.errors.get(),
+                    millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                    millis(latencies.length > 0 ? latencies[latencies.length - 1] : 0),
+                    latencies.length > 0 ? (double) stage.queries.get() / latencies.length : 0.0);
+            if (stage.firstError != null) {
+                System.out.println("    first error: " + stage.firstError);
+            }
+        }
+    }
+
+    static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class StageStats {
+
+        private final List<Long> latencies = new ArrayList<>();
+        private final AtomicLong queries = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private volatile String firstError;
+
+        synchronized void record(long nanos, long statements) {
+            latencies.add(nanos);
+            queries.addAndGet(statements);
+        }
+
+        void fail(RuntimeException e) {
+            if (errors.getAndIncrement() == 0) {
+                firstError = e.getClass().getSimpleName() + ": " + e.getMessage();
+            }
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        synchronized void clear() {
+            latencies.clear();
+            queries.set(0);
+            errors.set(0);
+            firstError = null;
+        }
+    }
+
+    private static final class StageFailed extends RuntimeException {
+
+        StageFailed() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.homeexpress.home_express_api.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.homeexpress.home_express_api.entity.CommissionRule;
+import com.homeexpress.home_express_api.entity.CommissionRuleType;
+import com.homeexpress.home_express_api.repository.CommissionRuleRepository;
+import com.homeexpress.home_express_api.service.CommissionService;
+import com.homeexpress.home_express_api.service.commission.CommissionRuleEngine;
+
+/**
+ * Platform fee evaluation through CommissionService against an in-memory
+ * rule table: one booking at a time and a settlement-sized batch grouped by
+ * transport.
+ *
+ * Run: java -cp "target/test-classes:target/classes:<test classpath>"
+ * com.homeexpress.home_express_api.benchmark.CommissionRuleEngineBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommissionRuleEngineBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    /** Number of transports with their own rule */
+    @Param({"10", "1000"})
+    private int transportRules;
+
+    private CommissionService commissionService;
+
+    private long[] prices;
+
+    private long[] transportIds;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<CommissionRule> rules = new ArrayList<>();
+        rules.add(rule(1L, null, 5.0, now.minusYears(1)));
+        for (int i = 0; i < transportRules; i++) {
+            long transportId = 100L + i * 2;
+            CommissionRule rule = rule(10L + i, transportId, 4.0 + i % 7, now.minusDays(30));
+            if (i % 5 == 0) {
+                rule.setRuleType(CommissionRuleType.FLAT);
+                rule.setFlatFeeVnd(80_000L);
+            }
+            rule.setMinFeeVnd(50_000L);
+            rule.setMaxFeeVnd(2_000_000L);
+            rules.add(rule);
+            // Rule cũ đã hết hạn, chỉ để lookup phải bỏ qua
+            CommissionRule old = rule(100_000L + i, transportId, 9.0, now.minusYears(1));
+            old.setEffectiveTo(now.minusDays(30));
+            rules.add(old);
+        }
+
+        CommissionRuleRepository repository = CommissionRuleRepository.class.cast(Proxy.newProxyInstance(
+                CommissionRuleRepository.class.getClassLoader(), new Class<?>[] {CommissionRuleRepository.class},
+                (proxy, invoked, args) -> {
+                    if (invoked.getName().equals("findByIsActiveTrue")) {
+                        return rules;
+                    }
+                    throw new UnsupportedOperationException(invoked.getName());
+                }));
+        CommissionRuleEngine engine = new CommissionRuleEngine(repository);
+        engine.refresh();
+        commissionService = new CommissionService(engine);
+
+        // Odd IDs have no rule of their own and fall through to the default
+        prices = new long[BATCH_SIZE];
+        transportIds = new long[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            prices[i] = 1_500_000L + (i * 7_919L) % 20_000_000L;
+            transportIds[i] = 100L + (i * 31L) % (transportRules * 2L);
+        }
+        Arrays.sort(transportIds);
+    }
+
+    @Benchmark
+    public long singleFee() {
+        int i = next;
+        next = i + 1 == BATCH_SIZE ? 0 : i + 1;
+        return commissionService.calculatePlatformFee(prices[i], transportIds[i]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long[] batchFees() {
+        return commissionService.calculatePlatformFees(prices, transportIds);
+    }
+
+    private static CommissionRule rule(Long ruleId, Long transportId, double rate, LocalDateTime from) {
+        CommissionRule rule = new CommissionRule();
+        rule.setRuleId(ruleId);
+        rule.setTransportId(transportId);
+        rule.setRuleType(CommissionRuleType.PERCENT);
+        rule.setCommissionRate(rate);
+        rule.setIsActive(true);
+        rule.setEffectiveFrom(from);
+        return rule;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CommissionRuleEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,94 @@
+package com.homeexpress.home_express_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.homeexpress.home_express_api.config.EncryptionConfig;
+import com.homeexpress.home_express_api.service.EncryptionService;
+
+/**
+ * Throughput of the AES-GCM layer used for payment and settlement fields.
+ *
+ * Run: mvn test-compile && java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath
+ * -Dmdep.outputFile=/dev/stdout)" com.homeexpress.home_express_api.benchmark.EncryptionServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class EncryptionServiceBenchmark {
+
+    @Param({"100", "1000"})
+    private int batchSize;
+
+    private EncryptionService encryptionService;
+    private String encryptedAmount;
+    private byte[] encryptedAmountBytes;
+    private String transactionId;
+    private List<String> encryptedBatch;
+
+    @Setup
+    public void setUp() {
+        EncryptionConfig config = new EncryptionConfig();
+        config.setMasterKey(EncryptionService.generateKey());
+        encryptionService = new EncryptionService(config);
+        encryptionService.init();
+
+        transactionId = "PAYOS-20261018-000123456";
+        encryptedAmount = encryptionService.encryptLong(12_500_000L);
+        encryptedAmountBytes = encryptionService.encryptLongToBytes(12_500_000L);
+
+        List<String> amounts = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            amounts.add(Long.toString(1_000_000L + i * 1_000L));
+        }
+        encryptedBatch = encryptionService.encryptAll(amounts);
+    }
+
+    @Benchmark
+    public String encryptString() {
+        return encryptionService.encrypt(transactionId);
+    }
+
+    @Benchmark
+    public Long decryptLongBase64() {
+        return encryptionService.decryptLong(encryptedAmount);
+    }
+
+    @Benchmark
+    public Long decryptLongBinary() {
+        return encryptionService.decryptLongFromBytes(encryptedAmountBytes);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<Long> decryptListPage() {
+        return encryptionService.decryptLongs(encryptedBatch);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EncryptionServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
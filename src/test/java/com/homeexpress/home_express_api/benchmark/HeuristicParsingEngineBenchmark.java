@@ -0,0 +1,85 @@
+package com.homeexpress.home_express_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.homeexpress.home_express_api.config.IntakeProperties;
+import com.homeexpress.home_express_api.dto.intake.IntakeParseTextResponse;
+import com.homeexpress.home_express_api.service.intake.HeuristicParsingEngine;
+
+/**
+ * Throughput of the intake fallback parser on pasted inventory lists.
+ *
+ * Run: java -cp "target/test-classes:target/classes:<test classpath>"
+ * com.homeexpress.home_express_api.benchmark.HeuristicParsingEngineBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeuristicParsingEngineBenchmark {
+
+    private static final String[] SAMPLE_LINES = {
+        "1 tủ lạnh Samsung 2 cánh 80kg",
+        "2 máy giặt LG 9kg",
+        "tivi Sony 55 inch",
+        "Bộ sofa góc chữ L 2m4",
+        "4 ghế ăn gỗ",
+        "bàn ăn 160x90x75",
+        "1 giường đôi 1m8 cần tháo lắp",
+        "tủ quần áo 3 cánh 180x60x200",
+        "Phòng ngủ: 10 thùng carton sách",
+        "gương trang điểm dễ vỡ",
+        "điều hòa Daikin 1.5HP",
+        "bep tu Electrolux",
+        "2 quat dung Panasonic",
+        "kệ sách 5 tầng 80x30x180 45 kg"
+    };
+
+    @Param({"10", "100"})
+    private int lineCount;
+
+    private HeuristicParsingEngine engine;
+    private List<String> lines;
+
+    @Setup
+    public void setUp() {
+        IntakeProperties properties = new IntakeProperties();
+        properties.initPatterns();
+        engine = new HeuristicParsingEngine(properties);
+
+        lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(SAMPLE_LINES[i % SAMPLE_LINES.length]);
+        }
+    }
+
+    @Benchmark
+    public List<IntakeParseTextResponse.ParsedItem> parse() {
+        return engine.parse(lines);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HeuristicParsingEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
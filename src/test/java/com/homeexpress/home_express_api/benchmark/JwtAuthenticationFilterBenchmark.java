@@ -0,0 +1,91 @@
+package com.homeexpress.home_express_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.http.Cookie;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.homeexpress.home_express_api.config.JwtAuthenticationFilter;
+import com.homeexpress.home_express_api.config.JwtPrincipalCache;
+import com.homeexpress.home_express_api.config.JwtTokenProvider;
+import com.homeexpress.home_express_api.service.session.AccessTokenRevocationRegistry;
+
+/**
+ * Per-request cost of JwtAuthenticationFilter with and without the verification cache.
+ *
+ * Run: java -cp "target/test-classes:target/classes:<test classpath>"
+ * com.homeexpress.home_express_api.benchmark.JwtAuthenticationFilterBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"0", "10000"})
+    private int cacheEntries;
+
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        AccessTokenRevocationRegistry revocationRegistry = new AccessTokenRevocationRegistry(tokenProvider, 100_000);
+        // a few unrelated revocations so the bloom filter is not empty
+        for (long userId = 1; userId <= 1_000; userId++) {
+            revocationRegistry.revokeSession("session-" + userId, System.currentTimeMillis());
+        }
+        filter = new JwtAuthenticationFilter(tokenProvider, new JwtPrincipalCache(cacheEntries), revocationRegistry);
+        token = tokenProvider.generateAccessToken(42L, "transport@example.com", "TRANSPORT", "session-live");
+    }
+
+    @Benchmark
+    public Object headerToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/transport/dashboard/stats");
+        request.addHeader("Authorization", "Bearer " + token);
+        return runFilter(request);
+    }
+
+    @Benchmark
+    public Object cookieToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/customer/events");
+        request.setCookies(new Cookie("theme", "dark"), new Cookie("locale", "vi"), new Cookie("access_token", token));
+        return runFilter(request);
+    }
+
+    private Object runFilter(MockHttpServletRequest request) throws Exception {
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,172 @@
+package com.homeexpress.home_express_api.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.homeexpress.home_express_api.dto.response.RateCardResponse;
+import com.homeexpress.home_express_api.dto.response.SuggestedPriceResponse;
+import com.homeexpress.home_express_api.entity.Booking;
+import com.homeexpress.home_express_api.entity.BookingItem;
+import com.homeexpress.home_express_api.entity.BookingStatus;
+import com.homeexpress.home_express_api.entity.Category;
+import com.homeexpress.home_express_api.entity.CategoryPricing;
+import com.homeexpress.home_express_api.entity.VehiclePricing;
+import com.homeexpress.home_express_api.entity.VehicleType;
+import com.homeexpress.home_express_api.repository.BookingItemRepository;
+import com.homeexpress.home_express_api.repository.BookingRepository;
+import com.homeexpress.home_express_api.repository.CategoryPricingRepository;
+import com.homeexpress.home_express_api.repository.VehiclePricingRepository;
+import com.homeexpress.home_express_api.service.PricingService;
+import com.homeexpress.home_express_api.service.RateCardService;
+
+/**
+ * CPU cost of PricingService.calculateSuggestedPrice with repositories served
+ * from memory, over the vehicle-pricing tier path and the rate-card fallback.
+ *
+ * Run: java -cp "target/test-classes:target/classes:<test classpath>"
+ * com.homeexpress.home_express_api.benchmark.PricingServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingServiceBenchmark {
+
+    private static final long BOOKING_ID = 1L;
+    private static final long TRANSPORT_ID = 7L;
+    private static final int CATEGORIES = 12;
+
+    @Param({"5", "40"})
+    private int itemCount;
+
+    @Param({"true", "false"})
+    private boolean vehiclePricing;
+
+    private PricingService pricingService;
+
+    @Setup
+    public void setUp() {
+        Booking booking = new Booking();
+        booking.setBookingId(BOOKING_ID);
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setPickupAddress("12 Nguyễn Văn Cừ, Quận 5");
+        booking.setDeliveryAddress("88 Lê Văn Việt, Thủ Đức");
+        booking.setPreferredDate(LocalDate.now().plusDays(3));
+        booking.setDistanceKm(BigDecimal.valueOf(18.4));
+
+        List<BookingItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            BookingItem item = new BookingItem();
+            item.setBookingId(BOOKING_ID);
+            item.setCategoryId(1L + i % CATEGORIES);
+            item.setQuantity(1 + i % 3);
+            item.setWeightKg(BigDecimal.valueOf(20 + (i * 17) % 120));
+            item.setIsFragile(i % 5 == 0);
+            item.setRequiresDisassembly(i % 4 == 0);
+            items.add(item);
+        }
+
+        List<RateCardResponse> rateCards = new ArrayList<>(CATEGORIES);
+        List<CategoryPricing> categoryPricings = new ArrayList<>(CATEGORIES);
+        for (long categoryId = 1; categoryId <= CATEGORIES; categoryId++) {
+            RateCardResponse card = new RateCardResponse();
+            card.setRateCardId(100 + categoryId);
+            card.setCategoryId(categoryId);
+            card.setBasePrice(BigDecimal.valueOf(300_000));
+            card.setPricePerKm(BigDecimal.valueOf(12_000));
+            card.setPricePerHour(BigDecimal.valueOf(120_000));
+            card.setMinimumCharge(BigDecimal.valueOf(400_000));
+            card.setValidFrom(LocalDateTime.now().minusDays(30));
+            card.setIsActive(true);
+            card.setAdditionalRules(Map.of(
+                    "fragile_multiplier", BigDecimal.valueOf(1.2),
+                    "disassembly_multiplier", BigDecimal.valueOf(1.3),
+                    "heavy_item_multiplier", BigDecimal.valueOf(1.5)));
+            rateCards.add(card);
+
+            Category category = new Category();
+            category.setCategoryId(categoryId);
+            CategoryPricing pricing = new CategoryPricing();
+            pricing.setCategory(category);
+            pricing.setPricePerUnitVnd(BigDecimal.valueOf(50_000 + categoryId * 5_000));
+            categoryPricings.add(pricing);
+        }
+
+        List<VehiclePricing> vehiclePricings = new ArrayList<>();
+        if (vehiclePricing) {
+            VehiclePricing van = new VehiclePricing();
+            van.setVehiclePricingId(11L);
+            van.setVehicleType(VehicleType.van);
+            van.setBasePriceVnd(BigDecimal.valueOf(250_000));
+            van.setPerKmFirst4KmVnd(BigDecimal.valueOf(15_000));
+            van.setPerKm5To40KmVnd(BigDecimal.valueOf(11_000));
+            van.setPerKmAfter40KmVnd(BigDecimal.valueOf(9_000));
+            van.setMinChargeVnd(BigDecimal.valueOf(400_000));
+            vehiclePricings.add(van);
+        }
+
+        BookingRepository bookingRepository = stub(BookingRepository.class, "findById", Optional.of(booking));
+        BookingItemRepository bookingItemRepository = stub(BookingItemRepository.class, "findByBookingId", items);
+        CategoryPricingRepository categoryPricingRepository =
+                stub(CategoryPricingRepository.class, "findByTransport_TransportId", categoryPricings);
+        VehiclePricingRepository vehiclePricingRepository =
+                stub(VehiclePricingRepository.class, "findActiveByTransportAndVehicleType", vehiclePricings);
+        RateCardService rateCardService = new RateCardService(null, null, null, null, null, null) {
+            @Override
+            public List<RateCardResponse> getRateCardsForTransport(Long transportId) {
+                return rateCards;
+            }
+        };
+
+        pricingService = new PricingService(bookingRepository, bookingItemRepository, rateCardService,
+                categoryPricingRepository, vehiclePricingRepository);
+    }
+
+    @Benchmark
+    public SuggestedPriceResponse calculateSuggestedPrice() {
+        return pricingService.calculateSuggestedPrice(BOOKING_ID, TRANSPORT_ID);
+    }
+
+    /**
+     * Repository that answers a single query method with a fixed result.
+     */
+    private static <T> T stub(Class<T> repository, String method, Object result) {
+        return repository.cast(Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[] {repository},
+                (proxy, invoked, args) -> {
+                    if (invoked.getName().equals(method)) {
+                        return result;
+                    }
+                    throw new UnsupportedOperationException(invoked.getName());
+                }));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PricingServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,32 @@
+package com.homeexpress.home_express_api.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements prepared on the
+ * current thread, so a load scenario can report queries per request.
+ *
+ * Registered by class name through
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector};
+ * Hibernate creates the instance, hence the static per-thread counter.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Returns the statements counted on this thread since the previous call and restarts the count.
+     */
+    public static long reset() {
+        long[] count = COUNT.get();
+        long counted = count[0];
+        count[0] = 0;
+        return counted;
+    }
+}
@@ -0,0 +1,144 @@
+package com.homeexpress.home_express_api.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import com.homeexpress.home_express_api.controller.UploadController;
+import com.homeexpress.home_express_api.service.upload.ImageVariantService;
+import com.homeexpress.home_express_api.service.upload.UploadAccessService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Serving a public upload through the former static resource handler versus
+ * UploadController, for whole files and 1MB ranges.
+ *
+ * Mock responses buffer the body, so this measures per-request overhead and
+ * the copy path; sendfile only applies under a real Tomcat connector and is
+ * not exercised here.
+ *
+ * Run: java -cp "target/test-classes:target/classes:<test classpath>"
+ * com.homeexpress.home_express_api.benchmark.UploadDeliveryBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UploadDeliveryBenchmark {
+
+    private static final String FILE_NAME = "0123456789abcdef".repeat(4) + ".mp4";
+
+    @Param({"65536", "8388608"})
+    private int fileSize;
+
+    private Path root;
+    private ResourceHttpRequestHandler resourceHandler;
+    private UploadController uploadController;
+    private String rangeHeader;
+
+    @Setup
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("upload-bench");
+        Files.createDirectories(root.resolve("documents"));
+        byte[] content = new byte[fileSize];
+        ThreadLocalRandom.current().nextBytes(content);
+        Files.write(root.resolve("documents").resolve(FILE_NAME), content);
+
+        resourceHandler = new ResourceHttpRequestHandler();
+        resourceHandler.setLocations(List.of(new FileSystemResource(root.toString() + "/")));
+        resourceHandler.setServletContext(new MockServletContext());
+        resourceHandler.afterPropertiesSet();
+
+        ImageVariantService imageVariantService = new ImageVariantService(1, 1, new SimpleMeterRegistry());
+        // Danh mục công khai: không chạm tới repository
+        UploadAccessService uploadAccessService = new UploadAccessService("evidence", null, null);
+        uploadController = new UploadController(root.toString(), uploadAccessService, imageVariantService);
+
+        int rangeLength = Math.min(fileSize / 2, 1024 * 1024);
+        rangeHeader = "bytes=" + (fileSize / 4) + "-" + (fileSize / 4 + rangeLength - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(root.resolve("documents").resolve(FILE_NAME));
+        Files.deleteIfExists(root.resolve("documents"));
+        Files.deleteIfExists(root);
+    }
+
+    @Benchmark
+    public int resourceHandlerFull() throws Exception {
+        return viaResourceHandler(null);
+    }
+
+    @Benchmark
+    public int resourceHandlerRange() throws Exception {
+        return viaResourceHandler(rangeHeader);
+    }
+
+    @Benchmark
+    public int uploadControllerFull() throws Exception {
+        return viaController(null);
+    }
+
+    @Benchmark
+    public int uploadControllerRange() throws Exception {
+        return viaController(rangeHeader);
+    }
+
+    private int viaResourceHandler(String range) throws Exception {
+        MockHttpServletRequest request = request(range);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "documents/" + FILE_NAME);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        resourceHandler.handleRequest(request, response);
+        return response.getContentAsByteArray().length;
+    }
+
+    private int viaController(String range) throws Exception {
+        MockHttpServletRequest request = request(range);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        uploadController.serve(request, response, null);
+        return response.getContentAsByteArray().length;
+    }
+
+    private static MockHttpServletRequest request(String range) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/documents/" + FILE_NAME);
+        if (range != null) {
+            request.addHeader("Range", range);
+        }
+        return request;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UploadDeliveryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
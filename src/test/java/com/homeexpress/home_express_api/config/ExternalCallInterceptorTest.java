@@ -0,0 +1,79 @@
+package com.homeexpress.home_express_api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ExternalCallInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExternalCallInterceptor interceptor;
+    private ClientHttpRequestExecution execution;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new ExternalCallInterceptor("goong", meterRegistry);
+        execution = mock(ClientHttpRequestExecution.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestInstrumentation.end();
+    }
+
+    @Test
+    void callInsideARequest_IsTimedAndAddedToTheSample() throws IOException {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(execution.execute(any(), any())).thenReturn(response);
+        RequestInstrumentation.Sample sample = RequestInstrumentation.begin();
+
+        assertSame(response, interceptor.intercept(request(), new byte[0], execution));
+
+        assertEquals(1, sample.getExternalCalls());
+        assertEquals(1, meterRegistry.get("external.call.time")
+                .tags("client", "goong", "outcome", "SUCCESS").timer().count());
+    }
+
+    @Test
+    void failedCall_IsTaggedAsIoError() throws IOException {
+        when(execution.execute(any(), any())).thenThrow(new IOException("connection reset"));
+
+        assertThrows(IOException.class, () -> interceptor.intercept(request(), new byte[0], execution));
+
+        assertEquals(1, meterRegistry.get("external.call.time")
+                .tags("client", "goong", "outcome", "IO_ERROR").timer().count());
+    }
+
+    @Test
+    void callOutsideARequest_IsOnlyInTheMetric() throws IOException {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(HttpStatus.SERVICE_UNAVAILABLE);
+        when(execution.execute(any(), any())).thenReturn(response);
+
+        interceptor.intercept(request(), new byte[0], execution);
+
+        assertNull(RequestInstrumentation.current());
+        assertEquals(1, meterRegistry.get("external.call.time")
+                .tags("client", "goong", "outcome", "SERVER_ERROR").timer().count());
+    }
+
+    private static MockClientHttpRequest request() {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create("https://rsapi.goong.io/geocode?api_key=secret"));
+    }
+}
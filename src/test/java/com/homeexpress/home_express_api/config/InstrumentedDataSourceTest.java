@@ -0,0 +1,58 @@
+package com.homeexpress.home_express_api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class InstrumentedDataSourceTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestInstrumentation.end();
+    }
+
+    @Test
+    void outsideARequest_ConnectionIsHandedOutUnwrapped() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(connection);
+
+        assertSame(connection, InstrumentedDataSource.wrap(pool).getConnection());
+    }
+
+    @Test
+    void insideARequest_ExecutionsAreCountedButOtherCallsAreNot() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(pool.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        RequestInstrumentation.Sample sample = RequestInstrumentation.begin();
+
+        try (Connection wrapped = InstrumentedDataSource.wrap(pool).getConnection();
+             Statement wrappedStatement = wrapped.createStatement()) {
+            wrappedStatement.setFetchSize(100);
+            wrappedStatement.execute("UPDATE bookings SET notes = NULL WHERE booking_id = 0");
+            wrappedStatement.executeQuery("SELECT 1");
+        }
+
+        assertEquals(2, sample.getQueries());
+        verify(statement).execute("UPDATE bookings SET notes = NULL WHERE booking_id = 0");
+        verify(connection).close();
+    }
+
+    @Test
+    void unwrapReachesThePool() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.isWrapperFor(DataSource.class)).thenReturn(true);
+
+        assertTrue(InstrumentedDataSource.wrap(pool).isWrapperFor(DataSource.class));
+    }
+}
@@ -0,0 +1,77 @@
+package com.homeexpress.home_express_api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.homeexpress.home_express_api.service.session.AccessTokenRevocationRegistry;
+
+class JwtAuthenticationFilterTest {
+
+    private JwtTokenProvider tokenProvider;
+    private JwtPrincipalCache principalCache;
+    private AccessTokenRevocationRegistry revocationRegistry;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        principalCache = new JwtPrincipalCache(100);
+        revocationRegistry = new AccessTokenRevocationRegistry(tokenProvider, 1_000);
+        filter = new JwtAuthenticationFilter(tokenProvider, principalCache, revocationRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validToken_AuthenticatesAndIsCached() throws Exception {
+        String token = tokenProvider.generateAccessToken(7L, "a@example.com", "CUSTOMER", "session-1");
+
+        Authentication authentication = filter(token);
+
+        assertNotNull(authentication);
+        assertEquals(7L, ((JwtAuthenticatedUser) authentication.getPrincipal()).userId());
+        assertEquals(1, principalCache.size());
+    }
+
+    @Test
+    void cachedToken_IsRejectedOnceUserIsRevoked() throws Exception {
+        String token = tokenProvider.generateAccessToken(7L, "a@example.com", "CUSTOMER", "session-1");
+        assertNotNull(filter(token));
+        assertNotNull(principalCache.get(token));
+
+        // deactivation and password change revoke every token issued before now
+        revocationRegistry.revokeUser(7L, System.currentTimeMillis() + 1_000);
+
+        assertNull(filter(token));
+        assertNotNull(principalCache.get(token), "the cache entry is kept; revocation is checked per request");
+    }
+
+    @Test
+    void cachedToken_IsRejectedOnceSessionIsRevoked() throws Exception {
+        String token = tokenProvider.generateAccessToken(7L, "a@example.com", "CUSTOMER", "session-1");
+        assertNotNull(filter(token));
+
+        revocationRegistry.revokeSession("session-1", System.currentTimeMillis());
+
+        assertNull(filter(token));
+    }
+
+    private Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/bookings");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,83 @@
+package com.homeexpress.home_express_api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class JwtPrincipalCacheTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    void get_ReturnsCachedEntryUntilTokenExpires() throws InterruptedException {
+        JwtPrincipalCache cache = new JwtPrincipalCache(10);
+        VerifiedAccessToken longLived = verified(1L, System.currentTimeMillis() + HOUR);
+        VerifiedAccessToken shortLived = verified(2L, System.currentTimeMillis() + 300);
+        cache.put("token-a", longLived);
+        cache.put("token-b", shortLived);
+
+        assertSame(longLived, cache.get("token-a"));
+        assertSame(shortLived, cache.get("token-b"));
+        assertNull(cache.get("token-c"));
+
+        Thread.sleep(400);
+
+        assertNull(cache.get("token-b"));
+        assertSame(longLived, cache.get("token-a"));
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void put_IgnoresAlreadyExpiredToken() {
+        JwtPrincipalCache cache = new JwtPrincipalCache(10);
+
+        cache.put("token-a", verified(1L, System.currentTimeMillis() - 1));
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get("token-a"));
+    }
+
+    @Test
+    void put_WhenFull_EvictsExpiredEntriesFirst() throws InterruptedException {
+        JwtPrincipalCache cache = new JwtPrincipalCache(2);
+        cache.put("token-a", verified(1L, System.currentTimeMillis() + HOUR));
+        cache.put("token-b", verified(2L, System.currentTimeMillis() + 300));
+        Thread.sleep(400);
+
+        cache.put("token-c", verified(3L, System.currentTimeMillis() + HOUR));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("token-a"));
+        assertNotNull(cache.get("token-c"));
+    }
+
+    @Test
+    void put_WhenFullOfLiveTokens_StartsOver() {
+        JwtPrincipalCache cache = new JwtPrincipalCache(2);
+        cache.put("token-a", verified(1L, System.currentTimeMillis() + HOUR));
+        cache.put("token-b", verified(2L, System.currentTimeMillis() + HOUR));
+
+        cache.put("token-c", verified(3L, System.currentTimeMillis() + HOUR));
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get("token-a"));
+        assertNotNull(cache.get("token-c"));
+    }
+
+    @Test
+    void disabledCache_StoresNothing() {
+        JwtPrincipalCache cache = new JwtPrincipalCache(0);
+
+        cache.put("token-a", verified(1L, System.currentTimeMillis() + HOUR));
+
+        assertNull(cache.get("token-a"));
+        assertEquals(0, cache.size());
+    }
+
+    private static VerifiedAccessToken verified(Long userId, long expiresAtMillis) {
+        return new VerifiedAccessToken(new JwtAuthenticatedUser(userId, "u" + userId + "@example.com", "CUSTOMER"),
+                "session-" + userId, System.currentTimeMillis(), expiresAtMillis);
+    }
+}
@@ -0,0 +1,142 @@
+package com.homeexpress.home_express_api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+class RequestInstrumentationFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataSource dataSource;
+    private ListAppender<ILoggingEvent> logs;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> {
+            Connection connection = mock(Connection.class);
+            when(connection.prepareStatement(anyString())).thenAnswer(prepare -> mock(PreparedStatement.class));
+            return connection;
+        });
+        dataSource = InstrumentedDataSource.wrap(pool);
+
+        logs = new ListAppender<>();
+        logs.start();
+        logger().addAppender(logs);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger().detachAppender(logs);
+    }
+
+    @Test
+    void statementsOnTheRequestThread_AreCountedInHeadersAndMetrics() throws Exception {
+        RequestInstrumentationFilter filter = new RequestInstrumentationFilter(meterRegistry, true, 30, 500, 5_000);
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            executeStatements(3);
+            res.getWriter().write("{}");
+        });
+
+        assertEquals("3", response.getHeader(RequestInstrumentationFilter.HEADER_DB_QUERIES));
+        assertNotNull(response.getHeader(RequestInstrumentationFilter.HEADER_DB_TIME));
+        assertEquals("0", response.getHeader(RequestInstrumentationFilter.HEADER_EXTERNAL_TIME));
+        assertEquals(3.0, meterRegistry.get("http.request.db.queries")
+                .tags("method", "GET", "uri", "/api/v1/bookings/{id}").summary().totalAmount());
+        assertTrue(logs.list.isEmpty());
+        assertNull(RequestInstrumentation.current(), "the sample is unbound once the request ends");
+    }
+
+    @Test
+    void headersDisabled_MetricsAreStillRecorded() throws Exception {
+        RequestInstrumentationFilter filter = new RequestInstrumentationFilter(meterRegistry, false, 30, 500, 5_000);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, (req, res) -> executeStatements(1));
+
+        assertNull(response.getHeader(RequestInstrumentationFilter.HEADER_DB_QUERIES));
+        assertEquals(1, meterRegistry.get("http.request.db.queries").summary().count());
+    }
+
+    @Test
+    void overQueryBudget_LogsWarningAndCountsIt() throws Exception {
+        RequestInstrumentationFilter filter = new RequestInstrumentationFilter(meterRegistry, false, 2, 500, 5_000);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), (req, res) -> executeStatements(3));
+
+        assertEquals(1.0, meterRegistry.get("http.request.budget.exceeded")
+                .tags("method", "GET", "uri", "/api/v1/bookings/{id}").counter().count());
+        assertEquals(1, logs.list.size());
+        ILoggingEvent warning = logs.list.get(0);
+        assertEquals(Level.WARN, warning.getLevel());
+        assertTrue(warning.getFormattedMessage().contains("queries=3 (budget 2)"), warning.getFormattedMessage());
+    }
+
+    @Test
+    void statementsOnAnotherThread_AreNotAttributedToTheRequest() throws Exception {
+        RequestInstrumentationFilter filter = new RequestInstrumentationFilter(meterRegistry, true, 30, 500, 5_000);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FilterChain chain = (req, res) -> {
+            executeStatements(1);
+            // e.g. an @Async listener started by the request
+            Thread worker = new Thread(() -> executeStatements(5));
+            worker.start();
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        filter.doFilter(request(), response, chain);
+
+        assertEquals("1", response.getHeader(RequestInstrumentationFilter.HEADER_DB_QUERIES));
+    }
+
+    private void executeStatements(int count) {
+        try (Connection connection = dataSource.getConnection()) {
+            for (int i = 0; i < count; i++) {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+                    statement.executeQuery();
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/bookings/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/bookings/{id}");
+        return request;
+    }
+
+    private static Logger logger() {
+        return (Logger) LoggerFactory.getLogger(RequestInstrumentationFilter.class);
+    }
+}
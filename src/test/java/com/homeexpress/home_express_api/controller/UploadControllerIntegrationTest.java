@@ -0,0 +1,33 @@
+package com.homeexpress.home_express_api.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.homeexpress.home_express_api.BaseIntegrationTest;
+
+class UploadControllerIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void anonymousEvidenceRequest_PassesTheSecurityChainAndIsRejectedWith401() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "/uploads/evidence/" + "e".repeat(64) + ".jpg", String.class);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+    }
+
+    @Test
+    void anonymousPublicRequest_ForAMissingFile_Returns404() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "/uploads/avatars/" + "e".repeat(64) + ".jpg", String.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
@@ -0,0 +1,176 @@
+package com.homeexpress.home_express_api.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import com.homeexpress.home_express_api.entity.UserRole;
+import com.homeexpress.home_express_api.repository.EvidenceRepository;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
+import com.homeexpress.home_express_api.service.upload.ImageVariantService;
+import com.homeexpress.home_express_api.service.upload.UploadAccessService;
+
+class UploadControllerTest {
+
+    private static final String HASH = "a".repeat(64);
+    private static final String EVIDENCE_URL = "/uploads/evidence/" + HASH + ".pdf";
+    private static final String AVATAR_URL = "/uploads/avatars/" + HASH + ".jpg";
+    private static final String CONTENT = "0123456789";
+
+    @TempDir
+    Path uploadDir;
+
+    private EvidenceRepository evidenceRepository;
+    private UserPrincipalResolver userPrincipalResolver;
+    private UploadController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectories(uploadDir.resolve("evidence"));
+        Files.createDirectories(uploadDir.resolve("avatars"));
+        Files.createDirectories(uploadDir.resolve(".incoming"));
+        Files.writeString(uploadDir.resolve("evidence").resolve(HASH + ".pdf"), CONTENT);
+        Files.writeString(uploadDir.resolve("avatars").resolve(HASH + ".jpg"), CONTENT);
+        Files.writeString(uploadDir.resolve(".incoming").resolve("upload.part"), CONTENT);
+
+        evidenceRepository = mock(EvidenceRepository.class);
+        userPrincipalResolver = mock(UserPrincipalResolver.class);
+        UploadAccessService uploadAccessService =
+                new UploadAccessService("evidence", evidenceRepository, userPrincipalResolver);
+        controller = new UploadController(uploadDir.toString(), uploadAccessService, mock(ImageVariantService.class));
+    }
+
+    @Test
+    void serve_AnonymousEvidence_Returns401() throws Exception {
+        Authentication anonymous = new AnonymousAuthenticationToken("key", "anonymousUser",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+        assertEquals(401, serve(get(EVIDENCE_URL), anonymous).getStatus());
+        assertEquals(401, serve(get(EVIDENCE_URL), null).getStatus());
+    }
+
+    @Test
+    void serve_EvidenceOfSomeoneElsesBooking_Returns403() throws Exception {
+        when(evidenceRepository.countAccessibleFiles(HASH + ".%", 8L)).thenReturn(0L);
+
+        MockHttpServletResponse response = serve(get(EVIDENCE_URL), signedIn(8L, UserRole.TRANSPORT));
+
+        assertEquals(403, response.getStatus());
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    void serve_EvidenceOfOwnBooking_Returns200AndIsNotSharedCached() throws Exception {
+        when(evidenceRepository.countAccessibleFiles(HASH + ".%", 7L)).thenReturn(1L);
+
+        MockHttpServletResponse response = serve(get(EVIDENCE_URL), signedIn(7L, UserRole.CUSTOMER));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertTrue(response.getHeader(HttpHeaders.CACHE_CONTROL).contains("private"));
+    }
+
+    @Test
+    void serve_ManagerSeesAnyEvidence() throws Exception {
+        MockHttpServletResponse response = serve(get(EVIDENCE_URL), signedIn(1L, UserRole.MANAGER));
+
+        assertEquals(200, response.getStatus());
+        verifyNoInteractions(evidenceRepository);
+    }
+
+    @Test
+    void serve_DotSegments_Return404() throws Exception {
+        for (String url : List.of("/uploads/.incoming/upload.part",
+                "/uploads/evidence/../avatars/" + HASH + ".jpg",
+                "/uploads/avatars/./" + HASH + ".jpg",
+                "/uploads/..")) {
+            assertEquals(404, serve(get(url), null).getStatus(), url);
+        }
+        verifyNoInteractions(evidenceRepository, userPrincipalResolver);
+    }
+
+    @Test
+    void serve_RangePastTheEnd_Returns416WithTheSize() throws Exception {
+        MockHttpServletRequest request = get(AVATAR_URL);
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-");
+
+        MockHttpServletResponse response = serve(request, null);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void serve_Range_Returns206() throws Exception {
+        MockHttpServletRequest request = get(AVATAR_URL);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"" + HASH + ".jpg\"");
+
+        MockHttpServletResponse response = serve(request, null);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("2345", response.getContentAsString());
+    }
+
+    @Test
+    void serve_StaleIfRange_ReturnsTheWholeFile() throws Exception {
+        MockHttpServletRequest request = get(AVATAR_URL);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"" + "b".repeat(64) + ".jpg\"");
+
+        MockHttpServletResponse response = serve(request, null);
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    void serve_MatchingIfNoneMatch_Returns304() throws Exception {
+        MockHttpServletRequest request = get(AVATAR_URL);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + ".jpg\"");
+
+        MockHttpServletResponse response = serve(request, null);
+
+        assertEquals(304, response.getStatus());
+        assertEquals("", response.getContentAsString());
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request, Authentication authentication)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.serve(request, response, authentication);
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setServletPath(uri);
+        return request;
+    }
+
+    private Authentication signedIn(Long userId, UserRole role) {
+        Authentication authentication = new UsernamePasswordAuthenticationToken(userId, null, List.of());
+        when(userPrincipalResolver.resolve(authentication))
+                .thenReturn(new UserPrincipal(userId, "user" + userId + "@example.com", role, true, true));
+        return authentication;
+    }
+}
@@ -0,0 +1,90 @@
+package com.homeexpress.home_express_api.entity.encryption;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.homeexpress.home_express_api.config.EncryptionConfig;
+import com.homeexpress.home_express_api.service.EncryptionService;
+
+class EncryptedStringConverterTest {
+
+    private EncryptionConfig config;
+    private EncryptionService encryptionService;
+
+    @BeforeEach
+    void setUp() {
+        config = new EncryptionConfig();
+        config.setMasterKey(EncryptionService.generateKey());
+        EncryptionService service = new EncryptionService(config);
+        service.init();
+        encryptionService = spy(service);
+    }
+
+    @Test
+    void encryptionOn_RoundTripsThroughCiphertext() {
+        config.setEncryptTransactionIds(true);
+        TransactionIdConverter converter = new TransactionIdConverter(encryptionService, config);
+
+        String stored = converter.convertToDatabaseColumn(EncryptedString.of("PAYOS-123456"));
+
+        assertTrue(stored.startsWith(EncryptedString.STORED_PREFIX));
+        assertFalse(stored.contains("PAYOS-123456"));
+        assertEquals("PAYOS-123456", converter.convertToEntityAttribute(stored).get());
+    }
+
+    @Test
+    void encryptionOff_WritesPlaintext() {
+        config.setEncryptBankAccounts(false);
+        BankAccountNumberConverter converter = new BankAccountNumberConverter(encryptionService, config);
+
+        String stored = converter.convertToDatabaseColumn(EncryptedString.of("0011223344"));
+
+        assertEquals("0011223344", stored);
+        assertEquals("0011223344", converter.convertToEntityAttribute(stored).get());
+        verify(encryptionService, never()).encrypt(anyString());
+    }
+
+    @Test
+    void legacyPlaintextRow_IsReadWithEncryptionOn() {
+        config.setEncryptTransactionIds(true);
+        TransactionIdConverter converter = new TransactionIdConverter(encryptionService, config);
+
+        EncryptedString legacy = converter.convertToEntityAttribute("PAYOS-LEGACY-1");
+
+        assertEquals("PAYOS-LEGACY-1", legacy.get());
+        // unchanged since load: written back as it was, not encrypted behind the caller's back
+        assertEquals("PAYOS-LEGACY-1", converter.convertToDatabaseColumn(legacy));
+        verify(encryptionService, never()).decrypt(anyString());
+        verify(encryptionService, never()).encrypt(anyString());
+    }
+
+    @Test
+    void loadedCiphertext_IsDecryptedOnceOnFirstAccess() {
+        config.setEncryptTransactionIds(true);
+        TransactionIdConverter converter = new TransactionIdConverter(encryptionService, config);
+        String stored = converter.convertToDatabaseColumn(EncryptedString.of("PAYOS-777"));
+
+        EncryptedString loaded = converter.convertToEntityAttribute(stored);
+        verify(encryptionService, never()).decrypt(anyString());
+        assertEquals(stored, converter.convertToDatabaseColumn(loaded));
+        verify(encryptionService, never()).decrypt(anyString());
+
+        assertEquals("PAYOS-777", loaded.get());
+        assertEquals("PAYOS-777", EncryptedString.valueOf(loaded));
+        verify(encryptionService, times(1)).decrypt(anyString());
+    }
+
+    @Test
+    void nullAndEmptyValues_AreNotEncrypted() {
+        config.setEncryptTransactionIds(true);
+        TransactionIdConverter converter = new TransactionIdConverter(encryptionService, config);
+
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+        assertEquals("", converter.convertToDatabaseColumn(EncryptedString.of("")));
+    }
+}
@@ -0,0 +1,68 @@
+package com.homeexpress.home_express_api.entity.encryption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.homeexpress.home_express_api.config.EncryptionConfig;
+import com.homeexpress.home_express_api.entity.Payment;
+import com.homeexpress.home_express_api.service.EncryptionService;
+
+class PaymentBlindIndexListenerTest {
+
+    private EncryptionService encryptionService;
+    private PaymentBlindIndexListener listener;
+
+    @BeforeEach
+    void setUp() {
+        EncryptionConfig config = new EncryptionConfig();
+        config.setMasterKey(EncryptionService.generateKey());
+        encryptionService = new EncryptionService(config);
+        encryptionService.init();
+        listener = new PaymentBlindIndexListener(encryptionService);
+    }
+
+    @Test
+    void persist_SetsTheHashOfTheTransactionId() {
+        Payment payment = new Payment();
+        payment.setTransactionId("PAYOS-1");
+
+        listener.updateBlindIndex(payment);
+
+        assertEquals(encryptionService.blindIndex("PAYOS-1"), payment.getTransactionIdHash());
+    }
+
+    @Test
+    void update_ReassignedTransactionId_RecomputesTheHash() {
+        Payment payment = new Payment();
+        payment.setTransactionId("PAYOS-1");
+        listener.updateBlindIndex(payment);
+
+        payment.setTransactionId("PAYOS-2");
+        listener.updateBlindIndex(payment);
+
+        assertEquals(encryptionService.blindIndex("PAYOS-2"), payment.getTransactionIdHash());
+    }
+
+    @Test
+    void update_StaleHash_IsReplacedFromTheCurrentValue() {
+        Payment payment = new Payment();
+        payment.setTransactionId("PAYOS-3");
+        payment.setTransactionIdHash(encryptionService.blindIndex("PAYOS-OLD"));
+
+        listener.updateBlindIndex(payment);
+
+        assertEquals(encryptionService.blindIndex("PAYOS-3"), payment.getTransactionIdHash());
+    }
+
+    @Test
+    void update_ClearedTransactionId_ClearsTheHash() {
+        Payment payment = new Payment();
+        payment.setTransactionIdHash(encryptionService.blindIndex("PAYOS-4"));
+
+        listener.updateBlindIndex(payment);
+
+        assertNull(payment.getTransactionIdHash());
+    }
+}
@@ -0,0 +1,125 @@
+package com.homeexpress.home_express_api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.homeexpress.home_express_api.BaseIntegrationTest;
+
+@Transactional
+class EvidenceRepositoryIntegrationTest extends BaseIntegrationTest {
+
+    private static final String HASH = "c".repeat(64);
+
+    @Autowired
+    private EvidenceRepository evidenceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long customerId;
+    private Long transportId;
+    private Long otherCustomerId;
+    private Long otherTransportId;
+    private Long bookingId;
+
+    @BeforeEach
+    void setUp() {
+        customerId = insertCustomer("a", "0901234571");
+        otherCustomerId = insertCustomer("b", "0901234572");
+        transportId = insertTransport("a");
+        otherTransportId = insertTransport("b");
+        bookingId = insertBooking(customerId, transportId);
+    }
+
+    @Test
+    void countAccessibleFiles_PartiesOfTheBooking() {
+        // transport tải ảnh lên; transports.transport_id chính là users.user_id của transport
+        insertEvidence(bookingId, null, transportId, "/uploads/evidence/" + HASH + ".jpg");
+
+        assertEquals(1, evidenceRepository.countAccessibleFiles(HASH + ".%", transportId));
+        assertEquals(1, evidenceRepository.countAccessibleFiles(HASH + ".%", customerId));
+        assertEquals(0, evidenceRepository.countAccessibleFiles(HASH + ".%", otherCustomerId));
+        assertEquals(0, evidenceRepository.countAccessibleFiles(HASH + ".%", otherTransportId));
+    }
+
+    @Test
+    void countAccessibleFiles_UploaderOutsideTheBooking() {
+        insertEvidence(bookingId, null, otherTransportId, "https://api.example.com/uploads/evidence/" + HASH + ".png");
+
+        assertEquals(1, evidenceRepository.countAccessibleFiles(HASH + ".%", otherTransportId));
+        assertEquals(1, evidenceRepository.countAccessibleFiles(HASH + ".%", customerId));
+    }
+
+    @Test
+    void countAccessibleFiles_EvidenceAttachedOnlyToAnIncident() {
+        Long incidentId = insertIncident(bookingId, customerId);
+        insertEvidence(null, incidentId, customerId, "/uploads/evidence/" + HASH + ".jpg");
+
+        assertEquals(1, evidenceRepository.countAccessibleFiles(HASH + ".%", transportId));
+        assertEquals(0, evidenceRepository.countAccessibleFiles(HASH + ".%", otherTransportId));
+    }
+
+    @Test
+    void countAccessibleFiles_PatternMatchesOnlyTheFileName() {
+        insertEvidence(bookingId, null, customerId, "/uploads/evidence/" + HASH + ".jpg");
+        insertEvidence(bookingId, null, customerId, "/uploads/evidence/site_photo.jpg");
+
+        assertEquals(0, evidenceRepository.countAccessibleFiles("d".repeat(64) + ".%", customerId));
+        assertEquals(0, evidenceRepository.countAccessibleFiles("evidence%", customerId));
+        // UploadAccessService escape '_' trong tên gốc
+        assertEquals(1, evidenceRepository.countAccessibleFiles("site\\_photo.%", customerId));
+        assertEquals(0, evidenceRepository.countAccessibleFiles("site\\_photo.%", otherCustomerId));
+    }
+
+    private Long insertUser(String email, String role) {
+        jdbcTemplate.update("INSERT INTO users (email, password_hash, role) VALUES (?, 'hashed_password', ?)",
+                email, role);
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+
+    private Long insertCustomer(String suffix, String phone) {
+        Long id = insertUser("evidence-customer-" + suffix + "@example.com", "CUSTOMER");
+        jdbcTemplate.update("INSERT INTO customers (customer_id, full_name, phone) VALUES (?, ?, ?)",
+                id, "Customer " + suffix, phone);
+        return id;
+    }
+
+    private Long insertTransport(String suffix) {
+        Long id = insertUser("evidence-transport-" + suffix + "@example.com", "TRANSPORT");
+        jdbcTemplate.update("INSERT INTO transports (transport_id, company_name, business_license_number, phone, "
+                        + "address, city) VALUES (?, ?, ?, '0281234567', '1 Transport St', 'Ho Chi Minh')",
+                id, "Transport " + suffix, "LIC-EVD-" + suffix);
+        return id;
+    }
+
+    private Long insertBooking(Long customer, Long transport) {
+        jdbcTemplate.update("INSERT INTO bookings (customer_id, transport_id, pickup_address, delivery_address, "
+                        + "preferred_date, status) VALUES (?, ?, '1 Pickup St', '2 Delivery St', ?, 'IN_PROGRESS')",
+                customer, transport, Date.valueOf(LocalDate.now()));
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+
+    private Long insertIncident(Long booking, Long reportedBy) {
+        jdbcTemplate.update("INSERT INTO incidents (booking_id, reported_by_user_id, incident_type, severity, "
+                + "description, status) VALUES (?, ?, 'DAMAGE', 'MEDIUM', 'Broken lamp', 'REPORTED')",
+                booking, reportedBy);
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+
+    private void insertEvidence(Long booking, Long incidentId, Long uploadedBy, String fileUrl) {
+        jdbcTemplate.update("INSERT INTO evidence (booking_id, incident_id, uploaded_by_user_id, evidence_type, "
+                        + "file_type, file_url, file_name, uploaded_at) VALUES (?, ?, ?, 'PICKUP_PHOTO', 'IMAGE', ?, "
+                        + "'photo.jpg', ?)",
+                booking, incidentId, uploadedBy, fileUrl, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,139 @@
+package com.homeexpress.home_express_api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.homeexpress.home_express_api.BaseIntegrationTest;
+import com.homeexpress.home_express_api.entity.Payment;
+import com.homeexpress.home_express_api.entity.PaymentMethod;
+import com.homeexpress.home_express_api.entity.PaymentStatus;
+import com.homeexpress.home_express_api.entity.PaymentType;
+import com.homeexpress.home_express_api.service.EncryptionService;
+import com.homeexpress.home_express_api.service.payment.PaymentBlindIndexBackfill;
+
+import jakarta.persistence.EntityManager;
+
+@Transactional
+class PaymentRepositoryIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentBlindIndexBackfill paymentBlindIndexBackfill;
+
+    @Autowired
+    private EncryptionService encryptionService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long bookingId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (email, password_hash, role) VALUES (?, 'hashed_password', ?)",
+                "blind-index-customer@example.com", "CUSTOMER");
+        Long customerId = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+        jdbcTemplate.update("INSERT INTO customers (customer_id, full_name, phone) VALUES (?, ?, ?)",
+                customerId, "Blind Index Customer", "0901234590");
+        jdbcTemplate.update("INSERT INTO bookings (customer_id, pickup_address, delivery_address, preferred_date, "
+                        + "status) VALUES (?, '1 Pickup St', '2 Delivery St', ?, 'CONFIRMED')",
+                customerId, Date.valueOf(LocalDate.now().plusDays(3)));
+        bookingId = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+
+    @Test
+    void save_StoresCiphertextAndHash() {
+        Payment saved = paymentRepository.saveAndFlush(payment("PAYOS-BI-1"));
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT transaction_id, transaction_id_hash FROM payments WHERE payment_id = ?", saved.getPaymentId());
+        assertTrue(((String) row.get("transaction_id")).startsWith("enc:"));
+        assertEquals(encryptionService.blindIndex("PAYOS-BI-1"), row.get("transaction_id_hash"));
+    }
+
+    @Test
+    void findByTransactionIdHash_FindsHashedRow() {
+        Payment saved = paymentRepository.saveAndFlush(payment("PAYOS-BI-2"));
+        entityManager.clear();
+
+        Payment found = find("PAYOS-BI-2");
+
+        assertEquals(saved.getPaymentId(), found.getPaymentId());
+        assertEquals("PAYOS-BI-2", found.getTransactionId());
+    }
+
+    @Test
+    void findByTransactionIdHash_FindsLegacyPlaintextRow() {
+        Long legacyId = insertLegacyPayment("PAYOS-BI-LEGACY");
+
+        Payment found = find("PAYOS-BI-LEGACY");
+
+        assertEquals(legacyId, found.getPaymentId());
+        assertEquals("PAYOS-BI-LEGACY", found.getTransactionId());
+    }
+
+    @Test
+    void update_ReassignedTransactionId_MovesTheHash() {
+        Payment saved = paymentRepository.saveAndFlush(payment("PAYOS-BI-3"));
+
+        saved.setTransactionId("PAYOS-BI-4");
+        paymentRepository.saveAndFlush(saved);
+        entityManager.clear();
+
+        assertEquals(saved.getPaymentId(), find("PAYOS-BI-4").getPaymentId());
+        assertTrue(paymentRepository.findByTransactionIdHash(
+                encryptionService.blindIndex("PAYOS-BI-3"), "PAYOS-BI-3").isEmpty());
+    }
+
+    @Test
+    void backfill_HashesLegacyRows() {
+        Long legacyId = insertLegacyPayment("PAYOS-BI-BACKFILL");
+
+        assertTrue(paymentBlindIndexBackfill.backfill() >= 1);
+
+        assertEquals(encryptionService.blindIndex("PAYOS-BI-BACKFILL"), jdbcTemplate.queryForObject(
+                "SELECT transaction_id_hash FROM payments WHERE payment_id = ?", String.class, legacyId));
+    }
+
+    private Payment find(String transactionId) {
+        return paymentRepository.findByTransactionIdHash(encryptionService.blindIndex(transactionId), transactionId)
+                .orElseThrow();
+    }
+
+    private Payment payment(String transactionId) {
+        Payment payment = new Payment();
+        payment.setBookingId(bookingId);
+        payment.setAmount(new BigDecimal("500000"));
+        payment.setPaymentMethod(PaymentMethod.BANK_TRANSFER);
+        payment.setPaymentType(PaymentType.DEPOSIT);
+        payment.setStatus(PaymentStatus.COMPLETED);
+        payment.setTransactionId(transactionId);
+        return payment;
+    }
+
+    /**
+     * Row as written before V9: plaintext transaction_id, no hash.
+     */
+    private Long insertLegacyPayment(String transactionId) {
+        jdbcTemplate.update("INSERT INTO payments (booking_id, amount, payment_method, payment_type, status, "
+                        + "transaction_id, created_at, updated_at) "
+                        + "VALUES (?, 500000, 'BANK_TRANSFER', 'DEPOSIT', 'COMPLETED', ?, NOW(), NOW())",
+                bookingId, transactionId);
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.homeexpress.home_express_api.repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * Wraps the application DataSource so every prepared statement executed on
+ * the current thread while recording is captured with its bound parameters,
+ * ready to be replayed behind {@code EXPLAIN}.
+ */
+final class QueryPlanRecorder {
+
+    record RecordedQuery(String sql, Map<Integer, Object> parameters) {
+    }
+
+    private final ThreadLocal<List<RecordedQuery>> recording = new ThreadLocal<>();
+
+    void start() {
+        recording.set(new ArrayList<>());
+    }
+
+    List<RecordedQuery> stop() {
+        List<RecordedQuery> recorded = recording.get();
+        recording.remove();
+        return recorded != null ? recorded : List.of();
+    }
+
+    DataSource wrap(DataSource target) {
+        return proxy(target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? wrapConnection(connection) : result;
+        });
+    }
+
+    private Connection wrapConnection(Connection target) {
+        return proxy(target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return wrapStatement(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrapStatement(PreparedStatement target, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(target, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                List<RecordedQuery> recorded = recording.get();
+                if (recorded != null) {
+                    recorded.add(new RecordedQuery(sql, new TreeMap<>(parameters)));
+                }
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, InvocationHandler handler) {
+        Class<?>[] interfaces = ClassUtils.getAllInterfaces(target);
+        return (T) Proxy.newProxyInstance(QueryPlanRecorder.class.getClassLoader(), interfaces, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.homeexpress.home_express_api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.homeexpress.home_express_api.BaseIntegrationTest;
+
+@Transactional
+class QuotationRepositoryIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private QuotationRepository quotationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long transportA;
+    private Long transportB;
+    private Long transportC;
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        customerId = insertUser("positions-customer@example.com", "CUSTOMER");
+        jdbcTemplate.update("INSERT INTO customers (customer_id, full_name, phone) VALUES (?, ?, ?)",
+                customerId, "Positions Customer", "0901234567");
+        transportA = insertTransport("a");
+        transportB = insertTransport("b");
+        transportC = insertTransport("c");
+    }
+
+    @Test
+    void findCompetitivePositions_RanksTiesTogether() {
+        Long bookingId = insertBooking();
+        Long quoteA = insertQuotation(bookingId, transportA, 1_000_000);
+        Long quoteB = insertQuotation(bookingId, transportB, 900_000);
+        Long quoteC = insertQuotation(bookingId, transportC, 1_000_000);
+
+        Map<Long, QuotationRepository.CompetitivePosition> positions = positions(List.of(quoteA, quoteB, quoteC));
+
+        assertPosition(positions.get(quoteB), 2, 1, 1_000_000);
+        assertPosition(positions.get(quoteA), 2, 2, 900_000);
+        assertPosition(positions.get(quoteC), 2, 2, 900_000);
+    }
+
+    @Test
+    void findCompetitivePositions_TieForCheapest_LowestCompetitorIsTheOtherTiedBid() {
+        Long bookingId = insertBooking();
+        Long quoteA = insertQuotation(bookingId, transportA, 700_000);
+        Long quoteB = insertQuotation(bookingId, transportB, 700_000);
+        insertQuotation(bookingId, transportC, 800_000);
+
+        Map<Long, QuotationRepository.CompetitivePosition> positions = positions(List.of(quoteA, quoteB));
+
+        assertPosition(positions.get(quoteA), 2, 1, 700_000);
+        assertPosition(positions.get(quoteB), 2, 1, 700_000);
+    }
+
+    @Test
+    void findCompetitivePositions_SingleBid_HasNoCompetitor() {
+        Long bookingId = insertBooking();
+        Long quote = insertQuotation(bookingId, transportA, 500_000);
+
+        QuotationRepository.CompetitivePosition position = positions(List.of(quote)).get(quote);
+
+        assertEquals(0L, position.getCompetitorCount());
+        assertEquals(1L, position.getPriceRank());
+        assertNull(position.getLowestCompetitorPrice());
+    }
+
+    @Test
+    void findCompetitivePositions_OnlyRequestedQuotationsAreReturned_ButAllBidsCount() {
+        Long firstBooking = insertBooking();
+        Long secondBooking = insertBooking();
+        Long quoteA1 = insertQuotation(firstBooking, transportA, 1_200_000);
+        insertQuotation(firstBooking, transportB, 1_100_000);
+        insertQuotation(firstBooking, transportC, 1_000_000);
+        Long quoteA2 = insertQuotation(secondBooking, transportA, 400_000);
+        insertQuotation(secondBooking, transportB, 450_000);
+
+        // the transport dashboard passes only its own quotation ids
+        Map<Long, QuotationRepository.CompetitivePosition> positions = positions(List.of(quoteA1, quoteA2));
+
+        assertEquals(2, positions.size());
+        assertPosition(positions.get(quoteA1), 2, 3, 1_000_000);
+        assertPosition(positions.get(quoteA2), 1, 1, 450_000);
+    }
+
+    private Map<Long, QuotationRepository.CompetitivePosition> positions(List<Long> quotationIds) {
+        return quotationRepository.findCompetitivePositions(quotationIds).stream()
+                .collect(Collectors.toMap(QuotationRepository.CompetitivePosition::getQuotationId, Function.identity()));
+    }
+
+    private static void assertPosition(QuotationRepository.CompetitivePosition position,
+                                       long competitorCount, long rank, long lowestCompetitorPrice) {
+        assertNotNull(position);
+        assertEquals(competitorCount, position.getCompetitorCount());
+        assertEquals(rank, position.getPriceRank());
+        assertEquals(0, BigDecimal.valueOf(lowestCompetitorPrice).compareTo(position.getLowestCompetitorPrice()));
+    }
+
+    private Long insertUser(String email, String role) {
+        jdbcTemplate.update("INSERT INTO users (email, password_hash, role) VALUES (?, 'hashed_password', ?)",
+                email, role);
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+
+    private Long insertTransport(String suffix) {
+        Long transportId = insertUser("positions-transport-" + suffix + "@example.com", "TRANSPORT");
+        jdbcTemplate.update("INSERT INTO transports (transport_id, company_name, business_license_number, phone, "
+                        + "address, city) VALUES (?, ?, ?, '0281234567', '1 Transport St', 'Ho Chi Minh')",
+                transportId, "Transport " + suffix, "LIC-POS-" + suffix);
+        return transportId;
+    }
+
+    private Long insertBooking() {
+        jdbcTemplate.update("INSERT INTO bookings (customer_id, pickup_address, delivery_address, preferred_date, "
+                        + "status) VALUES (?, '1 Pickup St', '2 Delivery St', ?, 'QUOTED')",
+                customerId, Date.valueOf(LocalDate.now().plusDays(3)));
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+
+    private Long insertQuotation(Long bookingId, Long transportId, long price) {
+        jdbcTemplate.update("INSERT INTO quotations (booking_id, transport_id, quoted_price, status) "
+                + "VALUES (?, ?, ?, 'PENDING')", bookingId, transportId, price);
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+}
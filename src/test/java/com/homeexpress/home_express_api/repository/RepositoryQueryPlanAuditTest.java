@@ -0,0 +1,315 @@
+package com.homeexpress.home_express_api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.Procedure;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.homeexpress.home_express_api.BaseIntegrationTest;
+import com.homeexpress.home_express_api.repository.QueryPlanRecorder.RecordedQuery;
+
+/**
+ * Runs every query method declared on the application's repositories against
+ * a seeded MySQL and checks the {@code EXPLAIN} of each statement it issues.
+ *
+ * A statement fails when a table access reads more than {@link #ROW_THRESHOLD}
+ * estimated rows through a full table scan or a filesort. Only tables the seed
+ * script fills beyond the threshold can fail, so widening the audit means
+ * seeding another table. Methods whose parameters cannot be sampled (entities,
+ * specifications) are skipped; stored procedures are not explainable.
+ */
+@Import(RepositoryQueryPlanAuditTest.RecordingDataSourceConfiguration.class)
+class RepositoryQueryPlanAuditTest extends BaseIntegrationTest {
+
+    private static final long ROW_THRESHOLD = 1_000;
+
+    private static final String SEED_SCRIPT = "db/query-plan-audit-seed.sql";
+
+    private static final QueryPlanRecorder RECORDER = new QueryPlanRecorder();
+
+    /**
+     * Deliberate unbounded reads where scanning or sorting every matched row is the point.
+     */
+    private static final Set<String> ACCEPTED_SCANS = Set.of(
+            "BookingRepository.findByStatusIn",
+            "BookingSettlementRepository.findAllOrderByCreatedAtDesc"
+    );
+
+    private static final LocalDateTime SAMPLE_TIME = LocalDateTime.now();
+
+    // First seeded ids, so lookups hit rows with representative fan-out
+    private static final long SAMPLE_ID = 1_000_001L;
+
+    private static final long SAMPLE_TRANSPORT_ID = 1_100_001L;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesAvoidFullScansAndFilesorts() throws SQLException {
+        seed();
+
+        Repositories repositories = new Repositories(applicationContext);
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Class<?> domainType : repositories) {
+            Class<?> repositoryInterface = repositories.getRequiredRepositoryInformation(domainType).getRepositoryInterface();
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+            Arrays.stream(repositoryInterface.getDeclaredMethods())
+                    .filter(RepositoryQueryPlanAuditTest::isQueryMethod)
+                    .sorted(Comparator.comparing(Method::getName))
+                    .forEach(method -> tests.add(DynamicTest.dynamicTest(
+                            repositoryInterface.getSimpleName() + "." + method.getName(),
+                            () -> audit(repositoryInterface, repository, method))));
+        }
+        return tests.stream();
+    }
+
+    private void audit(Class<?> repositoryInterface, Object repository, Method method) {
+        String methodName = repositoryInterface.getSimpleName() + "." + method.getName();
+        Object[] arguments = sampleArguments(method);
+        assumeTrue(arguments != null, () -> methodName + ": parameters cannot be sampled");
+        assumeFalse(ACCEPTED_SCANS.contains(methodName), () -> methodName + ": accepted full read");
+
+        List<String> violations = new ArrayList<>();
+        for (RecordedQuery query : record(methodName, repository, method, arguments)) {
+            if (isExplainable(query.sql())) {
+                violations.addAll(explain(query));
+            }
+        }
+        assertTrue(violations.isEmpty(), () -> methodName + " exceeds " + ROW_THRESHOLD + " rows:\n  "
+                + String.join("\n  ", violations));
+    }
+
+    /**
+     * Statements issued by one invocation. The invocation itself may fail
+     * (no row, result type mismatch...) as long as its SQL reached the
+     * driver; an invocation that issued nothing is a failure, or an abort
+     * when the database rejected it before a statement was executed.
+     */
+    private List<RecordedQuery> record(String methodName, Object repository, Method method, Object[] arguments) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Throwable[] failure = new Throwable[1];
+        List<RecordedQuery> recorded;
+        RECORDER.start();
+        try {
+            // Chạy trong transaction rồi rollback để các query @Modifying không làm đổi dữ liệu seed
+            transaction.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                try {
+                    method.invoke(repository, arguments);
+                } catch (InvocationTargetException e) {
+                    failure[0] = e.getTargetException();
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } finally {
+            recorded = RECORDER.stop();
+        }
+
+        if (recorded.isEmpty()) {
+            Throwable cause = failure[0];
+            if (cause instanceof DataAccessException
+                    && NestedExceptionUtils.getMostSpecificCause(cause) instanceof SQLException) {
+                abort(methodName + ": rejected by the database before any statement ran: "
+                        + NestedExceptionUtils.getMostSpecificCause(cause).getMessage());
+            }
+            fail(methodName + " issued no SQL statement", cause);
+        }
+        return recorded;
+    }
+
+    private List<String> explain(RecordedQuery query) {
+        List<String> violations = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.sql())) {
+            for (Map.Entry<Integer, Object> parameter : query.parameters().entrySet()) {
+                statement.setObject(parameter.getKey(), parameter.getValue());
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                while (plan.next()) {
+                    String table = plan.getString("table");
+                    String type = plan.getString("type");
+                    long rows = plan.getLong("rows");
+                    String extra = plan.getString("Extra");
+                    boolean fullScan = "ALL".equals(type);
+                    boolean filesort = extra != null && extra.contains("Using filesort");
+                    if (rows > ROW_THRESHOLD && (fullScan || filesort)) {
+                        violations.add(String.format("%s: type=%s rows=%d extra=%s key=%s%n    %s",
+                                table, type, rows, extra, plan.getString("key"), query.sql()));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            violations.add("cannot EXPLAIN (" + e.getMessage() + "): " + query.sql());
+        }
+        return violations;
+    }
+
+    private void seed() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource(SEED_SCRIPT));
+        }
+    }
+
+    private static boolean isQueryMethod(Method method) {
+        return !method.isDefault()
+                && !method.isSynthetic()
+                && !method.isBridge()
+                && !Modifier.isStatic(method.getModifiers())
+                && !method.isAnnotationPresent(Procedure.class);
+    }
+
+    private static boolean isExplainable(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return head.startsWith("select") || head.startsWith("with") || head.startsWith("update")
+                || head.startsWith("delete") || head.startsWith("insert");
+    }
+
+    private static Object[] sampleArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Type[] genericTypes = method.getGenericParameterTypes();
+        Parameter[] parameters = method.getParameters();
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            String name = parameterName(parameters[i]);
+            if (Collection.class.isAssignableFrom(types[i])) {
+                Class<?> elementType = elementType(genericTypes[i]);
+                Object first = elementType != null ? sample(elementType, 0, name) : null;
+                Object second = elementType != null ? sample(elementType, 1, name) : null;
+                if (first == null || second == null) {
+                    return null;
+                }
+                arguments[i] = Set.class.isAssignableFrom(types[i]) ? Set.of(first, second) : List.of(first, second);
+            } else {
+                arguments[i] = sample(types[i], 0, name);
+                if (arguments[i] == null) {
+                    return null;
+                }
+            }
+        }
+        return arguments;
+    }
+
+    private static String parameterName(Parameter parameter) {
+        Param param = parameter.getAnnotation(Param.class);
+        return (param != null ? param.value() : parameter.getName()).toLowerCase(Locale.ROOT);
+    }
+
+    private static Class<?> elementType(Type type) {
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> element) {
+            return element;
+        }
+        return null;
+    }
+
+    /**
+     * Representative value for a query parameter; {@code variant} yields distinct IN-list members.
+     */
+    private static Object sample(Class<?> type, int variant, String name) {
+        if (type == Long.class || type == long.class) {
+            return (name.contains("transport") ? SAMPLE_TRANSPORT_ID : SAMPLE_ID) + variant;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 1 + variant;
+        }
+        if (type == Double.class || type == double.class) {
+            return 1.0 + variant;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return variant == 0;
+        }
+        if (type == String.class) {
+            return "audit-" + variant;
+        }
+        if (type == BigDecimal.class) {
+            return BigDecimal.valueOf(100_000L + variant);
+        }
+        if (type == LocalDateTime.class) {
+            return SAMPLE_TIME.minusDays(30L * variant);
+        }
+        if (type == LocalDate.class) {
+            return SAMPLE_TIME.toLocalDate().plusDays(variant);
+        }
+        if (type == Instant.class) {
+            return Instant.now();
+        }
+        if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+            return constants.length > variant ? constants[variant] : null;
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 20);
+        }
+        if (type == Sort.class) {
+            return Sort.unsorted();
+        }
+        return null;
+    }
+
+    @TestConfiguration
+    static class RecordingDataSourceConfiguration {
+
+        @Bean
+        static BeanPostProcessor queryPlanRecordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? RECORDER.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
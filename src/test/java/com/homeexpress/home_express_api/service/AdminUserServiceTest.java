@@ -1,8 +1,11 @@
 package com.homeexpress.home_express_api.service;
 
+import com.homeexpress.home_express_api.dto.response.UserDirectoryEntry;
 import com.homeexpress.home_express_api.dto.response.UserListResponse;
 import com.homeexpress.home_express_api.entity.*;
+import com.homeexpress.home_express_api.exception.ResourceNotFoundException;
 import com.homeexpress.home_express_api.repository.*;
+import com.homeexpress.home_express_api.service.directory.UserDirectoryService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,19 +13,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -53,6 +51,9 @@ class AdminUserServiceTest {
     @Mock
     private JdbcTemplate jdbcTemplate;
 
+    @Mock
+    private UserDirectoryService userDirectoryService;
+
     @InjectMocks
     private AdminUserService adminUserService;
 
@@ -110,34 +111,30 @@ class AdminUserServiceTest {
     @Test
     void testGetAllUsersWithProfiles_Customer() {
         // Given
-        User customerUser = new User();
-        customerUser.setUserId(1L);
-        customerUser.setRole(UserRole.CUSTOMER);
-        customerUser.setEmail("customer@test.com");
-
-        Customer customer = new Customer();
-        customer.setCustomerId(10L);
-        customer.setFullName("Test Customer");
-        
-        // Mock the relationship (assuming we can set it or mock the User object)
-        // Since User is a simple entity, we might need to set the field via reflection or add a setter if Lombok @Data is used.
-        // Since we modified User to have these fields, we assume setters are generated or we can use reflection.
-        // However, Lombok @Data generates setters.
-        customerUser.setCustomer(customer);
-
-        Page<User> userPage = new PageImpl<>(Collections.singletonList(customerUser));
-        when(userRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(userPage);
+        UserDirectoryEntry entry = new UserDirectoryEntry(
+                new UserDirectoryEntry.Account(1L, "customer@test.com", UserRole.CUSTOMER, true, true, null, null, null),
+                new UserDirectoryEntry.CustomerProfile(1L, "Test Customer", null, null, null, null, "vi", null, null));
+        when(userDirectoryService.findPage(null, null, null, 0, 10))
+                .thenReturn(new PageImpl<>(List.of(entry), PageRequest.of(0, 10), 1));
 
         // When
         UserListResponse response = adminUserService.getAllUsersWithProfiles(null, null, null, 0, 10);
 
         // Then
-        List<Map<String, Object>> usersList = (List<Map<String, Object>>) response.getUsers();
+        List<UserDirectoryEntry> usersList = (List<UserDirectoryEntry>) response.getUsers();
         assertEquals(1, usersList.size());
-        Map<String, Object> userMap = usersList.get(0);
-        Map<String, Object> profileMap = (Map<String, Object>) userMap.get("profile");
-        
-        assertEquals("Test Customer", profileMap.get("full_name"));
-        assertEquals(10L, profileMap.get("customer_id"));
+        UserDirectoryEntry.CustomerProfile profile = (UserDirectoryEntry.CustomerProfile) usersList.get(0).profile();
+
+        assertEquals("Test Customer", profile.fullName());
+        assertEquals(1L, profile.customerId());
+        assertEquals(1L, response.getTotalUsers());
+        assertEquals(1, response.getCurrentPage());
+    }
+
+    @Test
+    void testGetUserWithProfile_NotFound() {
+        when(userDirectoryService.findById(5L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> adminUserService.getUserWithProfile(5L));
     }
 }
@@ -126,7 +126,7 @@ class AuthServiceTest {
         when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
         when(userRepository.save(any(User.class))).thenReturn(mockUser);
         when(customerRepository.save(any(Customer.class))).thenReturn(mockCustomer);
-        when(jwtTokenProvider.generateAccessToken(anyLong(), anyString(), anyString()))
+        when(jwtTokenProvider.generateAccessToken(anyLong(), anyString(), anyString(), anyString()))
                 .thenReturn("mock-access-token");
         when(userSessionService.createSession(any(User.class), anyString(), anyString(), nullable(String.class)))
                 .thenReturn(mockSession);
@@ -145,7 +145,7 @@ class AuthServiceTest {
         verify(userRepository, times(1)).existsByEmail("customer@test.com");
         verify(userRepository, times(1)).save(any(User.class));
         verify(customerRepository, times(1)).save(any(Customer.class));
-        verify(jwtTokenProvider, times(1)).generateAccessToken(anyLong(), anyString(), anyString());
+        verify(jwtTokenProvider, times(1)).generateAccessToken(anyLong(), anyString(), anyString(), anyString());
     }
 
     @Test
@@ -167,7 +167,7 @@ class AuthServiceTest {
         when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPassword");
         when(userRepository.save(any(User.class))).thenReturn(transportUser);
         when(transportRepository.save(any(Transport.class))).thenReturn(mockTransport);
-        when(jwtTokenProvider.generateAccessToken(anyLong(), anyString(), anyString()))
+        when(jwtTokenProvider.generateAccessToken(anyLong(), anyString(), anyString(), anyString()))
                 .thenReturn("transport-access-token");
         when(userSessionService.createSession(any(User.class), anyString(), anyString(), nullable(String.class)))
                 .thenReturn(transportSession);
@@ -192,7 +192,7 @@ class AuthServiceTest {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(mockUser));
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
         when(userRepository.save(any(User.class))).thenReturn(mockUser);
-        lenient().when(jwtTokenProvider.generateAccessToken(anyLong(), anyString(), anyString()))
+        lenient().when(jwtTokenProvider.generateAccessToken(anyLong(), anyString(), anyString(), anyString()))
                 .thenReturn("login-access-token");
         when(userSessionService.createSession(any(User.class), anyString(), anyString(), nullable(String.class)))
                 .thenReturn(mockSession);
@@ -235,7 +235,7 @@ class AuthServiceTest {
         when(userRepository.findByEmail("transport@test.com")).thenReturn(Optional.of(transportUser));
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
         when(userRepository.save(any(User.class))).thenReturn(transportUser);
-        lenient().when(jwtTokenProvider.generateAccessToken(anyLong(), anyString(), anyString()))
+        lenient().when(jwtTokenProvider.generateAccessToken(anyLong(), anyString(), anyString(), anyString()))
                 .thenReturn("transport-login-access");
         when(userSessionService.createSession(any(User.class), anyString(), anyString(), nullable(String.class)))
                 .thenReturn(transportSession);
@@ -275,7 +275,7 @@ class AuthServiceTest {
         when(userRepository.findByEmail("manager@test.com")).thenReturn(Optional.of(managerUser));
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
         when(userRepository.save(any(User.class))).thenReturn(managerUser);
-        lenient().when(jwtTokenProvider.generateAccessToken(anyLong(), anyString(), anyString()))
+        lenient().when(jwtTokenProvider.generateAccessToken(anyLong(), anyString(), anyString(), anyString()))
                 .thenReturn("manager-access-token");
         when(userSessionService.createSession(any(User.class), anyString(), anyString(), nullable(String.class)))
                 .thenReturn(managerSession);
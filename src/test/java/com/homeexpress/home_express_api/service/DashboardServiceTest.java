@@ -19,7 +19,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.homeexpress.home_express_api.dto.response.AdminDashboardStatsResponse;
 import com.homeexpress.home_express_api.entity.Transport;
-import com.homeexpress.home_express_api.entity.UserRole;
 import com.homeexpress.home_express_api.entity.VerificationStatus;
 import com.homeexpress.home_express_api.repository.TransportRepository;
 import com.homeexpress.home_express_api.repository.UserRepository;
@@ -59,20 +58,13 @@ class DashboardServiceTest {
 
     @Test
     void getAdminDashboardStats_Success() {
-        when(userRepository.count()).thenReturn(1000L);
-        when(userRepository.countByRole(UserRole.CUSTOMER)).thenReturn(800L);
-        when(userRepository.countByRole(UserRole.TRANSPORT)).thenReturn(150L);
-        when(userRepository.countByRole(UserRole.MANAGER)).thenReturn(50L);
-        when(userRepository.countByIsActive(true)).thenReturn(900L);
-        when(userRepository.countByIsVerified(true)).thenReturn(850L);
-        when(userRepository.countByCreatedAtBetween(any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(10L)
-                .thenReturn(50L)
-                .thenReturn(100L)
-                .thenReturn(80L);
-        when(transportRepository.countByVerificationStatus(VerificationStatus.PENDING)).thenReturn(15L);
-        when(transportRepository.countByVerificationStatus(VerificationStatus.APPROVED)).thenReturn(120L);
-        when(transportRepository.findByVerificationStatusOrderByAverageRatingDesc(VerificationStatus.APPROVED))
+        when(userRepository.aggregateUserCounts(any(LocalDateTime.class), any(LocalDateTime.class),
+                any(LocalDateTime.class), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(userCounts(1000L, 800L, 150L, 50L, 900L, 850L, 10L, 50L, 100L, 80L));
+        when(transportRepository.countGroupByVerificationStatus())
+                .thenReturn(List.of(new Object[] {VerificationStatus.PENDING, 15L},
+                        new Object[] {VerificationStatus.APPROVED, 120L}));
+        when(transportRepository.findTop5ByVerificationStatusOrderByAverageRatingDesc(VerificationStatus.APPROVED))
                 .thenReturn(topTransports);
 
         AdminDashboardStatsResponse result = dashboardService.getAdminDashboardStats();
@@ -92,26 +84,21 @@ class DashboardServiceTest {
         assertEquals(15L, result.getPendingTransportVerifications());
         assertNotNull(result.getTopTransports());
         assertEquals(2, result.getTopTransports().size());
-        verify(userRepository).count();
-        verify(transportRepository).findByVerificationStatusOrderByAverageRatingDesc(VerificationStatus.APPROVED);
+        assertNotNull(result.getGeneratedAt());
+        verify(userRepository).aggregateUserCounts(any(), any(), any(), any(), any());
+        verify(transportRepository).findTop5ByVerificationStatusOrderByAverageRatingDesc(VerificationStatus.APPROVED);
+        verify(userRepository, never()).count();
     }
 
     @Test
     void getPlatformStatistics_Success() {
-        when(userRepository.count()).thenReturn(500L);
-        when(userRepository.countByRole(UserRole.CUSTOMER)).thenReturn(400L);
-        when(userRepository.countByRole(UserRole.TRANSPORT)).thenReturn(80L);
-        when(userRepository.countByRole(UserRole.MANAGER)).thenReturn(20L);
-        when(userRepository.countByIsActive(true)).thenReturn(450L);
-        when(userRepository.countByIsVerified(true)).thenReturn(420L);
-        when(userRepository.countByCreatedAtBetween(any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(5L)
-                .thenReturn(25L)
-                .thenReturn(50L)
-                .thenReturn(40L);
-        when(transportRepository.countByVerificationStatus(VerificationStatus.PENDING)).thenReturn(10L);
-        when(transportRepository.countByVerificationStatus(VerificationStatus.APPROVED)).thenReturn(75L);
-        when(transportRepository.findByVerificationStatusOrderByAverageRatingDesc(VerificationStatus.APPROVED))
+        when(userRepository.aggregateUserCounts(any(LocalDateTime.class), any(LocalDateTime.class),
+                any(LocalDateTime.class), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(userCounts(500L, 400L, 80L, 20L, 450L, 420L, 5L, 25L, 50L, 40L));
+        when(transportRepository.countGroupByVerificationStatus())
+                .thenReturn(List.of(new Object[] {VerificationStatus.PENDING, 10L},
+                        new Object[] {VerificationStatus.APPROVED, 75L}));
+        when(transportRepository.findTop5ByVerificationStatusOrderByAverageRatingDesc(VerificationStatus.APPROVED))
                 .thenReturn(topTransports);
 
         Map<String, Object> result = dashboardService.getPlatformStatistics();
@@ -134,20 +121,13 @@ class DashboardServiceTest {
 
     @Test
     void getAdminDashboardStats_WithZeroGrowthRate() {
-        when(userRepository.count()).thenReturn(100L);
-        when(userRepository.countByRole(UserRole.CUSTOMER)).thenReturn(80L);
-        when(userRepository.countByRole(UserRole.TRANSPORT)).thenReturn(15L);
-        when(userRepository.countByRole(UserRole.MANAGER)).thenReturn(5L);
-        when(userRepository.countByIsActive(true)).thenReturn(90L);
-        when(userRepository.countByIsVerified(true)).thenReturn(85L);
-        when(userRepository.countByCreatedAtBetween(any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(0L)
-                .thenReturn(0L)
-                .thenReturn(0L)
-                .thenReturn(0L);
-        when(transportRepository.countByVerificationStatus(VerificationStatus.PENDING)).thenReturn(0L);
-        when(transportRepository.countByVerificationStatus(VerificationStatus.APPROVED)).thenReturn(0L);
-        when(transportRepository.findByVerificationStatusOrderByAverageRatingDesc(VerificationStatus.APPROVED))
+        when(userRepository.aggregateUserCounts(any(LocalDateTime.class), any(LocalDateTime.class),
+                any(LocalDateTime.class), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(userCounts(100L, 80L, 15L, 5L, 90L, 85L, 0L, 0L, 0L, 0L));
+        when(transportRepository.countGroupByVerificationStatus())
+                .thenReturn(List.of(new Object[] {VerificationStatus.PENDING, 0L},
+                        new Object[] {VerificationStatus.APPROVED, 0L}));
+        when(transportRepository.findTop5ByVerificationStatusOrderByAverageRatingDesc(VerificationStatus.APPROVED))
                 .thenReturn(new ArrayList<>());
 
         AdminDashboardStatsResponse result = dashboardService.getAdminDashboardStats();
@@ -160,4 +140,56 @@ class DashboardServiceTest {
         assertEquals("0.0%", result.getUserGrowthRate());
         assertTrue(result.getTopTransports().isEmpty());
     }
+
+    @Test
+    void getAdminDashboardStats_ServedFromSnapshot() {
+        when(userRepository.aggregateUserCounts(any(LocalDateTime.class), any(LocalDateTime.class),
+                any(LocalDateTime.class), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(userCounts(10L, 8L, 1L, 1L, 9L, 9L, 1L, 2L, 3L, 0L));
+        when(transportRepository.countGroupByVerificationStatus()).thenReturn(new ArrayList<>());
+        when(transportRepository.findTop5ByVerificationStatusOrderByAverageRatingDesc(VerificationStatus.APPROVED))
+                .thenReturn(topTransports);
+
+        AdminDashboardStatsResponse first = dashboardService.getAdminDashboardStats();
+        AdminDashboardStatsResponse second = dashboardService.getAdminDashboardStats();
+        dashboardService.getPlatformStatistics();
+
+        assertSame(first, second);
+        assertEquals(0L, first.getVerifiedTransports());
+        verify(userRepository, times(1)).aggregateUserCounts(any(), any(), any(), any(), any());
+        verify(transportRepository, times(1)).countGroupByVerificationStatus();
+    }
+
+    @Test
+    void refreshSnapshot_ReplacesServedSnapshot() {
+        when(userRepository.aggregateUserCounts(any(LocalDateTime.class), any(LocalDateTime.class),
+                any(LocalDateTime.class), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(userCounts(10L, 8L, 1L, 1L, 9L, 9L, 1L, 2L, 3L, 0L))
+                .thenReturn(userCounts(11L, 9L, 1L, 1L, 10L, 9L, 2L, 3L, 4L, 0L));
+        when(transportRepository.countGroupByVerificationStatus()).thenReturn(new ArrayList<>());
+        when(transportRepository.findTop5ByVerificationStatusOrderByAverageRatingDesc(VerificationStatus.APPROVED))
+                .thenReturn(topTransports);
+
+        assertEquals(10L, dashboardService.getAdminDashboardStats().getTotalUsers());
+        dashboardService.refreshSnapshot();
+
+        assertEquals(11L, dashboardService.getAdminDashboardStats().getTotalUsers());
+        assertEquals(2L, dashboardService.getAdminDashboardStats().getNewUsersToday());
+    }
+
+    private static UserRepository.UserCounts userCounts(long total, long customers, long transports, long managers,
+            long active, long verified, long today, long week, long month, long previousMonth) {
+        return new UserRepository.UserCounts() {
+            @Override public long getTotalUsers() { return total; }
+            @Override public long getCustomers() { return customers; }
+            @Override public long getTransports() { return transports; }
+            @Override public long getManagers() { return managers; }
+            @Override public long getActiveUsers() { return active; }
+            @Override public long getVerifiedUsers() { return verified; }
+            @Override public long getNewToday() { return today; }
+            @Override public long getNewThisWeek() { return week; }
+            @Override public long getNewThisMonth() { return month; }
+            @Override public long getNewPreviousMonth() { return previousMonth; }
+        };
+    }
 }
@@ -0,0 +1,109 @@
+package com.homeexpress.home_express_api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.homeexpress.home_express_api.config.EncryptionConfig;
+
+class EncryptionServiceTest {
+
+    private String masterKey;
+    private EncryptionService encryptionService;
+
+    @BeforeEach
+    void setUp() {
+        masterKey = EncryptionService.generateKey();
+        encryptionService = newService(masterKey, 1, Map.of());
+    }
+
+    private EncryptionService newService(String key, int keyId, Map<Integer, String> retiredKeys) {
+        EncryptionConfig config = new EncryptionConfig();
+        config.setMasterKey(key);
+        config.setKeyId(keyId);
+        config.setKeyRotationEnabled(!retiredKeys.isEmpty());
+        config.setRetiredKeys(retiredKeys);
+        EncryptionService service = new EncryptionService(config);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void encryptDecrypt_RoundTrip() {
+        String encrypted = encryptionService.encrypt("Nguyễn Văn A - 0123456789");
+
+        assertNotEquals("Nguyễn Văn A - 0123456789", encrypted);
+        assertEquals("Nguyễn Văn A - 0123456789", encryptionService.decrypt(encrypted));
+    }
+
+    @Test
+    void encrypt_UsesFreshIvPerCall() {
+        assertNotEquals(encryptionService.encrypt("TXN-1"), encryptionService.encrypt("TXN-1"));
+    }
+
+    @Test
+    void numericValues_RoundTripThroughBinaryFormat() {
+        assertEquals(Long.MIN_VALUE, encryptionService.decryptLong(encryptionService.encryptLong(Long.MIN_VALUE)));
+        assertEquals(12_500_000L, encryptionService.decryptLongFromBytes(
+                encryptionService.encryptLongToBytes(12_500_000L)));
+        assertEquals(new BigDecimal("-1250.50"), encryptionService.decryptBigDecimal(
+                encryptionService.encryptBigDecimal(new BigDecimal("-1250.50"))));
+        assertNull(encryptionService.decryptLong(null));
+    }
+
+    @Test
+    void batchApis_PreserveOrderAndNulls() {
+        List<String> encrypted = encryptionService.encryptAll(Arrays.asList("100", null, "", "300"));
+
+        assertEquals(Arrays.asList("100", null, "", "300"), encryptionService.decryptAll(encrypted));
+        assertEquals(Arrays.asList(100L, null, null, 300L), encryptionService.decryptLongs(encrypted));
+    }
+
+    @Test
+    void ciphertext_IsPrefixedWithKeyId() {
+        EncryptionService rotated = newService(EncryptionService.generateKey(), 7, Map.of());
+
+        byte[] encrypted = rotated.encryptBytes(new byte[] {1, 2, 3});
+
+        assertEquals(EncryptionService.FORMAT_VERSION, encrypted[0]);
+        assertEquals(7, rotated.getKeyId(encrypted));
+    }
+
+    @Test
+    void keyRotation_DecryptsRetiredKeyAndReEncrypts() {
+        String legacy = encryptionService.encrypt("VCB-0011223344");
+        EncryptionService rotated = newService(EncryptionService.generateKey(), 2, Map.of(1, masterKey));
+
+        assertTrue(rotated.needsReEncryption(legacy));
+        assertEquals("VCB-0011223344", rotated.decrypt(legacy));
+
+        String reEncrypted = rotated.reEncrypt(legacy);
+        assertFalse(rotated.needsReEncryption(reEncrypted));
+        assertEquals("VCB-0011223344", rotated.decrypt(reEncrypted));
+        assertThrows(RuntimeException.class, () -> encryptionService.decrypt(reEncrypted));
+    }
+
+    @Test
+    void decrypt_TamperedCiphertextFails() {
+        byte[] encrypted = encryptionService.encryptBytes(new byte[] {42});
+        encrypted[encrypted.length - 1] ^= 1;
+
+        assertThrows(RuntimeException.class, () -> encryptionService.decryptBytes(encrypted));
+    }
+
+    @Test
+    void blindIndex_IsDeterministicAndKeyed() {
+        String index = encryptionService.blindIndex("PAYOS-123");
+
+        assertEquals(64, index.length());
+        assertEquals(index, encryptionService.blindIndex("PAYOS-123"));
+        assertNotEquals(index, encryptionService.blindIndex("PAYOS-124"));
+        assertNotEquals(index, newService(EncryptionService.generateKey(), 1, Map.of()).blindIndex("PAYOS-123"));
+    }
+}
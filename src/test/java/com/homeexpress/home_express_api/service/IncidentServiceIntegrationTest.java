@@ -0,0 +1,134 @@
+package com.homeexpress.home_express_api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.homeexpress.home_express_api.BaseIntegrationTest;
+import com.homeexpress.home_express_api.dto.incident.IncidentResponse;
+import com.homeexpress.home_express_api.entity.UserRole;
+import com.homeexpress.home_express_api.exception.UnauthorizedException;
+
+@Transactional
+class IncidentServiceIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private IncidentService incidentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long customerA;
+    private Long customerB;
+    private Long transportA;
+    private Long transportB;
+    private Long managerId;
+
+    private Long incidentA1;
+    private Long incidentB2;
+    private Long incidentA2;
+
+    @BeforeEach
+    void setUp() {
+        customerA = insertCustomer("a", "0901234561");
+        customerB = insertCustomer("b", "0901234562");
+        transportA = insertTransport("a");
+        transportB = insertTransport("b");
+        managerId = insertUser("incidents-manager@example.com", "MANAGER");
+
+        Long bookingA1 = insertBooking(customerA, transportA);
+        Long bookingB2 = insertBooking(customerB, transportB);
+        Long bookingA2 = insertBooking(customerA, transportB);
+        incidentA1 = insertIncident(bookingA1, customerA);
+        incidentB2 = insertIncident(bookingB2, customerB);
+        incidentA2 = insertIncident(bookingA2, transportB);
+    }
+
+    @Test
+    void customerSeesOnlyIncidentsOfTheirBookings() {
+        Page<IncidentResponse> page = list(customerA, UserRole.CUSTOMER, 20);
+
+        assertEquals(Set.of(incidentA1, incidentA2), ids(page));
+    }
+
+    @Test
+    void transportSeesOnlyIncidentsOfBookingsAssignedToThem() {
+        assertEquals(Set.of(incidentA1), ids(list(transportA, UserRole.TRANSPORT, 20)));
+        assertEquals(Set.of(incidentB2, incidentA2), ids(list(transportB, UserRole.TRANSPORT, 20)));
+    }
+
+    @Test
+    void managerSeesEveryIncident() {
+        assertEquals(Set.of(incidentA1, incidentB2, incidentA2), ids(list(managerId, UserRole.MANAGER, 20)));
+    }
+
+    @Test
+    void totalCountsEveryMatchingIncidentNotJustThePage() {
+        Page<IncidentResponse> page = list(customerA, UserRole.CUSTOMER, 1);
+
+        assertEquals(1, page.getNumberOfElements());
+        assertEquals(2, page.getTotalElements());
+    }
+
+    @Test
+    void customerCannotFilterByAnotherCustomersBooking() {
+        Long bookingB = jdbcTemplate.queryForObject(
+                "SELECT booking_id FROM incidents WHERE incident_id = ?", Long.class, incidentB2);
+
+        assertThrows(UnauthorizedException.class, () -> incidentService.getIncidents(
+                bookingB, null, null, null, null, 0, 20, customerA, UserRole.CUSTOMER));
+    }
+
+    private Page<IncidentResponse> list(Long userId, UserRole role, int size) {
+        return incidentService.getIncidents(null, null, null, null, null, 0, size, userId, role);
+    }
+
+    private static Set<Long> ids(Page<IncidentResponse> page) {
+        return page.getContent().stream().map(IncidentResponse::getIncidentId).collect(Collectors.toSet());
+    }
+
+    private Long insertUser(String email, String role) {
+        jdbcTemplate.update("INSERT INTO users (email, password_hash, role) VALUES (?, 'hashed_password', ?)",
+                email, role);
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+
+    private Long insertCustomer(String suffix, String phone) {
+        Long customerId = insertUser("incidents-customer-" + suffix + "@example.com", "CUSTOMER");
+        jdbcTemplate.update("INSERT INTO customers (customer_id, full_name, phone) VALUES (?, ?, ?)",
+                customerId, "Customer " + suffix, phone);
+        return customerId;
+    }
+
+    private Long insertTransport(String suffix) {
+        Long transportId = insertUser("incidents-transport-" + suffix + "@example.com", "TRANSPORT");
+        jdbcTemplate.update("INSERT INTO transports (transport_id, company_name, business_license_number, phone, "
+                        + "address, city) VALUES (?, ?, ?, '0281234567', '1 Transport St', 'Ho Chi Minh')",
+                transportId, "Transport " + suffix, "LIC-INC-" + suffix);
+        return transportId;
+    }
+
+    private Long insertBooking(Long customerId, Long transportId) {
+        jdbcTemplate.update("INSERT INTO bookings (customer_id, transport_id, pickup_address, delivery_address, "
+                        + "preferred_date, status) VALUES (?, ?, '1 Pickup St', '2 Delivery St', ?, 'IN_PROGRESS')",
+                customerId, transportId, Date.valueOf(LocalDate.now()));
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+
+    private Long insertIncident(Long bookingId, Long reportedBy) {
+        jdbcTemplate.update("INSERT INTO incidents (booking_id, reported_by_user_id, incident_type, severity, "
+                + "description, status) VALUES (?, ?, 'DAMAGE', 'MEDIUM', 'Scratched table', 'REPORTED')",
+                bookingId, reportedBy);
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+}
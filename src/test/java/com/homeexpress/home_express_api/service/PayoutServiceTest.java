@@ -30,6 +30,7 @@ import com.homeexpress.home_express_api.repository.BookingSettlementRepository;
 import com.homeexpress.home_express_api.repository.TransportPayoutItemRepository;
 import com.homeexpress.home_express_api.repository.TransportPayoutRepository;
 import com.homeexpress.home_express_api.repository.TransportRepository;
+import com.homeexpress.home_express_api.service.sequence.DocumentSequenceService;
 
 @ExtendWith(MockitoExtension.class)
 class PayoutServiceTest {
@@ -52,6 +53,9 @@ class PayoutServiceTest {
     @Mock
     private ExternalPayoutGateway externalPayoutGateway;
 
+    @Mock
+    private DocumentSequenceService documentSequenceService;
+
     @InjectMocks
     private PayoutService payoutService;
 
@@ -132,6 +136,7 @@ class PayoutServiceTest {
         when(settlementRepository.findByTransportIdAndStatus(100L, SettlementStatus.READY))
                 .thenReturn(readySettlements);
         when(walletService.getOrCreateWallet(100L)).thenReturn(wallet);
+        when(documentSequenceService.nextPayoutNumber(100L)).thenReturn("PO-100-20240101-0001");
         when(payoutRepository.save(any(TransportPayout.class))).thenReturn(payout);
         when(payoutItemRepository.saveAll(anyList())).thenReturn(payoutItems);
         when(settlementRepository.saveAll(anyList())).thenReturn(readySettlements);
@@ -6,6 +6,9 @@ import com.homeexpress.home_express_api.dto.response.AcceptQuotationResponse;
 import com.homeexpress.home_express_api.dto.response.QuotationResponse;
 import com.homeexpress.home_express_api.entity.*;
 import com.homeexpress.home_express_api.repository.*;
+import com.homeexpress.home_express_api.service.analytics.TransportStatsService;
+import com.homeexpress.home_express_api.service.booking.BookingTimelineAssembler;
+import com.homeexpress.home_express_api.service.sequence.DocumentSequenceService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -63,6 +66,15 @@ class QuotationServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private BookingTimelineAssembler bookingTimelineAssembler;
+
+    @Mock
+    private TransportStatsService transportStatsService;
+
+    @Mock
+    private DocumentSequenceService documentSequenceService;
+
     @InjectMocks
     private QuotationService quotationService;
 
@@ -257,7 +269,7 @@ class QuotationServiceTest {
         when(bookingRepository.findById(1L)).thenReturn(Optional.of(mockBooking));
         when(contractRepository.findByBookingId(1L)).thenReturn(Optional.empty());
         when(contractRepository.save(any(Contract.class))).thenReturn(mockContract);
-        when(contractRepository.count()).thenReturn(0L);
+        when(documentSequenceService.nextContractNumber()).thenReturn("CNT-20240101-0001");
         when(customerRepository.findById(customerId)).thenReturn(Optional.of(mockCustomer));
         when(transportRepository.findById(5L)).thenReturn(Optional.of(mockTransport));
         when(userRepository.findById(customerId)).thenReturn(Optional.of(mockUser));
@@ -0,0 +1,130 @@
+package com.homeexpress.home_express_api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.homeexpress.home_express_api.dto.response.VehicleResponse;
+import com.homeexpress.home_express_api.dto.vehicle.VehicleCapability;
+import com.homeexpress.home_express_api.entity.Transport;
+import com.homeexpress.home_express_api.entity.Vehicle;
+import com.homeexpress.home_express_api.entity.VehicleStatus;
+import com.homeexpress.home_express_api.repository.TransportRepository;
+import com.homeexpress.home_express_api.repository.UserRepository;
+import com.homeexpress.home_express_api.repository.VehicleRepository;
+import com.homeexpress.home_express_api.service.vehicle.VehicleCapabilityIndex;
+
+@ExtendWith(MockitoExtension.class)
+class VehicleServiceTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private TransportRepository transportRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private VehicleCapabilityIndex vehicleCapabilityIndex;
+    private VehicleService vehicleService;
+
+    @BeforeEach
+    void setUp() {
+        vehicleCapabilityIndex = new VehicleCapabilityIndex(vehicleRepository);
+        vehicleService = new VehicleService(vehicleRepository, transportRepository, userRepository,
+                vehicleCapabilityIndex);
+    }
+
+    @Test
+    void getEligibleVehicles_ColdStart_QueriesTheDatabase() {
+        Vehicle truck = vehicle(2L, "1500", "8", true, false, VehicleStatus.ACTIVE);
+        when(vehicleRepository.findEligible(VehicleStatus.ACTIVE, new BigDecimal("1000"), null, true, false))
+                .thenReturn(List.of(truck));
+
+        List<VehicleResponse> result = vehicleService.getEligibleVehicles(new BigDecimal("1000"), null, true, false);
+
+        assertEquals(List.of(2L), ids(result));
+        verify(vehicleRepository, never()).findByVehicleIdIn(any());
+    }
+
+    @Test
+    void getEligibleVehicles_IndexLoaded_LoadsOnlyTheCandidates() {
+        when(vehicleRepository.findCapabilitiesByStatus(VehicleStatus.ACTIVE)).thenReturn(List.of(
+                capability(1L, "500", "3", false, true),
+                capability(2L, "1500", "8", true, false),
+                capability(3L, "2500", null, true, true)));
+        vehicleCapabilityIndex.refresh();
+        when(vehicleRepository.findByVehicleIdIn(List.of(2L, 3L))).thenReturn(List.of(
+                vehicle(3L, "2500", null, true, true, VehicleStatus.ACTIVE),
+                vehicle(2L, "1500", "8", true, false, VehicleStatus.ACTIVE)));
+
+        List<VehicleResponse> result = vehicleService.getEligibleVehicles(new BigDecimal("1000"), null, true, false);
+
+        assertEquals(List.of(2L, 3L), ids(result));
+        verify(vehicleRepository, never()).findEligible(any(), any(), any(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void getEligibleVehicles_IndexStale_RechecksTheLoadedRows() {
+        when(vehicleRepository.findCapabilitiesByStatus(VehicleStatus.ACTIVE)).thenReturn(List.of(
+                capability(1L, "1500", "8", false, false),
+                capability(2L, "1500", "8", false, false)));
+        vehicleCapabilityIndex.refresh();
+        // another node took vehicle 1 out of service and shrank vehicle 2 after the last refresh
+        when(vehicleRepository.findByVehicleIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                vehicle(1L, "1500", "8", false, false, VehicleStatus.UNDER_MAINTENANCE),
+                vehicle(2L, "800", "8", false, false, VehicleStatus.ACTIVE)));
+
+        List<VehicleResponse> result = vehicleService.getEligibleVehicles(new BigDecimal("1000"), null, false, false);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void getEligibleVehicles_NoCandidates_SkipsTheDatabase() {
+        when(vehicleRepository.findCapabilitiesByStatus(VehicleStatus.ACTIVE))
+                .thenReturn(List.of(capability(1L, "500", "3", false, false)));
+        vehicleCapabilityIndex.refresh();
+
+        List<VehicleResponse> result = vehicleService.getEligibleVehicles(new BigDecimal("1000"), null, false, false);
+
+        assertTrue(result.isEmpty());
+        verify(vehicleRepository, never()).findByVehicleIdIn(any());
+        verify(vehicleRepository, never()).findEligible(any(), any(), any(), anyBoolean(), anyBoolean());
+    }
+
+    private static List<Long> ids(List<VehicleResponse> vehicles) {
+        return vehicles.stream().map(VehicleResponse::getVehicleId).toList();
+    }
+
+    private static VehicleCapability capability(Long id, String capacityKg, String capacityM3,
+                                                boolean hasTailLift, boolean hasTools) {
+        return new VehicleCapability(id, new BigDecimal(capacityKg),
+                capacityM3 != null ? new BigDecimal(capacityM3) : null, hasTailLift, hasTools);
+    }
+
+    private static Vehicle vehicle(Long id, String capacityKg, String capacityM3,
+                                   boolean hasTailLift, boolean hasTools, VehicleStatus status) {
+        Transport transport = new Transport();
+        transport.setTransportId(10L);
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId(id);
+        vehicle.setTransport(transport);
+        vehicle.setCapacityKg(new BigDecimal(capacityKg));
+        vehicle.setCapacityM3(capacityM3 != null ? new BigDecimal(capacityM3) : null);
+        vehicle.setHasTailLift(hasTailLift);
+        vehicle.setHasTools(hasTools);
+        vehicle.setStatus(status);
+        return vehicle;
+    }
+}
@@ -0,0 +1,142 @@
+package com.homeexpress.home_express_api.service.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.homeexpress.home_express_api.entity.Booking;
+import com.homeexpress.home_express_api.entity.BookingStatus;
+import com.homeexpress.home_express_api.entity.TransportMonthlyStats;
+import com.homeexpress.home_express_api.repository.BookingRepository;
+import com.homeexpress.home_express_api.repository.TransportMonthlyStatsRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TransportMonthlyStatsServiceTest {
+
+    @Mock
+    private TransportMonthlyStatsRepository statsRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransportMonthlyStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TransportMonthlyStatsService(statsRepository, bookingRepository, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void bookingChanged_RefreshesCompletionMonth() {
+        service.bookingChanged(7L, BookingStatus.IN_PROGRESS, null,
+                7L, BookingStatus.COMPLETED, LocalDateTime.of(2025, 3, 31, 23, 30));
+
+        verify(statsRepository).refreshMonth(7L, LocalDate.of(2025, 3, 1),
+                LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 4, 1, 0, 0));
+    }
+
+    @Test
+    void bookingChanged_IgnoresBookingsThatAreNotCompleted() {
+        service.bookingChanged(7L, BookingStatus.CONFIRMED, null,
+                7L, BookingStatus.IN_PROGRESS, LocalDateTime.of(2025, 3, 5, 10, 0));
+
+        verifyNoInteractions(statsRepository);
+    }
+
+    @Test
+    void bookingChanged_LeavingCompleted_RefreshesTheOldMonth() {
+        service.bookingChanged(7L, BookingStatus.COMPLETED, LocalDateTime.of(2025, 3, 5, 10, 0),
+                7L, BookingStatus.CANCELLED, LocalDateTime.of(2025, 3, 5, 10, 0));
+
+        verify(statsRepository).refreshMonth(7L, LocalDate.of(2025, 3, 1),
+                LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 4, 1, 0, 0));
+        verifyNoMoreInteractions(statsRepository);
+    }
+
+    @Test
+    void bookingChanged_MovedToAnotherMonthAndTransport_RefreshesBoth() {
+        service.bookingChanged(7L, BookingStatus.COMPLETED, LocalDateTime.of(2025, 3, 31, 23, 30),
+                8L, BookingStatus.COMPLETED, LocalDateTime.of(2025, 4, 1, 0, 30));
+
+        verify(statsRepository).refreshMonth(eq(7L), eq(LocalDate.of(2025, 3, 1)), any(), any());
+        verify(statsRepository).refreshMonth(eq(8L), eq(LocalDate.of(2025, 4, 1)), any(), any());
+        verifyNoMoreInteractions(statsRepository);
+    }
+
+    @Test
+    void writesInOneTransaction_RefreshEachMonthOnceAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        Booking booking = completedBooking(1L, 7L, LocalDateTime.of(2025, 3, 5, 10, 0));
+        when(bookingRepository.findAllById(any())).thenReturn(List.of(booking));
+
+        service.bookingChanged(7L, BookingStatus.IN_PROGRESS, null,
+                7L, BookingStatus.COMPLETED, booking.getActualEndTime());
+        service.settlementChanged(1L);
+        service.bookingChanged(7L, BookingStatus.COMPLETED, booking.getActualEndTime(),
+                7L, BookingStatus.COMPLETED, booking.getActualEndTime());
+
+        verifyNoInteractions(statsRepository);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.get(0).afterCommit();
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(statsRepository, times(1)).refreshMonth(eq(7L), eq(LocalDate.of(2025, 3, 1)), any(), any());
+        assertNull(TransactionSynchronizationManager.getResource(service));
+    }
+
+    @Test
+    void getMonthlyStats_FillsMissingMonthsWithZero() {
+        TransportMonthlyStats february = new TransportMonthlyStats(7L, LocalDate.of(2025, 2, 1));
+        february.setCompletedBookings(3);
+        february.setGrossRevenueVnd(BigDecimal.valueOf(4_500_000));
+        when(statsRepository.findByTransportIdAndMonthStartBetweenOrderByMonthStartAsc(
+                7L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 1))).thenReturn(List.of(february));
+
+        Map<YearMonth, TransportMonthlyStats> stats =
+                service.getMonthlyStats(7L, YearMonth.of(2025, 1), YearMonth.of(2025, 3));
+
+        assertEquals(List.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2), YearMonth.of(2025, 3)),
+                List.copyOf(stats.keySet()));
+        assertEquals(0, stats.get(YearMonth.of(2025, 1)).getCompletedBookings());
+        assertEquals(3, stats.get(YearMonth.of(2025, 2)).getCompletedBookings());
+        assertEquals(BigDecimal.ZERO, stats.get(YearMonth.of(2025, 3)).getGrossRevenueVnd());
+    }
+
+    private static Booking completedBooking(Long bookingId, Long transportId, LocalDateTime completedAt) {
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId);
+        booking.setTransportId(transportId);
+        booking.setStatus(BookingStatus.COMPLETED);
+        booking.setActualEndTime(completedAt);
+        return booking;
+    }
+}
@@ -0,0 +1,74 @@
+package com.homeexpress.home_express_api.service.analytics;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.homeexpress.home_express_api.entity.BookingStatus;
+import com.homeexpress.home_express_api.entity.QuotationStatus;
+import com.homeexpress.home_express_api.repository.TransportStatsRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TransportStatsServiceTest {
+
+    private static final BigDecimal PRICE = BigDecimal.valueOf(3_200_000);
+
+    @Mock
+    private TransportStatsRepository statsRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TransportStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TransportStatsService(statsRepository, jdbcTemplate);
+    }
+
+    @Test
+    void bookingCompleted_MovesCountAndAddsRevenue() {
+        service.bookingChanged(7L, BookingStatus.IN_PROGRESS, PRICE, 7L, BookingStatus.COMPLETED, PRICE);
+
+        verify(jdbcTemplate).update(anyString(), eq(7L), eq(0), eq(0), eq(-1), eq(1), eq(0), eq(PRICE), eq(0));
+    }
+
+    @Test
+    void bookingReassigned_MovesBookingBetweenTransports() {
+        service.bookingChanged(7L, BookingStatus.CONFIRMED, PRICE, 9L, BookingStatus.CONFIRMED, PRICE);
+
+        verify(jdbcTemplate).update(anyString(), eq(7L), eq(-1), eq(-1), eq(0), eq(0), eq(0), eq(BigDecimal.ZERO), eq(0));
+        verify(jdbcTemplate).update(anyString(), eq(9L), eq(1), eq(1), eq(0), eq(0), eq(0), eq(BigDecimal.ZERO), eq(0));
+    }
+
+    @Test
+    void bookingAssignedFirstTime_CountsOnlyForNewTransport() {
+        service.bookingChanged(null, BookingStatus.QUOTED, null, 7L, BookingStatus.CONFIRMED, PRICE);
+
+        verify(jdbcTemplate).update(anyString(), eq(7L), eq(1), eq(1), eq(0), eq(0), eq(0), eq(BigDecimal.ZERO), eq(0));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void untrackedChange_WritesNothing() {
+        service.bookingChanged(7L, BookingStatus.LOADING, PRICE, 7L, BookingStatus.IN_TRANSIT, PRICE);
+        service.quotationChanged(7L, QuotationStatus.NEGOTIATING, 7L, QuotationStatus.COUNTERED);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void quotationAccepted_DecrementsPending() {
+        service.quotationChanged(7L, QuotationStatus.PENDING, 7L, QuotationStatus.ACCEPTED);
+
+        verify(jdbcTemplate).update(anyString(), eq(7L), eq(0), eq(0), eq(0), eq(0), eq(0), eq(BigDecimal.ZERO), eq(-1));
+    }
+}
@@ -0,0 +1,97 @@
+package com.homeexpress.home_express_api.service.booking;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.homeexpress.home_express_api.BaseIntegrationTest;
+import com.homeexpress.home_express_api.dto.booking.BookingPageResponse;
+import com.homeexpress.home_express_api.dto.booking.BookingResponse;
+import com.homeexpress.home_express_api.entity.Customer;
+import com.homeexpress.home_express_api.entity.User;
+import com.homeexpress.home_express_api.entity.UserRole;
+import com.homeexpress.home_express_api.repository.CustomerRepository;
+import com.homeexpress.home_express_api.repository.UserRepository;
+
+@Transactional
+class BookingKeysetPaginationIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private BookingQueryService bookingQueryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("keyset@example.com");
+        user.setPasswordHash("hashed_password");
+        user.setRole(UserRole.CUSTOMER);
+        user = userRepository.save(user);
+
+        Customer customer = new Customer();
+        customer.setCustomerId(user.getUserId());
+        customer.setUser(user);
+        customer.setFullName("Keyset Customer");
+        customer.setPhone("0901234567");
+        customerRepository.saveAndFlush(customer);
+        customerId = user.getUserId();
+    }
+
+    @Test
+    void search_PagesThroughBookingsSharingOneTimestamp() {
+        LocalDateTime sameInstant = LocalDateTime.of(2025, 3, 1, 10, 0);
+        List<Long> inserted = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            inserted.add(insertBooking(sameInstant));
+        }
+        Long older = insertBooking(sameInstant.minusMinutes(1));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            BookingPageResponse page = bookingQueryService.search(
+                    BookingQueryService.Filter.forCustomer(customerId).withPage(cursor, 2),
+                    customerId, UserRole.CUSTOMER);
+            page.getBookings().stream().map(BookingResponse::getBookingId).forEach(seen::add);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        List<Long> expected = new ArrayList<>(inserted);
+        expected.sort(Comparator.reverseOrder());
+        expected.add(older);
+        assertEquals(expected, seen);
+        assertEquals(3, pages);
+    }
+
+    private Long insertBooking(LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO bookings (customer_id, pickup_address, delivery_address, preferred_date, "
+                        + "status, created_at, updated_at) VALUES (?, ?, ?, ?, 'PENDING', ?, ?)",
+                customerId, "1 Pickup St", "2 Delivery St", Date.valueOf(LocalDate.of(2025, 3, 10)),
+                Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+}
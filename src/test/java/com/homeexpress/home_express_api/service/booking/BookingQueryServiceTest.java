@@ -0,0 +1,175 @@
+package com.homeexpress.home_express_api.service.booking;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homeexpress.home_express_api.dto.booking.BookingPageResponse;
+import com.homeexpress.home_express_api.dto.booking.BookingResponse;
+import com.homeexpress.home_express_api.entity.Booking;
+import com.homeexpress.home_express_api.entity.UserRole;
+import com.homeexpress.home_express_api.exception.BadRequestException;
+import com.homeexpress.home_express_api.exception.UnauthorizedException;
+import com.homeexpress.home_express_api.repository.BookingRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BookingQueryServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private BookingQueryService bookingQueryService;
+
+    @BeforeEach
+    void setUp() {
+        bookingQueryService = new BookingQueryService(bookingRepository, jdbcTemplate, new ObjectMapper());
+    }
+
+    @Test
+    void cursor_RoundTrips() {
+        BookingQueryService.Cursor cursor =
+                new BookingQueryService.Cursor(LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_000_000), 42L);
+
+        assertEquals(cursor, BookingQueryService.Cursor.decode(cursor.encode()));
+        assertNull(BookingQueryService.Cursor.decode(null));
+    }
+
+    @Test
+    void cursor_Malformed_Throws() {
+        assertThrows(BadRequestException.class, () -> BookingQueryService.Cursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void search_WhenTimestampsTie_NextCursorIsLastRowOfPage() {
+        LocalDateTime sameInstant = LocalDateTime.of(2025, 3, 1, 10, 0);
+        // size + 1 rows come back; the extra one only signals that there is a next page
+        doReturn(List.of(booking(30L, sameInstant), booking(20L, sameInstant), booking(10L, sameInstant)))
+                .when(bookingRepository).findBy(any(Specification.class), any());
+
+        BookingPageResponse page = bookingQueryService.search(
+                BookingQueryService.Filter.NONE.withPage(null, 2), 1L, UserRole.MANAGER);
+
+        assertEquals(List.of(30L, 20L), page.getBookings().stream().map(BookingResponse::getBookingId).toList());
+        assertTrue(page.isHasMore());
+        assertEquals(new BookingQueryService.Cursor(sameInstant, 20L),
+                BookingQueryService.Cursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void search_LastPage_HasNoCursor() {
+        doReturn(List.of(booking(10L, LocalDateTime.of(2025, 3, 1, 10, 0))))
+                .when(bookingRepository).findBy(any(Specification.class), any());
+
+        BookingPageResponse page = bookingQueryService.search(
+                BookingQueryService.Filter.NONE.withPage(null, 2), 1L, UserRole.MANAGER);
+
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void search_InvalidCursor_IsRejectedBeforeQuerying() {
+        BookingQueryService.Filter filter = BookingQueryService.Filter.forCustomer(7L).withPage("bm90LWEtY3Vyc29y", 20);
+
+        assertThrows(BadRequestException.class, () -> bookingQueryService.search(filter, 7L, UserRole.CUSTOMER));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void prepareExport_CustomerIsScopedToOwnBookings() {
+        BookingQueryService.Filter scoped =
+                bookingQueryService.prepareExport(BookingQueryService.Filter.NONE, 7L, UserRole.CUSTOMER);
+
+        assertEquals(7L, scoped.customerId());
+        assertNull(BookingQueryService.Filter.NONE.customerId());
+    }
+
+    @Test
+    void prepareExport_CustomerCannotReadOthers() {
+        BookingQueryService.Filter filter = BookingQueryService.Filter.forCustomer(8L);
+
+        assertThrows(UnauthorizedException.class,
+                () -> bookingQueryService.prepareExport(filter, 7L, UserRole.CUSTOMER));
+    }
+
+    @Test
+    void prepareExport_RejectsInvertedDateRange() {
+        BookingQueryService.Filter filter = new BookingQueryService.Filter(
+                null, null, LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 1), null, null, null);
+
+        assertThrows(BadRequestException.class,
+                () -> bookingQueryService.prepareExport(filter, 1L, UserRole.MANAGER));
+    }
+
+    @Test
+    void exportNdjson_StreamsRowsWhileResultSetIsOpen() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(statement);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("booking_id")).thenReturn(1L);
+        when(rs.getString("status")).thenReturn("PENDING");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int rows = 1_200;
+        List<Long> linesSeenAtRow500 = new ArrayList<>();
+
+        doAnswer(invocation -> {
+            invocation.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(connection);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 1; i <= rows; i++) {
+                handler.processRow(rs);
+                if (i == 500) {
+                    linesSeenAtRow500.add(countLines(out));
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        long written = bookingQueryService.exportNdjson(BookingQueryService.Filter.forCustomer(7L), out);
+
+        assertEquals(rows, written);
+        assertEquals(rows, countLines(out));
+        // the first rows reached the client before the query finished
+        assertEquals(List.of(500L), linesSeenAtRow500);
+        verify(statement).setFetchSize(Integer.MIN_VALUE);
+        verify(statement).setObject(1, 7L);
+    }
+
+    private static long countLines(ByteArrayOutputStream out) {
+        return out.toString(StandardCharsets.UTF_8).chars().filter(c -> c == '\n').count();
+    }
+
+    private static Booking booking(Long bookingId, LocalDateTime createdAt) {
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId);
+        booking.setCreatedAt(createdAt);
+        return booking;
+    }
+}
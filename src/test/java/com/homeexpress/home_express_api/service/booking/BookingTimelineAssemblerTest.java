@@ -0,0 +1,148 @@
+package com.homeexpress.home_express_api.service.booking;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.homeexpress.home_express_api.dto.response.BookingTimelineEvent;
+import com.homeexpress.home_express_api.dto.response.BookingTimelineResponse;
+import com.homeexpress.home_express_api.entity.ActorRole;
+import com.homeexpress.home_express_api.entity.Booking;
+import com.homeexpress.home_express_api.entity.BookingStatus;
+import com.homeexpress.home_express_api.entity.BookingStatusHistory;
+import com.homeexpress.home_express_api.entity.Customer;
+import com.homeexpress.home_express_api.entity.Payment;
+import com.homeexpress.home_express_api.entity.PaymentMethod;
+import com.homeexpress.home_express_api.entity.PaymentType;
+import com.homeexpress.home_express_api.entity.Quotation;
+import com.homeexpress.home_express_api.entity.Transport;
+import com.homeexpress.home_express_api.repository.BookingRepository;
+import com.homeexpress.home_express_api.repository.BookingStatusHistoryRepository;
+import com.homeexpress.home_express_api.repository.CustomerRepository;
+import com.homeexpress.home_express_api.repository.PaymentRepository;
+import com.homeexpress.home_express_api.repository.QuotationRepository;
+import com.homeexpress.home_express_api.repository.TransportRepository;
+import com.homeexpress.home_express_api.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BookingTimelineAssemblerTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 5, 1, 9, 0);
+
+    @Mock private BookingRepository bookingRepository;
+    @Mock private BookingStatusHistoryRepository statusHistoryRepository;
+    @Mock private QuotationRepository quotationRepository;
+    @Mock private PaymentRepository paymentRepository;
+    @Mock private CustomerRepository customerRepository;
+    @Mock private TransportRepository transportRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private StringRedisTemplate redisTemplate;
+
+    private BookingTimelineAssembler assembler;
+
+    @BeforeEach
+    void setUp() {
+        assembler = new BookingTimelineAssembler(bookingRepository, statusHistoryRepository, quotationRepository,
+                paymentRepository, customerRepository, transportRepository, userRepository, redisTemplate, 100, 300);
+    }
+
+    @Test
+    void getTimeline_MergesStreamsAndResolvesActorsInBulk() {
+        stubBooking();
+
+        BookingTimelineResponse timeline = assembler.getTimeline(1L);
+
+        List<String> types = timeline.getTimeline().stream().map(BookingTimelineEvent::getEventType).toList();
+        assertEquals(List.of("STATUS_CHANGE", "QUOTATION_SUBMITTED", "STATUS_CHANGE", "PAYMENT_INITIATED"), types);
+        assertEquals(4, timeline.getTotalEvents());
+        assertEquals("Nguyen Van A", timeline.getTimeline().get(0).getActorName());
+        assertEquals("Fast Movers", timeline.getTimeline().get(1).getActorName());
+        assertEquals("Fast Movers", timeline.getTimeline().get(2).getActorName());
+        verify(customerRepository, times(1)).findAllById(any());
+        verify(transportRepository, times(1)).findAllById(any());
+        verify(customerRepository, never()).findById(anyLong());
+        verify(transportRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getTimeline_CachedUntilInvalidated() {
+        stubBooking();
+
+        BookingTimelineResponse first = assembler.getTimeline(1L);
+        assertSame(first, assembler.getTimeline(1L));
+
+        assembler.invalidate(1L);
+
+        assertNotSame(first, assembler.getTimeline(1L));
+        verify(bookingRepository, times(2)).findById(1L);
+        verify(redisTemplate).convertAndSend(BookingTimelineAssembler.CHANNEL, "1");
+    }
+
+    @Test
+    void merge_KeepsStreamOrderOnEqualTimestamps() {
+        BookingTimelineEvent history = event("STATUS_CHANGE", T0);
+        BookingTimelineEvent quotation = event("QUOTATION_SUBMITTED", T0);
+        BookingTimelineEvent payment = event("PAYMENT_INITIATED", T0.minusMinutes(1));
+
+        List<BookingTimelineEvent> merged = BookingTimelineAssembler.merge(
+                List.of(List.of(history), List.of(quotation), List.of(payment)));
+
+        assertEquals(List.of(payment, history, quotation), merged);
+    }
+
+    private void stubBooking() {
+        Booking booking = new Booking();
+        booking.setBookingId(1L);
+        booking.setCustomerId(10L);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+        BookingStatusHistory created = new BookingStatusHistory(1L, null, BookingStatus.PENDING, 10L, ActorRole.CUSTOMER);
+        created.setChangedAt(T0);
+        BookingStatusHistory quoted = new BookingStatusHistory(1L, BookingStatus.PENDING, BookingStatus.QUOTED, 20L, ActorRole.TRANSPORT);
+        quoted.setChangedAt(T0.plusHours(2));
+        when(statusHistoryRepository.findByBookingIdOrderByChangedAtAsc(1L)).thenReturn(List.of(created, quoted));
+
+        Quotation quotation = new Quotation();
+        quotation.setQuotationId(5L);
+        quotation.setBookingId(1L);
+        quotation.setTransportId(20L);
+        quotation.setQuotedPrice(BigDecimal.valueOf(1_500_000));
+        quotation.setCreatedAt(T0.plusHours(1));
+        when(quotationRepository.findByBookingId(1L)).thenReturn(List.of(quotation));
+
+        Payment payment = new Payment();
+        payment.setPaymentId(7L);
+        payment.setBookingId(1L);
+        payment.setAmount(BigDecimal.valueOf(450_000));
+        payment.setPaymentType(PaymentType.DEPOSIT);
+        payment.setPaymentMethod(PaymentMethod.BANK_TRANSFER);
+        payment.setCreatedAt(T0.plusHours(3));
+        when(paymentRepository.findByBookingIdOrderByCreatedAtAsc(1L)).thenReturn(List.of(payment));
+
+        Customer customer = new Customer();
+        customer.setCustomerId(10L);
+        customer.setFullName("Nguyen Van A");
+        when(customerRepository.findAllById(any())).thenReturn(List.of(customer));
+
+        Transport transport = new Transport();
+        transport.setTransportId(20L);
+        transport.setCompanyName("Fast Movers");
+        when(transportRepository.findAllById(any())).thenReturn(List.of(transport));
+    }
+
+    private static BookingTimelineEvent event(String type, LocalDateTime timestamp) {
+        return BookingTimelineEvent.builder().eventType(type).timestamp(timestamp).build();
+    }
+}
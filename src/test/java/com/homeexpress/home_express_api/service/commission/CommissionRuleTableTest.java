@@ -0,0 +1,98 @@
+package com.homeexpress.home_express_api.service.commission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.homeexpress.home_express_api.entity.CommissionRule;
+import com.homeexpress.home_express_api.entity.CommissionRuleType;
+
+class CommissionRuleTableTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+    private static final long NOW_SECOND = CommissionRuleTable.epochSecond(NOW);
+
+    @Test
+    void ruleFor_NoRules_UsesFallbackRate() {
+        CommissionRuleTable table = CommissionRuleTable.compile(List.of(), 500, NOW);
+
+        assertEquals(500, table.ruleFor(7L, NOW_SECOND).getRateBps());
+        assertEquals(250_000L, table.platformFee(5_000_000L, 7L, NOW_SECOND));
+    }
+
+    @Test
+    void ruleFor_TransportRuleOverridesDefault() {
+        CommissionRuleTable table = CommissionRuleTable.compile(List.of(
+                percent(1L, null, 10.0, NOW.minusDays(30), null),
+                percent(2L, 7L, 12.5, NOW.minusDays(1), null)), 500, NOW);
+
+        assertEquals(1250, table.ruleFor(7L, NOW_SECOND).getRateBps());
+        assertEquals(1000, table.ruleFor(8L, NOW_SECOND).getRateBps());
+        assertEquals(1000, table.ruleFor(CommissionRuleTable.NO_TRANSPORT, NOW_SECOND).getRateBps());
+    }
+
+    @Test
+    void ruleFor_PicksNewestRuleInForceAndSkipsExpiredOrInactive() {
+        CommissionRule inactive = percent(3L, 7L, 20.0, NOW.minusDays(1), null);
+        inactive.setIsActive(false);
+        CommissionRuleTable table = CommissionRuleTable.compile(List.of(
+                percent(1L, 7L, 8.0, NOW.minusDays(60), null),
+                percent(2L, 7L, 9.0, NOW.minusDays(10), NOW.minusDays(2)),
+                inactive,
+                percent(4L, 7L, 15.0, NOW.plusDays(5), null)), 500, NOW);
+
+        assertEquals(800, table.ruleFor(7L, NOW_SECOND).getRateBps());
+        assertEquals(1500, table.ruleFor(7L, CommissionRuleTable.epochSecond(NOW.plusDays(6))).getRateBps());
+        // the expired and inactive rules are dropped when compiling; the future one is kept
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void fee_FlatAndClampedRules() {
+        CommissionRule flat = percent(1L, 7L, 0.0, NOW.minusDays(1), null);
+        flat.setRuleType(CommissionRuleType.FLAT);
+        flat.setFlatFeeVnd(50_000L);
+        CommissionRule clamped = percent(2L, 8L, 10.0, NOW.minusDays(1), null);
+        clamped.setMinFeeVnd(100_000L);
+        clamped.setMaxFeeVnd(400_000L);
+        CommissionRuleTable table = CommissionRuleTable.compile(List.of(flat, clamped), 500, NOW);
+
+        assertEquals(50_000L, table.platformFee(9_000_000L, 7L, NOW_SECOND));
+        assertEquals(0, table.ruleFor(7L, NOW_SECOND).getRateBps());
+        assertEquals(100_000L, table.platformFee(500_000L, 8L, NOW_SECOND));
+        assertEquals(300_000L, table.platformFee(3_000_000L, 8L, NOW_SECOND));
+        assertEquals(400_000L, table.platformFee(9_000_000L, 8L, NOW_SECOND));
+    }
+
+    @Test
+    void platformFees_MatchesSingleEvaluation() {
+        CommissionRuleTable table = CommissionRuleTable.compile(List.of(
+                percent(1L, null, 10.0, NOW.minusDays(30), null),
+                percent(2L, 7L, 12.5, NOW.minusDays(1), null)), 500, NOW);
+        long[] prices = {1_000_000L, 2_000_000L, 3_000_000L, 4_000_000L};
+        long[] transports = {7L, 7L, 8L, 7L};
+        long[] fees = new long[prices.length];
+
+        table.platformFees(prices, transports, NOW_SECOND, fees);
+
+        for (int i = 0; i < prices.length; i++) {
+            assertEquals(table.platformFee(prices[i], transports[i], NOW_SECOND), fees[i]);
+        }
+    }
+
+    private static CommissionRule percent(Long ruleId, Long transportId, double rate,
+                                          LocalDateTime from, LocalDateTime to) {
+        CommissionRule rule = new CommissionRule();
+        rule.setRuleId(ruleId);
+        rule.setTransportId(transportId);
+        rule.setRuleType(CommissionRuleType.PERCENT);
+        rule.setCommissionRate(rate);
+        rule.setIsActive(true);
+        rule.setEffectiveFrom(from);
+        rule.setEffectiveTo(to);
+        return rule;
+    }
+}
@@ -0,0 +1,127 @@
+package com.homeexpress.home_express_api.service.directory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.homeexpress.home_express_api.BaseIntegrationTest;
+import com.homeexpress.home_express_api.entity.UserRole;
+
+/**
+ * Not {@code @Transactional}: InnoDB FULLTEXT indexes only see committed
+ * rows, so the fixtures are committed and deleted after each test.
+ */
+class UserDirectorySearchIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserDirectoryService userDirectoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> seeded = new ArrayList<>();
+
+    private Long customerHai;
+    private Long inactiveCustomerAnh;
+    private Long transportAnhDuong;
+    private Long managerHaiNam;
+
+    @BeforeEach
+    void setUp() {
+        customerHai = insertUser("hai.tran@dirsearch.test", "CUSTOMER", true);
+        jdbcTemplate.update("INSERT INTO customers (customer_id, full_name, phone) VALUES (?, 'Tran Van Hai', "
+                + "'0901234581')", customerHai);
+
+        inactiveCustomerAnh = insertUser("le.thi@dirsearch.test", "CUSTOMER", false);
+        jdbcTemplate.update("INSERT INTO customers (customer_id, full_name, phone) VALUES (?, 'Le Thi Anh', "
+                + "'0901234582')", inactiveCustomerAnh);
+
+        transportAnhDuong = insertUser("contact@vantai-dirsearch.test", "TRANSPORT", true);
+        jdbcTemplate.update("INSERT INTO transports (transport_id, company_name, business_license_number, phone, "
+                + "address, city) VALUES (?, 'Van Tai Anh Duong', 'LIC-DIR-1', '0281234567', '1 Transport St', "
+                + "'Ho Chi Minh')", transportAnhDuong);
+
+        managerHaiNam = insertUser("nam.pham@dirsearch.test", "MANAGER", true);
+        jdbcTemplate.update("INSERT INTO managers (manager_id, full_name, phone) VALUES (?, 'Pham Hai Nam', "
+                + "'0901234583')", managerHaiNam);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Long userId : seeded) {
+            jdbcTemplate.update("DELETE FROM customers WHERE customer_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM transports WHERE transport_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM managers WHERE manager_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", userId);
+        }
+        seeded.clear();
+    }
+
+    @Test
+    void findPage_EmailPrefix() {
+        assertEquals(Set.of(customerHai), search(null, null, "hai.tr"));
+        assertEquals(Set.of(customerHai), search(null, null, "HAI.TRAN@"));
+    }
+
+    @Test
+    void findPage_EmailSubstring() {
+        assertEquals(Set.of(customerHai, inactiveCustomerAnh, transportAnhDuong, managerHaiNam),
+                search(null, null, "dirsearch.test"));
+    }
+
+    @Test
+    void findPage_NameSubstringContainingDefaultStopwords() {
+        // "Hai", "Anh" chỉ gồm các ngram chứa stopword mặc định "a", "i", "an"
+        assertEquals(Set.of(customerHai, managerHaiNam), search(null, null, "hai"));
+        assertEquals(Set.of(inactiveCustomerAnh, transportAnhDuong), search(null, null, "Anh"));
+        assertEquals(Set.of(transportAnhDuong), search(null, null, "anh duong"));
+        assertEquals(Set.of(), search(null, null, "anh nam"));
+    }
+
+    @Test
+    void findPage_RoleAndActiveFilters() {
+        assertEquals(Set.of(inactiveCustomerAnh), search(UserRole.CUSTOMER, null, "anh"));
+        assertEquals(Set.of(transportAnhDuong), search(null, true, "anh"));
+        assertEquals(Set.of(), search(UserRole.CUSTOMER, true, "anh"));
+        assertEquals(Set.of(managerHaiNam), search(UserRole.MANAGER, true, "hai"));
+    }
+
+    @Test
+    void findPage_OneCharacterWord() {
+        assertEquals(Set.of(managerHaiNam), search(UserRole.MANAGER, null, "h"));
+        assertEquals(Set.of(customerHai), search(UserRole.CUSTOMER, null, "van h"));
+    }
+
+    @Test
+    void findPage_CountsEveryMatchNotJustThePage() {
+        var page = userDirectoryService.findPage(null, null, "dirsearch", 0, 1);
+
+        assertEquals(1, page.getNumberOfElements());
+        assertTrue(page.getTotalElements() >= 4);
+    }
+
+    private Set<Long> search(UserRole role, Boolean active, String query) {
+        // Chỉ xét user do test này tạo, DB có thể còn dữ liệu của test khác
+        return userDirectoryService.findPage(role, active, query, 0, 100).getContent().stream()
+                .map(entry -> entry.user().userId())
+                .filter(seeded::contains)
+                .collect(Collectors.toSet());
+    }
+
+    private Long insertUser(String email, String role, boolean active) {
+        jdbcTemplate.update("INSERT INTO users (email, password_hash, role, is_active) VALUES (?, 'hashed_password', ?, ?)",
+                email, role, active);
+        Long userId = jdbcTemplate.queryForObject("SELECT user_id FROM users WHERE email = ?", Long.class, email);
+        seeded.add(userId);
+        return userId;
+    }
+}
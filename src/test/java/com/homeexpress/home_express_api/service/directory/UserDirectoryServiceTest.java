@@ -0,0 +1,96 @@
+package com.homeexpress.home_express_api.service.directory;
+
+import com.homeexpress.home_express_api.dto.response.UserDirectoryEntry;
+import com.homeexpress.home_express_api.entity.UserRole;
+import com.homeexpress.home_express_api.entity.VerificationStatus;
+import com.homeexpress.home_express_api.repository.CustomerRepository;
+import com.homeexpress.home_express_api.repository.ManagerRepository;
+import com.homeexpress.home_express_api.repository.TransportRepository;
+import com.homeexpress.home_express_api.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private TransportRepository transportRepository;
+
+    @Mock
+    private ManagerRepository managerRepository;
+
+    @InjectMocks
+    private UserDirectoryService userDirectoryService;
+
+    @Test
+    void findPage_LoadsProfilesPerRoleInPageOrder() {
+        when(userRepository.findDirectoryUserIds(null, null, PageRequest.of(0, 3)))
+                .thenReturn(new PageImpl<>(List.of(3L, 1L, 2L), PageRequest.of(0, 3), 7));
+        when(userRepository.findDirectoryAccounts(List.of(3L, 1L, 2L))).thenReturn(List.of(
+                account(1L, UserRole.CUSTOMER), account(2L, UserRole.TRANSPORT), account(3L, UserRole.CUSTOMER)));
+        when(customerRepository.findDirectoryProfiles(argThat(ids -> ids.containsAll(List.of(1L, 3L)))))
+                .thenReturn(List.of(new UserDirectoryEntry.CustomerProfile(
+                        1L, "Khach Mot", null, null, null, null, "vi", null, null)));
+        when(transportRepository.findDirectoryProfiles(List.of(2L)))
+                .thenReturn(List.of(new UserDirectoryEntry.TransportProfile(2L, "Van Tai Hai", null, null, null,
+                        null, null, null, null, VerificationStatus.APPROVED, null, 0, 0, 0, null, null, null)));
+
+        Page<UserDirectoryEntry> page = userDirectoryService.findPage(null, null, "  ", 0, 3);
+
+        assertEquals(7, page.getTotalElements());
+        assertEquals(List.of(3L, 1L, 2L), page.getContent().stream().map(entry -> entry.user().userId()).toList());
+        // customer 3 has no profile row
+        assertInstanceOf(UserDirectoryEntry.NoProfile.class, page.getContent().get(0).profile());
+        assertEquals("Khach Mot", ((UserDirectoryEntry.CustomerProfile) page.getContent().get(1).profile()).fullName());
+        assertEquals("Van Tai Hai",
+                ((UserDirectoryEntry.TransportProfile) page.getContent().get(2).profile()).companyName());
+        verifyNoInteractions(managerRepository);
+    }
+
+    @Test
+    void findPage_SearchUsesEscapedPrefixAndQuotedPhrase() {
+        when(userRepository.searchDirectoryUserIds(eq("CUSTOMER"), eq(true), anyString(), anyString(), any()))
+                .thenReturn(Page.empty());
+
+        userDirectoryService.findPage(UserRole.CUSTOMER, true, "  Nguyen_\"Van\"  ", 0, 10);
+
+        verify(userRepository).searchDirectoryUserIds("CUSTOMER", true, "nguyen\\_ van%", "\"nguyen_ van\"",
+                PageRequest.of(0, 10));
+        verify(userRepository, never()).findDirectoryAccounts(any());
+    }
+
+    @Test
+    void findPage_WordShorterThanAnNgram_ScansInstead() {
+        when(userRepository.scanDirectoryUserIds(isNull(), isNull(), anyString(), any())).thenReturn(Page.empty());
+
+        userDirectoryService.findPage(null, null, "Nguyen V", 0, 10);
+        userDirectoryService.findPage(null, null, "%", 0, 10);
+
+        verify(userRepository).scanDirectoryUserIds(null, null, "%nguyen v%", PageRequest.of(0, 10));
+        verify(userRepository).scanDirectoryUserIds(null, null, "%\\%%", PageRequest.of(0, 10));
+        verify(userRepository, never()).searchDirectoryUserIds(any(), any(), any(), any(), any());
+    }
+
+    private static UserDirectoryEntry.Account account(Long userId, UserRole role) {
+        return new UserDirectoryEntry.Account(userId, "user" + userId + "@test.com", role, true, true,
+                null, null, null);
+    }
+}
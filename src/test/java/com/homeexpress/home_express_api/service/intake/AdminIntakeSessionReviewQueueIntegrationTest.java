@@ -0,0 +1,167 @@
+package com.homeexpress.home_express_api.service.intake;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.homeexpress.home_express_api.BaseIntegrationTest;
+import com.homeexpress.home_express_api.dto.response.AdminIntakeSessionDetailResponse;
+import com.homeexpress.home_express_api.dto.response.AdminIntakeSessionListResponse;
+import com.homeexpress.home_express_api.dto.response.AdminIntakeSessionStatsResponse;
+import com.homeexpress.home_express_api.repository.IntakeSessionRepository;
+
+/**
+ * Runs the review queue and status statistics queries against MySQL.
+ * The seeded statuses are unique to this test, so rows of other tests do not
+ * change the grouped statistics.
+ */
+@Transactional
+@TestPropertySource(properties = "ai.detection.confidence-threshold=0.85")
+class AdminIntakeSessionReviewQueueIntegrationTest extends BaseIntegrationTest {
+
+    private static final String PENDING = "rvq_pending";
+    private static final String DONE = "rvq_done";
+
+    @Autowired
+    private AdminIntakeSessionService adminIntakeSessionService;
+
+    @Autowired
+    private IntakeSessionRepository sessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDateTime now;
+    private Long customerA;
+    private Long customerB;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        customerA = insertCustomer("rvq-a@example.com", "0901234591");
+        customerB = insertCustomer("rvq-b@example.com", "0901234592");
+
+        // Confidence cao, chờ lâu nhất
+        insertSession("rvq-high-old", PENDING, customerA, 120, new BigDecimal("0.9500"));
+        // Chưa có confidence: vào nhóm cần duyệt trước
+        insertSession("rvq-unknown", PENDING, customerA, 90, null);
+        insertSession("rvq-low", PENDING, customerB, 60, new BigDecimal("0.5000"));
+        // Đúng bằng ngưỡng: không tính là thấp
+        insertSession("rvq-threshold", PENDING, customerA, 10, new BigDecimal("0.8500"));
+        insertSession("rvq-done", DONE, customerA, 30, new BigDecimal("0.7000"));
+    }
+
+    @Test
+    void listSessions_LowOrUnknownConfidenceFirstThenOldest() {
+        assertEquals(List.of("rvq-unknown", "rvq-low", "rvq-high-old", "rvq-threshold"),
+                ids(adminIntakeSessionService.listSessions(PENDING, null, null, null, 0, 10)));
+    }
+
+    @Test
+    void listSessions_NullFiltersAreIgnored() {
+        assertEquals(List.of("rvq-unknown", "rvq-done", "rvq-high-old", "rvq-threshold"),
+                ids(adminIntakeSessionService.listSessions(null, customerA, null, null, 0, 10)));
+        assertEquals(List.of("rvq-unknown", "rvq-high-old", "rvq-threshold"),
+                ids(adminIntakeSessionService.listSessions(PENDING, customerA, null, null, 0, 10)));
+        assertEquals(List.of("rvq-low"),
+                ids(adminIntakeSessionService.listSessions(" " + PENDING + " ", customerB, null, null, 0, 10)));
+    }
+
+    @Test
+    void listSessions_AgeBounds() {
+        // Tối thiểu 45 phút -> createdBefore = now - 45
+        assertEquals(List.of("rvq-unknown", "rvq-low", "rvq-high-old"),
+                ids(adminIntakeSessionService.listSessions(PENDING, null, 45, null, 0, 10)));
+        // Tối đa 100 phút -> createdAfter = now - 100
+        assertEquals(List.of("rvq-unknown", "rvq-low", "rvq-threshold"),
+                ids(adminIntakeSessionService.listSessions(PENDING, null, null, 100, 0, 10)));
+        assertEquals(List.of("rvq-unknown", "rvq-low"),
+                ids(adminIntakeSessionService.listSessions(PENDING, null, 45, 100, 0, 10)));
+    }
+
+    @Test
+    void listSessions_PagesAndCountsEveryMatch() {
+        AdminIntakeSessionListResponse first = adminIntakeSessionService.listSessions(PENDING, null, null, null, 0, 2);
+        AdminIntakeSessionListResponse second = adminIntakeSessionService.listSessions(PENDING, null, null, null, 1, 2);
+
+        assertEquals(4, first.getTotal());
+        assertEquals(List.of("rvq-unknown", "rvq-low"), ids(first));
+        assertEquals(List.of("rvq-high-old", "rvq-threshold"), ids(second));
+    }
+
+    @Test
+    void findReviewQueueIds_ThresholdDecidesTheGroup() {
+        Page<String> page = sessionRepository.findReviewQueueIds(PENDING, null, null, null,
+                new BigDecimal("0.96"), PageRequest.of(0, 10));
+
+        // Mọi session đều dưới ngưỡng 0.96: chỉ còn thứ tự theo created_at
+        assertEquals(List.of("rvq-high-old", "rvq-unknown", "rvq-low", "rvq-threshold"), page.getContent());
+    }
+
+    @Test
+    void aggregateStatsByStatus_MapsTheProjection() {
+        IntakeSessionRepository.StatusStats pending = stats(PENDING);
+        IntakeSessionRepository.StatusStats done = stats(DONE);
+
+        assertEquals(4L, pending.getTotal());
+        // AVG bỏ qua NULL: (0.95 + 0.50 + 0.85) / 3
+        assertEquals(0.7667, pending.getAvgConfidence(), 0.0001);
+        assertEquals(now.minusMinutes(120), pending.getOldestCreatedAt());
+        assertEquals(1L, done.getTotal());
+        assertEquals(0.70, done.getAvgConfidence(), 0.0001);
+        assertEquals(now.minusMinutes(30), done.getOldestCreatedAt());
+    }
+
+    @Test
+    void getSessionStats_SelectsTheRequestedStatus() {
+        AdminIntakeSessionStatsResponse stats = adminIntakeSessionService.getSessionStats(PENDING.toUpperCase());
+
+        assertEquals(4L, stats.getTotal());
+        assertEquals(0.7667, stats.getAvgConfidence(), 0.0001);
+        assertTrue(stats.getOldestWaitTimeSeconds() >= 120 * 60);
+        assertEquals(4L, stats.getCountByStatus().get(PENDING));
+        assertEquals(1L, stats.getCountByStatus().get(DONE));
+    }
+
+    private IntakeSessionRepository.StatusStats stats(String status) {
+        return sessionRepository.aggregateStatsByStatus().stream()
+                .filter(stats -> status.equals(stats.getStatus()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<String> ids(AdminIntakeSessionListResponse response) {
+        return response.getSessions().stream()
+                .map(AdminIntakeSessionDetailResponse::getSessionId)
+                .toList();
+    }
+
+    private Long insertCustomer(String email, String phone) {
+        jdbcTemplate.update("INSERT INTO users (email, password_hash, role) VALUES (?, 'hashed_password', 'CUSTOMER')",
+                email);
+        Long userId = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+        jdbcTemplate.update("INSERT INTO customers (customer_id, full_name, phone) VALUES (?, ?, ?)",
+                userId, "Review Queue " + email, phone);
+        return userId;
+    }
+
+    private void insertSession(String sessionId, String status, Long userId, int ageMinutes, BigDecimal confidence) {
+        Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(ageMinutes));
+        jdbcTemplate.update("INSERT INTO intake_sessions (session_id, user_id, status, average_confidence, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)",
+                sessionId, userId, status, confidence, createdAt, createdAt);
+    }
+}
@@ -0,0 +1,150 @@
+package com.homeexpress.home_express_api.service.intake;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.homeexpress.home_express_api.dto.response.AdminIntakeSessionListResponse;
+import com.homeexpress.home_express_api.dto.response.AdminIntakeSessionStatsResponse;
+import com.homeexpress.home_express_api.dto.response.UserDirectoryEntry;
+import com.homeexpress.home_express_api.entity.IntakeSession;
+import com.homeexpress.home_express_api.entity.IntakeSessionItem;
+import com.homeexpress.home_express_api.entity.User;
+import com.homeexpress.home_express_api.entity.UserRole;
+import com.homeexpress.home_express_api.repository.IntakeSessionItemRepository;
+import com.homeexpress.home_express_api.repository.IntakeSessionRepository;
+import com.homeexpress.home_express_api.service.directory.UserDirectoryService;
+
+@ExtendWith(MockitoExtension.class)
+class AdminIntakeSessionServiceTest {
+
+    private static final BigDecimal THRESHOLD = new BigDecimal("0.85");
+
+    @Mock
+    private IntakeSessionRepository sessionRepository;
+
+    @Mock
+    private IntakeSessionItemRepository itemRepository;
+
+    @Mock
+    private UserDirectoryService userDirectoryService;
+
+    @InjectMocks
+    private AdminIntakeSessionService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "confidenceThreshold", THRESHOLD);
+    }
+
+    @Test
+    void listSessions_FiltersInQueryAndBulkLoadsItemsAndCustomers() {
+        IntakeSession first = session("s-1", 7L);
+        IntakeSession second = session("s-2", null);
+        when(sessionRepository.findReviewQueueIds(eq("active"), eq(7L), isNull(), any(LocalDateTime.class),
+                eq(THRESHOLD), eq(PageRequest.of(0, 20))))
+                .thenReturn(new PageImpl<>(List.of("s-2", "s-1"), PageRequest.of(0, 20), 2));
+        when(sessionRepository.findAllById(List.of("s-2", "s-1"))).thenReturn(List.of(first, second));
+        when(itemRepository.findBySessionSessionIdInOrderByIdAsc(List.of("s-2", "s-1"))).thenReturn(List.of(
+                item(first, "Tu lanh", "https://cdn/a.jpg", "40"),
+                item(first, "May giat", "https://cdn/a.jpg", "60")));
+        when(userDirectoryService.findByIds(Set.of(7L))).thenReturn(Map.of(7L, new UserDirectoryEntry(
+                new UserDirectoryEntry.Account(7L, "khach@test.com", UserRole.CUSTOMER, true, true,
+                        "https://cdn/avatar.jpg", null, null),
+                new UserDirectoryEntry.CustomerProfile(7L, "Nguyen Van A", null, null, null, null, "vi", null, null))));
+
+        AdminIntakeSessionListResponse response = service.listSessions("active", 7L, 30, null, 0, 20);
+
+        assertEquals(2, response.getTotal());
+        assertEquals(List.of("s-2", "s-1"),
+                response.getSessions().stream().map(detail -> detail.getSessionId()).toList());
+        assertTrue(response.getSessions().get(0).getItems().isEmpty());
+        assertNull(response.getSessions().get(0).getCustomer());
+
+        var detail = response.getSessions().get(1);
+        assertEquals(2, detail.getItems().size());
+        assertEquals(List.of("https://cdn/a.jpg"), detail.getImageUrls());
+        assertEquals(100.0, detail.getEstimatedWeightKg());
+        assertEquals("Nguyen Van A", detail.getCustomer().getCustomerName());
+        assertEquals("https://cdn/avatar.jpg", detail.getCustomer().getCustomerAvatar());
+    }
+
+    @Test
+    void getSessionStats_UsesOneGroupedQuery() {
+        LocalDateTime oldest = LocalDateTime.now().minusMinutes(10);
+        when(sessionRepository.aggregateStatsByStatus()).thenReturn(List.of(
+                stats("active", 4, 0.7, oldest),
+                stats("needs_review", 2, null, null)));
+
+        AdminIntakeSessionStatsResponse response = service.getSessionStats("ACTIVE");
+
+        assertEquals(4L, response.getTotal());
+        assertEquals(0.7, response.getAvgConfidence());
+        assertTrue(response.getOldestWaitTimeSeconds() >= 600);
+        assertEquals(Map.of("active", 4L, "needs_review", 2L), response.getCountByStatus());
+        verify(sessionRepository, only()).aggregateStatsByStatus();
+    }
+
+    private static IntakeSession session(String sessionId, Long userId) {
+        IntakeSession session = IntakeSession.builder().sessionId(sessionId).build();
+        if (userId != null) {
+            User user = new User();
+            user.setUserId(userId);
+            session.setUser(user);
+        }
+        return session;
+    }
+
+    private static IntakeSessionItem item(IntakeSession session, String name, String imageUrl, String weightKg) {
+        return IntakeSessionItem.builder()
+                .session(session)
+                .name(name)
+                .quantity(1)
+                .imageUrl(imageUrl)
+                .weightKg(new BigDecimal(weightKg))
+                .build();
+    }
+
+    private static IntakeSessionRepository.StatusStats stats(String status, long total, Double avgConfidence,
+                                                             LocalDateTime oldestCreatedAt) {
+        return new IntakeSessionRepository.StatusStats() {
+            @Override
+            public String getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+
+            @Override
+            public Double getAvgConfidence() {
+                return avgConfidence;
+            }
+
+            @Override
+            public LocalDateTime getOldestCreatedAt() {
+                return oldestCreatedAt;
+            }
+        };
+    }
+}
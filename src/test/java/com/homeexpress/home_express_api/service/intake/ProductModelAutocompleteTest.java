@@ -0,0 +1,79 @@
+package com.homeexpress.home_express_api.service.intake;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.homeexpress.home_express_api.entity.ProductModel;
+
+class ProductModelAutocompleteTest {
+
+    private ProductModelAutocomplete autocomplete;
+
+    @BeforeEach
+    void setUp() {
+        autocomplete = new ProductModelAutocomplete();
+        autocomplete.rebuild(List.of(
+                model(1L, "Samsung", "Galaxy S23", "Điện thoại", "system", 1),
+                model(2L, "Samsung", "SM-G991B", null, "user_save", 5),
+                model(3L, "Sony", "Bravia X90", "Tivi", "user_save", 3),
+                model(4L, "Sharp", "AQ-X1", null, "user_save", 1)), id -> 0);
+    }
+
+    @Test
+    void searchBrands_MatchesTokenPrefixAndSkipsUnprovenBrands() {
+        assertEquals(List.of("Samsung", "Sony"), autocomplete.searchBrands("s", 10));
+        assertEquals(List.of("Samsung"), autocomplete.searchBrands("sam", 10));
+        assertTrue(autocomplete.searchBrands("sha", 10).isEmpty());
+    }
+
+    @Test
+    void searchModels_AllQueryTokensMustMatchAndSystemRanksFirst() {
+        assertEquals(List.of(1L, 2L), ids(autocomplete.searchModels("samsung", 10)));
+        assertEquals(List.of(2L), ids(autocomplete.searchModels("sm g991", 10)));
+        // Không dấu vẫn khớp tên có dấu
+        assertEquals(List.of(1L), ids(autocomplete.searchModels("dien thoai", 10)));
+        assertEquals(List.of(1L, 2L, 3L), ids(autocomplete.searchModels("", 10)));
+        assertEquals(List.of(1L), ids(autocomplete.searchModels("", 1)));
+    }
+
+    @Test
+    void findModelsByBrand_IgnoresBrandCaseAndFiltersModelTokens() {
+        assertEquals(List.of(1L, 2L), ids(autocomplete.findModelsByBrand("SAMSUNG", "", 10)));
+        assertEquals(List.of(1L), ids(autocomplete.findModelsByBrand("samsung", "gal", 10)));
+    }
+
+    @Test
+    void addUsageAndUpsert_UpdateRankingAndTokens() {
+        autocomplete.addUsage(4L, 1, LocalDateTime.now());
+        assertEquals(List.of("Sharp"), autocomplete.searchBrands("sha", 10));
+
+        autocomplete.addUsage(3L, 10, LocalDateTime.now());
+        assertEquals(List.of(1L, 3L, 2L, 4L), ids(autocomplete.searchModels("", 10)));
+
+        autocomplete.upsert(model(3L, "Sony", "Bravia XR", "Tivi", "user_save", 13), 0);
+        assertTrue(autocomplete.searchModels("x90", 10).isEmpty());
+        assertEquals(List.of(3L), ids(autocomplete.searchModels("xr", 10)));
+    }
+
+    private static List<Long> ids(List<ProductModel> models) {
+        return models.stream().map(ProductModel::getModelId).toList();
+    }
+
+    private static ProductModel model(Long id, String brand, String modelName, String productName,
+                                      String source, int usageCount) {
+        ProductModel model = new ProductModel();
+        model.setModelId(id);
+        model.setBrand(brand);
+        model.setModel(modelName);
+        model.setProductName(productName);
+        model.setSource(source);
+        model.setUsageCount(usageCount);
+        model.setLastUsedAt(LocalDateTime.of(2025, 6, 1, 12, 0));
+        return model;
+    }
+}
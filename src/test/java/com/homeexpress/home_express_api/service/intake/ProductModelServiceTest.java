@@ -0,0 +1,133 @@
+package com.homeexpress.home_express_api.service.intake;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.homeexpress.home_express_api.repository.ProductModelRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ProductModelServiceTest {
+
+    @Mock
+    private ProductModelRepository productModelRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductModelService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProductModelService(productModelRepository, jdbcTemplate, transactionManager, 20);
+    }
+
+    @Test
+    void flushUsage_WritesTheCountAndTheLatestUseOfEachModel() {
+        service.recordUsage(7L);
+        LocalDateTime beforeLastUse = LocalDateTime.now();
+        service.recordUsage(7L);
+        LocalDateTime afterLastUse = LocalDateTime.now();
+
+        service.flushUsage();
+
+        Object[] row = singleRow();
+        assertEquals(2, row[0]);
+        LocalDateTime lastUsedAt = ((Timestamp) row[1]).toLocalDateTime();
+        assertFalse(lastUsedAt.isBefore(beforeLastUse));
+        assertFalse(lastUsedAt.isAfter(afterLastUse));
+        assertEquals(7L, row[2]);
+    }
+
+    @Test
+    void flushUsage_WhenTheBatchFails_RetriesTheUsesNextRun() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("lock wait timeout"))
+                .thenReturn(new int[] {1});
+        service.recordUsage(7L);
+        service.flushUsage();
+        service.recordUsage(7L);
+
+        service.flushUsage();
+
+        ArgumentCaptor<List<Object[]>> batches = batchCaptor();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        List<Object[]> retried = batches.getAllValues().get(1);
+        assertEquals(1, retried.size());
+        assertEquals(2, retried.get(0)[0]);
+    }
+
+    @Test
+    void cleanupStaleEntries_FlushesUsageBeforeTheDeleteTransaction() {
+        service.recordUsage(7L);
+
+        service.cleanupStaleEntries();
+
+        InOrder inOrder = inOrder(jdbcTemplate, transactionManager, productModelRepository);
+        inOrder.verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(productModelRepository).deleteStaleEntries(any(LocalDateTime.class));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void rebuildIndex_WaitsForTheFlushInProgress() throws Exception {
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        CountDownLatch releaseBatch = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            batchStarted.countDown();
+            releaseBatch.await(5, TimeUnit.SECONDS);
+            return new int[] {1};
+        });
+        when(productModelRepository.findAll()).thenReturn(List.of());
+        service.recordUsage(7L);
+
+        Thread flush = new Thread(service::flushUsage);
+        flush.start();
+        assertTrue(batchStarted.await(5, TimeUnit.SECONDS));
+        Thread rebuild = new Thread(service::rebuildIndex);
+        rebuild.start();
+        rebuild.join(200);
+
+        // the uses are out of pendingUsage but not yet committed
+        assertTrue(rebuild.isAlive());
+        verify(productModelRepository, never()).findAll();
+
+        releaseBatch.countDown();
+        flush.join(5_000);
+        rebuild.join(5_000);
+        verify(productModelRepository).findAll();
+    }
+
+    private Object[] singleRow() {
+        ArgumentCaptor<List<Object[]>> batch = batchCaptor();
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals(1, batch.getValue().size());
+        return batch.getValue().get(0);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArgumentCaptor<List<Object[]>> batchCaptor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -1,8 +1,16 @@
 package com.homeexpress.home_express_api.service.payment;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import com.homeexpress.home_express_api.service.sequence.DocumentSequenceService;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import org.junit.jupiter.api.Test;
 import vn.payos.PayOS;
 
@@ -10,11 +18,35 @@ class PayOSServiceTest {
 
     @Test
     void generateOrderCodeShouldStayWithinGatewayLimit() {
-        PayOSService service = new PayOSService(mock(PayOS.class));
+        DocumentSequenceService sequences = mock(DocumentSequenceService.class);
+        when(sequences.next(eq("PAYOS"), any())).thenReturn(999_999_999L);
+        PayOSService service = new PayOSService(mock(PayOS.class), sequences);
 
-        long code = service.generateOrderCode(1_000_000_000L);
+        long code = service.generateOrderCode();
 
         assertTrue(code <= 999_999_999_999_999L, "orderCode must not exceed gateway limit");
         assertTrue(code > 0, "orderCode must be positive");
+        assertEquals(999_999_999L, code % 1_000_000_000L);
+    }
+
+    @Test
+    void generateOrderCodeShouldPrefixTodaysSequenceWithTheDate() {
+        DocumentSequenceService sequences = mock(DocumentSequenceService.class);
+        when(sequences.next(eq("PAYOS"), any())).thenReturn(42L);
+        PayOSService service = new PayOSService(mock(PayOS.class), sequences);
+
+        long code = service.generateOrderCode();
+
+        String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
+        assertEquals(Long.parseLong(today + "000000042"), code);
+    }
+
+    @Test
+    void generateOrderCodeShouldRejectExhaustedDailySequence() {
+        DocumentSequenceService sequences = mock(DocumentSequenceService.class);
+        when(sequences.next(eq("PAYOS"), any())).thenReturn(1_000_000_000L);
+        PayOSService service = new PayOSService(mock(PayOS.class), sequences);
+
+        assertThrows(IllegalStateException.class, service::generateOrderCode);
     }
 }
@@ -0,0 +1,174 @@
+package com.homeexpress.home_express_api.service.payment;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.homeexpress.home_express_api.BaseIntegrationTest;
+
+import vn.payos.type.WebhookData;
+
+/**
+ * Not {@code @Transactional}: claims run in their own transactions on
+ * separate connections, so the rows are committed and deleted after each test.
+ * The worker's dispatcher is kept from polling so it does not claim them first.
+ */
+@TestPropertySource(properties = "payos.webhook.poll-ms=3600000")
+class PayOsWebhookInboxIntegrationTest extends BaseIntegrationTest {
+
+    private static final long ORDER_CODE_BASE = 880_000_000L;
+
+    @Autowired
+    private PayOsWebhookInbox inbox;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM payos_webhook_inbox WHERE order_code BETWEEN ? AND ?",
+                ORDER_CODE_BASE, ORDER_CODE_BASE + 999);
+    }
+
+    @Test
+    void add_SameNotificationTwice_SecondIsDuplicate() {
+        assertTrue(inbox.add(webhook(1, "REF-1"), 9_001L));
+        assertFalse(inbox.add(webhook(1, "REF-1"), 9_001L));
+        assertTrue(inbox.add(webhook(1, "REF-2"), 9_001L));
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payos_webhook_inbox WHERE dedupe_key = ?", Integer.class,
+                (ORDER_CODE_BASE + 1) + ":REF-1"));
+    }
+
+    @Test
+    void add_MissingReference_DeduplicatesOnOrderCode() {
+        assertTrue(inbox.add(webhook(2, null), 9_002L));
+        assertFalse(inbox.add(webhook(2, ""), 9_002L));
+    }
+
+    @Test
+    void claim_KeepsOneRowPerBookingInFlight() {
+        inbox.add(webhook(10, "A-1"), 9_010L);
+        inbox.add(webhook(11, "A-2"), 9_010L);
+        inbox.add(webhook(12, "B-1"), 9_011L);
+
+        assertEquals(List.of(10L, 12L), orderCodes(claim(10)));
+        // A-1 vẫn PROCESSING nên A-2 phải chờ
+        assertEquals(List.of(), orderCodes(claim(10)));
+
+        inbox.markDone(inboxId(10), LocalDateTime.now());
+
+        assertEquals(List.of(11L), orderCodes(claim(10)));
+    }
+
+    @Test
+    void claim_RowWaitingForRetry_HoldsBackLaterRowsOfItsBooking() {
+        inbox.add(webhook(20, "A-1"), 9_020L);
+        inbox.add(webhook(21, "A-2"), 9_020L);
+        claim(10);
+        inbox.markRetry(inboxId(20), 1, LocalDateTime.now().plusMinutes(5), "timeout");
+
+        assertEquals(List.of(), orderCodes(claim(10)));
+    }
+
+    @Test
+    void claim_Concurrent_NeverReturnsTheSameRow() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            inbox.add(webhook(30 + i, "C-" + i), 9_030L + i);
+        }
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Giao dịch đầu giữ khóa cho đến khi giao dịch thứ hai claim xong
+            Future<List<PayOsWebhookInbox.Entry>> first = executor.submit(() -> transaction.execute(status -> {
+                List<PayOsWebhookInbox.Entry> claimed = inbox.claim(LocalDateTime.now().plusSeconds(1), 3);
+                firstClaimed.countDown();
+                await(secondDone);
+                return claimed;
+            }));
+            assertTrue(firstClaimed.await(30, TimeUnit.SECONDS));
+            List<PayOsWebhookInbox.Entry> second = claim(10);
+            secondDone.countDown();
+
+            Set<Long> firstIds = inboxIds(first.get(30, TimeUnit.SECONDS));
+            Set<Long> secondIds = inboxIds(second);
+            assertEquals(3, firstIds.size());
+            assertEquals(3, secondIds.size());
+            assertTrue(firstIds.stream().noneMatch(secondIds::contains));
+        } finally {
+            secondDone.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private List<PayOsWebhookInbox.Entry> claim(int limit) {
+        return transaction.execute(status -> inbox.claim(LocalDateTime.now().plusSeconds(1), limit));
+    }
+
+    private long inboxId(long orderOffset) {
+        return jdbcTemplate.queryForObject("SELECT inbox_id FROM payos_webhook_inbox WHERE order_code = ?",
+                Long.class, ORDER_CODE_BASE + orderOffset);
+    }
+
+    private static List<Long> orderCodes(List<PayOsWebhookInbox.Entry> entries) {
+        return entries.stream()
+                .map(entry -> entry.orderCode() - ORDER_CODE_BASE)
+                .filter(offset -> offset >= 0 && offset < 1000)
+                .toList();
+    }
+
+    private static Set<Long> inboxIds(List<PayOsWebhookInbox.Entry> entries) {
+        Set<Long> ids = new HashSet<>();
+        for (PayOsWebhookInbox.Entry entry : entries) {
+            ids.add(entry.inboxId());
+        }
+        return ids;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static WebhookData webhook(long orderOffset, String reference) {
+        WebhookData data = mock(WebhookData.class);
+        when(data.getOrderCode()).thenReturn(ORDER_CODE_BASE + orderOffset);
+        when(data.getReference()).thenReturn(reference);
+        when(data.getAmount()).thenReturn(500_000);
+        when(data.getPaymentLinkId()).thenReturn("link-" + orderOffset);
+        return data;
+    }
+}
@@ -0,0 +1,104 @@
+package com.homeexpress.home_express_api.service.payment;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.homeexpress.home_express_api.exception.PaymentNotFoundException;
+import com.homeexpress.home_express_api.service.PaymentService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.payos.type.WebhookData;
+
+@ExtendWith(MockitoExtension.class)
+class PayOsWebhookWorkerTest {
+
+    @Mock
+    private PayOsWebhookInbox inbox;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PayOsWebhookWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new PayOsWebhookWorker(inbox, paymentService, transactionManager, meterRegistry, 2, 1000, 3, 300_000);
+    }
+
+    @Test
+    void process_ConfirmsPaymentAndMarksDone() {
+        worker.process(entry(0));
+
+        verify(paymentService).confirmPayOsPayment(123L, 500_000, "link-1", "REF-1");
+        verify(inbox).markDone(eq(1L), any());
+        assertEquals(1.0, meterRegistry.counter("payos.webhook.processed", "outcome", "success").count());
+        assertEquals(1L, meterRegistry.timer("payos.webhook.lag").count());
+    }
+
+    @Test
+    void process_FailureIsRetriedWithBackoff() {
+        when(paymentService.confirmPayOsPayment(anyLong(), any(), any(), any()))
+                .thenThrow(new PaymentNotFoundException("Payment not found for order code 123"));
+        LocalDateTime before = LocalDateTime.now();
+
+        worker.process(entry(1));
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(inbox).markRetry(eq(1L), eq(2), nextAttempt.capture(), contains("Payment not found"));
+        assertFalse(nextAttempt.getValue().isBefore(before.plusSeconds(4)));
+        verify(inbox, never()).markDone(anyLong(), any());
+    }
+
+    @Test
+    void process_LastAttemptMarksFailed() {
+        when(paymentService.confirmPayOsPayment(anyLong(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("boom"));
+
+        worker.process(entry(2));
+
+        verify(inbox).markFailed(eq(1L), eq(3), any(), eq("boom"));
+        verify(inbox, never()).markRetry(anyLong(), anyInt(), any(), any());
+        assertEquals(1.0, meterRegistry.counter("payos.webhook.processed", "outcome", "failed").count());
+    }
+
+    @Test
+    void enqueue_StoresWebhookWithResolvedBooking() {
+        WebhookData data = mock(WebhookData.class);
+        when(data.getOrderCode()).thenReturn(123L);
+        when(data.getReference()).thenReturn("REF-1");
+        when(paymentService.findBookingIdForPayOsOrder(123L, "REF-1")).thenReturn(42L);
+        when(inbox.add(data, 42L)).thenReturn(false);
+
+        assertFalse(worker.enqueue(data));
+        verify(inbox).add(data, 42L);
+    }
+
+    @Test
+    void backoffSeconds_DoublesUpToCap() {
+        assertEquals(2L, PayOsWebhookWorker.backoffSeconds(1));
+        assertEquals(16L, PayOsWebhookWorker.backoffSeconds(4));
+        assertEquals(600L, PayOsWebhookWorker.backoffSeconds(30));
+    }
+
+    private static PayOsWebhookInbox.Entry entry(int attempts) {
+        return new PayOsWebhookInbox.Entry(1L, 123L, "REF-1", "link-1", 500_000L, 42L, attempts,
+                LocalDateTime.now().minusSeconds(2));
+    }
+}
@@ -0,0 +1,90 @@
+package com.homeexpress.home_express_api.service.principal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import com.homeexpress.home_express_api.config.JwtAuthenticatedUser;
+import com.homeexpress.home_express_api.entity.UserRole;
+import com.homeexpress.home_express_api.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class UserPrincipalResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private UserPrincipalCache cache;
+    private UserPrincipalResolver resolver;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserPrincipalCache(100, 300);
+        resolver = new UserPrincipalResolver(cache, userRepository, redisTemplate);
+        authentication = new UsernamePasswordAuthenticationToken(
+                new JwtAuthenticatedUser(7L, "a@example.com", "CUSTOMER"), null, List.of());
+    }
+
+    @Test
+    void resolve_LoadsOnceThenServesFromCache() {
+        when(userRepository.findPrincipalById(7L)).thenReturn(Optional.of(principal(UserRole.CUSTOMER)));
+
+        UserPrincipal first = resolver.resolve(authentication);
+        UserPrincipal second = resolver.resolve(authentication);
+
+        assertEquals(7L, second.getUserId());
+        assertEquals(UserRole.CUSTOMER, second.getRole());
+        assertSame(first, second);
+        verify(userRepository, times(1)).findPrincipalById(7L);
+        assertEquals(0.5, cache.getHitRatio());
+    }
+
+    @Test
+    void userChanged_InvalidatesAndPublishes() {
+        when(userRepository.findPrincipalById(7L))
+                .thenReturn(Optional.of(principal(UserRole.CUSTOMER)))
+                .thenReturn(Optional.of(principal(UserRole.MANAGER)));
+
+        resolver.resolve(authentication);
+        resolver.userChanged(7L);
+
+        assertEquals(UserRole.MANAGER, resolver.resolve(authentication).getRole());
+        verify(redisTemplate).convertAndSend(UserPrincipalResolver.CHANNEL, "7");
+    }
+
+    @Test
+    void put_DiscardsLoadThatRacedWithInvalidation() {
+        long generation = cache.generation();
+        cache.invalidate(7L);
+
+        cache.put(principal(UserRole.CUSTOMER), generation);
+
+        assertNull(cache.get(7L));
+    }
+
+    @Test
+    void resolve_UnknownUser_Throws() {
+        when(userRepository.findPrincipalById(7L)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> resolver.resolve(authentication));
+    }
+
+    private static UserPrincipal principal(UserRole role) {
+        return new UserPrincipal(7L, "a@example.com", role, true, true);
+    }
+}
@@ -0,0 +1,124 @@
+package com.homeexpress.home_express_api.service.quotation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.homeexpress.home_express_api.repository.QuotationRepository;
+import com.homeexpress.home_express_api.repository.QuotationRepository.ExpiringQuotation;
+import com.homeexpress.home_express_api.service.CustomerEventService;
+import com.homeexpress.home_express_api.service.TransportEventService;
+import com.homeexpress.home_express_api.service.analytics.TransportStatsService;
+import com.homeexpress.home_express_api.service.booking.BookingTimelineAssembler;
+
+@ExtendWith(MockitoExtension.class)
+class QuotationExpiryServiceTest {
+
+    @Mock
+    private QuotationRepository quotationRepository;
+
+    @Mock
+    private TransportStatsService transportStatsService;
+
+    @Mock
+    private BookingTimelineAssembler bookingTimelineAssembler;
+
+    @Mock
+    private CustomerEventService customerEventService;
+
+    @Mock
+    private TransportEventService transportEventService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private QuotationExpiryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new QuotationExpiryService(quotationRepository, transportStatsService, bookingTimelineAssembler,
+                customerEventService, transportEventService, transactionManager, 2, 1, 64);
+    }
+
+    @Test
+    void sweep_ExpiresInChunksUntilAShortChunk() {
+        when(quotationRepository.lockExpiredBatch(any(), eq(2)))
+                .thenReturn(List.of(row(1L, 10L, 7L), row(2L, 10L, 8L)))
+                .thenReturn(List.of(row(3L, 11L, 7L)));
+
+        int expired = service.sweep();
+
+        assertEquals(3, expired);
+        verify(quotationRepository).expireByIds(eq(List.of(1L, 2L)), any());
+        verify(quotationRepository).expireByIds(eq(List.of(3L)), any());
+        verify(transportStatsService).reconcile(Set.of(7L, 8L));
+        verify(transportStatsService).reconcile(Set.of(7L));
+        verify(bookingTimelineAssembler).invalidate(10L);
+        verify(bookingTimelineAssembler).invalidate(11L);
+        verify(customerEventService).sendQuotationExpired(10L, 2L, 8L);
+        verify(transportEventService).sendQuotationExpired(7L, 3L, 11L);
+    }
+
+    @Test
+    void sweep_NothingOverdue_TouchesNoRows() {
+        when(quotationRepository.lockExpiredBatch(any(), eq(2))).thenReturn(List.of());
+
+        assertEquals(0, service.sweep());
+
+        verify(quotationRepository, never()).expireByIds(any(), any());
+        verifyNoInteractions(transportStatsService, customerEventService, transportEventService);
+    }
+
+    @Test
+    void tick_ExpiresTrackedQuotationsOnceDue() {
+        service.track(5L, LocalDateTime.now().minusSeconds(5));
+        when(quotationRepository.lockExpiredByIds(eq(List.of(5L)), any()))
+                .thenReturn(List.of(row(5L, 12L, 9L)));
+
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        service.tick();
+
+        verify(quotationRepository).expireByIds(eq(List.of(5L)), any());
+        verify(customerEventService).sendQuotationExpired(12L, 5L, 9L);
+        verify(transportEventService).sendQuotationExpired(9L, 5L, 12L);
+    }
+
+    private static ExpiringQuotation row(Long quotationId, Long bookingId, Long transportId) {
+        return new ExpiringQuotation() {
+            @Override
+            public Long getQuotationId() {
+                return quotationId;
+            }
+
+            @Override
+            public Long getBookingId() {
+                return bookingId;
+            }
+
+            @Override
+            public Long getTransportId() {
+                return transportId;
+            }
+
+            @Override
+            public LocalDateTime getExpiresAt() {
+                return LocalDateTime.now().minusMinutes(1);
+            }
+        };
+    }
+}
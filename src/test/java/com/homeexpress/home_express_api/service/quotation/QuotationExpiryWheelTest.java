@@ -0,0 +1,64 @@
+package com.homeexpress.home_express_api.service.quotation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class QuotationExpiryWheelTest {
+
+    @Test
+    void advance_ReturnsQuotationOnFirstTickAfterDeadline() {
+        QuotationExpiryWheel wheel = new QuotationExpiryWheel(1000, 16, 10_000);
+
+        assertTrue(wheel.schedule(1L, 12_500));
+
+        assertEquals(List.of(), wheel.advance(12_999));
+        assertEquals(List.of(1L), wheel.advance(13_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_RejectsDeadlinesBeyondHorizon() {
+        QuotationExpiryWheel wheel = new QuotationExpiryWheel(1000, 16, 10_000);
+
+        assertTrue(wheel.schedule(1L, 10_000 + wheel.horizonMillis() - 1000));
+        assertFalse(wheel.schedule(2L, 10_000 + wheel.horizonMillis()));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void schedule_PastDeadlineFiresOnNextTick() {
+        QuotationExpiryWheel wheel = new QuotationExpiryWheel(1000, 16, 10_000);
+
+        wheel.schedule(1L, 2_000);
+
+        assertEquals(List.of(1L), wheel.advance(11_000));
+    }
+
+    @Test
+    void reschedulingAndCancel_ReplacePreviousDeadline() {
+        QuotationExpiryWheel wheel = new QuotationExpiryWheel(1000, 16, 10_000);
+        wheel.schedule(1L, 11_000);
+        wheel.schedule(1L, 15_000);
+        wheel.schedule(2L, 12_000);
+        wheel.cancel(2L);
+
+        assertEquals(List.of(), wheel.advance(14_000));
+        assertEquals(List.of(1L), wheel.advance(16_000));
+    }
+
+    @Test
+    void advance_AfterStallLongerThanOneTurn_ReturnsEverything() {
+        QuotationExpiryWheel wheel = new QuotationExpiryWheel(1000, 8, 10_000);
+        wheel.schedule(1L, 11_000);
+        wheel.schedule(2L, 16_000);
+
+        List<Long> due = wheel.advance(60_000);
+
+        assertEquals(2, due.size());
+        assertTrue(due.containsAll(List.of(1L, 2L)));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,186 @@
+package com.homeexpress.home_express_api.service.sequence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class DocumentSequenceServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    private JdbcTemplate jdbcTemplate;
+    private SequenceTable table;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        table = new SequenceTable();
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0)
+                        .doInConnection(table.connection()));
+    }
+
+    @Test
+    void next_ServesABlockFromMemoryThenReservesTheNextOne() {
+        DocumentSequenceService service = service(3);
+
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            values.add(service.next("CNT", DAY));
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), values);
+        assertEquals(3, table.reservations.get());
+        assertEquals(10L, table.nextValue("CNT:20250601"));
+    }
+
+    @Test
+    void next_BlockTakenByAnotherNode_IsSkipped() {
+        DocumentSequenceService service = service(3);
+        assertEquals(1L, service.next("CNT", DAY));
+
+        // another node reserves [4, 7)
+        table.values.merge("CNT:20250601", 3L, Long::sum);
+
+        assertEquals(2L, service.next("CNT", DAY));
+        assertEquals(3L, service.next("CNT", DAY));
+        assertEquals(7L, service.next("CNT", DAY));
+    }
+
+    @Test
+    void next_CountersAreKeptPerPrefixAndDay() {
+        DocumentSequenceService service = service(5);
+
+        assertEquals(1L, service.next("CNT", DAY));
+        assertEquals(1L, service.next("PO", DAY));
+        assertEquals(2L, service.next("CNT", DAY));
+        assertEquals(1L, service.next("CNT", DAY.plusDays(1)));
+    }
+
+    @Test
+    void next_ConcurrentCallers_NeverGetTheSameValue() throws Exception {
+        DocumentSequenceService service = service(7);
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int added = 0;
+                    for (int i = 0; i < perThread; i++) {
+                        if (issued.add(service.next("PAYOS", DAY))) {
+                            added++;
+                        }
+                    }
+                    return added;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(perThread, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, issued.size());
+        // one reservation per block, none wasted by racing refills
+        assertEquals((threads * perThread + 6) / 7, table.reservations.get());
+    }
+
+    @Test
+    void contractAndPayoutNumbers_UseTodaysCounter() {
+        DocumentSequenceService service = service(20);
+        String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+
+        assertEquals("CNT-" + today + "-0001", service.nextContractNumber());
+        assertEquals("CNT-" + today + "-0002", service.nextContractNumber());
+        assertEquals("PO-100-" + today + "-0001", service.nextPayoutNumber(100L));
+    }
+
+    @Test
+    void contractNumber_ContinuesAfterSeededOldFormatNumbers() {
+        // V18 seeds the deploy day past the last CNT-yyyyMMdd-<count + 1> number
+        String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        table.values.put("CNT:" + today, 1_235L);
+
+        assertEquals("CNT-" + today + "-1235", service(20).nextContractNumber());
+    }
+
+    private DocumentSequenceService service(int blockSize) {
+        return new DocumentSequenceService(jdbcTemplate, mock(PlatformTransactionManager.class), blockSize);
+    }
+
+    /**
+     * In-memory document_sequences: the reserve upsert and LAST_INSERT_ID()
+     * behave like MySQL's for a single connection.
+     */
+    private static final class SequenceTable {
+
+        private final Map<String, Long> values = new HashMap<>();
+        private final AtomicInteger reservations = new AtomicInteger();
+
+        synchronized long nextValue(String key) {
+            return values.get(key);
+        }
+
+        Connection connection() throws SQLException {
+            Connection connection = mock(Connection.class);
+            long[] lastInsertId = new long[1];
+            String[] key = new String[1];
+            long[] increment = new long[1];
+
+            PreparedStatement upsert = mock(PreparedStatement.class);
+            doAnswer(invocation -> key[0] = invocation.getArgument(1))
+                    .when(upsert).setString(eq(1), anyString());
+            doAnswer(invocation -> increment[0] = invocation.getArgument(1))
+                    .when(upsert).setLong(eq(3), anyLong());
+            when(upsert.executeUpdate()).thenAnswer(invocation -> {
+                synchronized (this) {
+                    lastInsertId[0] = values.merge(key[0], 1 + increment[0], (current, ignored) -> current + increment[0]);
+                }
+                reservations.incrementAndGet();
+                return 1;
+            });
+
+            PreparedStatement select = mock(PreparedStatement.class);
+            ResultSet rs = mock(ResultSet.class);
+            when(select.executeQuery()).thenReturn(rs);
+            when(rs.next()).thenReturn(true);
+            when(rs.getLong(1)).thenAnswer(invocation -> lastInsertId[0]);
+
+            when(connection.prepareStatement(anyString())).thenAnswer(invocation ->
+                    invocation.<String>getArgument(0).startsWith("SELECT") ? select : upsert);
+            return connection;
+        }
+    }
+}
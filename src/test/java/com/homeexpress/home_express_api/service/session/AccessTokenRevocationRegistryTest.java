@@ -0,0 +1,68 @@
+package com.homeexpress.home_express_api.service.session;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.homeexpress.home_express_api.config.JwtTokenProvider;
+
+class AccessTokenRevocationRegistryTest {
+
+    private AccessTokenRevocationRegistry registry;
+    private long retention;
+
+    @BeforeEach
+    void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        registry = new AccessTokenRevocationRegistry(tokenProvider, 1_000);
+        retention = tokenProvider.getAccessTokenExpiration();
+    }
+
+    @Test
+    void revokeSession_RejectsOnlyThatSession() {
+        long now = System.currentTimeMillis();
+        registry.revokeSession("session-a", now);
+
+        assertTrue(registry.isRevoked(1L, "session-a", now - 5_000));
+        assertFalse(registry.isRevoked(1L, "session-b", now - 5_000));
+        assertFalse(registry.isRevoked(1L, null, now - 5_000));
+    }
+
+    @Test
+    void revokeUser_RejectsTokensIssuedInEarlierSeconds() {
+        long revokedAt = 1_700_000_000_500L;
+        registry.revokeUser(7L, revokedAt);
+
+        assertTrue(registry.isRevoked(7L, "any", 1_699_999_999_000L));
+        // issued in the same second as the revocation (e.g. login right after password reset)
+        assertFalse(registry.isRevoked(7L, "any", 1_700_000_000_000L));
+        assertFalse(registry.isRevoked(8L, "any", 1_699_999_999_000L));
+    }
+
+    @Test
+    void prune_DropsRevocationsOlderThanTokenLifetime() {
+        long now = System.currentTimeMillis();
+        registry.revokeSession("old", now - retention - 1_000);
+        registry.revokeSession("recent", now);
+        registry.revokeUser(3L, now - retention - 1_000);
+
+        assertEquals(2, registry.prune(now));
+
+        assertFalse(registry.isRevoked(1L, "old", 0L));
+        assertTrue(registry.isRevoked(1L, "recent", 0L));
+        assertFalse(registry.isRevoked(3L, null, 0L));
+    }
+
+    @Test
+    void bloomFilter_HasNoFalseNegativesBeyondExpectedSize() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5_000; i++) {
+            registry.revokeSession("s-" + i, now);
+        }
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(registry.isRevoked(1L, "s-" + i, now));
+        }
+        assertFalse(registry.isRevoked(1L, "s-5000", now));
+    }
+}
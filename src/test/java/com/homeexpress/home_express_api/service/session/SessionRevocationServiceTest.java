@@ -0,0 +1,121 @@
+package com.homeexpress.home_express_api.service.session;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.homeexpress.home_express_api.config.JwtTokenProvider;
+import com.homeexpress.home_express_api.entity.UserSession;
+import com.homeexpress.home_express_api.entity.UserTokenRevocation;
+import com.homeexpress.home_express_api.repository.UserSessionRepository;
+import com.homeexpress.home_express_api.repository.UserTokenRevocationRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SessionRevocationServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private UserSessionRepository sessionRepository;
+
+    @Mock
+    private UserTokenRevocationRepository userRevocationRepository;
+
+    private AccessTokenRevocationRegistry registry;
+    private SessionRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new AccessTokenRevocationRegistry(new JwtTokenProvider(), 1_000);
+        service = new SessionRevocationService(registry, redisTemplate, sessionRepository, userRevocationRepository);
+    }
+
+    @Test
+    void revokeUser_PersistsCutoffAndAppliesItLocally() {
+        long before = System.currentTimeMillis();
+
+        service.revokeUser(7L, List.of("session-1"));
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(userRevocationRepository).upsert(eq(7L), cutoff.capture());
+        assertFalse(cutoff.getValue().isBefore(toLocalDateTime(before).truncatedTo(ChronoUnit.MILLIS)));
+        assertTrue(registry.isRevoked(7L, null, before - 5_000));
+        assertTrue(registry.isRevoked(8L, "session-1", before));
+    }
+
+    @Test
+    void loadRecentRevocations_RestoresUserCutoffsAfterRestart() {
+        long revokedAt = System.currentTimeMillis() - 60_000;
+        when(sessionRepository.findRevokedSince(any())).thenReturn(List.of(revokedSession("session-1", revokedAt)));
+        when(userRevocationRepository.findByRevokedBeforeAfter(any()))
+                .thenReturn(List.of(new UserTokenRevocation(7L, toLocalDateTime(revokedAt))));
+
+        service.loadRecentRevocations();
+
+        // token without a session, issued before revoke-all
+        assertTrue(registry.isRevoked(7L, null, revokedAt - 5_000));
+        assertFalse(registry.isRevoked(7L, null, revokedAt + 5_000));
+        assertTrue(registry.isRevoked(9L, "session-1", revokedAt));
+    }
+
+    @Test
+    void resync_PicksUpRevocationWhosePublishFailed() {
+        when(sessionRepository.findRevokedSince(any())).thenReturn(List.of());
+        when(userRevocationRepository.findByRevokedBeforeAfter(any())).thenReturn(List.of());
+        service.loadRecentRevocations();
+
+        // another node revoked user 7 but its Redis message never arrived
+        long revokedAt = System.currentTimeMillis();
+        when(userRevocationRepository.findByRevokedBeforeAfter(any()))
+                .thenReturn(List.of(new UserTokenRevocation(7L, toLocalDateTime(revokedAt))));
+        assertFalse(registry.isRevoked(7L, null, revokedAt - 5_000));
+
+        service.resyncRecentRevocations();
+
+        assertTrue(registry.isRevoked(7L, null, revokedAt - 5_000));
+        // the resync only reads back from the previous sync, not the whole token lifetime
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(userRevocationRepository, times(2)).findByRevokedBeforeAfter(since.capture());
+        assertTrue(since.getAllValues().get(1).isAfter(since.getAllValues().get(0)));
+        assertTrue(since.getAllValues().get(1).isAfter(toLocalDateTime(revokedAt - 120_000)));
+    }
+
+    @Test
+    void revokeUser_WhenRedisIsDown_StillRevokesLocally() {
+        doThrow(new IllegalStateException("connection refused"))
+                .when(redisTemplate).convertAndSend(eq(SessionRevocationService.CHANNEL), anyString());
+
+        service.revokeUser(7L, List.of());
+
+        assertTrue(registry.isRevoked(7L, null, System.currentTimeMillis() - 5_000));
+        verify(userRevocationRepository).upsert(eq(7L), any());
+    }
+
+    private static UserSession revokedSession(String sessionId, long revokedAt) {
+        UserSession session = new UserSession();
+        session.setSessionId(sessionId);
+        session.setRevokedAt(toLocalDateTime(revokedAt));
+        return session;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
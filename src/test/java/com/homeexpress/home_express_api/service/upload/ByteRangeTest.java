@@ -0,0 +1,38 @@
+package com.homeexpress.home_express_api.service.upload;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ByteRangeTest {
+
+    @Test
+    void parse_ClosedOpenAndSuffixRanges() {
+        assertEquals(new ByteRange(0, 99), ByteRange.parse("bytes=0-99", 1000));
+        assertEquals(new ByteRange(500, 999), ByteRange.parse("bytes=500-", 1000));
+        assertEquals(new ByteRange(900, 999), ByteRange.parse("bytes=-100", 1000));
+        assertEquals(100, ByteRange.parse("bytes=0-99", 1000).length());
+    }
+
+    @Test
+    void parse_ClampsEndAndSuffixToFileSize() {
+        assertEquals(new ByteRange(900, 999), ByteRange.parse("bytes=900-5000", 1000));
+        assertEquals(new ByteRange(0, 999), ByteRange.parse("bytes=-5000", 1000));
+    }
+
+    @Test
+    void parse_StartPastEndOfFile_IsUnsatisfiable() {
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=1000-", 1000));
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-0", 1000));
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-10", 0));
+    }
+
+    @Test
+    void parse_MissingMalformedOrMultipleRanges_ServeWholeFile() {
+        assertNull(ByteRange.parse(null, 1000));
+        assertNull(ByteRange.parse("items=0-1", 1000));
+        assertNull(ByteRange.parse("bytes=abc-", 1000));
+        assertNull(ByteRange.parse("bytes=50-10", 1000));
+        assertNull(ByteRange.parse("bytes=0-1,5-9", 1000));
+    }
+}
@@ -0,0 +1,106 @@
+package com.homeexpress.home_express_api.service.upload;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.homeexpress.home_express_api.service.FileStorageService;
+
+class FileStorageServiceTest {
+
+    private static final byte[] CONTENT = "%PDF-1.4 signed contract".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path uploadDir;
+
+    private ImageVariantService imageVariantService;
+    private FileStorageService service;
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        imageVariantService = mock(ImageVariantService.class);
+        service = new FileStorageService(uploadDir.toString(), 1_000_000, "image/jpeg,application/pdf",
+                imageVariantService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void storeFile_SameContentTwice_KeepsOneFile() throws Exception {
+        FileStorageService.StoredFile first = service.storeFile(pdf("contract.pdf", CONTENT), "evidence");
+        FileStorageService.StoredFile second = service.storeFile(pdf("copy of contract.pdf", CONTENT), "evidence");
+
+        assertEquals(first.fileName(), second.fileName());
+        assertEquals(first.contentHash() + ".pdf", first.fileName());
+        assertEquals("/uploads/evidence/" + first.fileName(), second.fileUrl());
+        assertEquals(List.of(uploadDir.resolve("evidence").resolve(first.fileName())), files("evidence"));
+        assertArrayEquals(CONTENT, Files.readAllBytes(uploadDir.resolve("evidence").resolve(first.fileName())));
+        assertEquals(List.of(), files(".incoming"));
+    }
+
+    @Test
+    void storeFile_WhenTheUploadStreamFails_RemovesTheTempFile() {
+        MockMultipartFile broken = new MockMultipartFile("file", "contract.pdf", "application/pdf", CONTENT) {
+            @Override
+            public InputStream getInputStream() {
+                return new SequenceInputStream(new ByteArrayInputStream(CONTENT), new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("client disconnected");
+                    }
+                });
+            }
+        };
+
+        assertThrows(IOException.class, () -> service.storeFile(broken, "evidence"));
+
+        assertEquals(List.of(), files(".incoming"));
+        assertEquals(List.of(), files("evidence"));
+    }
+
+    @Test
+    void storeFile_UnsafeExtension_FallsBackToTheContentType() throws Exception {
+        FileStorageService.StoredFile stored = service.storeFile(pdf("contract.pdf?download=1", CONTENT), "evidence");
+
+        assertEquals(stored.contentHash() + ".pdf", stored.fileName());
+        assertTrue(Files.exists(uploadDir.resolve("evidence").resolve(stored.fileName())));
+    }
+
+    private static MockMultipartFile pdf(String originalFilename, byte[] content) {
+        return new MockMultipartFile("file", originalFilename, "application/pdf", content);
+    }
+
+    private List<Path> files(String category) {
+        Path dir = uploadDir.resolve(category);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> entries = Files.list(dir)) {
+            return entries.toList();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.homeexpress.home_express_api.service.upload;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ImageVariantServiceTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @TempDir
+    Path dir;
+
+    private ImageVariantService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImageVariantService(1, 1, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void ensureVariant_GeneratesAllVariantsFromOriginal() throws Exception {
+        ImageIO.write(new BufferedImage(4000, 3000, BufferedImage.TYPE_INT_RGB), "jpg",
+                dir.resolve(HASH + ".jpg").toFile());
+
+        assertTrue(service.ensureVariant(dir.resolve(HASH + "_thumb.jpg")));
+
+        BufferedImage thumb = ImageIO.read(dir.resolve(HASH + "_thumb.jpg").toFile());
+        BufferedImage medium = ImageIO.read(dir.resolve(HASH + "_medium.jpg").toFile());
+        assertEquals(320, thumb.getWidth());
+        assertEquals(240, thumb.getHeight());
+        assertEquals(1280, medium.getWidth());
+    }
+
+    @Test
+    void ensureVariant_UnknownVariantOrMissingOriginal() {
+        assertFalse(service.ensureVariant(dir.resolve(HASH + "_huge.jpg")));
+        assertFalse(service.ensureVariant(dir.resolve("b".repeat(64) + "_thumb.jpg")));
+        assertFalse(service.ensureVariant(dir.resolve("photo.jpg")));
+        assertFalse(Files.exists(dir.resolve("b".repeat(64) + "_thumb.jpg")));
+    }
+
+    @Test
+    void orient_RotatesClockwiseForOrientation6() {
+        BufferedImage image = new BufferedImage(2, 1, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, 0xFF0000);
+
+        BufferedImage rotated = ImageVariantService.orient(image, 6);
+
+        assertEquals(1, rotated.getWidth());
+        assertEquals(2, rotated.getHeight());
+        assertEquals(0xFF0000, rotated.getRGB(0, 0) & 0xFFFFFF);
+    }
+
+    @Test
+    void parseExifOrientation_ReadsBigEndianIfd0() {
+        byte[] app1 = {'E', 'x', 'i', 'f', 0, 0, 'M', 'M', 0, 42, 0, 0, 0, 8,
+                0, 1, 0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, 6, 0, 0};
+
+        assertEquals(6, ImageVariantService.parseExifOrientation(app1));
+        assertEquals(1, ImageVariantService.parseExifOrientation(new byte[] {1, 2, 3}));
+    }
+}
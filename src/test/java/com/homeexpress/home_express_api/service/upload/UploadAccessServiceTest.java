@@ -0,0 +1,105 @@
+package com.homeexpress.home_express_api.service.upload;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import com.homeexpress.home_express_api.entity.UserRole;
+import com.homeexpress.home_express_api.repository.EvidenceRepository;
+import com.homeexpress.home_express_api.service.principal.UserPrincipal;
+import com.homeexpress.home_express_api.service.principal.UserPrincipalResolver;
+
+@ExtendWith(MockitoExtension.class)
+class UploadAccessServiceTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @Mock
+    private EvidenceRepository evidenceRepository;
+
+    @Mock
+    private UserPrincipalResolver userPrincipalResolver;
+
+    private UploadAccessService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UploadAccessService("evidence", evidenceRepository, userPrincipalResolver);
+    }
+
+    @Test
+    void check_PublicCategory_IsAllowedForEveryone() {
+        assertEquals(UploadAccessService.Decision.ALLOWED, service.check("avatars", HASH + ".jpg", null));
+        assertEquals(UploadAccessService.Decision.ALLOWED, service.check(null, "logo.png", null));
+        verifyNoInteractions(evidenceRepository, userPrincipalResolver);
+    }
+
+    @Test
+    void check_AnonymousEvidence_IsUnauthenticated() {
+        Authentication anonymous = new AnonymousAuthenticationToken("key", "anonymousUser",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+        assertEquals(UploadAccessService.Decision.UNAUTHENTICATED, service.check("evidence", HASH + ".jpg", null));
+        assertEquals(UploadAccessService.Decision.UNAUTHENTICATED,
+                service.check("evidence", HASH + ".jpg", anonymous));
+        verifyNoInteractions(evidenceRepository);
+    }
+
+    @Test
+    void check_ManagerBypassesTheEvidenceLookup() {
+        Authentication manager = signedIn(1L, UserRole.MANAGER);
+
+        assertEquals(UploadAccessService.Decision.ALLOWED, service.check("evidence", HASH + ".jpg", manager));
+        verifyNoInteractions(evidenceRepository);
+    }
+
+    @Test
+    void check_PartyOfTheBookingIsAllowedAndOthersAreForbidden() {
+        when(evidenceRepository.countAccessibleFiles(HASH + ".%", 7L)).thenReturn(1L);
+        when(evidenceRepository.countAccessibleFiles(HASH + ".%", 8L)).thenReturn(0L);
+
+        assertEquals(UploadAccessService.Decision.ALLOWED,
+                service.check("evidence", HASH + ".jpg", signedIn(7L, UserRole.CUSTOMER)));
+        assertEquals(UploadAccessService.Decision.FORBIDDEN,
+                service.check("evidence", HASH + ".jpg", signedIn(8L, UserRole.TRANSPORT)));
+    }
+
+    @Test
+    void check_VariantIsLookedUpByItsOriginal() {
+        when(evidenceRepository.countAccessibleFiles(anyString(), eq(7L))).thenReturn(1L);
+        Authentication customer = signedIn(7L, UserRole.CUSTOMER);
+
+        service.check("evidence", HASH + "_thumb.jpg", customer);
+        service.check("EVIDENCE", "site_photo.jpg", customer);
+
+        verify(evidenceRepository).countAccessibleFiles(HASH + ".%", 7L);
+        // không phải variant: giữ nguyên tên, escape '_' để LIKE không khớp ký tự bất kỳ
+        verify(evidenceRepository).countAccessibleFiles("site\\_photo.%", 7L);
+    }
+
+    @Test
+    void fileStem_StripsExtensionAndKnownVariantSuffix() {
+        assertEquals(HASH, UploadAccessService.fileStem(HASH + ".png"));
+        assertEquals(HASH, UploadAccessService.fileStem(HASH + "_medium.jpg"));
+        assertEquals(HASH + "_huge", UploadAccessService.fileStem(HASH + "_huge.jpg"));
+    }
+
+    private Authentication signedIn(Long userId, UserRole role) {
+        Authentication authentication = new UsernamePasswordAuthenticationToken(userId, null, List.of());
+        when(userPrincipalResolver.resolve(authentication))
+                .thenReturn(new UserPrincipal(userId, "user" + userId + "@example.com", role, true, true));
+        return authentication;
+    }
+}
@@ -0,0 +1,63 @@
+package com.homeexpress.home_express_api.service.vehicle;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.homeexpress.home_express_api.dto.vehicle.VehicleCapability;
+import com.homeexpress.home_express_api.entity.VehicleStatus;
+import com.homeexpress.home_express_api.repository.VehicleRepository;
+
+@ExtendWith(MockitoExtension.class)
+class VehicleCapabilityIndexTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    private VehicleCapabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new VehicleCapabilityIndex(vehicleRepository);
+    }
+
+    @Test
+    void refresh_ReplaysChangesAppliedWhileLoading() {
+        when(vehicleRepository.findCapabilitiesByStatus(VehicleStatus.ACTIVE))
+                .thenReturn(List.of(capability(1L), capability(2L)));
+        index.refresh();
+
+        when(vehicleRepository.findCapabilitiesByStatus(VehicleStatus.ACTIVE)).thenAnswer(invocation -> {
+            // committed on this node after the reload query read its snapshot
+            index.vehicleRemoved(2L);
+            return List.of(capability(1L), capability(2L));
+        });
+        index.refresh();
+
+        assertArrayEquals(new long[] {1L}, index.findEligibleIds(BigDecimal.ONE, null, false, false));
+    }
+
+    @Test
+    void refresh_WhenTheQueryFails_KeepsThePreviousTable() {
+        when(vehicleRepository.findCapabilitiesByStatus(VehicleStatus.ACTIVE)).thenReturn(List.of(capability(1L)));
+        index.refresh();
+        when(vehicleRepository.findCapabilitiesByStatus(VehicleStatus.ACTIVE))
+                .thenThrow(new IllegalStateException("connection refused"));
+
+        index.refresh();
+
+        assertArrayEquals(new long[] {1L}, index.findEligibleIds(BigDecimal.ONE, null, false, false));
+    }
+
+    private static VehicleCapability capability(Long id) {
+        return new VehicleCapability(id, new BigDecimal("1000"), null, false, false);
+    }
+}
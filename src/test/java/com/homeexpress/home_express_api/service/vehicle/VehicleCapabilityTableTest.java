@@ -0,0 +1,65 @@
+package com.homeexpress.home_express_api.service.vehicle;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.homeexpress.home_express_api.dto.vehicle.VehicleCapability;
+
+class VehicleCapabilityTableTest {
+
+    private static final int NONE = 0;
+
+    @Test
+    void eligible_FiltersByWeightVolumeAndEquipment() {
+        VehicleCapabilityTable table = VehicleCapabilityTable.of(List.of(
+                vehicle(1L, "500", "3", false, true),
+                vehicle(2L, "1000", "6", true, true),
+                vehicle(3L, "1500", null, true, false),
+                vehicle(4L, "2500", "4", false, false)));
+
+        assertArrayEquals(new long[] {2L, 3L, 4L}, table.eligible(new BigDecimal("800"), null, NONE));
+        assertArrayEquals(new long[] {2L, 3L}, table.eligible(new BigDecimal("800"), new BigDecimal("5"), NONE));
+        assertArrayEquals(new long[] {2L, 3L},
+                table.eligible(new BigDecimal("500"), null, VehicleCapabilityTable.TAIL_LIFT));
+        assertArrayEquals(new long[] {2L}, table.eligible(new BigDecimal("500"), null,
+                VehicleCapabilityTable.TAIL_LIFT | VehicleCapabilityTable.TOOLS));
+        assertArrayEquals(new long[0], table.eligible(new BigDecimal("3000"), null, NONE));
+    }
+
+    @Test
+    void eligible_CapacityBoundaryIsInclusiveAndExact() {
+        VehicleCapabilityTable table = VehicleCapabilityTable.of(List.of(vehicle(1L, "1000.50", null, false, true)));
+
+        assertArrayEquals(new long[] {1L}, table.eligible(new BigDecimal("1000.50"), null, NONE));
+        assertArrayEquals(new long[0], table.eligible(new BigDecimal("1000.501"), null, NONE));
+    }
+
+    @Test
+    void withAndWithout_ReplaceAndRemoveVehicle() {
+        VehicleCapabilityTable table = VehicleCapabilityTable.of(List.of(
+                vehicle(1L, "500", null, false, true),
+                vehicle(2L, "1000", null, false, true)));
+
+        VehicleCapabilityTable upgraded = table.with(vehicle(1L, "2000", null, true, true));
+        assertEquals(2, upgraded.size());
+        assertArrayEquals(new long[] {1L, 2L}, upgraded.eligible(new BigDecimal("800"), null, NONE));
+        assertArrayEquals(new long[] {1L},
+                upgraded.eligible(new BigDecimal("800"), null, VehicleCapabilityTable.TAIL_LIFT));
+
+        VehicleCapabilityTable removed = upgraded.without(2L);
+        assertArrayEquals(new long[] {1L}, removed.eligible(BigDecimal.ONE, null, NONE));
+        assertSame(removed, removed.without(99L));
+        // Bảng cũ không bị thay đổi
+        assertArrayEquals(new long[] {2L}, table.eligible(new BigDecimal("800"), null, NONE));
+    }
+
+    private static VehicleCapability vehicle(Long id, String capacityKg, String capacityM3,
+                                                             boolean tailLift, boolean tools) {
+        return new VehicleCapability(id, new BigDecimal(capacityKg),
+                capacityM3 != null ? new BigDecimal(capacityM3) : null, tailLift, tools);
+    }
+}
@@ -0,0 +1,103 @@
+package com.homeexpress.home_express_api.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class TransactionCallbacksTest {
+
+    private static final Object KEY = new Object();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(KEY);
+    }
+
+    @Test
+    void afterCommit_WithoutTransaction_RunsNow() {
+        List<String> ran = new ArrayList<>();
+
+        TransactionCallbacks.afterCommit(() -> ran.add("now"));
+
+        assertEquals(List.of("now"), ran);
+    }
+
+    @Test
+    void afterCommit_InTransaction_RunsOnlyOnCommit() {
+        List<String> ran = new ArrayList<>();
+        TransactionSynchronizationManager.initSynchronization();
+
+        TransactionCallbacks.afterCommit(() -> ran.add("committed"));
+        assertEquals(List.of(), ran);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(List.of("committed"), ran);
+    }
+
+    @Test
+    void afterCommit_RolledBack_NeverRuns() {
+        List<String> ran = new ArrayList<>();
+        TransactionSynchronizationManager.initSynchronization();
+
+        TransactionCallbacks.afterCommit(() -> ran.add("committed"));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(List.of(), ran);
+    }
+
+    @Test
+    void batchAfterCommit_InTransaction_RunsOnceWithEveryChange() {
+        List<List<Integer>> batches = new ArrayList<>();
+        TransactionSynchronizationManager.initSynchronization();
+
+        for (int i = 1; i <= 3; i++) {
+            int change = i;
+            TransactionCallbacks.<List<Integer>>batchAfterCommit(KEY, ArrayList::new,
+                    batch -> batch.add(change), batches::add);
+        }
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(List.of(List.of(1, 2, 3)), batches);
+        assertFalse(TransactionSynchronizationManager.hasResource(KEY));
+    }
+
+    @Test
+    void batchAfterCommit_RolledBack_ReleasesTheBatch() {
+        List<List<Integer>> batches = new ArrayList<>();
+        TransactionSynchronizationManager.initSynchronization();
+
+        TransactionCallbacks.<List<Integer>>batchAfterCommit(KEY, ArrayList::new, batch -> batch.add(1), batches::add);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(List.of(), batches);
+        assertFalse(TransactionSynchronizationManager.hasResource(KEY));
+    }
+
+    @Test
+    void batchAfterCommit_WithoutTransaction_RunsEachChangeNow() {
+        List<List<Integer>> batches = new ArrayList<>();
+
+        TransactionCallbacks.<List<Integer>>batchAfterCommit(KEY, ArrayList::new, batch -> batch.add(1), batches::add);
+        TransactionCallbacks.<List<Integer>>batchAfterCommit(KEY, ArrayList::new, batch -> batch.add(2), batches::add);
+
+        assertEquals(List.of(List.of(1), List.of(2)), batches);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,86 @@
+-- Seed data for RepositoryQueryPlanAuditTest.
+-- Only the tables filled beyond the audit threshold (1,000 rows) are audited:
+-- bookings, booking_settlements, payments and transport_wallet_transactions.
+-- Parent tables stay below the threshold so they never fail on their own.
+SET SESSION cte_max_recursion_depth = 100000;
+
+-- 700 customers (ids 1000001..) and 200 transports (ids 1100001..)
+INSERT INTO users (user_id, email, password_hash, role, is_active, is_verified, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 700)
+SELECT 1000000 + n, CONCAT('audit-customer-', n, '@example.com'), 'x', 'CUSTOMER', TRUE, TRUE, NOW() - INTERVAL n HOUR
+FROM seq;
+
+INSERT INTO customers (customer_id, full_name, phone)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 700)
+SELECT 1000000 + n, CONCAT('Audit Customer ', n), CONCAT('09', LPAD(n, 8, '0'))
+FROM seq;
+
+INSERT INTO users (user_id, email, password_hash, role, is_active, is_verified, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 200)
+SELECT 1100000 + n, CONCAT('audit-transport-', n, '@example.com'), 'x', 'TRANSPORT', TRUE, TRUE, NOW() - INTERVAL n HOUR
+FROM seq;
+
+INSERT INTO transports (transport_id, company_name, business_license_number, phone, address, city,
+                        verification_status, ready_to_quote)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 200)
+SELECT 1100000 + n, CONCAT('Audit Transport ', n), CONCAT('AUDIT', LPAD(n, 6, '0')), CONCAT('08', LPAD(n, 8, '0')),
+       'Audit address', 'Ha Noi', 'APPROVED', TRUE
+FROM seq;
+
+INSERT INTO transport_wallets (wallet_id, transport_id, status, created_at, updated_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 200)
+SELECT 1000000 + n, 1100000 + n, 'ACTIVE', NOW(), NOW()
+FROM seq;
+
+-- 20,000 bookings; 30% are still unassigned (PENDING/QUOTED with no transport)
+INSERT INTO bookings (booking_id, customer_id, transport_id, pickup_address, delivery_address, preferred_date,
+                      status, final_price, actual_end_time, created_at, updated_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 20000)
+SELECT 1000000 + n,
+       1000001 + MOD(n, 700),
+       CASE WHEN MOD(n, 10) < 3 THEN NULL ELSE 1100001 + MOD(n, 200) END,
+       'Audit pickup', 'Audit delivery',
+       CURDATE() + INTERVAL MOD(n, 90) DAY,
+       CASE WHEN MOD(n, 10) < 3 THEN ELT(1 + MOD(n, 2), 'PENDING', 'QUOTED')
+            ELSE ELT(1 + MOD(n, 7), 'CONFIRMED', 'IN_PROGRESS', 'COMPLETED', 'COMPLETED', 'COMPLETED',
+                     'CONFIRMED_BY_CUSTOMER', 'CANCELLED') END,
+       1000000 + MOD(n, 50) * 10000,
+       CASE WHEN MOD(n, 10) >= 3 AND MOD(n, 7) BETWEEN 2 AND 4 THEN NOW() - INTERVAL (n * 7) MINUTE + INTERVAL 1 DAY END,
+       NOW() - INTERVAL (n * 7) MINUTE,
+       NOW() - INTERVAL (n * 7) MINUTE
+FROM seq;
+
+-- One settlement per completed booking
+INSERT INTO booking_settlements (booking_id, transport_id, agreed_price_vnd, total_collected_vnd, status,
+                                 ready_at, created_at)
+SELECT b.booking_id, b.transport_id, b.final_price, b.final_price,
+       ELT(1 + MOD(b.booking_id, 5), 'PENDING', 'READY', 'IN_PAYOUT', 'ON_HOLD', 'PAID'),
+       b.actual_end_time + INTERVAL 2 DAY, b.actual_end_time
+FROM bookings b
+WHERE b.booking_id > 1000000 AND b.status = 'COMPLETED';
+
+-- Two payments per booking
+INSERT INTO payments (booking_id, amount, payment_method, payment_type, status, idempotency_key, created_at, updated_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 40000)
+SELECT 1000001 + MOD(n, 20000), 500000, 'BANK_TRANSFER',
+       ELT(1 + MOD(n, 3), 'DEPOSIT', 'REMAINING_PAYMENT', 'TIP'),
+       ELT(1 + MOD(n, 4), 'PENDING', 'PROCESSING', 'COMPLETED', 'FAILED'),
+       CONCAT('audit-', n),
+       NOW() - INTERVAL (n * 3) MINUTE,
+       NOW() - INTERVAL (n * 3) MINUTE
+FROM seq;
+
+-- 200 ledger entries per wallet
+INSERT INTO transport_wallet_transactions (wallet_id, transaction_type, amount, running_balance_vnd,
+                                           reference_type, reference_id, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 40000)
+SELECT 1000001 + MOD(n, 200),
+       ELT(1 + MOD(n, 5), 'SETTLEMENT_CREDIT', 'PAYOUT_DEBIT', 'ADJUSTMENT_CREDIT', 'ADJUSTMENT_DEBIT', 'REVERSAL'),
+       100000, 100000 * n,
+       ELT(1 + MOD(n, 6), 'BOOKING', 'SETTLEMENT', 'PAYOUT', 'ADJUSTMENT', 'DISPUTE', 'MANUAL'),
+       n,
+       NOW() - INTERVAL (n * 5) MINUTE
+FROM seq;
+
+ANALYZE TABLE users, customers, transports, transport_wallets, bookings, booking_settlements, payments,
+    transport_wallet_transactions;